@@ -2,9 +2,15 @@ package com.classroom;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// The reactive report repository owns its R2DBC pool; a ConnectionFactory bean would switch off the JDBC DataSource
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@EnableScheduling
+@EnableRetry
 public class ClassroomApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,53 @@
+package com.classroom.config;
+
+import com.classroom.entity.Course;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Second-level cache regions for Hibernate, backed by a Caffeine JCache manager owned by this context.
+ */
+@Configuration
+public class CacheConfiguration {
+
+    public static final String COURSE_REGION = Course.class.getName();
+    public static final String COURSE_NATURAL_ID_REGION = COURSE_REGION + "##NaturalId";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${classroom.cache.course.max-size:1000}") long courseMaxSize,
+            @Value("${classroom.cache.course.ttl:1h}") Duration courseTtl
+    ) {
+        CacheManager cacheManager = Caching
+                .getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("classroom:" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(COURSE_REGION, regionConfiguration(courseMaxSize, courseTtl));
+        cacheManager.createCache(COURSE_NATURAL_ID_REGION, regionConfiguration(courseMaxSize, courseTtl));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private CaffeineConfiguration<Object, Object> regionConfiguration(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
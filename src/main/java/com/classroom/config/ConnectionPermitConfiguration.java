@@ -0,0 +1,25 @@
+package com.classroom.config;
+
+import com.classroom.config.pool.ConnectionPermitPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Limits how many callers may hold a database connection to the size of each pool. Meant for the virtual
+ * thread profile, where every request runs at once and the pools, not the request threads, are the limit.
+ */
+@Configuration
+@ConditionalOnProperty("classroom.datasource.permits.enabled")
+public class ConnectionPermitConfiguration {
+
+    @Bean
+    public static ConnectionPermitPostProcessor connectionPermitPostProcessor(
+            @Value("${classroom.datasource.permits.acquire-timeout:PT10S}") Duration acquireTimeout
+    ) {
+        return new ConnectionPermitPostProcessor(acquireTimeout);
+    }
+}
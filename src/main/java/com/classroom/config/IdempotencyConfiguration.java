@@ -0,0 +1,31 @@
+package com.classroom.config;
+
+import com.classroom.config.idempotency.IdempotencyFilter;
+import com.classroom.config.idempotency.IdempotencyStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the Idempotency-Key handling for the student and teacher create, enroll and leave endpoints.
+ */
+@Configuration
+public class IdempotencyConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore idempotencyStore,
+                                                                       ObjectMapper objectMapper) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+                new FilterRegistrationBean<>(new IdempotencyFilter(idempotencyStore, objectMapper));
+        registration.addUrlPatterns(
+                "/api/v1/students",
+                "/api/v1/students/enroll",
+                "/api/v1/students/leave",
+                "/api/v1/teachers",
+                "/api/v1/teachers/enroll",
+                "/api/v1/teachers/leave"
+        );
+        return registration;
+    }
+}
@@ -0,0 +1,82 @@
+package com.classroom.config;
+
+import com.classroom.config.routing.ReadWriteRoutingDataSource;
+import com.classroom.config.routing.ReadYourWritesFilter;
+import com.classroom.config.routing.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Splits database access over two connection pools: the primary for writes and read-write transactions,
+ * and a replica for read-only transactions such as reports. Active only when a replica URL is configured.
+ */
+@Configuration
+@ConditionalOnProperty("classroom.datasource.replica.url")
+public class ReplicaDataSourceConfiguration {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("classroom.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${classroom.datasource.replica.url}") String url,
+            @Value("${classroom.datasource.replica.username:}") String username,
+            @Value("${classroom.datasource.replica.password:}") String password,
+            @Value("${classroom.datasource.replica.driver-class-name:}") String driverClassName
+    ) {
+        DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password);
+        if (!driverClassName.isEmpty()) {
+            builder.driverClassName(driverClassName);
+        }
+        return builder.build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${classroom.datasource.replica.max-lag:PT2S}") Duration maxLag
+    ) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, maxLag);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor
+    ) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor));
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${classroom.datasource.replica.read-your-writes-window:PT5S}") Duration window
+    ) {
+        return new ReadYourWritesFilter(window);
+    }
+}
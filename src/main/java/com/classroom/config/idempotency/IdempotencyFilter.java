@@ -0,0 +1,123 @@
+package com.classroom.config.idempotency;
+
+import com.classroom.exception.ExceptionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Makes POST requests carrying an {@value #IDEMPOTENCY_KEY_HEADER} header safe to retry. The first request
+ * with a key is handled normally and its response stored; a repeat with the same key and body gets the stored
+ * response back, marked with {@value #REPLAYED_HEADER}, without reaching the service layer again.
+ * <p>
+ * Server errors and conflicts are not stored, so a retry after one of those is handled as a new request.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String KEY_TOO_LONG = "Idempotency-Key must not be longer than %d characters";
+    private static final String KEY_REUSED = "Idempotency-Key %s was already used for a different request";
+    private static final String KEY_IN_PROGRESS = "A request with Idempotency-Key %s is still being processed";
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, ObjectMapper objectMapper) {
+        this.idempotencyStore = idempotencyStore;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, String.format(KEY_TOO_LONG, MAX_KEY_LENGTH));
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String requestKey = request.getMethod() + " " + request.getRequestURI() + " " + key;
+        String fingerprint = fingerprint(cachedRequest.getBody());
+
+        Optional<IdempotentResponse> stored = idempotencyStore.begin(requestKey, fingerprint);
+        if (stored.isPresent()) {
+            replay(stored.get(), fingerprint, key, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(cachedRequest, cachingResponse);
+            int status = cachingResponse.getStatus();
+            if (status < 500 && status != HttpStatus.CONFLICT.value()) {
+                idempotencyStore.complete(requestKey, new IdempotentResponse(
+                        fingerprint, status, cachingResponse.getContentType(), cachingResponse.getContentAsByteArray()));
+                completed = true;
+            }
+        } finally {
+            if (!completed) {
+                idempotencyStore.abandon(requestKey);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotentResponse stored, String fingerprint, String key, HttpServletResponse response)
+            throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, String.format(KEY_REUSED, key));
+            return;
+        }
+        if (!stored.isCompleted()) {
+            writeError(response, HttpStatus.CONFLICT, String.format(KEY_IN_PROGRESS, key));
+            return;
+        }
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null) {
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ExceptionResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .message(message)
+                .build());
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
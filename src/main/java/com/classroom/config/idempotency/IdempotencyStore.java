@@ -0,0 +1,78 @@
+package com.classroom.config.idempotency;
+
+import com.classroom.repository.IdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Bounded, expiring store of idempotent responses. Entries live in memory; with persistence enabled completed
+ * responses are also written to the database and looked up there on a memory miss, so they outlive a restart.
+ * Requests still in progress are only tracked in memory.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final boolean persistent;
+    private final Duration ttl;
+    private final Cache<String, IdempotentResponse> responses;
+
+    public IdempotencyStore(IdempotencyKeyRepository idempotencyKeyRepository,
+                            @Value("${classroom.idempotency.persistent:false}") boolean persistent,
+                            @Value("${classroom.idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${classroom.idempotency.max-size:10000}") long maxSize) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.persistent = persistent;
+        this.ttl = ttl;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Claims the key for a new request unless a response, or a request in progress, is already stored for it.
+     *
+     * @return the stored response, or empty if the caller now owns the key and must complete or abandon it
+     */
+    public Optional<IdempotentResponse> begin(String requestKey, String fingerprint) {
+        IdempotentResponse claim = IdempotentResponse.inProgress(fingerprint);
+        IdempotentResponse existing = responses.asMap().putIfAbsent(requestKey, claim);
+        if (existing != null) {
+            return Optional.of(existing);
+        }
+        if (persistent) {
+            Optional<IdempotentResponse> stored = idempotencyKeyRepository.findCreatedAfter(requestKey, Instant.now().minus(ttl));
+            stored.ifPresent(response -> responses.asMap().replace(requestKey, claim, response));
+            return stored;
+        }
+        return Optional.empty();
+    }
+
+    public void complete(String requestKey, IdempotentResponse response) {
+        responses.put(requestKey, response);
+        if (persistent) {
+            Instant now = Instant.now();
+            idempotencyKeyRepository.insert(requestKey, response, now, now.minus(ttl));
+        }
+    }
+
+    public void abandon(String requestKey) {
+        responses.invalidate(requestKey);
+    }
+
+    @Scheduled(fixedDelayString = "${classroom.idempotency.purge-interval:PT1H}",
+            initialDelayString = "${classroom.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        if (persistent) {
+            idempotencyKeyRepository.deleteCreatedBefore(Instant.now().minus(ttl));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.classroom.config.idempotency;
+
+/**
+ * The outcome of a request sent with an Idempotency-Key. A response without a status belongs to a request
+ * that is still being processed.
+ *
+ * @param fingerprint SHA-256 of the request body, to tell a retry from a different request reusing the key
+ */
+public record IdempotentResponse(String fingerprint,
+                                 Integer status,
+                                 String contentType,
+                                 byte[] body) {
+
+    public static IdempotentResponse inProgress(String fingerprint) {
+        return new IdempotentResponse(fingerprint, null, null, null);
+    }
+
+    public boolean isCompleted() {
+        return status != null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.classroom.config.pool;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.time.Duration;
+
+/**
+ * Puts a {@link ConnectionPermitDataSource} in front of every Hikari pool, with one permit per pooled connection.
+ */
+@Slf4j
+public class ConnectionPermitPostProcessor implements BeanPostProcessor {
+
+    private static final String PERMITS_SIZED = "Pool {} admits {} connection holders at a time; further callers queue for up to {}";
+
+    private final Duration acquireTimeout;
+
+    public ConnectionPermitPostProcessor(Duration acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource pool)) {
+            return bean;
+        }
+        String poolName = pool.getPoolName() != null ? pool.getPoolName() : beanName;
+        log.info(PERMITS_SIZED, poolName, pool.getMaximumPoolSize(), acquireTimeout);
+        return new ConnectionPermitDataSource(pool, poolName, pool.getMaximumPoolSize(), acquireTimeout);
+    }
+}
@@ -0,0 +1,23 @@
+package com.classroom.config.routing;
+
+/**
+ * Marks the current thread as one whose read-only transactions must still read from the primary.
+ */
+public final class PrimaryReadContext {
+
+    private static final ThreadLocal<Boolean> ACTIVE = ThreadLocal.withInitial(() -> false);
+
+    private PrimaryReadContext() {}
+
+    public static void enter() {
+        ACTIVE.set(true);
+    }
+
+    public static void exit() {
+        ACTIVE.remove();
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get();
+    }
+}
@@ -0,0 +1,74 @@
+package com.classroom.config.routing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Remembers a client's last write in a cookie and keeps that client's reads on the primary for a short
+ * window afterwards, so it never sees a replica that has not caught up with its own change yet.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String LAST_WRITE_COOKIE = "classroom-last-write";
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        if (write) {
+            response.addCookie(lastWriteCookie(System.currentTimeMillis()));
+        }
+        if (!write && !wroteRecently(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        PrimaryReadContext.enter();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PrimaryReadContext.exit();
+        }
+    }
+
+    private boolean wroteRecently(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    long lastWrite = Long.parseLong(cookie.getValue());
+                    return System.currentTimeMillis() - lastWrite < window.toMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Cookie lastWriteCookie(long now) {
+        Cookie cookie = new Cookie(LAST_WRITE_COOKIE, String.valueOf(now));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, window.toSeconds() + 1));
+        return cookie;
+    }
+}
@@ -0,0 +1,68 @@
+package com.classroom.config.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Measures replica lag by writing a heartbeat timestamp to the primary and reading it back from the replica.
+ * The replica is considered usable only while the measured lag is within the configured tolerance;
+ * until the first successful check, or when the replica cannot be reached, reads fall back to the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String WRITE_HEARTBEAT = "UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1";
+    private static final String READ_HEARTBEAT = "SELECT beat_at FROM replication_heartbeat WHERE id = 1";
+
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+
+    private volatile Duration lastLag;
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag) {
+        this.primaryJdbcTemplate = new JdbcTemplate(primary);
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+    }
+
+    @Scheduled(fixedDelayString = "${classroom.datasource.replica.lag-check-interval:PT1S}")
+    public void check() {
+        boolean usable;
+        try {
+            Instant now = Instant.now();
+            primaryJdbcTemplate.update(WRITE_HEARTBEAT, Timestamp.from(now));
+            Timestamp replicaBeat = replicaJdbcTemplate.queryForObject(READ_HEARTBEAT, Timestamp.class);
+            Duration lag = Duration.between(replicaBeat.toInstant(), now);
+            lastLag = lag.isNegative() ? Duration.ZERO : lag;
+            usable = lastLag.compareTo(maxLag) <= 0;
+        } catch (RuntimeException e) {
+            log.debug("Replica heartbeat check failed", e);
+            lastLag = null;
+            usable = false;
+        }
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Replica is within lag tolerance ({}), routing read-only transactions to it", lastLag);
+            } else {
+                log.warn("Replica lag {} exceeds tolerance {}, routing reads to primary", lastLag, maxLag);
+            }
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public Duration getLastLag() {
+        return lastLag;
+    }
+}
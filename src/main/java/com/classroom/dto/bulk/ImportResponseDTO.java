@@ -0,0 +1,20 @@
+package com.classroom.dto.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportResponseDTO {
+
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private List<ImportRowResultDTO> rows;
+}
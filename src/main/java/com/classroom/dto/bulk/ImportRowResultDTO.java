@@ -0,0 +1,18 @@
+package com.classroom.dto.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportRowResultDTO {
+
+    private int row;
+    private String id;
+    private String status;
+    private String message;
+}
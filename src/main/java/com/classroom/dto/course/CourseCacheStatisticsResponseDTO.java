@@ -0,0 +1,20 @@
+package com.classroom.dto.course;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CourseCacheStatisticsResponseDTO {
+
+    private long entityHitCount;
+    private long entityMissCount;
+    private long entityPutCount;
+    private long naturalIdHitCount;
+    private long naturalIdMissCount;
+    private long naturalIdPutCount;
+}
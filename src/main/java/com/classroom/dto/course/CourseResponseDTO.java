@@ -9,4 +9,5 @@ public class CourseResponseDTO {
 
     private String courseName;
     private String courseTypeName;
+    private Integer capacity;
 }
@@ -1,6 +1,7 @@
 package com.classroom.dto.course;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import lombok.Builder;
 import lombok.Data;
 
@@ -13,4 +14,7 @@ public class CreateCourseRequestDTO {
 
     @NotBlank(message = "Course type cannot be empty")
     private String courseTypeName;
+
+    @Positive(message = "Course capacity must be positive")
+    private Integer capacity;
 }
@@ -0,0 +1,23 @@
+package com.classroom.dto.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExportResponseDTO {
+
+    private String fileName;
+    private long sizeBytes;
+    private boolean compressed;
+    private int courses;
+    private int students;
+    private int teachers;
+    private int studentEnrollments;
+    private int teacherEnrollments;
+    private long durationMillis;
+}
@@ -0,0 +1,18 @@
+package com.classroom.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CourseAndGroupReportResponseDTO {
+
+    private List<StudentReportResponseDTO> students = new ArrayList<>();
+    private List<TeacherReportResponseDTO> teachers = new ArrayList<>();
+
+}
@@ -0,0 +1,25 @@
+package com.classroom.dto.report;
+
+import com.classroom.dto.course.CourseResponseDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A student as listed by the ordered (v2) reports, with their courses ordered by name.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentReportResponseDTO {
+
+    private String studentId;
+    private String studentName;
+    private int studentAge;
+    private String studentGroupName;
+    private List<CourseResponseDTO> studentCourses;
+}
@@ -0,0 +1,23 @@
+package com.classroom.dto.student;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkEnrollStudentsRequestDTO {
+
+    @NotBlank(message = "Course name cannot be empty")
+    private String courseName;
+
+    private List<String> studentIds;
+
+    private String groupName;
+}
@@ -0,0 +1,18 @@
+package com.classroom.dto.student;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkEnrollStudentsResponseDTO {
+
+    private String courseName;
+    private int inserted;
+    private int skipped;
+    private int notFound;
+}
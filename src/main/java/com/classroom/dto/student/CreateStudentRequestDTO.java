@@ -1,5 +1,7 @@
 package com.classroom.dto.student;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,6 +17,8 @@ public class CreateStudentRequestDTO {
     @NotBlank(message = "Name cannot be empty")
     private String studentName;
 
+    @Min(value = 0, message = "Age cannot be negative")
+    @Max(value = 150, message = "Age cannot be greater than 150")
     private int studentAge;
 
     @NotBlank(message = "Group cannot be empty")
@@ -0,0 +1,21 @@
+package com.classroom.dto.student;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EnrollmentPipelineStatisticsResponseDTO {
+
+    private long batchCount;
+    private long enrollmentCount;
+    private long fallbackBatchCount;
+    private double averageBatchSize;
+    private long maxBatchSize;
+    private double averageLatencyMillis;
+    private double maxLatencyMillis;
+}
@@ -1,5 +1,7 @@
 package com.classroom.dto.teacher;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,6 +17,8 @@ public class CreateTeacherRequestDTO {
     @NotBlank(message = "Name cannot be empty")
     private String teacherName;
 
+    @Min(value = 0, message = "Age cannot be negative")
+    @Max(value = 150, message = "Age cannot be greater than 150")
     private int teacherAge;
 
     @NotBlank(message = "Group cannot be empty")
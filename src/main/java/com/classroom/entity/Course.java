@@ -1,16 +1,21 @@
 package com.classroom.entity;
 
+import com.classroom.entity.id.UuidV7;
 import com.classroom.enumartion.CourseType;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import lombok.Setter;
 
 import java.util.HashSet;
@@ -21,18 +26,28 @@ import java.util.UUID;
 @Setter
 @Entity
 @Table(name = "course")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 public class Course {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     @Column(name = "course_id", nullable = false)
     private UUID id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @NaturalId
     private String name;
 
     @Enumerated(value = EnumType.STRING)
     private CourseType type;
 
+    private Integer capacity;
+
     @ManyToMany(mappedBy = "courses")
     private Set<Student> students = new HashSet<>();
 
@@ -0,0 +1,7 @@
+package com.classroom.enumartion;
+
+public enum ImportRowStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID
+}
@@ -0,0 +1,12 @@
+package com.classroom.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class EnrollmentUnavailableException extends RuntimeException {
+
+    public EnrollmentUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.classroom.repository;
+
+import com.classroom.entity.Course;
+
+import java.util.Optional;
+
+public interface CourseNaturalIdRepository {
+
+    /**
+     * Looks a course up by its natural id, so repeated lookups are served from the second-level cache.
+     */
+    Optional<Course> findByName(String courseName);
+}
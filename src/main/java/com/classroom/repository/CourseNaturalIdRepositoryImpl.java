@@ -0,0 +1,23 @@
+package com.classroom.repository;
+
+import com.classroom.entity.Course;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CourseNaturalIdRepositoryImpl implements CourseNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<Course> findByName(String courseName) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Course.class)
+                .loadOptional(courseName);
+    }
+}
@@ -6,15 +6,20 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
-public interface CourseRepository extends JpaRepository<Course, UUID> {
+public interface CourseRepository extends JpaRepository<Course, UUID>, CourseNaturalIdRepository {
 
     @Query("SELECT COUNT(course) FROM Course course WHERE course.type = :courseType")
     long countCoursesByType(CourseType courseType);
 
-    Optional<Course> findByName(String courseName);
     boolean existsByName(String courseName);
+
+    @Query("SELECT course FROM Student student JOIN student.courses course WHERE student.id = :studentId")
+    Set<Course> findCoursesByStudentId(UUID studentId);
+
+    @Query("SELECT course FROM Teacher teacher JOIN teacher.courses course WHERE teacher.id = :teacherId")
+    Set<Course> findCoursesByTeacherId(UUID teacherId);
 }
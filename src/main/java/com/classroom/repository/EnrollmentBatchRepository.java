@@ -0,0 +1,142 @@
+package com.classroom.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Writes join table rows with JDBC batch statements, for enrollments that touch many people at once.
+ */
+@Repository
+public class EnrollmentBatchRepository {
+
+    private static final String INSERT_STUDENT_COURSE = "INSERT INTO student_course (student_id, course_id) VALUES (?, ?)";
+    private static final String INSERT_STUDENT_COURSE_IF_ABSENT = "INSERT INTO student_course (student_id, course_id) " +
+            "SELECT ?, ? WHERE NOT EXISTS (SELECT 1 FROM student_course WHERE student_id = ? AND course_id = ?)";
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public EnrollmentBatchRepository(JdbcTemplate jdbcTemplate,
+                                     @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    public int insertStudentEnrollments(UUID courseId, Collection<UUID> studentIds) {
+        jdbcTemplate.batchUpdate(INSERT_STUDENT_COURSE, studentIds, batchSize, (statement, studentId) -> {
+            statement.setObject(1, studentId);
+            statement.setObject(2, courseId);
+        });
+        return studentIds.size();
+    }
+
+    /**
+     * Enrolls the students that are not enrolled in the course yet and skips the others, including those that a
+     * concurrent transaction enrolls while the batch runs.
+     *
+     * @return the students whose enrollment row this call inserted
+     */
+    public Set<UUID> insertMissingStudentEnrollments(UUID courseId, Collection<UUID> studentIds) {
+        return jdbcTemplate.execute((ConnectionCallback<Set<UUID>>) connection -> {
+            Set<UUID> inserted = new HashSet<>();
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_STUDENT_COURSE_IF_ABSENT)) {
+                List<UUID> chunk = new ArrayList<>(batchSize);
+                for (UUID studentId : studentIds) {
+                    chunk.add(studentId);
+                    if (chunk.size() == batchSize) {
+                        insertChunk(statement, courseId, chunk, inserted);
+                        chunk.clear();
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    insertChunk(statement, courseId, chunk, inserted);
+                }
+            }
+            return inserted;
+        });
+    }
+
+    /**
+     * A row enrolled by another transaction after the existence check fails with a unique violation. Depending on
+     * the driver the rows after it in the batch were executed or not, so the ones without an update count are
+     * inserted one by one.
+     */
+    private static void insertChunk(PreparedStatement statement, UUID courseId, List<UUID> chunk, Set<UUID> inserted)
+            throws SQLException {
+        for (UUID studentId : chunk) {
+            bind(statement, courseId, studentId);
+            statement.addBatch();
+        }
+        int[] updateCounts;
+        try {
+            updateCounts = statement.executeBatch();
+        } catch (BatchUpdateException e) {
+            if (!onlyUniqueViolations(e)) {
+                throw e;
+            }
+            statement.clearBatch();
+            updateCounts = e.getUpdateCounts();
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            boolean rowInserted = i < updateCounts.length
+                    ? updateCounts[i] > 0 || updateCounts[i] == Statement.SUCCESS_NO_INFO
+                    : insertOne(statement, courseId, chunk.get(i));
+            if (rowInserted) {
+                inserted.add(chunk.get(i));
+            }
+        }
+    }
+
+    private static boolean insertOne(PreparedStatement statement, UUID courseId, UUID studentId) throws SQLException {
+        bind(statement, courseId, studentId);
+        try {
+            return statement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            if (!isUniqueViolation(e)) {
+                throw e;
+            }
+            return false;
+        }
+    }
+
+    private static void bind(PreparedStatement statement, UUID courseId, UUID studentId) throws SQLException {
+        statement.setObject(1, studentId);
+        statement.setObject(2, courseId);
+        statement.setObject(3, studentId);
+        statement.setObject(4, courseId);
+    }
+
+    private static boolean isUniqueViolation(SQLException e) {
+        return UNIQUE_VIOLATION.equals(e.getSQLState());
+    }
+
+    /**
+     * Drivers that keep executing a failed batch chain the failure of every row to the batch exception.
+     */
+    private static boolean onlyUniqueViolations(BatchUpdateException e) {
+        SQLException failure = e.getNextException();
+        if (failure == null) {
+            return isUniqueViolation(e);
+        }
+        for (; failure != null; failure = failure.getNextException()) {
+            if (!isUniqueViolation(failure)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
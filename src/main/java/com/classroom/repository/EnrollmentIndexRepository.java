@@ -0,0 +1,104 @@
+package com.classroom.repository;
+
+import com.classroom.enumartion.CourseType;
+import com.classroom.repository.projection.CourseEnrollmentRow;
+import com.classroom.repository.projection.StudentReportRow;
+import com.classroom.repository.projection.TeacherReportRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Streams the group, age and course membership rows the in-memory enrollment index is built from, without
+ * materializing them as entities, and loads the report rows of the people the index resolves.
+ * The report lookups bind the ids as a single array and join against it: a JPQL {@code IN} list expands to one
+ * bind parameter per id, and {@code = ANY(?)} keeps the plan of its first array and scans on later ones.
+ */
+@Repository
+public class EnrollmentIndexRepository {
+
+    private static final String SELECT_STUDENT_GROUPS = "SELECT student_id, student_group FROM student";
+    private static final String SELECT_STUDENT_AGES = "SELECT student_id, age FROM student";
+    private static final String SELECT_STUDENT_COURSES = "SELECT student_id, course_id FROM student_course";
+    private static final String SELECT_TEACHER_GROUPS = "SELECT teacher_id, teacher_group FROM teacher";
+    private static final String SELECT_TEACHER_COURSES = "SELECT teacher_id, course_id FROM teacher_course";
+    private static final String SELECT_STUDENT_ROWS = "SELECT student.student_id, student.name, student.age, student.student_group " +
+            "FROM UNNEST(?) AS ids(id) JOIN student ON student.student_id = ids.id";
+    private static final String SELECT_STUDENT_COURSE_ROWS = "SELECT student_course.student_id, course.name, course.type " +
+            "FROM UNNEST(?) AS ids(id) JOIN student_course ON student_course.student_id = ids.id " +
+            "JOIN course ON course.course_id = student_course.course_id";
+    private static final String SELECT_TEACHER_ROWS = "SELECT teacher.teacher_id, teacher.name, teacher.age, teacher.teacher_group " +
+            "FROM UNNEST(?) AS ids(id) JOIN teacher ON teacher.teacher_id = ids.id";
+    private static final String SELECT_TEACHER_COURSE_ROWS = "SELECT teacher_course.teacher_id, course.name, course.type " +
+            "FROM UNNEST(?) AS ids(id) JOIN teacher_course ON teacher_course.teacher_id = ids.id " +
+            "JOIN course ON course.course_id = teacher_course.course_id";
+
+    private static final RowMapper<StudentReportRow> STUDENT_ROW_MAPPER = (resultSet, rowNum) -> new StudentReportRow(
+            resultSet.getObject(1, UUID.class), resultSet.getString(2), resultSet.getInt(3), resultSet.getString(4));
+    private static final RowMapper<TeacherReportRow> TEACHER_ROW_MAPPER = (resultSet, rowNum) -> new TeacherReportRow(
+            resultSet.getObject(1, UUID.class), resultSet.getString(2), resultSet.getInt(3), resultSet.getString(4));
+    private static final RowMapper<CourseEnrollmentRow> COURSE_ROW_MAPPER = (resultSet, rowNum) -> new CourseEnrollmentRow(
+            resultSet.getObject(1, UUID.class), resultSet.getString(2), CourseType.valueOf(resultSet.getString(3)));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EnrollmentIndexRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void forEachStudentGroup(BiConsumer<UUID, String> action) {
+        jdbcTemplate.query(SELECT_STUDENT_GROUPS, resultSet -> {
+            action.accept(resultSet.getObject(1, UUID.class), resultSet.getString(2));
+        });
+    }
+
+    public void forEachStudentAge(ObjIntConsumer<UUID> action) {
+        jdbcTemplate.query(SELECT_STUDENT_AGES, resultSet -> {
+            action.accept(resultSet.getObject(1, UUID.class), resultSet.getInt(2));
+        });
+    }
+
+    public void forEachStudentCourse(BiConsumer<UUID, UUID> action) {
+        jdbcTemplate.query(SELECT_STUDENT_COURSES, resultSet -> {
+            action.accept(resultSet.getObject(1, UUID.class), resultSet.getObject(2, UUID.class));
+        });
+    }
+
+    public void forEachTeacherGroup(BiConsumer<UUID, String> action) {
+        jdbcTemplate.query(SELECT_TEACHER_GROUPS, resultSet -> {
+            action.accept(resultSet.getObject(1, UUID.class), resultSet.getString(2));
+        });
+    }
+
+    public void forEachTeacherCourse(BiConsumer<UUID, UUID> action) {
+        jdbcTemplate.query(SELECT_TEACHER_COURSES, resultSet -> {
+            action.accept(resultSet.getObject(1, UUID.class), resultSet.getObject(2, UUID.class));
+        });
+    }
+
+    public List<StudentReportRow> findStudentReportRowsByIds(Collection<UUID> studentIds) {
+        return jdbcTemplate.query(SELECT_STUDENT_ROWS, STUDENT_ROW_MAPPER, (Object) toArray(studentIds));
+    }
+
+    public List<CourseEnrollmentRow> findCourseRowsOfStudents(Collection<UUID> studentIds) {
+        return jdbcTemplate.query(SELECT_STUDENT_COURSE_ROWS, COURSE_ROW_MAPPER, (Object) toArray(studentIds));
+    }
+
+    public List<TeacherReportRow> findTeacherReportRowsByIds(Collection<UUID> teacherIds) {
+        return jdbcTemplate.query(SELECT_TEACHER_ROWS, TEACHER_ROW_MAPPER, (Object) toArray(teacherIds));
+    }
+
+    public List<CourseEnrollmentRow> findCourseRowsOfTeachers(Collection<UUID> teacherIds) {
+        return jdbcTemplate.query(SELECT_TEACHER_COURSE_ROWS, COURSE_ROW_MAPPER, (Object) toArray(teacherIds));
+    }
+
+    private static UUID[] toArray(Collection<UUID> ids) {
+        return ids.toArray(new UUID[0]);
+    }
+}
@@ -0,0 +1,61 @@
+package com.classroom.repository;
+
+import com.classroom.config.idempotency.IdempotentResponse;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Keeps idempotent responses in the database so they survive a restart.
+ */
+@Repository
+public class IdempotencyKeyRepository {
+
+    private static final String SELECT_RESPONSE = "SELECT fingerprint, status, content_type, body FROM idempotency_key " +
+            "WHERE request_key = ? AND created_at > ?";
+    private static final String INSERT_RESPONSE = "INSERT INTO idempotency_key " +
+            "(request_key, fingerprint, status, content_type, body, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_CREATED_BEFORE = "DELETE FROM idempotency_key WHERE created_at <= ?";
+    private static final String DELETE_KEY_CREATED_BEFORE = "DELETE FROM idempotency_key " +
+            "WHERE request_key = ? AND created_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdempotencyKeyRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<IdempotentResponse> findCreatedAfter(String requestKey, Instant createdAfter) {
+        return jdbcTemplate.query(SELECT_RESPONSE, (resultSet, rowNum) -> new IdempotentResponse(
+                        resultSet.getString("fingerprint"),
+                        resultSet.getInt("status"),
+                        resultSet.getString("content_type"),
+                        resultSet.getBytes("body")),
+                requestKey, Timestamp.from(createdAfter)
+        ).stream().findFirst();
+    }
+
+    /**
+     * Stores the response, replacing a response for the same key that expired but has not been purged yet.
+     *
+     * @return false if another instance already stored a response for the key
+     */
+    public boolean insert(String requestKey, IdempotentResponse response, Instant createdAt, Instant expiredBefore) {
+        jdbcTemplate.update(DELETE_KEY_CREATED_BEFORE, requestKey, Timestamp.from(expiredBefore));
+        try {
+            jdbcTemplate.update(INSERT_RESPONSE, requestKey, response.fingerprint(), response.status(),
+                    response.contentType(), response.body(), Timestamp.from(createdAt));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public int deleteCreatedBefore(Instant createdBefore) {
+        return jdbcTemplate.update(DELETE_CREATED_BEFORE, Timestamp.from(createdBefore));
+    }
+}
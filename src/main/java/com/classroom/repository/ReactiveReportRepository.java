@@ -0,0 +1,168 @@
+package com.classroom.repository;
+
+import com.classroom.enumartion.CourseType;
+import com.classroom.repository.projection.StudentReportRow;
+import com.classroom.repository.projection.TeacherReportRow;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Reads the report rows of the reactive report endpoints over R2DBC. Every query returns one row per person and
+ * course, ordered by person id, so the rows of one person arrive next to each other and can be folded into one
+ * DTO without holding the whole report.
+ * <p>
+ * The repository owns its connection pool instead of exposing a {@code ConnectionFactory} bean, which would switch
+ * off the JDBC {@code DataSource} auto-configuration the JPA repositories rely on.
+ */
+@Repository
+public class ReactiveReportRepository {
+
+    private static final String SELECT_STUDENT_ROWS = "SELECT student.student_id, student.name, student.age, student.student_group, " +
+            "course.name AS course_name, course.type AS course_type " +
+            "FROM student " +
+            "LEFT JOIN student_course ON student_course.student_id = student.student_id " +
+            "LEFT JOIN course ON course.course_id = student_course.course_id ";
+    private static final String SELECT_TEACHER_ROWS = "SELECT teacher.teacher_id, teacher.name, teacher.age, teacher.teacher_group, " +
+            "course.name AS course_name, course.type AS course_type " +
+            "FROM teacher " +
+            "LEFT JOIN teacher_course ON teacher_course.teacher_id = teacher.teacher_id " +
+            "LEFT JOIN course ON course.course_id = teacher_course.course_id ";
+    private static final String STUDENT_IN_COURSE = "student.student_id IN (" +
+            "SELECT enrolled.student_id FROM student_course enrolled " +
+            "JOIN course enrolled_course ON enrolled_course.course_id = enrolled.course_id " +
+            "WHERE enrolled_course.name = :courseName) ";
+    private static final String TEACHER_IN_COURSE = "teacher.teacher_id IN (" +
+            "SELECT enrolled.teacher_id FROM teacher_course enrolled " +
+            "JOIN course enrolled_course ON enrolled_course.course_id = enrolled.course_id " +
+            "WHERE enrolled_course.name = :courseName) ";
+    private static final String ORDER_BY_STUDENT = "ORDER BY student.student_id";
+    private static final String ORDER_BY_TEACHER = "ORDER BY teacher.teacher_id";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    public ReactiveReportRepository(@Value("${classroom.reactive.url}") String url,
+                                    @Value("${classroom.reactive.username}") String username,
+                                    @Value("${classroom.reactive.password}") String password,
+                                    @Value("${classroom.reactive.pool.max-size:10}") int maxSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive")
+                .initialSize(0)
+                .maxSize(maxSize)
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    void close() {
+        connectionPool.dispose();
+    }
+
+    public Mono<Boolean> existsCourseByName(String courseName) {
+        return databaseClient.sql("SELECT COUNT(*) FROM course WHERE name = :courseName")
+                .bind("courseName", courseName)
+                .map(row -> row.get(0, Long.class) > 0)
+                .one();
+    }
+
+    public Flux<StudentReportRow> findStudentReportRowsByGroup(String groupName) {
+        return databaseClient.sql(SELECT_STUDENT_ROWS + "WHERE student.student_group = :groupName " + ORDER_BY_STUDENT)
+                .bind("groupName", groupName)
+                .map(ReactiveReportRepository::mapStudentRow)
+                .all();
+    }
+
+    public Flux<StudentReportRow> findStudentReportRowsByCourse(String courseName) {
+        return databaseClient.sql(SELECT_STUDENT_ROWS + "WHERE " + STUDENT_IN_COURSE + ORDER_BY_STUDENT)
+                .bind("courseName", courseName)
+                .map(ReactiveReportRepository::mapStudentRow)
+                .all();
+    }
+
+    public Flux<StudentReportRow> findStudentReportRowsOlderThanAgeInCourse(int age, String courseName) {
+        return databaseClient.sql(SELECT_STUDENT_ROWS + "WHERE " + STUDENT_IN_COURSE + "AND student.age > :age " + ORDER_BY_STUDENT)
+                .bind("courseName", courseName)
+                .bind("age", age)
+                .map(ReactiveReportRepository::mapStudentRow)
+                .all();
+    }
+
+    public Flux<StudentReportRow> findStudentReportRowsInAgeRangeInCourse(int minAge, int maxAge, String courseName, String groupName) {
+        if (groupName == null) {
+            return databaseClient.sql(SELECT_STUDENT_ROWS + "WHERE " + STUDENT_IN_COURSE +
+                            "AND student.age BETWEEN :minAge AND :maxAge " + ORDER_BY_STUDENT)
+                    .bind("courseName", courseName)
+                    .bind("minAge", minAge)
+                    .bind("maxAge", maxAge)
+                    .map(ReactiveReportRepository::mapStudentRow)
+                    .all();
+        }
+        return databaseClient.sql(SELECT_STUDENT_ROWS + "WHERE " + STUDENT_IN_COURSE +
+                        "AND student.age BETWEEN :minAge AND :maxAge AND student.student_group = :groupName " + ORDER_BY_STUDENT)
+                .bind("courseName", courseName)
+                .bind("minAge", minAge)
+                .bind("maxAge", maxAge)
+                .bind("groupName", groupName)
+                .map(ReactiveReportRepository::mapStudentRow)
+                .all();
+    }
+
+    public Flux<StudentReportRow> findStudentReportRowsByCourseAndGroup(String courseName, String groupName) {
+        return databaseClient.sql(SELECT_STUDENT_ROWS + "WHERE " + STUDENT_IN_COURSE +
+                        "AND student.student_group = :groupName " + ORDER_BY_STUDENT)
+                .bind("courseName", courseName)
+                .bind("groupName", groupName)
+                .map(ReactiveReportRepository::mapStudentRow)
+                .all();
+    }
+
+    public Flux<TeacherReportRow> findTeacherReportRowsByCourseAndGroup(String courseName, String groupName) {
+        return databaseClient.sql(SELECT_TEACHER_ROWS + "WHERE " + TEACHER_IN_COURSE +
+                        "AND teacher.teacher_group = :groupName " + ORDER_BY_TEACHER)
+                .bind("courseName", courseName)
+                .bind("groupName", groupName)
+                .map(ReactiveReportRepository::mapTeacherRow)
+                .all();
+    }
+
+    private static StudentReportRow mapStudentRow(Readable row) {
+        return new StudentReportRow(readUuid(row, "student_id"), row.get("name", String.class),
+                row.get("age", Integer.class), row.get("student_group", String.class),
+                row.get("course_name", String.class), readCourseType(row));
+    }
+
+    private static TeacherReportRow mapTeacherRow(Readable row) {
+        return new TeacherReportRow(readUuid(row, "teacher_id"), row.get("name", String.class),
+                row.get("age", Integer.class), row.get("teacher_group", String.class),
+                row.get("course_name", String.class), readCourseType(row));
+    }
+
+    /**
+     * Ids are stored as {@code BINARY(16)}, most significant half first, the layout Hibernate writes them in.
+     */
+    private static UUID readUuid(Readable row, String column) {
+        ByteBuffer bytes = ByteBuffer.wrap(row.get(column, byte[].class));
+        return new UUID(bytes.getLong(), bytes.getLong());
+    }
+
+    private static CourseType readCourseType(Readable row) {
+        String courseType = row.get("course_type", String.class);
+        return courseType == null ? null : CourseType.valueOf(courseType);
+    }
+}
@@ -0,0 +1,72 @@
+package com.classroom.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Streams every row of the roster tables for the columnar export, ordered by key so that consecutive exports of
+ * unchanged data are identical and the join rows of one person are adjacent.
+ */
+@Repository
+public class RosterExportRepository {
+
+    private static final String SELECT_COURSES = "SELECT course_id, name, type, capacity FROM course ORDER BY course_id";
+    private static final String SELECT_STUDENTS = "SELECT student_id, name, age, student_group FROM student ORDER BY student_id";
+    private static final String SELECT_TEACHERS = "SELECT teacher_id, name, age, teacher_group FROM teacher ORDER BY teacher_id";
+    private static final String SELECT_STUDENT_COURSES = "SELECT student_id, course_id FROM student_course ORDER BY student_id, course_id";
+    private static final String SELECT_TEACHER_COURSES = "SELECT teacher_id, course_id FROM teacher_course ORDER BY teacher_id, course_id";
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RosterExportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    public void forEachCourse(CourseRowHandler handler) {
+        jdbcTemplate.query(SELECT_COURSES, resultSet -> {
+            handler.accept(resultSet.getObject(1, UUID.class), resultSet.getString(2), resultSet.getString(3),
+                    resultSet.getObject(4, Integer.class));
+        });
+    }
+
+    public void forEachStudent(PersonRowHandler handler) {
+        jdbcTemplate.query(SELECT_STUDENTS, resultSet -> {
+            handler.accept(resultSet.getObject(1, UUID.class), resultSet.getString(2), resultSet.getInt(3),
+                    resultSet.getString(4));
+        });
+    }
+
+    public void forEachTeacher(PersonRowHandler handler) {
+        jdbcTemplate.query(SELECT_TEACHERS, resultSet -> {
+            handler.accept(resultSet.getObject(1, UUID.class), resultSet.getString(2), resultSet.getInt(3),
+                    resultSet.getString(4));
+        });
+    }
+
+    public void forEachStudentCourse(BiConsumer<UUID, UUID> action) {
+        jdbcTemplate.query(SELECT_STUDENT_COURSES, resultSet -> {
+            action.accept(resultSet.getObject(1, UUID.class), resultSet.getObject(2, UUID.class));
+        });
+    }
+
+    public void forEachTeacherCourse(BiConsumer<UUID, UUID> action) {
+        jdbcTemplate.query(SELECT_TEACHER_COURSES, resultSet -> {
+            action.accept(resultSet.getObject(1, UUID.class), resultSet.getObject(2, UUID.class));
+        });
+    }
+
+    @FunctionalInterface
+    public interface CourseRowHandler {
+        void accept(UUID courseId, String name, String type, Integer capacity);
+    }
+
+    @FunctionalInterface
+    public interface PersonRowHandler {
+        void accept(UUID personId, String name, int age, String group);
+    }
+}
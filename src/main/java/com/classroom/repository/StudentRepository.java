@@ -1,34 +1,199 @@
 package com.classroom.repository;
 
 import com.classroom.entity.Student;
+import com.classroom.repository.projection.CourseEnrollmentRow;
+import com.classroom.repository.projection.PersonKeyRow;
+import com.classroom.repository.projection.StudentReportRow;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, UUID> {
 
+    /**
+     * Rows fetched per round trip by the {@code stream...} roster queries behind streamed reports. Those return one
+     * row per student and course, every course of the student, ordered by student so the rows of one student are
+     * adjacent. The rows are projections, so the persistence context stays empty however many are read.
+     */
+    String STREAM_FETCH_SIZE = "1000";
+
+    /**
+     * Which students a report covers, as a condition on {@code student}. The list, streamed and ordered (v2) queries
+     * of one report all share its condition and differ only in what they select and how they sort.
+     */
+    String STUDENTS_IN_GROUP = "student.studentGroup = :groupName ";
+    String STUDENTS_IN_COURSE = "student.id IN (" +
+            "SELECT enrolled.id FROM Student enrolled " +
+            "JOIN enrolled.courses enrolledCourse " +
+            "WHERE enrolledCourse.name = :courseName) ";
+    String STUDENTS_OLDER_THAN_AGE_IN_COURSE = "student.id IN (" +
+            "SELECT enrolled.id FROM Student enrolled " +
+            "JOIN enrolled.courses enrolledCourse " +
+            "WHERE enrolled.age > :age " +
+            "AND enrolledCourse.name = :courseName) ";
+    String STUDENTS_IN_AGE_RANGE_IN_COURSE = "student.id IN (" +
+            "SELECT enrolled.id FROM Student enrolled " +
+            "JOIN enrolled.courses enrolledCourse " +
+            "WHERE enrolled.age BETWEEN :minAge AND :maxAge " +
+            "AND enrolledCourse.name = :courseName " +
+            "AND (:groupName IS NULL OR enrolled.studentGroup = :groupName)) ";
+    String STUDENTS_IN_COURSE_AND_GROUP = STUDENTS_IN_GROUP + "AND " + STUDENTS_IN_COURSE;
+
+    String STUDENT_ROWS = "SELECT new com.classroom.repository.projection.StudentReportRow(" +
+            "student.id, student.name, student.age, student.studentGroup) " +
+            "FROM Student student " +
+            "WHERE ";
+    String STUDENT_COURSE_ROWS = "SELECT new com.classroom.repository.projection.StudentReportRow(" +
+            "student.id, student.name, student.age, student.studentGroup, course.name, course.type) " +
+            "FROM Student student " +
+            "LEFT JOIN student.courses course " +
+            "WHERE ";
+    String COURSE_ROWS = "SELECT new com.classroom.repository.projection.CourseEnrollmentRow(student.id, course.name, course.type) " +
+            "FROM Student student " +
+            "JOIN student.courses course " +
+            "WHERE ";
+    String STREAM_ORDER = "ORDER BY student.id";
+    String REPORT_ORDER = "ORDER BY student.name, student.id, course.name";
+
     @Query("SELECT COUNT(student) FROM Student student")
     long countStudents();
 
     Optional<Student> findByNameAndStudentGroupAndAge(String studentName, String studentGroup, int age);
 
-    @Query("SELECT student FROM Student student JOIN FETCH student.courses courses WHERE courses.name = :courseName")
-    Set<Student> findStudentsByCourse(String courseName);
+    /**
+     * Loads the student and bumps its version on commit, so concurrent enrollment changes for the same student conflict.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT student FROM Student student WHERE student.id = :studentId")
+    Optional<Student> findByIdIncrementingVersion(UUID studentId);
+
+    /**
+     * Batch form of {@link #findByIdIncrementingVersion(UUID)}; ids without a student are skipped.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT student FROM Student student WHERE student.id IN :studentIds")
+    List<Student> findAllByIdIncrementingVersion(Collection<UUID> studentIds);
+
+    @Query("SELECT new com.classroom.repository.projection.PersonKeyRow(student.name, student.studentGroup, student.age) " +
+            "FROM Student student " +
+            "WHERE student.name IN :names")
+    List<PersonKeyRow> findKeysByNameIn(Collection<String> names);
+
+    @Query("SELECT COUNT(course) > 0 FROM Student student " +
+            "JOIN student.courses course " +
+            "WHERE student.id = :studentId " +
+            "AND course.name = :courseName")
+    boolean isEnrolledInCourse(UUID studentId, String courseName);
+
+    @Query(value = "SELECT COUNT(*) FROM student_course WHERE course_id = :courseId", nativeQuery = true)
+    long countEnrollmentsByCourseId(UUID courseId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_course"))
+    @Query(value = "INSERT INTO student_course (student_id, course_id) VALUES (:studentId, :courseId)", nativeQuery = true)
+    int insertEnrollment(UUID studentId, UUID courseId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_course"))
+    @Query(value = "DELETE FROM student_course WHERE student_id = :studentId AND course_id = :courseId", nativeQuery = true)
+    int deleteEnrollment(UUID studentId, UUID courseId);
+
+    @Query("SELECT student.id FROM Student student WHERE student.id IN :studentIds")
+    Set<UUID> findExistingStudentIds(Collection<UUID> studentIds);
+
+    @Query("SELECT student.id FROM Student student WHERE student.studentGroup = :groupName")
+    Set<UUID> findStudentIdsByGroup(String groupName);
+
+    @Query("SELECT student.id FROM Student student " +
+            "JOIN student.courses course " +
+            "WHERE course.id = :courseId " +
+            "AND student.id IN :studentIds")
+    Set<UUID> findStudentIdsEnrolledInCourse(UUID courseId, Collection<UUID> studentIds);
+
+    @Query("SELECT student.id FROM Student student " +
+            "JOIN student.courses course " +
+            "WHERE course.id = :courseId " +
+            "AND student.studentGroup = :groupName")
+    Set<UUID> findStudentIdsEnrolledInCourseByGroup(UUID courseId, String groupName);
+
+    @Query(STUDENT_ROWS + STUDENTS_IN_COURSE)
+    List<StudentReportRow> findStudentReportRowsByCourse(String courseName);
+
+    @Query(COURSE_ROWS + STUDENTS_IN_COURSE)
+    List<CourseEnrollmentRow> findCourseRowsOfStudentsInCourse(String courseName);
+
+    long countByStudentGroup(String studentGroup);
+
+    @Query(COURSE_ROWS + "student.id IN :studentIds")
+    List<CourseEnrollmentRow> findCourseRowsOfStudents(Collection<UUID> studentIds);
+
+    @Query(STUDENT_COURSE_ROWS + STUDENTS_IN_GROUP)
+    List<StudentReportRow> findStudentReportRowsByGroup(String groupName);
+
+    @Query(STUDENT_ROWS + STUDENTS_OLDER_THAN_AGE_IN_COURSE)
+    List<StudentReportRow> findStudentReportRowsOlderThanAgeInCourse(int age, String courseName);
+
+    @Query(COURSE_ROWS + STUDENTS_OLDER_THAN_AGE_IN_COURSE)
+    List<CourseEnrollmentRow> findCourseRowsOfStudentsOlderThanAgeInCourse(int age, String courseName);
+
+    @Query(STUDENT_ROWS + STUDENTS_IN_AGE_RANGE_IN_COURSE)
+    List<StudentReportRow> findStudentReportRowsInAgeRangeInCourse(int minAge, int maxAge, String courseName, String groupName);
+
+    @Query(COURSE_ROWS + STUDENTS_IN_AGE_RANGE_IN_COURSE)
+    List<CourseEnrollmentRow> findCourseRowsOfStudentsInAgeRangeInCourse(int minAge, int maxAge, String courseName, String groupName);
+
+    @Query(STUDENT_ROWS + STUDENTS_IN_COURSE_AND_GROUP)
+    List<StudentReportRow> findStudentReportRowsByCourseAndGroup(String courseName, String groupName);
+
+    @Query(COURSE_ROWS + STUDENTS_IN_COURSE_AND_GROUP)
+    List<CourseEnrollmentRow> findCourseRowsOfStudentsInCourseAndGroup(String courseName, String groupName);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(STUDENT_COURSE_ROWS + STUDENTS_IN_GROUP + STREAM_ORDER)
+    Stream<StudentReportRow> streamStudentReportRowsByGroup(String groupName);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(STUDENT_COURSE_ROWS + STUDENTS_IN_COURSE + STREAM_ORDER)
+    Stream<StudentReportRow> streamStudentReportRowsByCourse(String courseName);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(STUDENT_COURSE_ROWS + STUDENTS_OLDER_THAN_AGE_IN_COURSE + STREAM_ORDER)
+    Stream<StudentReportRow> streamStudentReportRowsOlderThanAgeInCourse(int age, String courseName);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(STUDENT_COURSE_ROWS + STUDENTS_IN_AGE_RANGE_IN_COURSE + STREAM_ORDER)
+    Stream<StudentReportRow> streamStudentReportRowsInAgeRangeInCourse(int minAge, int maxAge, String courseName, String groupName);
+
+    /**
+     * Rows of the ordered (v2) reports: one row per student and course, every course of the student, sorted by
+     * student name, then id, then course name, so the rows of one student are adjacent and already in report order.
+     */
+    @Query(STUDENT_COURSE_ROWS + STUDENTS_IN_GROUP + REPORT_ORDER)
+    List<StudentReportRow> findOrderedStudentReportRowsByGroup(String groupName);
+
+    @Query(STUDENT_COURSE_ROWS + STUDENTS_IN_COURSE + REPORT_ORDER)
+    List<StudentReportRow> findOrderedStudentReportRowsByCourse(String courseName);
 
-    @Query("SELECT student FROM Student student WHERE student.studentGroup = :groupName")
-    Set<Student> findStudentsByGroup(String groupName);
+    @Query(STUDENT_COURSE_ROWS + STUDENTS_OLDER_THAN_AGE_IN_COURSE + REPORT_ORDER)
+    List<StudentReportRow> findOrderedStudentReportRowsOlderThanAgeInCourse(int age, String courseName);
 
-    @Query("SELECT student FROM Student student JOIN FETCH student.courses courses WHERE student.age > :age AND courses.name = :courseName")
-    Set<Student> findStudentsOlderThanAgeInCourse(int age, String courseName);
+    @Query(STUDENT_COURSE_ROWS + STUDENTS_IN_AGE_RANGE_IN_COURSE + REPORT_ORDER)
+    List<StudentReportRow> findOrderedStudentReportRowsInAgeRangeInCourse(int minAge, int maxAge, String courseName, String groupName);
 
-    @Query("SELECT student FROM Student student " +
-            "JOIN FETCH student.courses course " +
-            "WHERE course.name = :courseName " +
-            "AND  student.studentGroup = :groupName " )
-    Set<Student> findStudentsByCourseAndGroup(String courseName, String groupName);
+    @Query(STUDENT_COURSE_ROWS + STUDENTS_IN_COURSE_AND_GROUP + REPORT_ORDER)
+    List<StudentReportRow> findOrderedStudentReportRowsByCourseAndGroup(String courseName, String groupName);
 }
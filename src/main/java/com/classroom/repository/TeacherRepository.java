@@ -1,10 +1,21 @@
 package com.classroom.repository;
 
 import com.classroom.entity.Teacher;
+import com.classroom.repository.projection.CourseEnrollmentRow;
+import com.classroom.repository.projection.PersonKeyRow;
+import com.classroom.repository.projection.TeacherReportRow;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -12,20 +23,80 @@ import java.util.UUID;
 @Repository
 public interface TeacherRepository extends JpaRepository<Teacher, UUID> {
 
+    /**
+     * Which teachers the course and group report covers, shared by its list and ordered (v2) queries so they select
+     * the same teachers and differ only in what they return and how they sort.
+     */
+    String TEACHERS_IN_COURSE_AND_GROUP = "teacher.teacherGroup = :groupName " +
+            "AND teacher.id IN (" +
+            "SELECT enrolled.id FROM Teacher enrolled " +
+            "JOIN enrolled.courses enrolledCourse " +
+            "WHERE enrolledCourse.name = :courseName) ";
+
+    String TEACHER_ROWS = "SELECT new com.classroom.repository.projection.TeacherReportRow(" +
+            "teacher.id, teacher.name, teacher.age, teacher.teacherGroup) " +
+            "FROM Teacher teacher " +
+            "WHERE ";
+    String TEACHER_COURSE_ROWS = "SELECT new com.classroom.repository.projection.TeacherReportRow(" +
+            "teacher.id, teacher.name, teacher.age, teacher.teacherGroup, course.name, course.type) " +
+            "FROM Teacher teacher " +
+            "LEFT JOIN teacher.courses course " +
+            "WHERE ";
+    String COURSE_ROWS = "SELECT new com.classroom.repository.projection.CourseEnrollmentRow(teacher.id, course.name, course.type) " +
+            "FROM Teacher teacher " +
+            "JOIN teacher.courses course " +
+            "WHERE ";
+    String REPORT_ORDER = "ORDER BY teacher.name, teacher.id, course.name";
+
     @Query("SELECT COUNT(teacher) FROM Teacher teacher")
     long countTeachers();
 
     Optional<Teacher> findByNameAndTeacherGroupAndAge(String teacherName, String teacherGroup, int age);
 
+    /**
+     * Loads the teacher and bumps its version on commit, so concurrent enrollment changes for the same teacher conflict.
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT teacher FROM Teacher teacher WHERE teacher.id = :teacherId")
+    Optional<Teacher> findByIdIncrementingVersion(UUID teacherId);
+
+    @Query("SELECT new com.classroom.repository.projection.PersonKeyRow(teacher.name, teacher.teacherGroup, teacher.age) " +
+            "FROM Teacher teacher " +
+            "WHERE teacher.name IN :names")
+    List<PersonKeyRow> findKeysByNameIn(Collection<String> names);
+
     @Query("SELECT teacher FROM Teacher teacher JOIN FETCH teacher.courses courses WHERE courses.name = :courseName")
     Set<Teacher> findTeachersByCourse(String courseName);
 
     @Query("SELECT teacher FROM Teacher teacher WHERE teacher.teacherGroup = :groupName")
     Set<Teacher> findTeachersByGroup(String groupName);
 
-    @Query("SELECT teacher FROM Teacher teacher " +
-            "JOIN FETCH teacher.courses course " +
-            "WHERE course.name = :courseName " +
-            "AND  teacher.teacherGroup = :groupName " )
-    Set<Teacher> findTeachersByCourseAndGroup(String courseName, String groupName);
+    @Query("SELECT COUNT(course) > 0 FROM Teacher teacher " +
+            "JOIN teacher.courses course " +
+            "WHERE teacher.id = :teacherId " +
+            "AND course.name = :courseName")
+    boolean isEnrolledInCourse(UUID teacherId, String courseName);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "teacher_course"))
+    @Query(value = "INSERT INTO teacher_course (teacher_id, course_id) VALUES (:teacherId, :courseId)", nativeQuery = true)
+    int insertEnrollment(UUID teacherId, UUID courseId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "teacher_course"))
+    @Query(value = "DELETE FROM teacher_course WHERE teacher_id = :teacherId AND course_id = :courseId", nativeQuery = true)
+    int deleteEnrollment(UUID teacherId, UUID courseId);
+
+    @Query(TEACHER_ROWS + TEACHERS_IN_COURSE_AND_GROUP)
+    List<TeacherReportRow> findTeacherReportRowsByCourseAndGroup(String courseName, String groupName);
+
+    @Query(COURSE_ROWS + TEACHERS_IN_COURSE_AND_GROUP)
+    List<CourseEnrollmentRow> findCourseRowsOfTeachersInCourseAndGroup(String courseName, String groupName);
+
+    /**
+     * Rows of the ordered (v2) course and group report: every course of each teacher, sorted by teacher name, then
+     * id, then course name.
+     */
+    @Query(TEACHER_COURSE_ROWS + TEACHERS_IN_COURSE_AND_GROUP + REPORT_ORDER)
+    List<TeacherReportRow> findOrderedTeacherReportRowsByCourseAndGroup(String courseName, String groupName);
 }
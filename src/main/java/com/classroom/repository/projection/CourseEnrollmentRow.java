@@ -0,0 +1,13 @@
+package com.classroom.repository.projection;
+
+import com.classroom.enumartion.CourseType;
+
+import java.util.UUID;
+
+/**
+ * A course a student or teacher is enrolled in, read in one batch for every person in a report.
+ */
+public record CourseEnrollmentRow(UUID personId,
+                                  String courseName,
+                                  CourseType courseType) {
+}
@@ -0,0 +1,9 @@
+package com.classroom.repository.projection;
+
+/**
+ * The name, group and age of a student or teacher, which together identify a person when importing.
+ */
+public record PersonKeyRow(String name,
+                           String group,
+                           int age) {
+}
@@ -0,0 +1,20 @@
+package com.classroom.repository.projection;
+
+import com.classroom.enumartion.CourseType;
+
+import java.util.UUID;
+
+/**
+ * One (student, course) pair read by a report query; course columns are null for students without courses.
+ */
+public record StudentReportRow(UUID studentId,
+                               String studentName,
+                               int studentAge,
+                               String studentGroup,
+                               String courseName,
+                               CourseType courseType) {
+
+    public StudentReportRow(UUID studentId, String studentName, int studentAge, String studentGroup) {
+        this(studentId, studentName, studentAge, studentGroup, null, null);
+    }
+}
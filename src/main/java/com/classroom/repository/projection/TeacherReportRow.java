@@ -0,0 +1,20 @@
+package com.classroom.repository.projection;
+
+import com.classroom.enumartion.CourseType;
+
+import java.util.UUID;
+
+/**
+ * One (teacher, course) pair read by a report query; course columns are null for teachers without courses.
+ */
+public record TeacherReportRow(UUID teacherId,
+                               String teacherName,
+                               int teacherAge,
+                               String teacherGroup,
+                               String courseName,
+                               CourseType courseType) {
+
+    public TeacherReportRow(UUID teacherId, String teacherName, int teacherAge, String teacherGroup) {
+        this(teacherId, teacherName, teacherAge, teacherGroup, null, null);
+    }
+}
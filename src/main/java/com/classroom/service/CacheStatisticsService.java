@@ -0,0 +1,34 @@
+package com.classroom.service;
+
+import com.classroom.config.CacheConfiguration;
+import com.classroom.dto.course.CourseCacheStatisticsResponseDTO;
+import com.classroom.entity.Course;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.NaturalIdStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CourseCacheStatisticsResponseDTO getCourseCacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        CacheRegionStatistics entityStatistics = statistics.getDomainDataRegionStatistics(CacheConfiguration.COURSE_REGION);
+        NaturalIdStatistics naturalIdStatistics = statistics.getNaturalIdStatistics(Course.class.getName());
+
+        return CourseCacheStatisticsResponseDTO.builder()
+                .entityHitCount(entityStatistics.getHitCount())
+                .entityMissCount(entityStatistics.getMissCount())
+                .entityPutCount(entityStatistics.getPutCount())
+                .naturalIdHitCount(naturalIdStatistics.getCacheHitCount())
+                .naturalIdMissCount(naturalIdStatistics.getCacheMissCount())
+                .naturalIdPutCount(naturalIdStatistics.getCachePutCount())
+                .build();
+    }
+}
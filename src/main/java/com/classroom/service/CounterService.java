@@ -0,0 +1,129 @@
+package com.classroom.service;
+
+import com.classroom.enumartion.CourseType;
+import com.classroom.repository.CourseRepository;
+import com.classroom.repository.StudentRepository;
+import com.classroom.repository.TeacherRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory student, teacher and per-type course counts backing the report count endpoints.
+ * Counts are loaded once at startup and adjusted after the creating or deleting transaction commits;
+ * {@link #reconcile()} periodically compares them with the database and corrects any drift.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CounterService {
+
+    private static final String COUNTER_DRIFT = "Counter {} drifted: expected {} but was {}";
+
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final CourseRepository courseRepository;
+
+    private final LongAdder students = new LongAdder();
+    private final LongAdder teachers = new LongAdder();
+    private final Map<CourseType, LongAdder> coursesByType = createCourseCounters();
+
+    @PostConstruct
+    void initialize() {
+        students.add(studentRepository.countStudents());
+        teachers.add(teacherRepository.countTeachers());
+        coursesByType.forEach((type, counter) -> counter.add(courseRepository.countCoursesByType(type)));
+    }
+
+    public long countStudents() {
+        return students.sum();
+    }
+
+    public long countTeachers() {
+        return teachers.sum();
+    }
+
+    public long countCourses(CourseType courseType) {
+        return coursesByType.get(courseType).sum();
+    }
+
+    public void studentsCreated(long count) {
+        afterCommit(() -> students.add(count));
+    }
+
+    public void studentDeleted() {
+        afterCommit(students::decrement);
+    }
+
+    public void teachersCreated(long count) {
+        afterCommit(() -> teachers.add(count));
+    }
+
+    public void teacherDeleted() {
+        afterCommit(teachers::decrement);
+    }
+
+    public void courseCreated(CourseType courseType) {
+        afterCommit(coursesByType.get(courseType)::increment);
+    }
+
+    /**
+     * Compares every counter with a fresh database count and corrects the ones that differ.
+     * A write committing between the two reads can show up as a transient drift; the next run settles it.
+     * Runs as a read-write transaction so the counts come from the primary rather than a lagging replica.
+     *
+     * @return true if at least one counter had drifted
+     */
+    @Scheduled(fixedDelayString = "${classroom.counters.reconcile-interval:PT5M}",
+            initialDelayString = "${classroom.counters.reconcile-interval:PT5M}")
+    @Transactional
+    public boolean reconcile() {
+        boolean drifted = reconcile("students", students, studentRepository.countStudents());
+        drifted |= reconcile("teachers", teachers, teacherRepository.countTeachers());
+        for (Map.Entry<CourseType, LongAdder> entry : coursesByType.entrySet()) {
+            CourseType type = entry.getKey();
+            drifted |= reconcile("courses." + type.name(), entry.getValue(), courseRepository.countCoursesByType(type));
+        }
+        return drifted;
+    }
+
+    private boolean reconcile(String name, LongAdder counter, long expected) {
+        long actual = counter.sum();
+        if (actual == expected) {
+            return false;
+        }
+        log.warn(COUNTER_DRIFT, name, expected, actual);
+        counter.add(expected - actual);
+        return true;
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    private static Map<CourseType, LongAdder> createCourseCounters() {
+        Map<CourseType, LongAdder> counters = new EnumMap<>(CourseType.class);
+        for (CourseType type : CourseType.values()) {
+            counters.put(type, new LongAdder());
+        }
+        return counters;
+    }
+}
@@ -4,6 +4,7 @@ import com.classroom.dto.course.CourseResponseDTO;
 import com.classroom.dto.course.CreateCourseRequestDTO;
 import com.classroom.entity.Course;
 import com.classroom.enumartion.CourseType;
+import com.classroom.exception.UnprocessableEntityException;
 import com.classroom.repository.CourseRepository;
 import jakarta.persistence.EntityExistsException;
 import lombok.RequiredArgsConstructor;
@@ -19,8 +20,11 @@ import java.util.Optional;
 public class CourseService {
 
     private static final String COURSE_ALREADY_EXISTS = "Course with name %s already exists";
+    private static final String COURSE_CAPACITY_NOT_POSITIVE = "Course capacity must be positive but was %d";
 
     private final CourseRepository courseRepository;
+    private final CounterService counterService;
+    private final RosterVersionService rosterVersionService;
 
     public CourseResponseDTO createCourse(CreateCourseRequestDTO createCourseRequest) {
         String courseName = createCourseRequest.getCourseName();
@@ -28,9 +32,16 @@ public class CourseService {
         if (courseRepository.existsByName(courseName)) {
             throw new EntityExistsException(String.format(COURSE_ALREADY_EXISTS, courseName));
         }
+        Integer capacity = createCourseRequest.getCapacity();
+        if (capacity != null && capacity <= 0) {
+            throw new UnprocessableEntityException(String.format(COURSE_CAPACITY_NOT_POSITIVE, capacity));
+        }
         CourseType courseType = CourseType.fromString(courseTypeName);
         Course course = new Course(courseName, courseType);
+        course.setCapacity(capacity);
         courseRepository.save(course);
+        counterService.courseCreated(courseType);
+        rosterVersionService.catalogChanged();
 
         return mapEntityToDTO(course);
     }
@@ -53,6 +64,7 @@ public class CourseService {
         return CourseResponseDTO.builder()
                 .courseName(course.getName())
                 .courseTypeName(course.getType().toString())
+                .capacity(course.getCapacity())
                 .build();
 
     }
@@ -0,0 +1,394 @@
+package com.classroom.service;
+
+import com.classroom.dto.course.CourseResponseDTO;
+import com.classroom.dto.student.EnrollStudentRequestDTO;
+import com.classroom.dto.student.EnrollmentPipelineStatisticsResponseDTO;
+import com.classroom.dto.student.StudentResponseDTO;
+import com.classroom.entity.Course;
+import com.classroom.entity.Student;
+import com.classroom.exception.EnrollmentUnavailableException;
+import com.classroom.exception.UnprocessableEntityException;
+import com.classroom.repository.CourseRepository;
+import com.classroom.repository.EnrollmentBatchRepository;
+import com.classroom.repository.StudentRepository;
+import com.classroom.repository.projection.CourseEnrollmentRow;
+import com.classroom.service.index.EnrollmentIndex;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces single-student enrollments into per-course micro-batches for registration rushes. Requests for the
+ * same course are queued and flushed once the batch is full or the oldest request has waited for the maximum
+ * delay; each batch is checked and written with a handful of statements in one transaction, and every caller's
+ * future is completed with its own response or error. If a batch transaction fails as a whole, its requests
+ * are replayed one by one through {@link StudentService#enrollToCourse}.
+ * <p>
+ * Only one batch per course is in flight at a time; requests arriving meanwhile form the next batch. A caller waits
+ * at most {@code classroom.enrollment.coalescing.timeout} for its batch and then gets a 503, although the batch may
+ * still enroll the student afterwards.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "classroom.enrollment.coalescing.enabled", havingValue = "true")
+public class EnrollmentPipeline {
+
+    private static final String STUDENT_DOES_NOT_EXISTS = "Student with ID %s does not exists";
+    private static final String STUDENT_ALREADY_ENROLLED_FOR_THIS_COURSE =
+            "Student with ID %s already enrolled for course with name: %s";
+    private static final String COURSE_DOES_NOT_EXISTS = "Course with name %s does not exists";
+    private static final String COURSE_IS_FULL = "Course with name %s has no free seats";
+    private static final String BATCH_FAILED = "Enrollment batch of {} for course {} failed, enrolling one by one: {}";
+    private static final String ENROLLMENT_TIMED_OUT = "Enrollment for course %s did not complete within %d ms";
+    private static final String ENROLLMENT_REJECTED = "Enrollments for course %s cannot be processed right now";
+
+    private final StudentService studentService;
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentBatchRepository enrollmentBatchRepository;
+    private final SeatReservationService seatReservationService;
+    private final EnrollmentIndex enrollmentIndex;
+    private final RosterVersionService rosterVersionService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Duration timeout;
+    private final ScheduledThreadPoolExecutor executor;
+
+    private final Map<String, CourseQueue> queues = new ConcurrentHashMap<>();
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder enrollments = new LongAdder();
+    private final LongAdder fallbackBatches = new LongAdder();
+    private final LongAccumulator maxBatchSizeSeen = new LongAccumulator(Long::max, 0);
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Long::max, 0);
+
+    public EnrollmentPipeline(StudentService studentService,
+                              StudentRepository studentRepository,
+                              CourseRepository courseRepository,
+                              EnrollmentBatchRepository enrollmentBatchRepository,
+                              SeatReservationService seatReservationService,
+                              EnrollmentIndex enrollmentIndex,
+                              RosterVersionService rosterVersionService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${classroom.enrollment.coalescing.max-batch-size:200}") int maxBatchSize,
+                              @Value("${classroom.enrollment.coalescing.max-delay:5ms}") Duration maxDelay,
+                              @Value("${classroom.enrollment.coalescing.threads:4}") int threads,
+                              @Value("${classroom.enrollment.coalescing.timeout:PT10S}") Duration timeout) {
+        this.studentService = studentService;
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.enrollmentBatchRepository = enrollmentBatchRepository;
+        this.seatReservationService = seatReservationService;
+        this.enrollmentIndex = enrollmentIndex;
+        this.rosterVersionService = rosterVersionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.timeout = timeout;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("enrollment-pipeline-");
+        threadFactory.setDaemon(true);
+        this.executor = new ScheduledThreadPoolExecutor(threads, threadFactory);
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    public CompletableFuture<StudentResponseDTO> submit(EnrollStudentRequestDTO enrollStudentRequest) {
+        PendingEnrollment pending = new PendingEnrollment(
+                enrollStudentRequest, UUID.fromString(enrollStudentRequest.getStudentId()), System.nanoTime());
+        // A queue that emptied out is dropped from the map, so a request racing with that goes to a fresh one
+        while (!queues.computeIfAbsent(enrollStudentRequest.getCourseName(), CourseQueue::new).add(pending)) {
+            Thread.onSpinWait();
+        }
+        return pending.future;
+    }
+
+    /**
+     * Submits the enrollment and waits for its batch, rethrowing the caller's own error as is.
+     */
+    public StudentResponseDTO enroll(EnrollStudentRequestDTO enrollStudentRequest) {
+        try {
+            return submit(enrollStudentRequest).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new EnrollmentUnavailableException(
+                    String.format(ENROLLMENT_TIMED_OUT, enrollStudentRequest.getCourseName(), timeout.toMillis()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EnrollmentUnavailableException(
+                    String.format(ENROLLMENT_REJECTED, enrollStudentRequest.getCourseName()));
+        }
+    }
+
+    public EnrollmentPipelineStatisticsResponseDTO getStatistics() {
+        long batchCount = batches.sum();
+        long enrollmentCount = enrollments.sum();
+        return EnrollmentPipelineStatisticsResponseDTO.builder()
+                .batchCount(batchCount)
+                .enrollmentCount(enrollmentCount)
+                .fallbackBatchCount(fallbackBatches.sum())
+                .averageBatchSize(batchCount == 0 ? 0 : (double) enrollmentCount / batchCount)
+                .maxBatchSize(maxBatchSizeSeen.get())
+                .averageLatencyMillis(enrollmentCount == 0 ? 0 : totalLatencyNanos.sum() / 1e6 / enrollmentCount)
+                .maxLatencyMillis(maxLatencyNanos.get() / 1e6)
+                .build();
+    }
+
+    int queueCount() {
+        return queues.size();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void process(String courseName, List<PendingEnrollment> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> enrollBatch(courseName, batch));
+        } catch (RuntimeException e) {
+            log.warn(BATCH_FAILED, batch.size(), courseName, e.getMessage());
+            fallbackBatches.increment();
+            batch.forEach(this::enrollIndividually);
+        }
+        batches.increment();
+        maxBatchSizeSeen.accumulate(batch.size());
+        batch.forEach(this::complete);
+    }
+
+    private void enrollBatch(String courseName, List<PendingEnrollment> batch) {
+        Optional<Course> existingCourse = courseRepository.findByName(courseName);
+        if (existingCourse.isEmpty()) {
+            batch.forEach(pending -> pending.failure = new EntityNotFoundException(String.format(COURSE_DOES_NOT_EXISTS, courseName)));
+            return;
+        }
+        Course course = existingCourse.get();
+
+        Set<UUID> requestedIds = batch.stream().map(PendingEnrollment::studentId).collect(Collectors.toSet());
+        Map<UUID, Student> students = studentRepository.findAllByIdIncrementingVersion(requestedIds).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        Set<UUID> alreadyEnrolled = students.isEmpty()
+                ? Set.of()
+                : studentRepository.findStudentIdsEnrolledInCourse(course.getId(), students.keySet());
+
+        List<PendingEnrollment> admitted = new ArrayList<>();
+        Set<UUID> admittedIds = new HashSet<>();
+        for (PendingEnrollment pending : batch) {
+            String studentId = pending.request.getStudentId();
+            if (!students.containsKey(pending.studentId)) {
+                pending.failure = new EntityNotFoundException(String.format(STUDENT_DOES_NOT_EXISTS, studentId));
+            } else if (alreadyEnrolled.contains(pending.studentId) || !admittedIds.add(pending.studentId)) {
+                pending.failure = new UnprocessableEntityException(
+                        String.format(STUDENT_ALREADY_ENROLLED_FOR_THIS_COURSE, studentId, courseName));
+            } else {
+                admitted.add(pending);
+            }
+        }
+
+        int seats = seatReservationService.reserveUpTo(course, admitted.size());
+        for (PendingEnrollment pending : admitted.subList(seats, admitted.size())) {
+            pending.failure = new UnprocessableEntityException(String.format(COURSE_IS_FULL, courseName));
+            admittedIds.remove(pending.studentId);
+        }
+        if (admittedIds.isEmpty()) {
+            return;
+        }
+        enrollmentBatchRepository.insertStudentEnrollments(course.getId(), admittedIds);
+        enrollmentIndex.studentsEnrolled(admittedIds, course.getId());
+
+        Map<UUID, Set<CourseResponseDTO>> coursesByStudent = studentRepository.findCourseRowsOfStudents(admittedIds).stream()
+                .collect(Collectors.groupingBy(CourseEnrollmentRow::personId, Collectors.mapping(
+                        row -> CourseResponseDTO.builder()
+                                .courseName(row.courseName())
+                                .courseTypeName(row.courseType().name())
+                                .build(),
+                        Collectors.toSet())));
+        rosterVersionService.rosterChanged(
+                admittedIds.stream().map(studentId -> students.get(studentId).getStudentGroup()).distinct().toList(),
+                coursesByStudent.values().stream().flatMap(Set::stream).map(CourseResponseDTO::getCourseName).distinct().toList());
+        for (PendingEnrollment pending : admitted.subList(0, seats)) {
+            Student student = students.get(pending.studentId);
+            pending.response = StudentResponseDTO.builder()
+                    .studentId(student.getId().toString())
+                    .studentName(student.getName())
+                    .studentAge(student.getAge())
+                    .studentGroupName(student.getStudentGroup())
+                    .studentCourses(coursesByStudent.getOrDefault(student.getId(), Set.of()))
+                    .build();
+        }
+    }
+
+    private void enrollIndividually(PendingEnrollment pending) {
+        pending.response = null;
+        pending.failure = null;
+        try {
+            pending.response = studentService.enrollToCourse(pending.request);
+        } catch (RuntimeException e) {
+            pending.failure = e;
+        }
+    }
+
+    private void complete(PendingEnrollment pending) {
+        long latency = System.nanoTime() - pending.submittedAt;
+        enrollments.increment();
+        totalLatencyNanos.add(latency);
+        maxLatencyNanos.accumulate(latency);
+        if (pending.failure != null) {
+            pending.future.completeExceptionally(pending.failure);
+        } else {
+            pending.future.complete(pending.response);
+        }
+    }
+
+    private static final class PendingEnrollment {
+
+        private final EnrollStudentRequestDTO request;
+        private final UUID studentId;
+        private final long submittedAt;
+        private final CompletableFuture<StudentResponseDTO> future = new CompletableFuture<>();
+        private StudentResponseDTO response;
+        private RuntimeException failure;
+
+        private PendingEnrollment(EnrollStudentRequestDTO request, UUID studentId, long submittedAt) {
+            this.request = request;
+            this.studentId = studentId;
+            this.submittedAt = submittedAt;
+        }
+
+        private UUID studentId() {
+            return studentId;
+        }
+    }
+
+    /**
+     * Requests waiting for one course. A flush is started when the queue reaches the batch size or the delay
+     * timer fires, whichever comes first, and never while the previous batch for the course is still running.
+     * A queue left empty removes itself from the map, so course names that are never used again do not pile up.
+     */
+    private final class CourseQueue {
+
+        private final String courseName;
+        private final List<PendingEnrollment> pending = new ArrayList<>();
+        private ScheduledFuture<?> delayedFlush;
+        private boolean flushing;
+        private boolean retired;
+
+        private CourseQueue(String courseName) {
+            this.courseName = courseName;
+        }
+
+        private synchronized boolean add(PendingEnrollment enrollment) {
+            if (retired) {
+                return false;
+            }
+            pending.add(enrollment);
+            if (flushing) {
+                return true;
+            }
+            if (pending.size() >= maxBatchSize) {
+                startFlush();
+            } else if (delayedFlush == null) {
+                try {
+                    delayedFlush = executor.schedule(this::flushWhenDue, maxDelayNanos, TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    failPending();
+                }
+            }
+            return true;
+        }
+
+        private void flushWhenDue() {
+            synchronized (this) {
+                if (flushing || pending.isEmpty()) {
+                    return;
+                }
+                startFlush();
+            }
+        }
+
+        // Called with the monitor held
+        private void startFlush() {
+            if (delayedFlush != null) {
+                delayedFlush.cancel(false);
+                delayedFlush = null;
+            }
+            flushing = true;
+            try {
+                executor.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                flushing = false;
+                failPending();
+            }
+        }
+
+        // Called with the monitor held, once the executor no longer takes work
+        private void failPending() {
+            EnrollmentUnavailableException failure =
+                    new EnrollmentUnavailableException(String.format(ENROLLMENT_REJECTED, courseName));
+            pending.forEach(enrollment -> enrollment.future.completeExceptionally(failure));
+            pending.clear();
+            retire();
+        }
+
+        // Called with the monitor held and nothing pending
+        private void retire() {
+            retired = true;
+            queues.remove(courseName, this);
+        }
+
+        private void flush() {
+            List<PendingEnrollment> batch;
+            synchronized (this) {
+                List<PendingEnrollment> head = pending.subList(0, Math.min(maxBatchSize, pending.size()));
+                batch = new ArrayList<>(head);
+                head.clear();
+            }
+            try {
+                process(courseName, batch);
+            } finally {
+                synchronized (this) {
+                    flushing = false;
+                    // Whatever queued up during the flush has already waited, so it goes out right away
+                    if (!pending.isEmpty()) {
+                        startFlush();
+                    } else {
+                        retire();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.classroom.service;
+
+import com.classroom.dto.student.BulkEnrollStudentsRequestDTO;
+import com.classroom.dto.student.BulkEnrollStudentsResponseDTO;
+import com.classroom.entity.Course;
+import com.classroom.exception.UnprocessableEntityException;
+import com.classroom.repository.CourseRepository;
+import com.classroom.repository.EnrollmentBatchRepository;
+import com.classroom.repository.StudentRepository;
+import com.classroom.service.index.EnrollmentIndex;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class EnrollmentService {
+
+    private static final String COURSE_DOES_NOT_EXISTS = "Course with name %s does not exists";
+    private static final String STUDENTS_NOT_SPECIFIED = "Either student IDs or a group name must be provided";
+    private static final String NOT_ENOUGH_SEATS = "Course with name %s has fewer than %d free seats";
+
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final EnrollmentBatchRepository enrollmentBatchRepository;
+    private final SeatReservationService seatReservationService;
+    private final EnrollmentIndex enrollmentIndex;
+    private final RosterVersionService rosterVersionService;
+
+    public BulkEnrollStudentsResponseDTO enrollStudentsToCourse(BulkEnrollStudentsRequestDTO bulkEnrollRequest) {
+        String groupName = bulkEnrollRequest.getGroupName();
+        List<String> studentIds = bulkEnrollRequest.getStudentIds();
+        boolean byGroup = groupName != null && !groupName.isBlank();
+        if (!byGroup && (studentIds == null || studentIds.isEmpty())) {
+            throw new UnprocessableEntityException(STUDENTS_NOT_SPECIFIED);
+        }
+
+        Course course = courseRepository.findByName(bulkEnrollRequest.getCourseName())
+                .orElseThrow(() -> new EntityNotFoundException(
+                        String.format(COURSE_DOES_NOT_EXISTS, bulkEnrollRequest.getCourseName())));
+
+        Set<UUID> requested;
+        Set<UUID> candidates;
+        Set<UUID> alreadyEnrolled;
+        if (byGroup) {
+            candidates = studentRepository.findStudentIdsByGroup(groupName);
+            requested = candidates;
+            alreadyEnrolled = studentRepository.findStudentIdsEnrolledInCourseByGroup(course.getId(), groupName);
+        } else {
+            requested = studentIds.stream()
+                    .map(UUID::fromString)
+                    .collect(Collectors.toSet());
+            candidates = studentRepository.findExistingStudentIds(requested);
+            alreadyEnrolled = candidates.isEmpty()
+                    ? Set.of()
+                    : studentRepository.findStudentIdsEnrolledInCourse(course.getId(), candidates);
+        }
+
+        Set<UUID> toEnroll = new HashSet<>(candidates);
+        toEnroll.removeAll(alreadyEnrolled);
+        if (!seatReservationService.tryReserve(course, toEnroll.size())) {
+            throw new UnprocessableEntityException(String.format(NOT_ENOUGH_SEATS, course.getName(), toEnroll.size()));
+        }
+        // Students enrolled concurrently since the check above are skipped by the insert rather than failing it
+        Set<UUID> inserted = toEnroll.isEmpty()
+                ? Set.of()
+                : enrollmentBatchRepository.insertMissingStudentEnrollments(course.getId(), toEnroll);
+        int enrolledConcurrently = toEnroll.size() - inserted.size();
+        seatReservationService.release(course, enrolledConcurrently);
+        enrollmentIndex.studentsEnrolled(inserted, course.getId());
+        if (!inserted.isEmpty()) {
+            // The other courses of the enrolled students are not loaded, so every report may have changed
+            rosterVersionService.everythingChanged();
+        }
+
+        return BulkEnrollStudentsResponseDTO.builder()
+                .courseName(course.getName())
+                .inserted(inserted.size())
+                .skipped(alreadyEnrolled.size() + enrolledConcurrently)
+                .notFound(requested.size() - candidates.size())
+                .build();
+    }
+}
@@ -0,0 +1,201 @@
+package com.classroom.service;
+
+import com.classroom.dto.bulk.ImportResponseDTO;
+import com.classroom.dto.bulk.ImportRowResultDTO;
+import com.classroom.dto.student.CreateStudentRequestDTO;
+import com.classroom.dto.teacher.CreateTeacherRequestDTO;
+import com.classroom.entity.Student;
+import com.classroom.entity.Teacher;
+import com.classroom.enumartion.ImportRowStatus;
+import com.classroom.repository.StudentRepository;
+import com.classroom.repository.TeacherRepository;
+import com.classroom.repository.projection.PersonKeyRow;
+import com.classroom.service.index.EnrollmentIndex;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates students and teachers in bulk. Rows are validated against the constraints of their request DTO,
+ * deduplicated in memory, checked against the database once per chunk and persisted in chunked transactions
+ * so Hibernate can batch the inserts.
+ */
+@Service
+public class ImportService {
+
+    private static final String VIOLATION_SEPARATOR = "; ";
+    private static final String DUPLICATE_OF_ROW = "Duplicate of row %d";
+    private static final String ALREADY_EXISTS = "Already exists";
+
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final CounterService counterService;
+    private final EnrollmentIndex enrollmentIndex;
+    private final RosterVersionService rosterVersionService;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ImportService(StudentRepository studentRepository,
+                         TeacherRepository teacherRepository,
+                         CounterService counterService,
+                         EnrollmentIndex enrollmentIndex,
+                         RosterVersionService rosterVersionService,
+                         Validator validator,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${classroom.import.chunk-size:1000}") int chunkSize) {
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.counterService = counterService;
+        this.enrollmentIndex = enrollmentIndex;
+        this.rosterVersionService = rosterVersionService;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportResponseDTO importStudents(Iterator<CreateStudentRequestDTO> rows) {
+        return importRows(
+                rows,
+                row -> new Student(row.getStudentName(), row.getStudentAge(), row.getStudentGroupName()),
+                student -> new PersonKey(student.getName(), student.getStudentGroup(), student.getAge()),
+                names -> existingKeys(studentRepository.findKeysByNameIn(names)),
+                students -> {
+                    studentRepository.saveAll(students);
+                    counterService.studentsCreated(students.size());
+                    enrollmentIndex.studentsCreated(students);
+                    rosterVersionService.rosterChanged(
+                            students.stream().map(Student::getStudentGroup).distinct().toList(), List.of());
+                    rosterVersionService.peopleChanged();
+                },
+                Student::getId
+        );
+    }
+
+    public ImportResponseDTO importTeachers(Iterator<CreateTeacherRequestDTO> rows) {
+        return importRows(
+                rows,
+                row -> new Teacher(row.getTeacherName(), row.getTeacherAge(), row.getTeacherGroupName()),
+                teacher -> new PersonKey(teacher.getName(), teacher.getTeacherGroup(), teacher.getAge()),
+                names -> existingKeys(teacherRepository.findKeysByNameIn(names)),
+                teachers -> {
+                    teacherRepository.saveAll(teachers);
+                    counterService.teachersCreated(teachers.size());
+                    enrollmentIndex.teachersCreated(teachers);
+                    rosterVersionService.rosterChanged(
+                            teachers.stream().map(Teacher::getTeacherGroup).distinct().toList(), List.of());
+                    rosterVersionService.peopleChanged();
+                },
+                Teacher::getId
+        );
+    }
+
+    private <R, E> ImportResponseDTO importRows(Iterator<R> rows,
+                                                Function<R, E> toEntity,
+                                                Function<E, PersonKey> keyOf,
+                                                Function<Set<String>, Set<PersonKey>> existingKeys,
+                                                Consumer<List<E>> saveAll,
+                                                Function<E, UUID> idOf) {
+        List<ImportRowResultDTO> results = new ArrayList<>();
+        Map<PersonKey, Integer> seen = new HashMap<>();
+        List<PendingRow<E>> pending = new ArrayList<>(chunkSize);
+
+        int rowNumber = 0;
+        while (rows.hasNext()) {
+            R row = rows.next();
+            ImportRowResultDTO result = ImportRowResultDTO.builder().row(rowNumber).build();
+            results.add(result);
+
+            Set<ConstraintViolation<R>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                result.setStatus(ImportRowStatus.INVALID.name());
+                result.setMessage(violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(VIOLATION_SEPARATOR)));
+            } else {
+                E entity = toEntity.apply(row);
+                PersonKey key = keyOf.apply(entity);
+                Integer firstRow = seen.putIfAbsent(key, rowNumber);
+                if (firstRow != null) {
+                    result.setStatus(ImportRowStatus.DUPLICATE.name());
+                    result.setMessage(String.format(DUPLICATE_OF_ROW, firstRow));
+                } else {
+                    pending.add(new PendingRow<>(result, entity, key));
+                }
+            }
+            if (pending.size() == chunkSize) {
+                writeChunk(pending, existingKeys, saveAll, idOf);
+                pending.clear();
+            }
+            rowNumber++;
+        }
+        if (!pending.isEmpty()) {
+            writeChunk(pending, existingKeys, saveAll, idOf);
+        }
+
+        Map<String, Long> statusCounts = results.stream()
+                .collect(Collectors.groupingBy(ImportRowResultDTO::getStatus, Collectors.counting()));
+        return ImportResponseDTO.builder()
+                .created(statusCounts.getOrDefault(ImportRowStatus.CREATED.name(), 0L).intValue())
+                .duplicates(statusCounts.getOrDefault(ImportRowStatus.DUPLICATE.name(), 0L).intValue())
+                .invalid(statusCounts.getOrDefault(ImportRowStatus.INVALID.name(), 0L).intValue())
+                .rows(results)
+                .build();
+    }
+
+    private <E> void writeChunk(List<PendingRow<E>> pending,
+                                Function<Set<String>, Set<PersonKey>> existingKeys,
+                                Consumer<List<E>> saveAll,
+                                Function<E, UUID> idOf) {
+        List<PendingRow<E>> written = transactionTemplate.execute(status -> {
+            Set<String> names = pending.stream()
+                    .map(row -> row.key().name())
+                    .collect(Collectors.toSet());
+            Set<PersonKey> existing = existingKeys.apply(names);
+
+            List<PendingRow<E>> toSave = new ArrayList<>(pending.size());
+            for (PendingRow<E> row : pending) {
+                if (existing.contains(row.key())) {
+                    row.result().setStatus(ImportRowStatus.DUPLICATE.name());
+                    row.result().setMessage(ALREADY_EXISTS);
+                } else {
+                    toSave.add(row);
+                }
+            }
+            saveAll.accept(toSave.stream().map(PendingRow::entity).toList());
+            return toSave;
+        });
+
+        for (PendingRow<E> row : written) {
+            row.result().setId(idOf.apply(row.entity()).toString());
+            row.result().setStatus(ImportRowStatus.CREATED.name());
+        }
+    }
+
+    private static Set<PersonKey> existingKeys(List<PersonKeyRow> rows) {
+        return rows.stream()
+                .map(row -> new PersonKey(row.name(), row.group(), row.age()))
+                .collect(Collectors.toSet());
+    }
+
+    private record PersonKey(String name, String group, int age) {
+    }
+
+    private record PendingRow<E>(ImportRowResultDTO result, E entity, PersonKey key) {
+    }
+}
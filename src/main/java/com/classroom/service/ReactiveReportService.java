@@ -0,0 +1,131 @@
+package com.classroom.service;
+
+import com.classroom.dto.course.CourseResponseDTO;
+import com.classroom.dto.report.StudentAndTeacherReportResponseDTO;
+import com.classroom.dto.student.StudentResponseDTO;
+import com.classroom.dto.teacher.TeacherResponseDTO;
+import com.classroom.exception.UnprocessableEntityException;
+import com.classroom.repository.ReactiveReportRepository;
+import com.classroom.repository.projection.StudentReportRow;
+import com.classroom.repository.projection.TeacherReportRow;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking counterpart of {@link ReportService} for large rosters. Students and teachers are emitted one at a
+ * time as soon as all rows of one person have been read, and rows are only read as fast as the subscriber asks
+ * for them, so a slow client holds neither a thread nor the whole report.
+ * <p>
+ * Reads go straight to the database: the enrollment index and the in-memory counters are not consulted.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveReportService {
+
+    private static final String COURSE_DOES_NOT_EXISTS = "Course with name %s does not exists";
+    private static final String AGE_RANGE_INVALID = "Minimum age %d is greater than maximum age %d";
+
+    private final ReactiveReportRepository reactiveReportRepository;
+
+    public Flux<StudentResponseDTO> getStudentsByGroup(String groupName) {
+        return mapStudentsToDTO(reactiveReportRepository.findStudentReportRowsByGroup(groupName));
+    }
+
+    public Flux<StudentResponseDTO> getStudentsByCourse(String courseName) {
+        return requireCourse(courseName)
+                .thenMany(mapStudentsToDTO(reactiveReportRepository.findStudentReportRowsByCourse(courseName)));
+    }
+
+    public Flux<StudentResponseDTO> getStudentsByAgeAndCourse(int age, String courseName) {
+        return requireCourse(courseName)
+                .thenMany(mapStudentsToDTO(reactiveReportRepository.findStudentReportRowsOlderThanAgeInCourse(age, courseName)));
+    }
+
+    public Flux<StudentResponseDTO> getStudentsByAgeRangeAndCourse(Integer minAge, Integer maxAge, String courseName, String groupName) {
+        int min = minAge == null ? 0 : minAge;
+        int max = maxAge == null ? Integer.MAX_VALUE : maxAge;
+        if (min > max) {
+            throw new UnprocessableEntityException(String.format(AGE_RANGE_INVALID, min, max));
+        }
+        return requireCourse(courseName).thenMany(mapStudentsToDTO(
+                reactiveReportRepository.findStudentReportRowsInAgeRangeInCourse(min, max, courseName, groupName)));
+    }
+
+    public Mono<StudentAndTeacherReportResponseDTO> getStudentsAndTeachersByCourseAndGroup(String courseName, String groupName) {
+        Flux<StudentResponseDTO> students = mapStudentsToDTO(
+                reactiveReportRepository.findStudentReportRowsByCourseAndGroup(courseName, groupName));
+        Flux<TeacherResponseDTO> teachers = mapTeachersToDTO(
+                reactiveReportRepository.findTeacherReportRowsByCourseAndGroup(courseName, groupName));
+        return requireCourse(courseName).then(Mono.zip(
+                students.collect(Collectors.toSet()),
+                teachers.collect(Collectors.toSet()),
+                StudentAndTeacherReportResponseDTO::new));
+    }
+
+    private Mono<Void> requireCourse(String courseName) {
+        return reactiveReportRepository.existsCourseByName(courseName)
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : Mono.error(new EntityNotFoundException(String.format(COURSE_DOES_NOT_EXISTS, courseName))));
+    }
+
+    /**
+     * Folds the consecutive rows of each student into one DTO.
+     */
+    private Flux<StudentResponseDTO> mapStudentsToDTO(Flux<StudentReportRow> rows) {
+        return rows.bufferUntilChanged(StudentReportRow::studentId).map(this::mapStudentToDTO);
+    }
+
+    private Flux<TeacherResponseDTO> mapTeachersToDTO(Flux<TeacherReportRow> rows) {
+        return rows.bufferUntilChanged(TeacherReportRow::teacherId).map(this::mapTeacherToDTO);
+    }
+
+    private StudentResponseDTO mapStudentToDTO(List<StudentReportRow> rows) {
+        StudentReportRow first = rows.get(0);
+        Set<CourseResponseDTO> courses = new HashSet<>();
+        for (StudentReportRow row : rows) {
+            if (row.courseName() != null) {
+                courses.add(mapCourseToDTO(row.courseName(), row.courseType().name()));
+            }
+        }
+        return StudentResponseDTO.builder()
+                .studentId(first.studentId().toString())
+                .studentName(first.studentName())
+                .studentAge(first.studentAge())
+                .studentGroupName(first.studentGroup())
+                .studentCourses(courses)
+                .build();
+    }
+
+    private TeacherResponseDTO mapTeacherToDTO(List<TeacherReportRow> rows) {
+        TeacherReportRow first = rows.get(0);
+        Set<CourseResponseDTO> courses = new HashSet<>();
+        for (TeacherReportRow row : rows) {
+            if (row.courseName() != null) {
+                courses.add(mapCourseToDTO(row.courseName(), row.courseType().name()));
+            }
+        }
+        return TeacherResponseDTO.builder()
+                .teacherId(first.teacherId().toString())
+                .teacherName(first.teacherName())
+                .teacherAge(first.teacherAge())
+                .teacherGroupName(first.teacherGroup())
+                .teacherCourses(courses)
+                .build();
+    }
+
+    private CourseResponseDTO mapCourseToDTO(String courseName, String courseType) {
+        return CourseResponseDTO.builder()
+                .courseName(courseName)
+                .courseTypeName(courseType)
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.classroom.service;
+
+import com.classroom.config.routing.PrimaryReadContext;
+import com.classroom.exception.ReportTimeoutException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Runs the two independent halves of a report at the same time, each in its own read-only transaction, and
+ * waits for both up to a per-report deadline. The first half runs on the calling thread and the second on a
+ * small bounded pool; when the pool and its queue are full the caller runs the second half as well.
+ * <p>
+ * A caller that has to read from the primary hands that on to the pool thread. A report that misses its
+ * deadline fails with {@link ReportTimeoutException}; its queries are stopped by the transaction timeout rather
+ * than by interrupting the pool thread, which could close the connection under the database driver.
+ * Both halves run one after the other on the calling thread when it already is in a transaction, whose view
+ * of the data they must share, or when {@code threads} is set to 0.
+ */
+@Component
+public class ReportFanOut {
+
+    private static final String REPORT_TIMED_OUT = "Report did not complete within %d ms";
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration timeout;
+    private final ThreadPoolExecutor executor;
+
+    public ReportFanOut(PlatformTransactionManager transactionManager,
+                        @Value("${classroom.report.fan-out.threads:8}") int threads,
+                        @Value("${classroom.report.fan-out.queue-capacity:64}") int queueCapacity,
+                        @Value("${classroom.report.fan-out.timeout:PT10S}") Duration timeout) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, (timeout.toMillis() + 999) / 1000));
+        this.timeout = timeout;
+        if (threads > 0) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("report-fan-out-");
+            threadFactory.setDaemon(true);
+            this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory,
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        } else {
+            this.executor = null;
+        }
+    }
+
+    public <S, T, R> R join(Supplier<S> first, Supplier<T> second, BiFunction<S, T, R> combine) {
+        if (executor == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return readOnlyTransaction.execute(status -> combine.apply(first.get(), second.get()));
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Future<T> secondResult = submit(second);
+        try {
+            S firstValue = readOnlyTransaction.execute(status -> first.get());
+            return combine.apply(firstValue, await(secondResult, deadline));
+        } finally {
+            secondResult.cancel(false);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private <T> Future<T> submit(Supplier<T> query) {
+        boolean readFromPrimary = PrimaryReadContext.isActive();
+        return executor.submit(() -> {
+            boolean entered = readFromPrimary && !PrimaryReadContext.isActive();
+            if (entered) {
+                PrimaryReadContext.enter();
+            }
+            try {
+                return readOnlyTransaction.execute(status -> query.get());
+            } finally {
+                if (entered) {
+                    PrimaryReadContext.exit();
+                }
+            }
+        });
+    }
+
+    private <T> T await(Future<T> result, long deadline) {
+        try {
+            return result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ReportTimeoutException(String.format(REPORT_TIMED_OUT, timeout.toMillis()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ReportTimeoutException(String.format(REPORT_TIMED_OUT, timeout.toMillis()));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
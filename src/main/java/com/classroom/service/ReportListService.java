@@ -0,0 +1,149 @@
+package com.classroom.service;
+
+import com.classroom.dto.course.CourseResponseDTO;
+import com.classroom.dto.report.CourseAndGroupReportResponseDTO;
+import com.classroom.dto.report.StudentReportResponseDTO;
+import com.classroom.dto.report.TeacherReportResponseDTO;
+import com.classroom.enumartion.CourseType;
+import com.classroom.exception.UnprocessableEntityException;
+import com.classroom.repository.CourseRepository;
+import com.classroom.repository.StudentRepository;
+import com.classroom.repository.TeacherRepository;
+import com.classroom.repository.projection.StudentReportRow;
+import com.classroom.repository.projection.TeacherReportRow;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ordered variants of the roster reports of {@link ReportService}. People are listed by name, then id, and their
+ * courses by name. The database sorts the rows, so the rows of one person are adjacent and each person is built
+ * from them in a single pass, without hashing any DTO.
+ * <p>
+ * These reports always read the database; the enrollment index only yields unordered ids.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ReportListService {
+
+    private static final String COURSE_DOES_NOT_EXISTS = "Course with name %s does not exists";
+    private static final String AGE_RANGE_INVALID = "Minimum age %d is greater than maximum age %d";
+
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final ReportFanOut reportFanOut;
+
+    public List<StudentReportResponseDTO> getStudentsByGroup(String groupName) {
+        return mapStudentsToDTO(studentRepository.findOrderedStudentReportRowsByGroup(groupName));
+    }
+
+    public List<StudentReportResponseDTO> getStudentsByCourse(String courseName) {
+        requireCourse(courseName);
+        return mapStudentsToDTO(studentRepository.findOrderedStudentReportRowsByCourse(courseName));
+    }
+
+    public List<StudentReportResponseDTO> getStudentsByAgeAndCourse(int age, String courseName) {
+        requireCourse(courseName);
+        return mapStudentsToDTO(studentRepository.findOrderedStudentReportRowsOlderThanAgeInCourse(age, courseName));
+    }
+
+    /**
+     * Students of a course whose age is between {@code minAge} and {@code maxAge}, both inclusive and both
+     * optional, optionally narrowed to one group.
+     */
+    public List<StudentReportResponseDTO> getStudentsByAgeRangeAndCourse(Integer minAge, Integer maxAge, String courseName, String groupName) {
+        int min = minAge == null ? 0 : minAge;
+        int max = maxAge == null ? Integer.MAX_VALUE : maxAge;
+        if (min > max) {
+            throw new UnprocessableEntityException(String.format(AGE_RANGE_INVALID, min, max));
+        }
+        requireCourse(courseName);
+        return mapStudentsToDTO(studentRepository.findOrderedStudentReportRowsInAgeRangeInCourse(min, max, courseName, groupName));
+    }
+
+    /**
+     * Loads the students and the teachers of the report at the same time, each in its own read-only transaction,
+     * so this method does not open a transaction of its own.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public CourseAndGroupReportResponseDTO getStudentsAndTeachersByCourseAndGroup(String courseName, String groupName) {
+        requireCourse(courseName);
+        return reportFanOut.join(
+                () -> mapStudentsToDTO(studentRepository.findOrderedStudentReportRowsByCourseAndGroup(courseName, groupName)),
+                () -> mapTeachersToDTO(teacherRepository.findOrderedTeacherReportRowsByCourseAndGroup(courseName, groupName)),
+                CourseAndGroupReportResponseDTO::new);
+    }
+
+    /**
+     * Fails the way the course reports do when the course does not exist, so callers can check before tagging.
+     */
+    public void requireCourse(String courseName) {
+        if (courseRepository.findByName(courseName).isEmpty()) {
+            throw new EntityNotFoundException(String.format(COURSE_DOES_NOT_EXISTS, courseName));
+        }
+    }
+
+    /**
+     * Starts a new student whenever the id changes and appends the course of every row to the current one.
+     */
+    private static List<StudentReportResponseDTO> mapStudentsToDTO(List<StudentReportRow> rows) {
+        List<StudentReportResponseDTO> students = new ArrayList<>();
+        UUID currentId = null;
+        List<CourseResponseDTO> courses = null;
+        for (StudentReportRow row : rows) {
+            if (!row.studentId().equals(currentId)) {
+                currentId = row.studentId();
+                courses = new ArrayList<>();
+                students.add(StudentReportResponseDTO.builder()
+                        .studentId(currentId.toString())
+                        .studentName(row.studentName())
+                        .studentAge(row.studentAge())
+                        .studentGroupName(row.studentGroup())
+                        .studentCourses(courses)
+                        .build());
+            }
+            if (row.courseName() != null) {
+                courses.add(mapCourseToDTO(row.courseName(), row.courseType()));
+            }
+        }
+        return students;
+    }
+
+    private static List<TeacherReportResponseDTO> mapTeachersToDTO(List<TeacherReportRow> rows) {
+        List<TeacherReportResponseDTO> teachers = new ArrayList<>();
+        UUID currentId = null;
+        List<CourseResponseDTO> courses = null;
+        for (TeacherReportRow row : rows) {
+            if (!row.teacherId().equals(currentId)) {
+                currentId = row.teacherId();
+                courses = new ArrayList<>();
+                teachers.add(TeacherReportResponseDTO.builder()
+                        .teacherId(currentId.toString())
+                        .teacherName(row.teacherName())
+                        .teacherAge(row.teacherAge())
+                        .teacherGroupName(row.teacherGroup())
+                        .teacherCourses(courses)
+                        .build());
+            }
+            if (row.courseName() != null) {
+                courses.add(mapCourseToDTO(row.courseName(), row.courseType()));
+            }
+        }
+        return teachers;
+    }
+
+    private static CourseResponseDTO mapCourseToDTO(String courseName, CourseType courseType) {
+        return CourseResponseDTO.builder()
+                .courseName(courseName)
+                .courseTypeName(courseType.name())
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.classroom.service;
+
+import com.classroom.config.routing.PrimaryReadContext;
+import com.classroom.dto.report.ReportCacheStatisticsResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Reports already serialized to JSON, so a repeated report is written out as stored bytes without running its
+ * queries, building its DTOs or serializing them again.
+ * <p>
+ * Entries are keyed by the report, its parameters and the {@link RosterVersionService} tag the report is served
+ * under. The tag must be taken before the report is loaded: a write committing in between then at worst stores
+ * newer data under the older tag, which the write has already moved past. Once a mutator moves the tag, the old
+ * entry is no longer found and is evicted when the cache is full. The expiry only bounds how long writes that the
+ * counters do not see, such as those of another instance, can go unnoticed.
+ * <p>
+ * A client that has just written reads from the primary and bypasses the cache, since an entry stored under the new
+ * tag may still have been read from a replica that had not caught up with that write.
+ */
+@Service
+public class ReportResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Cache<Key, byte[]> responses;
+
+    public ReportResponseCache(ObjectMapper objectMapper,
+                               @Value("${classroom.cache.report.enabled:true}") boolean enabled,
+                               @Value("${classroom.cache.report.max-size:32MB}") DataSize maxSize,
+                               @Value("${classroom.cache.report.ttl:PT10M}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Key key, byte[] body) -> body.length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the stored body of the report, or loads and serializes it. Concurrent requests for a missing entry
+     * wait for a single load instead of each running the report.
+     */
+    public byte[] get(String report, String tag, Supplier<?> loader, Object... parameters) {
+        if (!enabled || PrimaryReadContext.isActive()) {
+            return serialize(loader.get());
+        }
+        return responses.get(new Key(report, Arrays.asList(parameters), tag), key -> serialize(loader.get()));
+    }
+
+    public ReportCacheStatisticsResponseDTO getStatistics() {
+        responses.cleanUp();
+        CacheStats stats = responses.stats();
+        return ReportCacheStatisticsResponseDTO.builder()
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .entryCount(responses.estimatedSize())
+                .sizeBytes(responses.policy().eviction().orElseThrow().weightedSize().orElse(0))
+                .build();
+    }
+
+    private byte[] serialize(Object report) {
+        try {
+            return objectMapper.writeValueAsBytes(report);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Key(String report, List<Object> parameters, String tag) {
+    }
+}
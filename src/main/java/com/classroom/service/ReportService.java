@@ -5,21 +5,31 @@ import com.classroom.dto.report.StudentAndTeacherReportResponseDTO;
 import com.classroom.dto.student.StudentResponseDTO;
 import com.classroom.dto.teacher.TeacherResponseDTO;
 import com.classroom.entity.Course;
-import com.classroom.entity.Student;
-import com.classroom.entity.Teacher;
 import com.classroom.enumartion.CourseType;
+import com.classroom.exception.UnprocessableEntityException;
 import com.classroom.repository.CourseRepository;
+import com.classroom.repository.EnrollmentIndexRepository;
 import com.classroom.repository.StudentRepository;
 import com.classroom.repository.TeacherRepository;
+import com.classroom.repository.projection.CourseEnrollmentRow;
+import com.classroom.repository.projection.StudentReportRow;
+import com.classroom.repository.projection.TeacherReportRow;
+import com.classroom.service.index.EnrollmentIndex;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -27,22 +37,39 @@ import java.util.stream.Collectors;
 public class ReportService {
 
     private static final String COURSE_DOES_NOT_EXISTS = "Course with name %s does not exists";
+    private static final String AGE_RANGE_INVALID = "Minimum age %d is greater than maximum age %d";
+    private static final int IDS_PER_QUERY = 10_000;
 
     private final CourseRepository courseRepository;
     private final StudentRepository studentRepository;
     private final TeacherRepository teacherRepository;
+    private final CounterService counterService;
+    private final EnrollmentIndex enrollmentIndex;
+    private final EnrollmentIndexRepository enrollmentIndexRepository;
+    private final ReportFanOut reportFanOut;
 
     public long countStudents() {
-        return studentRepository.countStudents();
+        return counterService.countStudents();
     }
 
     public long countTeachers() {
-        return teacherRepository.countTeachers();
+        return counterService.countTeachers();
     }
 
     public long countCoursesByType(String courseType) {
         CourseType type = CourseType.fromString(courseType);
-        return courseRepository.countCoursesByType(type);
+        return counterService.countCourses(type);
+    }
+
+    public long countStudentsByCourse(String courseName) {
+        Course course = findCourse(courseName);
+        return enrollmentIndex.countStudentsInCourse(course.getId())
+                .orElseGet(() -> studentRepository.countEnrollmentsByCourseId(course.getId()));
+    }
+
+    public long countStudentsByGroup(String groupName) {
+        return enrollmentIndex.countStudentsInGroup(groupName)
+                .orElseGet(() -> studentRepository.countByStudentGroup(groupName));
     }
 
     public Set<StudentResponseDTO> getStudentsByCourse(String courseName) {
@@ -50,12 +77,21 @@ public class ReportService {
         if (existingCourse.isEmpty()) {
             throw new EntityNotFoundException(String.format(COURSE_DOES_NOT_EXISTS, courseName));
         }
-        Set<Student> students = studentRepository.findStudentsByCourse(existingCourse.get().getName());
-        return mapStudentsToDTO(students);
+        Optional<List<UUID>> indexed = enrollmentIndex.findStudentsInCourse(existingCourse.get().getId());
+        if (indexed.isPresent()) {
+            return loadStudents(indexed.get());
+        }
+        List<StudentReportRow> students = studentRepository.findStudentReportRowsByCourse(existingCourse.get().getName());
+        List<CourseEnrollmentRow> courses = studentRepository.findCourseRowsOfStudentsInCourse(existingCourse.get().getName());
+        return mapStudentsToDTO(students, courses);
     }
 
     public Set<StudentResponseDTO> getStudentsByGroup(String groupName) {
-        Set<Student> students = studentRepository.findStudentsByGroup(groupName);
+        Optional<List<UUID>> indexed = enrollmentIndex.findStudentsInGroup(groupName);
+        if (indexed.isPresent()) {
+            return loadStudents(indexed.get());
+        }
+        List<StudentReportRow> students = studentRepository.findStudentReportRowsByGroup(groupName);
         return mapStudentsToDTO(students);
     }
 
@@ -64,57 +100,161 @@ public class ReportService {
         if (existingCourse.isEmpty()) {
             throw new EntityNotFoundException(String.format(COURSE_DOES_NOT_EXISTS, courseName));
         }
-        Set<Student> students = studentRepository.findStudentsOlderThanAgeInCourse(age, existingCourse.get().getName());
-        return mapStudentsToDTO(students);
+        List<StudentReportRow> students = studentRepository.findStudentReportRowsOlderThanAgeInCourse(age, existingCourse.get().getName());
+        List<CourseEnrollmentRow> courses = studentRepository.findCourseRowsOfStudentsOlderThanAgeInCourse(age, existingCourse.get().getName());
+        return mapStudentsToDTO(students, courses);
     }
 
+    /**
+     * Students of a course whose age is between {@code minAge} and {@code maxAge}, both inclusive and both
+     * optional, optionally narrowed to one group.
+     */
+    public Set<StudentResponseDTO> getStudentsByAgeRangeAndCourse(Integer minAge, Integer maxAge, String courseName, String groupName) {
+        int min = minAge == null ? 0 : minAge;
+        int max = maxAge == null ? Integer.MAX_VALUE : maxAge;
+        if (min > max) {
+            throw new UnprocessableEntityException(String.format(AGE_RANGE_INVALID, min, max));
+        }
+        Course course = findCourse(courseName);
+        Optional<List<UUID>> indexed = groupName == null
+                ? enrollmentIndex.findStudentsInCourseByAge(course.getId(), min, max)
+                : enrollmentIndex.findStudentsInCourseAndGroupByAge(course.getId(), groupName, min, max);
+        if (indexed.isPresent()) {
+            return loadStudents(indexed.get());
+        }
+        List<StudentReportRow> students = studentRepository.findStudentReportRowsInAgeRangeInCourse(min, max, course.getName(), groupName);
+        List<CourseEnrollmentRow> courses = studentRepository.findCourseRowsOfStudentsInAgeRangeInCourse(min, max, course.getName(), groupName);
+        return mapStudentsToDTO(students, courses);
+    }
+
+    /**
+     * Loads the students and the teachers of the report at the same time, each in its own read-only transaction,
+     * so this method does not open a transaction of its own.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public StudentAndTeacherReportResponseDTO getStudentsAndTeachersByCourseAndGroup(String courseName, String groupName) {
-        Optional<Course> existingCourse = courseRepository.findByName(courseName);
-        if (existingCourse.isEmpty()) {
-            throw new EntityNotFoundException(String.format(COURSE_DOES_NOT_EXISTS, courseName));
+        Course course = findCourse(courseName);
+        return reportFanOut.join(
+                () -> findStudentsByCourseAndGroup(course, groupName),
+                () -> findTeachersByCourseAndGroup(course, groupName),
+                StudentAndTeacherReportResponseDTO::new);
+    }
+
+    /**
+     * Fails the way the course reports do when the course does not exist, so callers can check before tagging.
+     */
+    public void requireCourse(String courseName) {
+        findCourse(courseName);
+    }
+
+    private Course findCourse(String courseName) {
+        return courseRepository.findByName(courseName)
+                .orElseThrow(() -> new EntityNotFoundException(String.format(COURSE_DOES_NOT_EXISTS, courseName)));
+    }
+
+    private Set<StudentResponseDTO> findStudentsByCourseAndGroup(Course course, String groupName) {
+        Optional<List<UUID>> indexed = enrollmentIndex.findStudentsInCourseAndGroup(course.getId(), groupName);
+        if (indexed.isPresent()) {
+            return loadStudents(indexed.get());
         }
-        Set<Student> students = studentRepository.findStudentsByCourseAndGroup(existingCourse.get().getName(), groupName);
-        Set<Teacher> teachers = teacherRepository.findTeachersByCourseAndGroup(existingCourse.get().getName(), groupName);
-
-        Set<StudentResponseDTO> studentsResponse = mapStudentsToDTO(students);
-        Set<TeacherResponseDTO> teacherResponse = mapTeachersToDTO(teachers);
-
-        return new StudentAndTeacherReportResponseDTO(studentsResponse, teacherResponse);
-    }
-
-    private Set<StudentResponseDTO> mapStudentsToDTO(Collection<Student> students) {
-        return students.stream()
-                .map(student -> StudentResponseDTO.builder()
-                        .studentId(student.getId().toString())
-                        .studentName(student.getName())
-                        .studentAge(student.getAge())
-                        .studentGroupName(student.getStudentGroup())
-                        .studentCourses(student.getCourses().stream()
-                                        .map(course -> CourseResponseDTO.builder()
-                                                        .courseName(course.getName())
-                                                        .courseTypeName(course.getType().name())
-                                                        .build()
-                                        ).collect(Collectors.toSet())
-                        )
-                        .build())
-                .collect(Collectors.toSet());
-    }
-
-    private Set<TeacherResponseDTO> mapTeachersToDTO(Collection<Teacher> teachers) {
-        return teachers.stream()
-                .map(teacher -> TeacherResponseDTO.builder()
-                        .teacherId(teacher.getId().toString())
-                        .teacherName(teacher.getName())
-                        .teacherAge(teacher.getAge())
-                        .teacherGroupName(teacher.getTeacherGroup())
-                        .teacherCourses(teacher.getCourses().stream()
-                                .map(course -> CourseResponseDTO.builder()
-                                        .courseName(course.getName())
-                                        .courseTypeName(course.getType().name())
-                                        .build()
-                                ).collect(Collectors.toSet())
-                        )
-                        .build())
-                .collect(Collectors.toSet());
+        List<StudentReportRow> students = studentRepository.findStudentReportRowsByCourseAndGroup(course.getName(), groupName);
+        List<CourseEnrollmentRow> courses = studentRepository.findCourseRowsOfStudentsInCourseAndGroup(course.getName(), groupName);
+        return mapStudentsToDTO(students, courses);
+    }
+
+    private Set<TeacherResponseDTO> findTeachersByCourseAndGroup(Course course, String groupName) {
+        Optional<List<UUID>> indexed = enrollmentIndex.findTeachersInCourseAndGroup(course.getId(), groupName);
+        if (indexed.isPresent()) {
+            return loadTeachers(indexed.get());
+        }
+        List<TeacherReportRow> teachers = teacherRepository.findTeacherReportRowsByCourseAndGroup(course.getName(), groupName);
+        List<CourseEnrollmentRow> courses = teacherRepository.findCourseRowsOfTeachersInCourseAndGroup(course.getName(), groupName);
+        return mapTeachersToDTO(teachers, courses);
+    }
+
+    /**
+     * Loads the report rows of students found through the enrollment index, a bounded number of ids per query.
+     */
+    private Set<StudentResponseDTO> loadStudents(List<UUID> studentIds) {
+        List<StudentReportRow> rows = new ArrayList<>(studentIds.size());
+        List<CourseEnrollmentRow> courses = new ArrayList<>();
+        for (int from = 0; from < studentIds.size(); from += IDS_PER_QUERY) {
+            List<UUID> chunk = studentIds.subList(from, Math.min(from + IDS_PER_QUERY, studentIds.size()));
+            rows.addAll(enrollmentIndexRepository.findStudentReportRowsByIds(chunk));
+            courses.addAll(enrollmentIndexRepository.findCourseRowsOfStudents(chunk));
+        }
+        return mapStudentsToDTO(rows, courses);
+    }
+
+    private Set<TeacherResponseDTO> loadTeachers(List<UUID> teacherIds) {
+        List<TeacherReportRow> rows = new ArrayList<>(teacherIds.size());
+        List<CourseEnrollmentRow> courses = new ArrayList<>();
+        for (int from = 0; from < teacherIds.size(); from += IDS_PER_QUERY) {
+            List<UUID> chunk = teacherIds.subList(from, Math.min(from + IDS_PER_QUERY, teacherIds.size()));
+            rows.addAll(enrollmentIndexRepository.findTeacherReportRowsByIds(chunk));
+            courses.addAll(enrollmentIndexRepository.findCourseRowsOfTeachers(chunk));
+        }
+        return mapTeachersToDTO(rows, courses);
+    }
+
+    private Set<StudentResponseDTO> mapStudentsToDTO(Collection<StudentReportRow> rows) {
+        return mapStudentsToDTO(rows, List.of());
+    }
+
+    /**
+     * Builds one DTO per student from the report rows, then attaches the separately loaded course rows.
+     */
+    private Set<StudentResponseDTO> mapStudentsToDTO(Collection<StudentReportRow> rows, Collection<CourseEnrollmentRow> courses) {
+        Map<UUID, StudentResponseDTO> students = new LinkedHashMap<>();
+        for (StudentReportRow row : rows) {
+            StudentResponseDTO student = students.computeIfAbsent(row.studentId(), id -> StudentResponseDTO.builder()
+                    .studentId(id.toString())
+                    .studentName(row.studentName())
+                    .studentAge(row.studentAge())
+                    .studentGroupName(row.studentGroup())
+                    .studentCourses(new HashSet<>())
+                    .build());
+            if (row.courseName() != null) {
+                student.getStudentCourses().add(mapCourseToDTO(row.courseName(), row.courseType()));
+            }
+        }
+        for (CourseEnrollmentRow course : courses) {
+            StudentResponseDTO student = students.get(course.personId());
+            if (student != null) {
+                student.getStudentCourses().add(mapCourseToDTO(course.courseName(), course.courseType()));
+            }
+        }
+        // Collected only after every course is added, since the DTO hash covers its course set
+        return new HashSet<>(students.values());
+    }
+
+    private Set<TeacherResponseDTO> mapTeachersToDTO(Collection<TeacherReportRow> rows, Collection<CourseEnrollmentRow> courses) {
+        Map<UUID, TeacherResponseDTO> teachers = new LinkedHashMap<>();
+        for (TeacherReportRow row : rows) {
+            TeacherResponseDTO teacher = teachers.computeIfAbsent(row.teacherId(), id -> TeacherResponseDTO.builder()
+                    .teacherId(id.toString())
+                    .teacherName(row.teacherName())
+                    .teacherAge(row.teacherAge())
+                    .teacherGroupName(row.teacherGroup())
+                    .teacherCourses(new HashSet<>())
+                    .build());
+            if (row.courseName() != null) {
+                teacher.getTeacherCourses().add(mapCourseToDTO(row.courseName(), row.courseType()));
+            }
+        }
+        for (CourseEnrollmentRow course : courses) {
+            TeacherResponseDTO teacher = teachers.get(course.personId());
+            if (teacher != null) {
+                teacher.getTeacherCourses().add(mapCourseToDTO(course.courseName(), course.courseType()));
+            }
+        }
+        return new HashSet<>(teachers.values());
+    }
+
+    private CourseResponseDTO mapCourseToDTO(String courseName, CourseType courseType) {
+        return CourseResponseDTO.builder()
+                .courseName(courseName)
+                .courseTypeName(courseType.name())
+                .build();
     }
 }
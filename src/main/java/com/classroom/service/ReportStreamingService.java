@@ -0,0 +1,128 @@
+package com.classroom.service;
+
+import com.classroom.dto.course.CourseResponseDTO;
+import com.classroom.dto.student.StudentResponseDTO;
+import com.classroom.exception.UnprocessableEntityException;
+import com.classroom.repository.CourseRepository;
+import com.classroom.repository.StudentRepository;
+import com.classroom.repository.projection.StudentReportRow;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streamed variants of the roster reports of {@link ReportService}. Rows are read through a forward-only cursor and
+ * every student is handed on as soon as its last row has been read, so memory use does not grow with the size of
+ * the report.
+ * <p>
+ * The course and the parameters are checked right away, so that a bad request fails before any of the response is
+ * written. The returned {@link StudentExport} runs later, on the thread that writes the response, in a read-only
+ * transaction of its own.
+ */
+@Service
+public class ReportStreamingService {
+
+    private static final String COURSE_DOES_NOT_EXISTS = "Course with name %s does not exists";
+    private static final String AGE_RANGE_INVALID = "Minimum age %d is greater than maximum age %d";
+
+    private final CourseRepository courseRepository;
+    private final StudentRepository studentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ReportStreamingService(CourseRepository courseRepository,
+                                  StudentRepository studentRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.courseRepository = courseRepository;
+        this.studentRepository = studentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public StudentExport streamStudentsByGroup(String groupName) {
+        return sink -> export(() -> studentRepository.streamStudentReportRowsByGroup(groupName), sink);
+    }
+
+    public StudentExport streamStudentsByCourse(String courseName) {
+        requireCourse(courseName);
+        return sink -> export(() -> studentRepository.streamStudentReportRowsByCourse(courseName), sink);
+    }
+
+    public StudentExport streamStudentsByAgeAndCourse(int age, String courseName) {
+        requireCourse(courseName);
+        return sink -> export(() -> studentRepository.streamStudentReportRowsOlderThanAgeInCourse(age, courseName), sink);
+    }
+
+    public StudentExport streamStudentsByAgeRangeAndCourse(Integer minAge, Integer maxAge, String courseName, String groupName) {
+        int min = minAge == null ? 0 : minAge;
+        int max = maxAge == null ? Integer.MAX_VALUE : maxAge;
+        if (min > max) {
+            throw new UnprocessableEntityException(String.format(AGE_RANGE_INVALID, min, max));
+        }
+        requireCourse(courseName);
+        return sink -> export(() -> studentRepository.streamStudentReportRowsInAgeRangeInCourse(min, max, courseName, groupName), sink);
+    }
+
+    private void requireCourse(String courseName) {
+        if (courseRepository.findByName(courseName).isEmpty()) {
+            throw new EntityNotFoundException(String.format(COURSE_DOES_NOT_EXISTS, courseName));
+        }
+    }
+
+    private void export(Supplier<Stream<StudentReportRow>> query, Consumer<StudentResponseDTO> sink) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<StudentReportRow> rows = query.get()) {
+                foldStudents(rows.iterator(), sink);
+            }
+        });
+    }
+
+    /**
+     * Builds one DTO from the adjacent rows of each student and passes it on once the next student starts.
+     */
+    private void foldStudents(Iterator<StudentReportRow> rows, Consumer<StudentResponseDTO> sink) {
+        UUID currentId = null;
+        StudentResponseDTO current = null;
+        while (rows.hasNext()) {
+            StudentReportRow row = rows.next();
+            if (!row.studentId().equals(currentId)) {
+                if (current != null) {
+                    sink.accept(current);
+                }
+                currentId = row.studentId();
+                current = StudentResponseDTO.builder()
+                        .studentId(currentId.toString())
+                        .studentName(row.studentName())
+                        .studentAge(row.studentAge())
+                        .studentGroupName(row.studentGroup())
+                        .studentCourses(new HashSet<>())
+                        .build();
+            }
+            if (row.courseName() != null) {
+                current.getStudentCourses().add(CourseResponseDTO.builder()
+                        .courseName(row.courseName())
+                        .courseTypeName(row.courseType().name())
+                        .build());
+            }
+        }
+        if (current != null) {
+            sink.accept(current);
+        }
+    }
+
+    /**
+     * A roster report that has been checked but not read yet.
+     */
+    @FunctionalInterface
+    public interface StudentExport {
+
+        void writeTo(Consumer<StudentResponseDTO> sink);
+    }
+}
@@ -0,0 +1,132 @@
+package com.classroom.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version counters behind the strong ETags of the course and report endpoints, so that a conditional
+ * GET can be answered with 304 without running any SQL. There is a counter per course name and per group, one for
+ * the course catalogue and one for the student and teacher totals, plus a global one that every tag includes.
+ * <p>
+ * Mutators report what they touched and the counters move once the transaction commits. A person's enrollments
+ * show up in the report of every course they attend, so changing a person bumps their group and all of their
+ * courses. Since reports may read from a replica that is up to {@code classroom.datasource.replica.max-lag}
+ * behind, the counters move again once that has passed; otherwise a stale body read just after the commit would
+ * carry the new tag until the next change.
+ * <p>
+ * The counters only see writes of this instance. Every tag starts with a random per-instance prefix, so a tag
+ * issued by another instance or before a restart never matches.
+ */
+@Service
+public class RosterVersionService {
+
+    private static final String COURSE = "course:";
+    private static final String GROUP = "group:";
+    private static final String CATALOG = "catalog";
+    private static final String PEOPLE = "people";
+
+    private final TaskScheduler taskScheduler;
+    private final Duration replicaMaxLag;
+    private final String instance = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final AtomicLong everything = new AtomicLong();
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public RosterVersionService(TaskScheduler taskScheduler,
+                                @Value("${classroom.datasource.replica.max-lag:PT2S}") Duration replicaMaxLag) {
+        this.taskScheduler = taskScheduler;
+        this.replicaMaxLag = replicaMaxLag;
+    }
+
+    public String courseTag(String courseName) {
+        return tag(COURSE + courseName);
+    }
+
+    public String groupTag(String groupName) {
+        return tag(GROUP + groupName);
+    }
+
+    public String courseAndGroupTag(String courseName, String groupName) {
+        return tag(COURSE + courseName, GROUP + groupName);
+    }
+
+    public String catalogTag() {
+        return tag(CATALOG);
+    }
+
+    public String peopleTag() {
+        return tag(PEOPLE);
+    }
+
+    /**
+     * Members, attributes or enrollments of people in the given groups and courses changed.
+     */
+    public void rosterChanged(Collection<String> groupNames, Collection<String> courseNames) {
+        List<String> keys = new ArrayList<>(groupNames.size() + courseNames.size());
+        groupNames.forEach(groupName -> keys.add(GROUP + groupName));
+        courseNames.forEach(courseName -> keys.add(COURSE + courseName));
+        afterCommit(() -> bump(keys));
+    }
+
+    /**
+     * Students or teachers were created or deleted; the groups and courses they belong to are reported separately.
+     */
+    public void peopleChanged() {
+        afterCommit(() -> bump(List.of(PEOPLE)));
+    }
+
+    public void catalogChanged() {
+        afterCommit(() -> bump(List.of(CATALOG)));
+    }
+
+    /**
+     * For writes that do not know every group and course they affect, such as bulk enrollments.
+     */
+    public void everythingChanged() {
+        afterCommit(everything::incrementAndGet);
+    }
+
+    private String tag(String... keys) {
+        StringBuilder tag = new StringBuilder("\"").append(instance).append('.').append(everything.get());
+        for (String key : keys) {
+            AtomicLong version = versions.get(key);
+            tag.append('.').append(version == null ? 0 : version.get());
+        }
+        return tag.append('"').toString();
+    }
+
+    private void bump(List<String> keys) {
+        for (String key : keys) {
+            versions.computeIfAbsent(key, added -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    private void afterCommit(Runnable bump) {
+        Runnable bumpNowAndOnceReplicated = () -> {
+            bump.run();
+            taskScheduler.schedule(bump, Instant.now().plus(replicaMaxLag));
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bumpNowAndOnceReplicated.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bumpNowAndOnceReplicated.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,244 @@
+package com.classroom.service;
+
+import com.classroom.config.routing.PrimaryReadContext;
+import com.classroom.entity.Course;
+import com.classroom.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admits student enrollments into courses with a capacity without locking the course row. Each capped course
+ * has an in-memory seat counter, seeded from the database on first use, that is claimed with a compare-and-set
+ * inside the enrolling transaction and handed back if that transaction rolls back. Leaving a course frees its
+ * seat once the transaction commits.
+ * <p>
+ * The counters are authoritative for a single application instance. {@link #reconcile()} recounts the database
+ * on the primary and only overwrites a counter when no seat change was in flight for that course and none started
+ * or settled while it counted, so it can free leaked seats without ever letting a course be over-booked. Every
+ * seat change bumps an epoch stored in the same word as the counter, so a reservation and a release that cancel
+ * each other out during the count still make the overwrite fail.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeatReservationService {
+
+    private static final String SEATS_DRIFTED = "Seat counter for course {} drifted: expected {} but was {}";
+
+    private final StudentRepository studentRepository;
+
+    private final Map<UUID, CourseSeats> seatsByCourse = new ConcurrentHashMap<>();
+
+    public boolean tryReserve(Course course) {
+        return tryReserve(course, 1);
+    }
+
+    public boolean tryReserve(Course course, int seats) {
+        if (course.getCapacity() == null || seats == 0) {
+            return true;
+        }
+        CourseSeats courseSeats = seatsOf(course);
+        if (!courseSeats.tryAcquire(seats)) {
+            return false;
+        }
+        afterCompletion(committed -> courseSeats.settleReservation(seats, committed));
+        return true;
+    }
+
+    /**
+     * Reserves as many of the requested seats as are still free, for callers that admit students one by one.
+     *
+     * @return the number of seats reserved, between 0 and {@code seats}
+     */
+    public int reserveUpTo(Course course, int seats) {
+        if (course.getCapacity() == null || seats == 0) {
+            return seats;
+        }
+        CourseSeats courseSeats = seatsOf(course);
+        int reserved = courseSeats.acquireUpTo(seats);
+        if (reserved > 0) {
+            afterCompletion(committed -> courseSeats.settleReservation(reserved, committed));
+        }
+        return reserved;
+    }
+
+    public void release(Course course) {
+        releaseAll(List.of(course));
+    }
+
+    public void releaseAll(Collection<Course> courses) {
+        for (Course course : courses) {
+            release(course, 1);
+        }
+    }
+
+    /**
+     * Frees seats once the transaction commits, including seats reserved earlier in the same transaction that
+     * turned out not to be needed.
+     */
+    public void release(Course course, int seats) {
+        if (course.getCapacity() == null || seats == 0) {
+            return;
+        }
+        CourseSeats courseSeats = seatsOf(course);
+        courseSeats.beginRelease(seats);
+        afterCompletion(committed -> courseSeats.settleRelease(seats, committed));
+    }
+
+    public int availableSeats(Course course) {
+        if (course.getCapacity() == null) {
+            return Integer.MAX_VALUE;
+        }
+        return course.getCapacity() - seatsOf(course).taken();
+    }
+
+    @Scheduled(fixedDelayString = "${classroom.seats.reconcile-interval:PT1M}",
+            initialDelayString = "${classroom.seats.reconcile-interval:PT1M}")
+    public void reconcile() {
+        seatsByCourse.forEach((courseId, courseSeats) -> {
+            long state = courseSeats.state.get();
+            if (courseSeats.inFlight.get() != 0) {
+                return;
+            }
+            int enrolled = countEnrollments(courseId);
+            int taken = CourseSeats.takenOf(state);
+            if (enrolled != taken && courseSeats.state.compareAndSet(state, CourseSeats.next(state, enrolled))) {
+                log.warn(SEATS_DRIFTED, courseId, enrolled, taken);
+            }
+        });
+    }
+
+    private CourseSeats seatsOf(Course course) {
+        return seatsByCourse.computeIfAbsent(course.getId(), courseId ->
+                new CourseSeats(course.getCapacity(), countEnrollments(courseId)));
+    }
+
+    /**
+     * Counts on the primary: the count runs in a read-only transaction, which would otherwise go to a replica that
+     * may not have seen the latest enrollments yet.
+     */
+    private int countEnrollments(UUID courseId) {
+        boolean entered = !PrimaryReadContext.isActive();
+        if (entered) {
+            PrimaryReadContext.enter();
+        }
+        try {
+            return (int) studentRepository.countEnrollmentsByCourseId(courseId);
+        } finally {
+            if (entered) {
+                PrimaryReadContext.exit();
+            }
+        }
+    }
+
+    private void afterCompletion(CompletionCallback callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.completed(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.completed(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface CompletionCallback {
+        void completed(boolean committed);
+    }
+
+    /**
+     * Keeps the taken seats in the low 32 bits of {@code state} and an epoch in the high 32 bits. Every change
+     * moves the epoch, so a compare-and-set against an earlier state fails even if the seat count is back where it
+     * was. In-flight changes are counted before they touch the state, so a reader that sees a change in the state
+     * also sees it in flight until it settles.
+     */
+    private static final class CourseSeats {
+
+        private final int capacity;
+        private final AtomicLong state;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private CourseSeats(int capacity, int taken) {
+            this.capacity = capacity;
+            this.state = new AtomicLong(Integer.toUnsignedLong(taken));
+        }
+
+        private static int takenOf(long state) {
+            return (int) state;
+        }
+
+        private static long next(long state, int taken) {
+            return ((state >>> 32) + 1) << 32 | Integer.toUnsignedLong(taken);
+        }
+
+        private int taken() {
+            return takenOf(state.get());
+        }
+
+        private boolean tryAcquire(int seats) {
+            inFlight.addAndGet(seats);
+            while (true) {
+                long current = state.get();
+                int taken = takenOf(current);
+                if (taken + seats > capacity) {
+                    inFlight.addAndGet(-seats);
+                    return false;
+                }
+                if (state.compareAndSet(current, next(current, taken + seats))) {
+                    return true;
+                }
+            }
+        }
+
+        private int acquireUpTo(int seats) {
+            inFlight.addAndGet(seats);
+            while (true) {
+                long current = state.get();
+                int taken = takenOf(current);
+                int acquired = Math.max(0, Math.min(seats, capacity - taken));
+                if (acquired == 0) {
+                    inFlight.addAndGet(-seats);
+                    return 0;
+                }
+                if (state.compareAndSet(current, next(current, taken + acquired))) {
+                    inFlight.addAndGet(acquired - seats);
+                    return acquired;
+                }
+            }
+        }
+
+        private void settleReservation(int seats, boolean committed) {
+            add(committed ? 0 : -seats);
+            inFlight.addAndGet(-seats);
+        }
+
+        private void beginRelease(int seats) {
+            inFlight.addAndGet(seats);
+            add(0);
+        }
+
+        private void settleRelease(int seats, boolean committed) {
+            add(committed ? -seats : 0);
+            inFlight.addAndGet(-seats);
+        }
+
+        private void add(int seats) {
+            state.getAndUpdate(current -> next(current, takenOf(current) + seats));
+        }
+    }
+}
@@ -10,12 +10,18 @@ import com.classroom.entity.Student;
 import com.classroom.exception.UnprocessableEntityException;
 import com.classroom.repository.CourseRepository;
 import com.classroom.repository.StudentRepository;
+import com.classroom.service.index.EnrollmentIndex;
+import com.classroom.service.retry.RetryOnConflict;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -34,10 +40,15 @@ public class StudentService {
     private static final String STUDENT_NOT_ENROLLED_FOR_THIS_COURSE =
             "Student with ID %s is not enrolled for course with name: %s";
     private static final String COURSE_DOES_NOT_EXISTS = "Course with name %s does not exists";
+    private static final String COURSE_IS_FULL = "Course with name %s has no free seats";
 
 
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
+    private final CounterService counterService;
+    private final SeatReservationService seatReservationService;
+    private final EnrollmentIndex enrollmentIndex;
+    private final RosterVersionService rosterVersionService;
 
     public StudentResponseDTO createStudent(CreateStudentRequestDTO createStudentRequest) {
         String studentName = createStudentRequest.getStudentName();
@@ -53,6 +64,10 @@ public class StudentService {
         }
 
         Student student = studentRepository.save(new Student(studentName, age, groupName));
+        counterService.studentsCreated(1);
+        enrollmentIndex.studentsCreated(List.of(student));
+        rosterVersionService.rosterChanged(List.of(groupName), List.of());
+        rosterVersionService.peopleChanged();
         return StudentResponseDTO.builder()
                 .studentId(student.getId().toString())
                 .studentName(student.getName())
@@ -61,17 +76,21 @@ public class StudentService {
                 .build();
     }
 
+    @RetryOnConflict
     public StudentResponseDTO updateStudent(String id, CreateStudentRequestDTO updateStudentRequest) {
         Optional<Student> existingStudent = studentRepository.findById(UUID.fromString(id));
         if (existingStudent.isEmpty()) {
             throw new EntityNotFoundException(String.format(STUDENT_DOES_NOT_EXISTS, id));
         }
         Student student = existingStudent.get();
+        String previousGroup = student.getStudentGroup();
         student.setName(updateStudentRequest.getStudentName());
         student.setAge(updateStudentRequest.getStudentAge());
         student.setStudentGroup(updateStudentRequest.getStudentGroupName());
 
         studentRepository.save(student);
+        enrollmentIndex.studentUpdated(student.getId(), student.getStudentGroup(), student.getAge());
+        rosterVersionService.rosterChanged(List.of(previousGroup, student.getStudentGroup()), courseNames(student.getCourses()));
         return StudentResponseDTO.builder()
                 .studentId(student.getId().toString())
                 .studentName(student.getName())
@@ -80,14 +99,14 @@ public class StudentService {
                 .build();
     }
 
+    @RetryOnConflict
     public StudentResponseDTO enrollToCourse(EnrollStudentRequestDTO enrollStudentRequest) {
-        Optional<Student> existingStudent = studentRepository.findById(UUID.fromString(enrollStudentRequest.getStudentId()));
+        Optional<Student> existingStudent = studentRepository.findByIdIncrementingVersion(UUID.fromString(enrollStudentRequest.getStudentId()));
         if (existingStudent.isEmpty()) {
             throw new EntityNotFoundException(String.format(STUDENT_DOES_NOT_EXISTS, enrollStudentRequest.getStudentId()));
         }
         Student student = existingStudent.get();
-        Set<Course> studentCourses = student.getCourses();
-        if (studentAlreadyEnrolledForCourse(studentCourses, enrollStudentRequest.getCourseName())) {
+        if (studentRepository.isEnrolledInCourse(student.getId(), enrollStudentRequest.getCourseName())) {
             throw new UnprocessableEntityException(String.format(STUDENT_ALREADY_ENROLLED_FOR_THIS_COURSE, enrollStudentRequest.getStudentId(), enrollStudentRequest.getCourseName()));
         }
 
@@ -95,34 +114,31 @@ public class StudentService {
         if (existingCourse.isEmpty()) {
             throw new EntityNotFoundException(String.format(COURSE_DOES_NOT_EXISTS, enrollStudentRequest.getCourseName()));
         }
-        Course course = existingCourse.get();
-        course.getStudents().add(student);
-        student.getCourses().add(course);
-        studentRepository.save(student);
+        if (!seatReservationService.tryReserve(existingCourse.get())) {
+            throw new UnprocessableEntityException(String.format(COURSE_IS_FULL, enrollStudentRequest.getCourseName()));
+        }
+        // Writes the join row directly so neither side's collection gets initialized. The version lock only
+        // conflicts on commit, so a concurrent enrollment into the same course shows up here as a duplicate key
+        try {
+            studentRepository.insertEnrollment(student.getId(), existingCourse.get().getId());
+        } catch (DataIntegrityViolationException e) {
+            throw new UnprocessableEntityException(String.format(STUDENT_ALREADY_ENROLLED_FOR_THIS_COURSE, enrollStudentRequest.getStudentId(), enrollStudentRequest.getCourseName()));
+        }
+        enrollmentIndex.studentEnrolled(student.getId(), existingCourse.get().getId());
 
-        Set<CourseResponseDTO> studentCoursesList = studentCourses.stream()
-                .map(c -> CourseResponseDTO.builder()
-                        .courseName(c.getName())
-                        .courseTypeName(c.getType().name())
-                        .build()
-                ).collect(Collectors.toSet());
-        return StudentResponseDTO.builder()
-                .studentId(student.getId().toString())
-                .studentName(student.getName())
-                .studentAge(student.getAge())
-                .studentGroupName(student.getStudentGroup())
-                .studentCourses(studentCoursesList)
-                .build();
+        Set<Course> studentCourses = courseRepository.findCoursesByStudentId(student.getId());
+        rosterVersionService.rosterChanged(List.of(student.getStudentGroup()), courseNames(studentCourses));
+        return mapEntityToDTO(student, studentCourses);
     }
 
+    @RetryOnConflict
     public StudentResponseDTO removeStudentFromCourse(LeaveStudentCourseRequestDTO leaveStudentCourseRequest) {
-        Optional<Student> existingStudent = studentRepository.findById(UUID.fromString(leaveStudentCourseRequest.getStudentId()));
+        Optional<Student> existingStudent = studentRepository.findByIdIncrementingVersion(UUID.fromString(leaveStudentCourseRequest.getStudentId()));
         if (existingStudent.isEmpty()) {
             throw new EntityNotFoundException(String.format(STUDENT_DOES_NOT_EXISTS, leaveStudentCourseRequest.getStudentId()));
         }
         Student student = existingStudent.get();
-        Set<Course> studentCourses = student.getCourses();
-        if (studentIsNotEnrolledForCourse(studentCourses, leaveStudentCourseRequest.getCourseName())) {
+        if (!studentRepository.isEnrolledInCourse(student.getId(), leaveStudentCourseRequest.getCourseName())) {
             throw new UnprocessableEntityException(String.format(STUDENT_NOT_ENROLLED_FOR_THIS_COURSE, leaveStudentCourseRequest.getStudentId(), leaveStudentCourseRequest.getCourseName()));
         }
 
@@ -130,23 +146,15 @@ public class StudentService {
         if (existingCourse.isEmpty()) {
             throw new EntityNotFoundException(String.format(COURSE_DOES_NOT_EXISTS, leaveStudentCourseRequest.getCourseName()));
         }
-        Course course = existingCourse.get();
-        student.getCourses().remove(course);
-        course.getStudents().remove(student);
-        studentRepository.save(student);
-        Set<CourseResponseDTO> studentCoursesList = studentCourses.stream()
-                .map(c -> CourseResponseDTO.builder()
-                        .courseName(c.getName())
-                        .courseTypeName(c.getType().name())
-                        .build()
-                ).collect(Collectors.toSet());
-        return StudentResponseDTO.builder()
-                .studentId(student.getId().toString())
-                .studentName(student.getName())
-                .studentAge(student.getAge())
-                .studentGroupName(student.getStudentGroup())
-                .studentCourses(studentCoursesList)
-                .build();
+        studentRepository.deleteEnrollment(student.getId(), existingCourse.get().getId());
+        seatReservationService.release(existingCourse.get());
+        enrollmentIndex.studentLeft(student.getId(), existingCourse.get().getId());
+
+        Set<Course> studentCourses = courseRepository.findCoursesByStudentId(student.getId());
+        List<String> changedCourses = new ArrayList<>(courseNames(studentCourses));
+        changedCourses.add(existingCourse.get().getName());
+        rosterVersionService.rosterChanged(List.of(student.getStudentGroup()), changedCourses);
+        return mapEntityToDTO(student, studentCourses);
     }
 
     public void deleteStudent(String id) {
@@ -155,21 +163,32 @@ public class StudentService {
             throw new EntityNotFoundException(String.format(STUDENT_DOES_NOT_EXISTS, id));
         }
         Student student = existingStudent.get();
+        List<String> studentCourses = courseNames(student.getCourses());
+        seatReservationService.releaseAll(student.getCourses());
         studentRepository.delete(student);
+        counterService.studentDeleted();
+        enrollmentIndex.studentDeleted(student.getId());
+        rosterVersionService.rosterChanged(List.of(student.getStudentGroup()), studentCourses);
+        rosterVersionService.peopleChanged();
     }
 
-    private boolean studentAlreadyEnrolledForCourse(Set<Course> studentCourses, String enrollmentCourse) {
-        return studentCourses.stream()
-                .map(Course::getName)
-                .toList()
-                .stream()
-                .anyMatch(name -> name.equals(enrollmentCourse));
+    private static List<String> courseNames(Collection<Course> courses) {
+        return courses.stream().map(Course::getName).toList();
     }
 
-    private boolean studentIsNotEnrolledForCourse(Set<Course> studentCourses, String leaveStudentCourse) {
-        return studentCourses.stream()
-                .map(Course::getName)
-                .toList()
-                .stream().noneMatch(name -> name.equals(leaveStudentCourse));
+    private StudentResponseDTO mapEntityToDTO(Student student, Set<Course> studentCourses) {
+        Set<CourseResponseDTO> studentCoursesList = studentCourses.stream()
+                .map(c -> CourseResponseDTO.builder()
+                        .courseName(c.getName())
+                        .courseTypeName(c.getType().name())
+                        .build()
+                ).collect(Collectors.toSet());
+        return StudentResponseDTO.builder()
+                .studentId(student.getId().toString())
+                .studentName(student.getName())
+                .studentAge(student.getAge())
+                .studentGroupName(student.getStudentGroup())
+                .studentCourses(studentCoursesList)
+                .build();
     }
 }
@@ -10,12 +10,18 @@ import com.classroom.entity.Teacher;
 import com.classroom.exception.UnprocessableEntityException;
 import com.classroom.repository.CourseRepository;
 import com.classroom.repository.TeacherRepository;
+import com.classroom.service.index.EnrollmentIndex;
+import com.classroom.service.retry.RetryOnConflict;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -38,6 +44,9 @@ public class TeacherService {
 
     private final TeacherRepository teacherRepository;
     private final CourseRepository courseRepository;
+    private final CounterService counterService;
+    private final EnrollmentIndex enrollmentIndex;
+    private final RosterVersionService rosterVersionService;
 
     public TeacherResponseDTO createTeacher(CreateTeacherRequestDTO createTeacherRequest) {
         String teacherName = createTeacherRequest.getTeacherName();
@@ -53,6 +62,10 @@ public class TeacherService {
         }
 
         Teacher teacher = teacherRepository.save(new Teacher(teacherName, age, groupName));
+        counterService.teachersCreated(1);
+        enrollmentIndex.teachersCreated(List.of(teacher));
+        rosterVersionService.rosterChanged(List.of(groupName), List.of());
+        rosterVersionService.peopleChanged();
         return TeacherResponseDTO.builder()
                 .teacherId(teacher.getId().toString())
                 .teacherName(teacher.getName())
@@ -61,17 +74,21 @@ public class TeacherService {
                 .build();
     }
 
+    @RetryOnConflict
     public TeacherResponseDTO updateTeacher(String id, CreateTeacherRequestDTO updateTeacherRequest) {
         Optional<Teacher> existingTeacher = teacherRepository.findById(UUID.fromString(id));
         if (existingTeacher.isEmpty()) {
             throw new EntityNotFoundException(String.format(TEACHER_DOES_NOT_EXISTS, id));
         }
         Teacher teacher = existingTeacher.get();
+        String previousGroup = teacher.getTeacherGroup();
         teacher.setName(updateTeacherRequest.getTeacherName());
         teacher.setAge(updateTeacherRequest.getTeacherAge());
         teacher.setTeacherGroup(updateTeacherRequest.getTeacherGroupName());
 
         teacherRepository.save(teacher);
+        enrollmentIndex.teacherGroupChanged(teacher.getId(), teacher.getTeacherGroup());
+        rosterVersionService.rosterChanged(List.of(previousGroup, teacher.getTeacherGroup()), courseNames(teacher.getCourses()));
         return TeacherResponseDTO.builder()
                 .teacherId(teacher.getId().toString())
                 .teacherName(teacher.getName())
@@ -80,14 +97,14 @@ public class TeacherService {
                 .build();
     }
 
+    @RetryOnConflict
     public TeacherResponseDTO enrollToCourse(EnrollTeacherRequestDTO enrollTeacherRequest) {
-        Optional<Teacher> existingTeacher = teacherRepository.findById(UUID.fromString(enrollTeacherRequest.getTeacherId()));
+        Optional<Teacher> existingTeacher = teacherRepository.findByIdIncrementingVersion(UUID.fromString(enrollTeacherRequest.getTeacherId()));
         if (existingTeacher.isEmpty()) {
             throw new EntityNotFoundException(String.format(TEACHER_DOES_NOT_EXISTS, enrollTeacherRequest.getTeacherId()));
         }
         Teacher teacher = existingTeacher.get();
-        Set<Course> teacherCourses = teacher.getCourses();
-        if (teacherAlreadyEnrolledForCourse(teacherCourses, enrollTeacherRequest.getCourseName())) {
+        if (teacherRepository.isEnrolledInCourse(teacher.getId(), enrollTeacherRequest.getCourseName())) {
             throw new UnprocessableEntityException(
                     String.format(TEACHER_ALREADY_ENROLLED_FOR_THIS_COURSE,
                             enrollTeacherRequest.getTeacherId(),
@@ -99,34 +116,32 @@ public class TeacherService {
         if (existingCourse.isEmpty()) {
             throw new EntityNotFoundException(String.format(COURSE_DOES_NOT_EXISTS, enrollTeacherRequest.getCourseName()));
         }
-        Course course = existingCourse.get();
-        course.getTeachers().add(teacher);
-        teacher.getCourses().add(course);
-        teacherRepository.save(teacher);
+        // Writes the join row directly so neither side's collection gets initialized. The version lock only
+        // conflicts on commit, so a concurrent enrollment into the same course shows up here as a duplicate key
+        try {
+            teacherRepository.insertEnrollment(teacher.getId(), existingCourse.get().getId());
+        } catch (DataIntegrityViolationException e) {
+            throw new UnprocessableEntityException(
+                    String.format(TEACHER_ALREADY_ENROLLED_FOR_THIS_COURSE,
+                            enrollTeacherRequest.getTeacherId(),
+                            enrollTeacherRequest.getCourseName())
+            );
+        }
+        enrollmentIndex.teacherEnrolled(teacher.getId(), existingCourse.get().getId());
 
-        Set<CourseResponseDTO> teacherCoursesList = teacherCourses.stream()
-                .map(c -> CourseResponseDTO.builder()
-                        .courseName(c.getName())
-                        .courseTypeName(c.getType().name())
-                        .build()
-                ).collect(Collectors.toSet());
-        return TeacherResponseDTO.builder()
-                .teacherId(teacher.getId().toString())
-                .teacherName(teacher.getName())
-                .teacherAge(teacher.getAge())
-                .teacherGroupName(teacher.getTeacherGroup())
-                .teacherCourses(teacherCoursesList)
-                .build();
+        Set<Course> teacherCourses = courseRepository.findCoursesByTeacherId(teacher.getId());
+        rosterVersionService.rosterChanged(List.of(teacher.getTeacherGroup()), courseNames(teacherCourses));
+        return mapEntityToDTO(teacher, teacherCourses);
     }
 
+    @RetryOnConflict
     public TeacherResponseDTO removeTeacherFromCourse(LeaveTeacherCourseRequestDTO leaveTeacherCourseRequest) {
-        Optional<Teacher> existingTeacher = teacherRepository.findById(UUID.fromString(leaveTeacherCourseRequest.getTeacherId()));
+        Optional<Teacher> existingTeacher = teacherRepository.findByIdIncrementingVersion(UUID.fromString(leaveTeacherCourseRequest.getTeacherId()));
         if (existingTeacher.isEmpty()) {
             throw new EntityNotFoundException(String.format(TEACHER_DOES_NOT_EXISTS, leaveTeacherCourseRequest.getTeacherId()));
         }
         Teacher teacher = existingTeacher.get();
-        Set<Course> teacherCourses = teacher.getCourses();
-        if (teacherIsNotEnrolledForCourse(teacherCourses, leaveTeacherCourseRequest.getCourseName())) {
+        if (!teacherRepository.isEnrolledInCourse(teacher.getId(), leaveTeacherCourseRequest.getCourseName())) {
             throw new UnprocessableEntityException(
                     String.format(TEACHER_NOT_ENROLLED_FOR_THIS_COURSE,
                             leaveTeacherCourseRequest.getTeacherId(),
@@ -138,11 +153,35 @@ public class TeacherService {
         if (existingCourse.isEmpty()) {
             throw new EntityNotFoundException(String.format(COURSE_DOES_NOT_EXISTS, leaveTeacherCourseRequest.getCourseName()));
         }
-        Course course = existingCourse.get();
-        teacher.getCourses().remove(course);
-        course.getTeachers().remove(teacher);
-        teacherRepository.save(teacher);
+        teacherRepository.deleteEnrollment(teacher.getId(), existingCourse.get().getId());
+        enrollmentIndex.teacherLeft(teacher.getId(), existingCourse.get().getId());
+
+        Set<Course> teacherCourses = courseRepository.findCoursesByTeacherId(teacher.getId());
+        List<String> changedCourses = new ArrayList<>(courseNames(teacherCourses));
+        changedCourses.add(existingCourse.get().getName());
+        rosterVersionService.rosterChanged(List.of(teacher.getTeacherGroup()), changedCourses);
+        return mapEntityToDTO(teacher, teacherCourses);
+    }
+
+    public void deleteTeacher(String id) {
+        Optional<Teacher> existingTeacher = teacherRepository.findById(UUID.fromString(id));
+        if (existingTeacher.isEmpty()) {
+            throw new EntityNotFoundException(String.format(TEACHER_DOES_NOT_EXISTS, id));
+        }
+        Teacher teacher = existingTeacher.get();
+        List<String> teacherCourses = courseNames(teacher.getCourses());
+        teacherRepository.delete(teacher);
+        counterService.teacherDeleted();
+        enrollmentIndex.teacherDeleted(teacher.getId());
+        rosterVersionService.rosterChanged(List.of(teacher.getTeacherGroup()), teacherCourses);
+        rosterVersionService.peopleChanged();
+    }
+
+    private static List<String> courseNames(Collection<Course> courses) {
+        return courses.stream().map(Course::getName).toList();
+    }
 
+    private TeacherResponseDTO mapEntityToDTO(Teacher teacher, Set<Course> teacherCourses) {
         Set<CourseResponseDTO> teacherCoursesList = teacherCourses.stream()
                 .map(c -> CourseResponseDTO.builder()
                         .courseName(c.getName())
@@ -157,28 +196,4 @@ public class TeacherService {
                 .teacherCourses(teacherCoursesList)
                 .build();
     }
-
-    public void deleteTeacher(String id) {
-        Optional<Teacher> existingTeacher = teacherRepository.findById(UUID.fromString(id));
-        if (existingTeacher.isEmpty()) {
-            throw new EntityNotFoundException(String.format(TEACHER_DOES_NOT_EXISTS, id));
-        }
-        Teacher teacher = existingTeacher.get();
-        teacherRepository.delete(teacher);
-    }
-
-    private boolean teacherAlreadyEnrolledForCourse(Set<Course> teacherCourses, String enrollmentCourse) {
-        return teacherCourses.stream()
-                .map(Course::getName)
-                .toList()
-                .stream()
-                .anyMatch(name -> name.equals(enrollmentCourse));
-    }
-
-    private boolean teacherIsNotEnrolledForCourse(Set<Course> teacherCourses, String leaveCourse) {
-        return teacherCourses.stream()
-                .map(Course::getName)
-                .toList()
-                .stream().noneMatch(name -> name.equals(leaveCourse));
-    }
 }
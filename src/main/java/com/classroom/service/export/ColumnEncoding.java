@@ -0,0 +1,54 @@
+package com.classroom.service.export;
+
+/**
+ * How the values of one column are laid out in a roster export. The code is written as a single byte before the
+ * column data, so new encodings may be added but existing codes must never change.
+ */
+public enum ColumnEncoding {
+
+    /**
+     * Each value as its most and least significant 64 bits.
+     */
+    UUID(1),
+    /**
+     * Each value as a varint byte length plus one, followed by its UTF-8 bytes; a length of zero is null.
+     */
+    STRING(2),
+    /**
+     * The distinct values once, as {@link #STRING}s, followed by a varint code per row; code zero is null and
+     * code {@code n} is the {@code n}-th distinct value.
+     */
+    DICTIONARY(3),
+    /**
+     * Each value as a fixed four byte int; {@link Integer#MIN_VALUE} is null.
+     */
+    INT32(4),
+    /**
+     * The first value and then the difference to the previous value, each as a zigzag varint. Compact for the
+     * sorted row positions of the join tables.
+     */
+    DELTA(5),
+    /**
+     * Each value as a varint, for small non-negative numbers such as the row position of a course.
+     */
+    VARINT(6);
+
+    private final int code;
+
+    ColumnEncoding(int code) {
+        this.code = code;
+    }
+
+    int code() {
+        return code;
+    }
+
+    static ColumnEncoding of(int code) {
+        for (ColumnEncoding encoding : values()) {
+            if (encoding.code == code) {
+                return encoding;
+            }
+        }
+        throw new IllegalArgumentException("Unknown column encoding " + code);
+    }
+}
@@ -0,0 +1,146 @@
+package com.classroom.service.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads a file written by {@link RosterExportWriter} back into memory. Meant for tests and for consumers on the
+ * JVM; the format is documented on the writer for everyone else.
+ */
+public final class RosterExportReader {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private RosterExportReader() {
+    }
+
+    /**
+     * @return the tables of the export by name, in file order
+     */
+    public static Map<String, Table> read(Path file) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(RosterExportWriter.MAGIC.length + 2);
+            while (header.hasRemaining() && fileChannel.read(header) >= 0) {
+                // keep reading until the header is complete or the file ends
+            }
+            header.flip();
+            if (header.remaining() < header.capacity()) {
+                throw new IOException(file + " is not a roster export");
+            }
+            byte[] magic = new byte[RosterExportWriter.MAGIC.length];
+            header.get(magic);
+            if (!Arrays.equals(magic, RosterExportWriter.MAGIC)) {
+                throw new IOException(file + " is not a roster export");
+            }
+            int version = header.get();
+            if (version != RosterExportWriter.VERSION) {
+                throw new IOException("Unsupported roster export version " + version);
+            }
+            ReadableByteChannel body = header.get() == RosterExportWriter.GZIP
+                    ? Channels.newChannel(new GZIPInputStream(Channels.newInputStream(fileChannel), GZIP_BUFFER_SIZE))
+                    : fileChannel;
+            return readTables(new ChannelInput(body));
+        }
+    }
+
+    private static Map<String, Table> readTables(ChannelInput input) throws IOException {
+        int tableCount = input.readShort();
+        Map<String, Table> tables = new LinkedHashMap<>();
+        for (int t = 0; t < tableCount; t++) {
+            String name = input.readString();
+            int rows = input.readInt();
+            int columnCount = input.readShort();
+            Map<String, Object> columns = new LinkedHashMap<>();
+            for (int c = 0; c < columnCount; c++) {
+                String column = input.readString();
+                columns.put(column, readColumn(input, ColumnEncoding.of(input.readByte()), rows));
+            }
+            tables.put(name, new Table(name, rows, columns));
+        }
+        return tables;
+    }
+
+    private static Object readColumn(ChannelInput input, ColumnEncoding encoding, int rows) throws IOException {
+        switch (encoding) {
+            case UUID -> {
+                UUID[] values = new UUID[rows];
+                for (int row = 0; row < rows; row++) {
+                    values[row] = new UUID(input.readLong(), input.readLong());
+                }
+                return values;
+            }
+            case STRING -> {
+                String[] values = new String[rows];
+                for (int row = 0; row < rows; row++) {
+                    values[row] = input.readString();
+                }
+                return values;
+            }
+            case DICTIONARY -> {
+                String[] dictionary = new String[input.readVarInt() + 1];
+                for (int code = 1; code < dictionary.length; code++) {
+                    dictionary[code] = input.readString();
+                }
+                String[] values = new String[rows];
+                for (int row = 0; row < rows; row++) {
+                    values[row] = dictionary[input.readVarInt()];
+                }
+                return values;
+            }
+            case INT32 -> {
+                int[] values = new int[rows];
+                for (int row = 0; row < rows; row++) {
+                    values[row] = input.readInt();
+                }
+                return values;
+            }
+            case DELTA -> {
+                int[] values = new int[rows];
+                int previous = 0;
+                for (int row = 0; row < rows; row++) {
+                    int zigzag = input.readVarInt();
+                    previous += (zigzag >>> 1) ^ -(zigzag & 1);
+                    values[row] = previous;
+                }
+                return values;
+            }
+            case VARINT -> {
+                int[] values = new int[rows];
+                for (int row = 0; row < rows; row++) {
+                    values[row] = input.readVarInt();
+                }
+                return values;
+            }
+            default -> throw new IllegalStateException("Unhandled column encoding " + encoding);
+        }
+    }
+
+    /**
+     * One exported table. UUID columns decode to {@code UUID[]}, string and dictionary columns to {@code String[]}
+     * and numeric columns to {@code int[]}.
+     */
+    public record Table(String name, int rowCount, Map<String, Object> columns) {
+
+        public UUID[] uuids(String column) {
+            return (UUID[]) columns.get(column);
+        }
+
+        public String[] strings(String column) {
+            return (String[]) columns.get(column);
+        }
+
+        public int[] ints(String column) {
+            return (int[]) columns.get(column);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.classroom.service.export;
+
+import com.classroom.dto.export.ExportResponseDTO;
+import com.classroom.repository.RosterExportRepository;
+import com.classroom.repository.RosterExportRepository.PersonRowHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Dumps the course, student and teacher tables and both join tables into one columnar file for offline analytics,
+ * so that a nightly pull is a single download instead of many report calls. See {@link RosterExportWriter} for
+ * the layout.
+ * <p>
+ * All five tables are read in one read-only repeatable read transaction, so the join rows always refer to people
+ * and courses of the same snapshot. Join rows store the row position of the person and the course instead of
+ * their ids. Each export is written to a temporary file and moved into place once complete, so the latest export
+ * can be downloaded while the next one is being written; only the newest {@code classroom.export.retain} files
+ * are kept.
+ */
+@Slf4j
+@Service
+public class RosterExportService {
+
+    static final String FILE_PREFIX = "roster-";
+    static final String FILE_SUFFIX = ".clrx";
+
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final int TABLE_COUNT = 5;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS'Z'").withZone(ZoneOffset.UTC);
+    private static final String EXPORT_WRITTEN = "Roster export {} written: {} bytes, {} student and {} teacher enrollments in {} ms";
+    private static final String EXPORT_NOT_DELETED = "Could not delete old roster export {}";
+    private static final String UNKNOWN_COURSE = "Enrollment refers to course %s which is not in the export";
+    private static final String UNKNOWN_PERSON = "Enrollment refers to %s %s which is not in the export";
+
+    private final RosterExportRepository rosterExportRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final Path directory;
+    private final boolean compress;
+    private final int retain;
+
+    public RosterExportService(RosterExportRepository rosterExportRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${classroom.export.dir}") Path directory,
+                               @Value("${classroom.export.compress:true}") boolean compress,
+                               @Value("${classroom.export.retain:3}") int retain) {
+        this.rosterExportRepository = rosterExportRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.directory = directory;
+        this.compress = compress;
+        this.retain = retain;
+    }
+
+    /**
+     * Writes a new export and drops the ones that fall out of the retention. Exports run one at a time.
+     */
+    @Scheduled(cron = "${classroom.export.cron:-}")
+    public synchronized ExportResponseDTO export() {
+        long start = System.nanoTime();
+        Path target = directory.resolve(FILE_PREFIX + FILE_TIMESTAMP.format(Instant.now()) + FILE_SUFFIX);
+        Path temporary = target.resolveSibling(target.getFileName() + TEMPORARY_SUFFIX);
+        try {
+            Files.createDirectories(directory);
+            ExportResponseDTO export = snapshotTransaction.execute(status -> writeExport(temporary));
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+            export.setFileName(target.getFileName().toString());
+            export.setSizeBytes(Files.size(target));
+            export.setDurationMillis((System.nanoTime() - start) / 1_000_000);
+            log.info(EXPORT_WRITTEN, export.getFileName(), export.getSizeBytes(), export.getStudentEnrollments(),
+                    export.getTeacherEnrollments(), export.getDurationMillis());
+            deleteExpiredExports();
+            return export;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteQuietly(temporary);
+        }
+    }
+
+    public Optional<Path> findLatestExport() {
+        return listExports().stream().findFirst();
+    }
+
+    private ExportResponseDTO writeExport(Path file) {
+        try (RosterExportWriter writer = new RosterExportWriter(file, compress, TABLE_COUNT)) {
+            Map<UUID, Integer> courses = writeCourses(writer);
+            Map<UUID, Integer> students = writePeople(writer, "student", rosterExportRepository::forEachStudent);
+            Map<UUID, Integer> teachers = writePeople(writer, "teacher", rosterExportRepository::forEachTeacher);
+            int studentEnrollments = writeEnrollments(writer, "student", students, courses,
+                    rosterExportRepository::forEachStudentCourse);
+            int teacherEnrollments = writeEnrollments(writer, "teacher", teachers, courses,
+                    rosterExportRepository::forEachTeacherCourse);
+            return ExportResponseDTO.builder()
+                    .compressed(compress)
+                    .courses(courses.size())
+                    .students(students.size())
+                    .teachers(teachers.size())
+                    .studentEnrollments(studentEnrollments)
+                    .teacherEnrollments(teacherEnrollments)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<UUID, Integer> writeCourses(RosterExportWriter writer) throws IOException {
+        Map<UUID, Integer> rows = new HashMap<>();
+        IdColumn ids = new IdColumn();
+        List<String> names = new ArrayList<>();
+        List<String> types = new ArrayList<>();
+        IntColumn capacities = new IntColumn();
+        rosterExportRepository.forEachCourse((courseId, name, type, capacity) -> {
+            rows.put(courseId, rows.size());
+            ids.add(courseId);
+            names.add(name);
+            types.add(type);
+            capacities.add(capacity == null ? NULL_INT : capacity);
+        });
+        writer.beginTable("course", rows.size(), 4);
+        writer.writeUuids("course_id", ids.mostSignificantBits(), ids.leastSignificantBits());
+        writer.writeDictionary("name", names);
+        writer.writeDictionary("type", types);
+        writer.writeInts("capacity", capacities.toArray());
+        return rows;
+    }
+
+    private Map<UUID, Integer> writePeople(RosterExportWriter writer, String table,
+                                           Consumer<PersonRowHandler> query) throws IOException {
+        Map<UUID, Integer> rows = new HashMap<>();
+        IdColumn ids = new IdColumn();
+        List<String> names = new ArrayList<>();
+        IntColumn ages = new IntColumn();
+        List<String> groups = new ArrayList<>();
+        query.accept((personId, name, age, group) -> {
+            rows.put(personId, rows.size());
+            ids.add(personId);
+            names.add(name);
+            ages.add(age);
+            groups.add(group);
+        });
+        writer.beginTable(table, rows.size(), 4);
+        writer.writeUuids(table + "_id", ids.mostSignificantBits(), ids.leastSignificantBits());
+        writer.writeStrings("name", names);
+        writer.writeInts("age", ages.toArray());
+        writer.writeDictionary(table + "_group", groups);
+        return rows;
+    }
+
+    /**
+     * Writes a join table as the row positions of its people, delta encoded since the rows come sorted by person,
+     * and the row positions of its courses.
+     */
+    private int writeEnrollments(RosterExportWriter writer, String person, Map<UUID, Integer> people,
+                                 Map<UUID, Integer> courses, Consumer<BiConsumer<UUID, UUID>> query) throws IOException {
+        IntColumn personRows = new IntColumn();
+        IntColumn courseRows = new IntColumn();
+        query.accept((personId, courseId) -> {
+            Integer personRow = people.get(personId);
+            Integer courseRow = courses.get(courseId);
+            if (personRow == null) {
+                throw new IllegalStateException(String.format(UNKNOWN_PERSON, person, personId));
+            }
+            if (courseRow == null) {
+                throw new IllegalStateException(String.format(UNKNOWN_COURSE, courseId));
+            }
+            personRows.add(personRow);
+            courseRows.add(courseRow);
+        });
+        writer.beginTable(person + "_course", personRows.size, 2);
+        writer.writeDeltas(person + "_row", personRows.toArray());
+        writer.writeVarInts("course_row", courseRows.toArray());
+        return personRows.size;
+    }
+
+    /**
+     * @return the complete exports in the directory, newest first
+     */
+    private List<Path> listExports() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+                    })
+                    .sorted(Comparator.comparing((Path file) -> file.getFileName().toString()).reversed())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteExpiredExports() {
+        List<Path> exports = listExports();
+        for (Path expired : exports.subList(Math.min(retain, exports.size()), exports.size())) {
+            deleteQuietly(expired);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn(EXPORT_NOT_DELETED, file, e);
+        }
+    }
+
+    private static final class IntColumn {
+
+        private int[] values = new int[1024];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class IdColumn {
+
+        private long[] mostSignificantBits = new long[1024];
+        private long[] leastSignificantBits = new long[1024];
+        private int size;
+
+        private void add(UUID id) {
+            if (size == mostSignificantBits.length) {
+                mostSignificantBits = Arrays.copyOf(mostSignificantBits, size * 2);
+                leastSignificantBits = Arrays.copyOf(leastSignificantBits, size * 2);
+            }
+            mostSignificantBits[size] = id.getMostSignificantBits();
+            leastSignificantBits[size++] = id.getLeastSignificantBits();
+        }
+
+        private long[] mostSignificantBits() {
+            return Arrays.copyOf(mostSignificantBits, size);
+        }
+
+        private long[] leastSignificantBits() {
+            return Arrays.copyOf(leastSignificantBits, size);
+        }
+    }
+}
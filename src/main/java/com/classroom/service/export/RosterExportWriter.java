@@ -0,0 +1,174 @@
+package com.classroom.service.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a roster export: a columnar file holding whole tables, one column after the other.
+ * <p>
+ * The file starts with the {@link #MAGIC} bytes, a format version byte and a compression byte, followed by the
+ * body, gzipped if requested: the number of tables and then per table its name, row count, column count and
+ * columns. Each column is its name, its {@link ColumnEncoding} code and the values of every row. All numbers are
+ * big-endian.
+ * <p>
+ * Tables are written in the order {@link #beginTable} is called, and each table must get exactly the announced
+ * number of columns, each with exactly the announced number of rows.
+ */
+public final class RosterExportWriter implements Closeable {
+
+    static final byte[] MAGIC = {'C', 'L', 'R', 'X'};
+    static final int VERSION = 1;
+    static final int UNCOMPRESSED = 0;
+    static final int GZIP = 1;
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final String TOO_MANY_COLUMNS = "Table %s got more columns than announced";
+    private static final String MISSING_COLUMNS = "Table %s is missing %d announced columns";
+    private static final String ROW_COUNT_MISMATCH = "Column %s has %d rows but table %s has %d";
+
+    private final WritableByteChannel channel;
+    private final ChannelOutput output;
+    private int tablesLeft;
+    private String table;
+    private int rows;
+    private int columnsLeft;
+
+    public RosterExportWriter(Path file, boolean compressed, int tableCount) throws IOException {
+        FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ChannelOutput header = new ChannelOutput(fileChannel);
+        header.writeBytes(MAGIC);
+        header.writeByte(VERSION);
+        header.writeByte(compressed ? GZIP : UNCOMPRESSED);
+        header.flush();
+        this.channel = compressed
+                ? Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(fileChannel), GZIP_BUFFER_SIZE))
+                : fileChannel;
+        this.output = new ChannelOutput(channel);
+        this.tablesLeft = tableCount;
+        output.writeShort(tableCount);
+    }
+
+    public void beginTable(String name, int rowCount, int columnCount) throws IOException {
+        finishTable();
+        if (tablesLeft-- == 0) {
+            throw new IllegalStateException("More tables than announced");
+        }
+        this.table = name;
+        this.rows = rowCount;
+        this.columnsLeft = columnCount;
+        output.writeString(name);
+        output.writeInt(rowCount);
+        output.writeShort(columnCount);
+    }
+
+    public void writeUuids(String name, long[] mostSignificantBits, long[] leastSignificantBits) throws IOException {
+        beginColumn(name, ColumnEncoding.UUID, mostSignificantBits.length);
+        for (int row = 0; row < rows; row++) {
+            output.writeLong(mostSignificantBits[row]);
+            output.writeLong(leastSignificantBits[row]);
+        }
+    }
+
+    public void writeStrings(String name, List<String> values) throws IOException {
+        beginColumn(name, ColumnEncoding.STRING, values.size());
+        for (String value : values) {
+            output.writeString(value);
+        }
+    }
+
+    /**
+     * Writes a column with few distinct values, such as groups and course names, as a dictionary plus a code
+     * per row.
+     */
+    public void writeDictionary(String name, List<String> values) throws IOException {
+        beginColumn(name, ColumnEncoding.DICTIONARY, values.size());
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        int[] rowCodes = new int[values.size()];
+        for (int row = 0; row < rowCodes.length; row++) {
+            String value = values.get(row);
+            if (value != null) {
+                rowCodes[row] = codes.computeIfAbsent(value, added -> {
+                    dictionary.add(added);
+                    return dictionary.size();
+                });
+            }
+        }
+        output.writeVarInt(dictionary.size());
+        for (String value : dictionary) {
+            output.writeString(value);
+        }
+        for (int code : rowCodes) {
+            output.writeVarInt(code);
+        }
+    }
+
+    public void writeInts(String name, int[] values) throws IOException {
+        beginColumn(name, ColumnEncoding.INT32, values.length);
+        for (int value : values) {
+            output.writeInt(value);
+        }
+    }
+
+    public void writeDeltas(String name, int[] values) throws IOException {
+        beginColumn(name, ColumnEncoding.DELTA, values.length);
+        int previous = 0;
+        for (int value : values) {
+            int delta = value - previous;
+            output.writeVarInt((delta << 1) ^ (delta >> 31));
+            previous = value;
+        }
+    }
+
+    public void writeVarInts(String name, int[] values) throws IOException {
+        beginColumn(name, ColumnEncoding.VARINT, values.length);
+        for (int value : values) {
+            output.writeVarInt(value);
+        }
+    }
+
+    /**
+     * Flushes the body and, for a compressed export, writes the gzip trailer. The file is only complete once this
+     * has returned.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            finishTable();
+            if (tablesLeft != 0) {
+                throw new IllegalStateException(tablesLeft + " announced tables were not written");
+            }
+            output.flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void beginColumn(String name, ColumnEncoding encoding, int rowCount) throws IOException {
+        if (table == null || columnsLeft == 0) {
+            throw new IllegalStateException(String.format(TOO_MANY_COLUMNS, table));
+        }
+        if (rowCount != rows) {
+            throw new IllegalArgumentException(String.format(ROW_COUNT_MISMATCH, name, rowCount, table, rows));
+        }
+        columnsLeft--;
+        output.writeString(name);
+        output.writeByte(encoding.code());
+    }
+
+    private void finishTable() {
+        if (table != null && columnsLeft != 0) {
+            throw new IllegalStateException(String.format(MISSING_COLUMNS, table, columnsLeft));
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.classroom.service.index;
+
+import com.classroom.entity.Student;
+import com.classroom.entity.Teacher;
+import com.classroom.repository.EnrollmentIndexRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of which students and teachers belong to each course and group, held as compressed bitmaps
+ * so the course, group and course-and-group reports become bitmap intersections instead of joins. Student ages
+ * are indexed per course as well, so age range reports are answered with binary searches.
+ * <p>
+ * The index is loaded at startup and rebuilt periodically. In between, services report their changes and the
+ * index applies them once the transaction commits; changes that commit while a rebuild is loading are replayed
+ * onto the new index before it is swapped in. Queries return empty while the index is disabled, has not been
+ * built, or would exceed its memory budget, and callers then fall back to SQL. The budget is checked by every
+ * rebuild and after every change, so an index that outgrows it between rebuilds is dropped until the next one.
+ * <p>
+ * Changes are only seen by the instance that made them, so with several instances each index can lag the
+ * others' writes by up to one rebuild interval.
+ */
+@Slf4j
+@Component
+public class EnrollmentIndex {
+
+    private static final String OVER_BUDGET = "Enrollment index needs about {} bytes, over its budget of {}; reports use SQL";
+    private static final String REBUILT = "Enrollment index rebuilt in {} ms, about {} bytes";
+
+    private final EnrollmentIndexRepository enrollmentIndexRepository;
+    private final boolean enabled;
+    private final DataSize maxMemory;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+    private Snapshot snapshot;
+    private List<Consumer<Snapshot>> journal;
+
+    public EnrollmentIndex(EnrollmentIndexRepository enrollmentIndexRepository,
+                           @Value("${classroom.index.enrollment.enabled:false}") boolean enabled,
+                           @Value("${classroom.index.enrollment.max-memory:64MB}") DataSize maxMemory) {
+        this.enrollmentIndexRepository = enrollmentIndexRepository;
+        this.enabled = enabled;
+        this.maxMemory = maxMemory;
+    }
+
+    @PostConstruct
+    void initialize() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reloads the index from the database and swaps it in, or drops it if it no longer fits the memory budget.
+     */
+    @Scheduled(fixedDelayString = "${classroom.index.enrollment.rebuild-interval:PT10M}",
+            initialDelayString = "${classroom.index.enrollment.rebuild-interval:PT10M}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (rebuildMonitor) {
+            long start = System.currentTimeMillis();
+            write(() -> journal = new ArrayList<>());
+            Snapshot fresh = new Snapshot();
+            try {
+                enrollmentIndexRepository.forEachStudentGroup(fresh.students::addToGroup);
+                enrollmentIndexRepository.forEachStudentAge(fresh.students::setAge);
+                enrollmentIndexRepository.forEachStudentCourse(fresh.students::enroll);
+                enrollmentIndexRepository.forEachTeacherGroup(fresh.teachers::addToGroup);
+                enrollmentIndexRepository.forEachTeacherCourse(fresh.teachers::enroll);
+            } catch (RuntimeException e) {
+                write(() -> journal = null);
+                throw e;
+            }
+            write(() -> {
+                journal.forEach(change -> change.accept(fresh));
+                journal = null;
+                long bytes = fresh.recountBytes();
+                snapshot = withinBudget(bytes) ? fresh : null;
+                if (snapshot != null) {
+                    log.info(REBUILT, System.currentTimeMillis() - start, bytes);
+                }
+            });
+        }
+    }
+
+    public boolean isAvailable() {
+        return read(snapshot -> true).orElse(false);
+    }
+
+    public OptionalLong estimatedBytes() {
+        return read(Snapshot::estimatedBytes).map(OptionalLong::of).orElse(OptionalLong.empty());
+    }
+
+    public void studentsCreated(Collection<Student> students) {
+        Map<UUID, String> groups = students.stream().collect(Collectors.toMap(Student::getId, Student::getStudentGroup));
+        Map<UUID, Integer> ages = students.stream().collect(Collectors.toMap(Student::getId, Student::getAge));
+        afterCommit(snapshot -> {
+            groups.forEach(snapshot.students::addToGroup);
+            ages.forEach(snapshot.students::setAge);
+        });
+    }
+
+    public void studentUpdated(UUID studentId, String group, int age) {
+        afterCommit(snapshot -> {
+            snapshot.students.addToGroup(studentId, group);
+            snapshot.students.setAge(studentId, age);
+        });
+    }
+
+    public void studentEnrolled(UUID studentId, UUID courseId) {
+        afterCommit(snapshot -> snapshot.students.enroll(studentId, courseId));
+    }
+
+    public void studentsEnrolled(Collection<UUID> studentIds, UUID courseId) {
+        List<UUID> enrolled = List.copyOf(studentIds);
+        afterCommit(snapshot -> snapshot.students.enrollAll(enrolled, courseId));
+    }
+
+    public void studentLeft(UUID studentId, UUID courseId) {
+        afterCommit(snapshot -> snapshot.students.leave(studentId, courseId));
+    }
+
+    public void studentDeleted(UUID studentId) {
+        afterCommit(snapshot -> snapshot.students.remove(studentId));
+    }
+
+    public void teachersCreated(Collection<Teacher> teachers) {
+        Map<UUID, String> groups = teachers.stream().collect(Collectors.toMap(Teacher::getId, Teacher::getTeacherGroup));
+        afterCommit(snapshot -> groups.forEach(snapshot.teachers::addToGroup));
+    }
+
+    public void teacherGroupChanged(UUID teacherId, String group) {
+        afterCommit(snapshot -> snapshot.teachers.addToGroup(teacherId, group));
+    }
+
+    public void teacherEnrolled(UUID teacherId, UUID courseId) {
+        afterCommit(snapshot -> snapshot.teachers.enroll(teacherId, courseId));
+    }
+
+    public void teacherLeft(UUID teacherId, UUID courseId) {
+        afterCommit(snapshot -> snapshot.teachers.leave(teacherId, courseId));
+    }
+
+    public void teacherDeleted(UUID teacherId) {
+        afterCommit(snapshot -> snapshot.teachers.remove(teacherId));
+    }
+
+    public Optional<List<UUID>> findStudentsInCourse(UUID courseId) {
+        return read(snapshot -> snapshot.students.toUuids(snapshot.students.course(courseId)));
+    }
+
+    public Optional<List<UUID>> findStudentsInGroup(String group) {
+        return read(snapshot -> snapshot.students.toUuids(snapshot.students.group(group)));
+    }
+
+    public Optional<List<UUID>> findStudentsInCourseAndGroup(UUID courseId, String group) {
+        return read(snapshot -> snapshot.students.toUuids(
+                RoaringBitmap.and(snapshot.students.course(courseId), snapshot.students.group(group))));
+    }
+
+    public Optional<List<UUID>> findStudentsInCourseByAge(UUID courseId, int minAge, int maxAge) {
+        return read(snapshot -> snapshot.students.toUuids(snapshot.students.courseInAgeRange(courseId, minAge, maxAge)));
+    }
+
+    public Optional<List<UUID>> findStudentsInCourseAndGroupByAge(UUID courseId, String group, int minAge, int maxAge) {
+        return read(snapshot -> snapshot.students.toUuids(RoaringBitmap.and(
+                snapshot.students.courseInAgeRange(courseId, minAge, maxAge), snapshot.students.group(group))));
+    }
+
+    public Optional<List<UUID>> findTeachersInCourseAndGroup(UUID courseId, String group) {
+        return read(snapshot -> snapshot.teachers.toUuids(
+                RoaringBitmap.and(snapshot.teachers.course(courseId), snapshot.teachers.group(group))));
+    }
+
+    public OptionalLong countStudentsInCourse(UUID courseId) {
+        return count(snapshot -> (long) snapshot.students.course(courseId).getCardinality());
+    }
+
+    public OptionalLong countStudentsInGroup(String group) {
+        return count(snapshot -> (long) snapshot.students.group(group).getCardinality());
+    }
+
+    public OptionalLong countStudentsInCourseAndGroup(UUID courseId, String group) {
+        return count(snapshot -> (long) RoaringBitmap.andCardinality(
+                snapshot.students.course(courseId), snapshot.students.group(group)));
+    }
+
+    private OptionalLong count(Function<Snapshot, Long> query) {
+        return read(query).map(OptionalLong::of).orElse(OptionalLong.empty());
+    }
+
+    private <T> Optional<T> read(Function<Snapshot, T> query) {
+        lock.readLock().lock();
+        try {
+            return snapshot == null ? Optional.empty() : Optional.of(query.apply(snapshot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable update) {
+        lock.writeLock().lock();
+        try {
+            update.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<Snapshot> change) {
+        write(() -> {
+            if (snapshot != null) {
+                change.accept(snapshot);
+                // The running total only moves by what the change touched, so this stays cheap per write
+                if (!withinBudget(snapshot.estimatedBytes())) {
+                    snapshot = null;
+                }
+            }
+            if (journal != null) {
+                journal.add(change);
+            }
+        });
+    }
+
+    private boolean withinBudget(long bytes) {
+        if (bytes > maxMemory.toBytes()) {
+            log.warn(OVER_BUDGET, bytes, maxMemory);
+            return false;
+        }
+        return true;
+    }
+
+    private void afterCommit(Consumer<Snapshot> change) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private static final class Snapshot {
+
+        private final PersonIndex students = new PersonIndex();
+        private final PersonIndex teachers = new PersonIndex();
+
+        private long estimatedBytes() {
+            return students.estimatedBytes() + teachers.estimatedBytes();
+        }
+
+        private long recountBytes() {
+            return students.recountBytes() + teachers.recountBytes();
+        }
+    }
+}
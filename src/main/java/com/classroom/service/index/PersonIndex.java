@@ -0,0 +1,249 @@
+package com.classroom.service.index;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Course and group membership of one kind of person. Every person gets a dense int the first time it is seen,
+ * and each course and group keeps the ints of its members in a compressed bitmap. Not thread-safe; guarded
+ * by {@link EnrollmentIndex}.
+ * <p>
+ * Ages and groups are kept per dense int, so moving a person to another group only touches the old and the
+ * new group's bitmap. Age range lookups within a course go through a sorted array of the members'
+ * {@code (age, id)} pairs, built on first use under the read lock and dropped by any write that touches the
+ * course or the age of one of its members.
+ * <p>
+ * The heap estimate is kept as a running total: every write adds the size change of the bitmaps it touched,
+ * and the sorted age arrays are counted when built and dropped. Only {@link #recountBytes()} walks everything.
+ */
+final class PersonIndex {
+
+    // Rough heap cost of one dictionary entry: the UUID, its boxed int, the map node, the list slot, the age and
+    // the group slot
+    private static final long BYTES_PER_PERSON = 100;
+    private static final int NO_AGE = Integer.MIN_VALUE;
+
+    private final Map<UUID, Integer> ids = new HashMap<>();
+    private final List<UUID> uuids = new ArrayList<>();
+    private int[] ages = new int[0];
+    private String[] groups = new String[0];
+    private final Map<UUID, RoaringBitmap> byCourse = new HashMap<>();
+    private final Map<String, RoaringBitmap> byGroup = new HashMap<>();
+    private final Map<UUID, long[]> agesByCourse = new ConcurrentHashMap<>();
+    private long bytes;
+    // Age arrays are built under the read lock, so their share of the total is kept apart
+    private final AtomicLong sortedBytes = new AtomicLong();
+
+    void addToGroup(UUID person, String group) {
+        int id = idOf(person);
+        if (group.equals(groups[id])) {
+            return;
+        }
+        leaveGroup(id);
+        groups[id] = group;
+        add(byGroup.computeIfAbsent(group, key -> tracked(new RoaringBitmap())), id);
+    }
+
+    void setAge(UUID person, int age) {
+        int id = idOf(person);
+        if (ages[id] == age) {
+            return;
+        }
+        ages[id] = age;
+        forgetAgesOfCoursesOf(id);
+    }
+
+    void enroll(UUID person, UUID course) {
+        add(courseMembers(course), idOf(person));
+        forgetAges(course);
+    }
+
+    void enrollAll(Collection<UUID> people, UUID course) {
+        RoaringBitmap members = courseMembers(course);
+        long before = members.getLongSizeInBytes();
+        for (UUID person : people) {
+            members.add(idOf(person));
+        }
+        bytes += members.getLongSizeInBytes() - before;
+        forgetAges(course);
+    }
+
+    void leave(UUID person, UUID course) {
+        Integer id = ids.get(person);
+        RoaringBitmap members = byCourse.get(course);
+        if (id != null && members != null) {
+            remove(members, id);
+            forgetAges(course);
+        }
+    }
+
+    void remove(UUID person) {
+        Integer id = ids.remove(person);
+        if (id == null) {
+            return;
+        }
+        uuids.set(id, null);
+        ages[id] = NO_AGE;
+        forgetAgesOfCoursesOf(id);
+        for (RoaringBitmap members : byCourse.values()) {
+            remove(members, id);
+        }
+        leaveGroup(id);
+    }
+
+    RoaringBitmap course(UUID course) {
+        return byCourse.getOrDefault(course, new RoaringBitmap());
+    }
+
+    RoaringBitmap group(String group) {
+        return byGroup.getOrDefault(group, new RoaringBitmap());
+    }
+
+    /**
+     * Members of the course whose age is between {@code minAge} and {@code maxAge}, both inclusive: two binary
+     * searches over the course's sorted ages, then one bitmap add per match.
+     */
+    RoaringBitmap courseInAgeRange(UUID course, int minAge, int maxAge) {
+        long[] sorted = agesByCourse.computeIfAbsent(course, this::sortByAge);
+        int from = lowerBound(sorted, (long) minAge << 32);
+        int to = maxAge == Integer.MAX_VALUE ? sorted.length : lowerBound(sorted, (long) (maxAge + 1) << 32);
+        RoaringBitmap members = new RoaringBitmap();
+        for (int i = from; i < to; i++) {
+            members.add((int) sorted[i]);
+        }
+        return members;
+    }
+
+    List<UUID> toUuids(RoaringBitmap members) {
+        List<UUID> people = new ArrayList<>(members.getCardinality());
+        members.forEach((int id) -> people.add(uuids.get(id)));
+        return people;
+    }
+
+    long estimatedBytes() {
+        return bytes + sortedBytes.get();
+    }
+
+    /**
+     * Walks every bitmap and age array to recompute {@link #estimatedBytes()} from scratch, resetting the
+     * running total to the result.
+     */
+    long recountBytes() {
+        bytes = (long) uuids.size() * BYTES_PER_PERSON;
+        for (RoaringBitmap members : byCourse.values()) {
+            bytes += members.getLongSizeInBytes();
+        }
+        for (RoaringBitmap members : byGroup.values()) {
+            bytes += members.getLongSizeInBytes();
+        }
+        long sorted = 0;
+        for (long[] ages : agesByCourse.values()) {
+            sorted += (long) ages.length * Long.BYTES;
+        }
+        sortedBytes.set(sorted);
+        return estimatedBytes();
+    }
+
+    private int idOf(UUID person) {
+        return ids.computeIfAbsent(person, key -> {
+            uuids.add(key);
+            bytes += BYTES_PER_PERSON;
+            if (uuids.size() > ages.length) {
+                int length = ages.length;
+                ages = Arrays.copyOf(ages, Math.max(16, length * 2));
+                Arrays.fill(ages, length, ages.length, NO_AGE);
+                groups = Arrays.copyOf(groups, ages.length);
+            }
+            return uuids.size() - 1;
+        });
+    }
+
+    /**
+     * Packs each member as {@code age << 32 | id} so that sorting the longs orders them by age.
+     * Members whose age is unknown are left out.
+     */
+    private long[] sortByAge(UUID course) {
+        RoaringBitmap members = course(course);
+        long[] sorted = new long[members.getCardinality()];
+        int size = 0;
+        IntIterator iterator = members.getIntIterator();
+        while (iterator.hasNext()) {
+            int id = iterator.next();
+            if (ages[id] != NO_AGE) {
+                sorted[size++] = (long) ages[id] << 32 | id;
+            }
+        }
+        sorted = Arrays.copyOf(sorted, size);
+        Arrays.sort(sorted);
+        sortedBytes.addAndGet((long) sorted.length * Long.BYTES);
+        return sorted;
+    }
+
+    private RoaringBitmap courseMembers(UUID course) {
+        return byCourse.computeIfAbsent(course, key -> tracked(new RoaringBitmap()));
+    }
+
+    private RoaringBitmap tracked(RoaringBitmap members) {
+        bytes += members.getLongSizeInBytes();
+        return members;
+    }
+
+    private void add(RoaringBitmap members, int id) {
+        long before = members.getLongSizeInBytes();
+        members.add(id);
+        bytes += members.getLongSizeInBytes() - before;
+    }
+
+    private void remove(RoaringBitmap members, int id) {
+        long before = members.getLongSizeInBytes();
+        members.remove(id);
+        bytes += members.getLongSizeInBytes() - before;
+    }
+
+    private void leaveGroup(int id) {
+        String group = groups[id];
+        if (group != null) {
+            remove(byGroup.get(group), id);
+            groups[id] = null;
+        }
+    }
+
+    private void forgetAgesOfCoursesOf(int id) {
+        byCourse.forEach((course, members) -> {
+            if (members.contains(id)) {
+                forgetAges(course);
+            }
+        });
+    }
+
+    private void forgetAges(UUID course) {
+        long[] sorted = agesByCourse.remove(course);
+        if (sorted != null) {
+            sortedBytes.addAndGet(-(long) sorted.length * Long.BYTES);
+        }
+    }
+
+    private static int lowerBound(long[] sorted, long key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,32 @@
+package com.classroom.service.retry;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a service mutator in a fresh transaction when it loses an optimistic-lock race, with jittered
+ * exponential backoff between attempts. The retry advice wraps the transactional advice, so every
+ * attempt re-reads current state.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(
+        retryFor = ConcurrencyFailureException.class,
+        maxAttemptsExpression = "${classroom.retry.max-attempts:5}",
+        backoff = @Backoff(
+                delayExpression = "${classroom.retry.initial-delay-ms:10}",
+                maxDelayExpression = "${classroom.retry.max-delay-ms:200}",
+                multiplier = 2,
+                random = true
+        )
+)
+public @interface RetryOnConflict {
+}
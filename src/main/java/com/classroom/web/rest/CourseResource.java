@@ -1,8 +1,11 @@
 package com.classroom.web.rest;
 
+import com.classroom.dto.course.CourseCacheStatisticsResponseDTO;
 import com.classroom.dto.course.CourseResponseDTO;
 import com.classroom.dto.course.CreateCourseRequestDTO;
+import com.classroom.service.CacheStatisticsService;
 import com.classroom.service.CourseService;
+import com.classroom.service.RosterVersionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -12,6 +15,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,20 +26,37 @@ import java.util.Optional;
 public class CourseResource {
 
     private final CourseService courseService;
+    private final CacheStatisticsService cacheStatisticsService;
+    private final RosterVersionService rosterVersionService;
 
     @GetMapping
-    public ResponseEntity<List<CourseResponseDTO>> getAllCourses() {
+    public ResponseEntity<List<CourseResponseDTO>> getAllCourses(WebRequest request) {
+        if (request.checkNotModified(rosterVersionService.catalogTag())) {
+            return null;
+        }
         List<CourseResponseDTO> students = courseService.getAllCourses();
         return ResponseEntity.ok(students);
     }
 
     @GetMapping("/course/{courseName}")
     public ResponseEntity<CourseResponseDTO> getCourseByName(
-            @PathVariable String courseName
+            @PathVariable String courseName,
+            WebRequest request
     ) {
+        // The catalog tag does not say whether this course exists, so it is only checked and sent once it does
         Optional<CourseResponseDTO> course = courseService.getCourseByName(courseName);
-        return course.map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        if (course.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(rosterVersionService.catalogTag())) {
+            return null;
+        }
+        return ResponseEntity.ok(course.get());
+    }
+
+    @GetMapping("/cache/statistics")
+    public ResponseEntity<CourseCacheStatisticsResponseDTO> getCourseCacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getCourseCacheStatistics());
     }
 
     @PostMapping
@@ -0,0 +1,40 @@
+package com.classroom.web.rest;
+
+import com.classroom.dto.export.ExportResponseDTO;
+import com.classroom.service.export.RosterExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/exports")
+@RequiredArgsConstructor
+public class ExportResource {
+
+    private final RosterExportService rosterExportService;
+
+    @PostMapping
+    public ResponseEntity<ExportResponseDTO> createExport() {
+        return ResponseEntity.ok(rosterExportService.export());
+    }
+
+    @GetMapping(value = "/latest", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Resource> downloadLatestExport() {
+        return rosterExportService.findLatestExport()
+                .map(file -> ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                .filename(file.getFileName().toString())
+                                .build()
+                                .toString())
+                        .body((Resource) new FileSystemResource(file)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
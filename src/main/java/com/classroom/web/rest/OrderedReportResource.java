@@ -0,0 +1,111 @@
+package com.classroom.web.rest;
+
+import com.classroom.service.ReportListService;
+import com.classroom.service.ReportResponseCache;
+import com.classroom.service.RosterVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * The roster reports of {@link ReportResource} as JSON arrays in a fixed order: people by name, then id, and their
+ * courses by name. Conditional requests and the response cache work as they do for the unordered reports.
+ */
+@RestController
+@RequestMapping("/api/v2/reports")
+@RequiredArgsConstructor
+public class OrderedReportResource {
+
+    private final ReportListService reportListService;
+    private final RosterVersionService rosterVersionService;
+    private final ReportResponseCache reportResponseCache;
+
+    @GetMapping("/course/{courseName}/group/{groupName}")
+    public ResponseEntity<byte[]> getReportTeacherAndStudentsForCourseAndGroup(
+            @PathVariable String courseName,
+            @PathVariable String groupName,
+            WebRequest request
+    ) {
+        String tag = courseAndGroupTag(courseName, groupName);
+        if (request.checkNotModified(tag)) {
+            return null;
+        }
+        return json(reportResponseCache.get("v2/course-and-group", tag,
+                () -> reportListService.getStudentsAndTeachersByCourseAndGroup(courseName, groupName), courseName, groupName));
+    }
+
+    @GetMapping("/students/course/{courseName}")
+    public ResponseEntity<byte[]> getStudentsByCourse(@PathVariable String courseName, WebRequest request) {
+        String tag = courseTag(courseName);
+        if (request.checkNotModified(tag)) {
+            return null;
+        }
+        return json(reportResponseCache.get("v2/students-by-course", tag,
+                () -> reportListService.getStudentsByCourse(courseName), courseName));
+    }
+
+    @GetMapping("/students/group/{groupName}")
+    public ResponseEntity<byte[]> getStudentsByGroup(@PathVariable String groupName, WebRequest request) {
+        String tag = rosterVersionService.groupTag(groupName);
+        if (request.checkNotModified(tag)) {
+            return null;
+        }
+        return json(reportResponseCache.get("v2/students-by-group", tag,
+                () -> reportListService.getStudentsByGroup(groupName), groupName));
+    }
+
+    @GetMapping("/students/course/{courseName}/age/{age}")
+    public ResponseEntity<byte[]> getStudentsInCourseOlderThan(
+            @PathVariable String courseName,
+            @PathVariable Integer age,
+            WebRequest request
+    ) {
+        String tag = courseTag(courseName);
+        if (request.checkNotModified(tag)) {
+            return null;
+        }
+        return json(reportResponseCache.get("v2/students-by-age", tag,
+                () -> reportListService.getStudentsByAgeAndCourse(age, courseName), courseName, age));
+    }
+
+    @GetMapping("/students/course/{courseName}/age-range")
+    public ResponseEntity<byte[]> getStudentsInCourseByAgeRange(
+            @PathVariable String courseName,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) String groupName,
+            WebRequest request
+    ) {
+        String tag = courseTag(courseName);
+        if (request.checkNotModified(tag)) {
+            return null;
+        }
+        return json(reportResponseCache.get("v2/students-by-age-range", tag,
+                () -> reportListService.getStudentsByAgeRangeAndCourse(minAge, maxAge, courseName, groupName),
+                courseName, minAge, maxAge, groupName));
+    }
+
+    /**
+     * Checks that the course exists before its tag is used, so an unknown course never gets a tag, and with it a
+     * 304, on its error response.
+     */
+    private String courseTag(String courseName) {
+        reportListService.requireCourse(courseName);
+        return rosterVersionService.courseTag(courseName);
+    }
+
+    private String courseAndGroupTag(String courseName, String groupName) {
+        reportListService.requireCourse(courseName);
+        return rosterVersionService.courseAndGroupTag(courseName, groupName);
+    }
+
+    private static ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -0,0 +1,63 @@
+package com.classroom.web.rest;
+
+import com.classroom.dto.report.StudentAndTeacherReportResponseDTO;
+import com.classroom.service.ReactiveReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The roster reports of {@link ReportResource} as newline-delimited JSON, one student per line, written as the
+ * rows arrive. The request thread is released as soon as the query is subscribed to, and the next rows are only
+ * read once the previous batch of lines has been written to the client.
+ */
+@RestController
+@RequestMapping("/api/v1/reactive/reports")
+@RequiredArgsConstructor
+public class ReactiveReportResource {
+
+    private final ReactiveReportService reactiveReportService;
+    private final NdjsonEncoder ndjsonEncoder;
+
+    @GetMapping("/course/{courseName}/group/{groupName}")
+    public Mono<StudentAndTeacherReportResponseDTO> getReportTeacherAndStudentsForCourseAndGroup(
+            @PathVariable String courseName,
+            @PathVariable String groupName
+    ) {
+        return reactiveReportService.getStudentsAndTeachersByCourseAndGroup(courseName, groupName);
+    }
+
+    @GetMapping(value = "/students/course/{courseName}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<String> getStudentsByCourse(@PathVariable String courseName) {
+        return ndjsonEncoder.encode(reactiveReportService.getStudentsByCourse(courseName));
+    }
+
+    @GetMapping(value = "/students/group/{groupName}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<String> getStudentsByGroup(@PathVariable String groupName) {
+        return ndjsonEncoder.encode(reactiveReportService.getStudentsByGroup(groupName));
+    }
+
+    @GetMapping(value = "/students/course/{courseName}/age/{age}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<String> getStudentsInCourseOlderThan(
+            @PathVariable String courseName,
+            @PathVariable Integer age
+    ) {
+        return ndjsonEncoder.encode(reactiveReportService.getStudentsByAgeAndCourse(age, courseName));
+    }
+
+    @GetMapping(value = "/students/course/{courseName}/age-range", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<String> getStudentsInCourseByAgeRange(
+            @PathVariable String courseName,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) String groupName
+    ) {
+        return ndjsonEncoder.encode(reactiveReportService.getStudentsByAgeRangeAndCourse(minAge, maxAge, courseName, groupName));
+    }
+}
@@ -1,16 +1,28 @@
 package com.classroom.web.rest;
 
-import com.classroom.dto.report.StudentAndTeacherReportResponseDTO;
-import com.classroom.dto.student.StudentResponseDTO;
+import com.classroom.dto.report.ReportCacheStatisticsResponseDTO;
+import com.classroom.service.ReportResponseCache;
 import com.classroom.service.ReportService;
+import com.classroom.service.ReportStreamingService;
+import com.classroom.service.RosterVersionService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.Set;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 @RestController
 @RequestMapping("/api/v1/reports")
@@ -18,45 +30,193 @@ import java.util.Set;
 public class ReportResource {
 
     private final ReportService reportService;
+    private final ReportStreamingService reportStreamingService;
+    private final RosterVersionService rosterVersionService;
+    private final ReportResponseCache reportResponseCache;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/course/{courseName}/group/{groupName}")
-    public ResponseEntity<StudentAndTeacherReportResponseDTO> getReportTeacherAndStudentsFroCourseAndGroup(
+    public ResponseEntity<byte[]> getReportTeacherAndStudentsFroCourseAndGroup(
             @PathVariable String courseName,
-            @PathVariable String groupName
+            @PathVariable String groupName,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(reportService.getStudentsAndTeachersByCourseAndGroup(courseName, groupName));
+        String tag = courseAndGroupTag(courseName, groupName);
+        if (request.checkNotModified(tag)) {
+            return null;
+        }
+        return json(reportResponseCache.get("course-and-group", tag,
+                () -> reportService.getStudentsAndTeachersByCourseAndGroup(courseName, groupName), courseName, groupName));
     }
 
     @GetMapping("/students/count")
-    public ResponseEntity<Long> getStudentsCount() {
+    public ResponseEntity<Long> getStudentsCount(WebRequest request) {
+        if (request.checkNotModified(rosterVersionService.peopleTag())) {
+            return null;
+        }
         return ResponseEntity.ok(reportService.countStudents());
     }
 
+    @GetMapping("/students/course/{courseName}/count")
+    public ResponseEntity<Long> getStudentsCountByCourse(@PathVariable String courseName, WebRequest request) {
+        if (request.checkNotModified(courseTag(courseName))) {
+            return null;
+        }
+        return ResponseEntity.ok(reportService.countStudentsByCourse(courseName));
+    }
+
+    @GetMapping("/students/group/{groupName}/count")
+    public ResponseEntity<Long> getStudentsCountByGroup(@PathVariable String groupName, WebRequest request) {
+        if (request.checkNotModified(rosterVersionService.groupTag(groupName))) {
+            return null;
+        }
+        return ResponseEntity.ok(reportService.countStudentsByGroup(groupName));
+    }
+
     @GetMapping("/students/course/{courseName}")
-    public ResponseEntity<Set<StudentResponseDTO>> getStudentsByCourse(@PathVariable String courseName) {
-        return ResponseEntity.ok(reportService.getStudentsByCourse(courseName));
+    public ResponseEntity<byte[]> getStudentsByCourse(@PathVariable String courseName, WebRequest request) {
+        String tag = courseTag(courseName);
+        if (request.checkNotModified(tag)) {
+            return null;
+        }
+        return json(reportResponseCache.get("students-by-course", tag,
+                () -> reportService.getStudentsByCourse(courseName), courseName));
     }
 
     @GetMapping("/students/group/{groupName}")
-    public ResponseEntity<Set<StudentResponseDTO>> getStudentsByGroup(@PathVariable String groupName) {
-        return ResponseEntity.ok(reportService.getStudentsByGroup(groupName));
+    public ResponseEntity<byte[]> getStudentsByGroup(@PathVariable String groupName, WebRequest request) {
+        String tag = rosterVersionService.groupTag(groupName);
+        if (request.checkNotModified(tag)) {
+            return null;
+        }
+        return json(reportResponseCache.get("students-by-group", tag,
+                () -> reportService.getStudentsByGroup(groupName), groupName));
     }
 
     @GetMapping("/students/course/{courseName}/age/{age}")
-    public ResponseEntity<Set<StudentResponseDTO>> getStudentsInCourseOlderThan(
+    public ResponseEntity<byte[]> getStudentsInCourseOlderThan(
+            @PathVariable String courseName,
+            @PathVariable  Integer age,
+            WebRequest request
+    ) {
+        String tag = courseTag(courseName);
+        if (request.checkNotModified(tag)) {
+            return null;
+        }
+        return json(reportResponseCache.get("students-by-age", tag,
+                () -> reportService.getStudentsByAgeAndCourse(age, courseName), courseName, age));
+    }
+
+    @GetMapping("/students/course/{courseName}/age-range")
+    public ResponseEntity<byte[]> getStudentsInCourseByAgeRange(
+            @PathVariable String courseName,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) String groupName,
+            WebRequest request
+    ) {
+        String tag = courseTag(courseName);
+        if (request.checkNotModified(tag)) {
+            return null;
+        }
+        return json(reportResponseCache.get("students-by-age-range", tag,
+                () -> reportService.getStudentsByAgeRangeAndCourse(minAge, maxAge, courseName, groupName),
+                courseName, minAge, maxAge, groupName));
+    }
+
+    @GetMapping(value = "/students/course/{courseName}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamStudentsByCourse(@PathVariable String courseName) {
+        return ndjson(reportStreamingService.streamStudentsByCourse(courseName));
+    }
+
+    @GetMapping(value = "/students/group/{groupName}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamStudentsByGroup(@PathVariable String groupName) {
+        return ndjson(reportStreamingService.streamStudentsByGroup(groupName));
+    }
+
+    @GetMapping(value = "/students/course/{courseName}/age/{age}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamStudentsInCourseOlderThan(
+            @PathVariable String courseName,
+            @PathVariable Integer age
+    ) {
+        return ndjson(reportStreamingService.streamStudentsByAgeAndCourse(age, courseName));
+    }
+
+    @GetMapping(value = "/students/course/{courseName}/age-range", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamStudentsInCourseByAgeRange(
             @PathVariable String courseName,
-            @PathVariable  Integer age
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) String groupName
     ) {
-        return ResponseEntity.ok(reportService.getStudentsByAgeAndCourse(age, courseName));
+        return ndjson(reportStreamingService.streamStudentsByAgeRangeAndCourse(minAge, maxAge, courseName, groupName));
     }
 
     @GetMapping("/teachers/count")
-    public ResponseEntity<Long> getTeachersCount() {
+    public ResponseEntity<Long> getTeachersCount(WebRequest request) {
+        if (request.checkNotModified(rosterVersionService.peopleTag())) {
+            return null;
+        }
         return ResponseEntity.ok(reportService.countTeachers());
     }
 
     @GetMapping("/courses/count/{courseType}")
-    public ResponseEntity<Long> getCoursesCountByType(@PathVariable String courseType) {
+    public ResponseEntity<Long> getCoursesCountByType(@PathVariable String courseType, WebRequest request) {
+        if (request.checkNotModified(rosterVersionService.catalogTag())) {
+            return null;
+        }
         return ResponseEntity.ok(reportService.countCoursesByType(courseType));
     }
+
+    @GetMapping("/cache/statistics")
+    public ResponseEntity<ReportCacheStatisticsResponseDTO> getReportCacheStatistics() {
+        return ResponseEntity.ok(reportResponseCache.getStatistics());
+    }
+
+    /**
+     * Checks that the course exists before its tag is used, so an unknown course never gets a tag, and with it a
+     * 304, on its error response.
+     */
+    private String courseTag(String courseName) {
+        reportService.requireCourse(courseName);
+        return rosterVersionService.courseTag(courseName);
+    }
+
+    private String courseAndGroupTag(String courseName, String groupName) {
+        reportService.requireCourse(courseName);
+        return rosterVersionService.courseAndGroupTag(courseName, groupName);
+    }
+
+    private static ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Writes one student per line as they are read. Jackson fills its buffer before writing to the response
+     * instead of flushing after every student.
+     */
+    private ResponseEntity<StreamingResponseBody> ndjson(ReportStreamingService.StudentExport export) {
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> {
+                    boolean[] written = {false};
+                    try (SequenceWriter lines = writer.writeValues(outputStream)) {
+                        export.writeTo(student -> {
+                            try {
+                                lines.write(student);
+                                written[0] = true;
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                    }
+                    if (written[0]) {
+                        outputStream.write('\n');
+                    }
+                });
+    }
 }
@@ -1,14 +1,25 @@
 package com.classroom.web.rest;
 
+import com.classroom.dto.bulk.ImportResponseDTO;
+import com.classroom.dto.student.BulkEnrollStudentsRequestDTO;
+import com.classroom.dto.student.BulkEnrollStudentsResponseDTO;
 import com.classroom.dto.student.CreateStudentRequestDTO;
 import com.classroom.dto.student.EnrollStudentRequestDTO;
+import com.classroom.dto.student.EnrollmentPipelineStatisticsResponseDTO;
 import com.classroom.dto.student.LeaveStudentCourseRequestDTO;
 import com.classroom.dto.student.StudentResponseDTO;
+import com.classroom.service.EnrollmentPipeline;
+import com.classroom.service.EnrollmentService;
+import com.classroom.service.ImportService;
 import com.classroom.service.StudentService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -16,12 +27,21 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/v1/students")
 @RequiredArgsConstructor
 public class StudentResource {
 
     private final StudentService studentService;
+    private final ImportService importService;
+    private final EnrollmentService enrollmentService;
+    private final ObjectMapper objectMapper;
+    private final Optional<EnrollmentPipeline> enrollmentPipeline;
 
     @PostMapping
     public ResponseEntity<StudentResponseDTO> createStudent(
@@ -31,6 +51,24 @@ public class StudentResource {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdStudent);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportResponseDTO> createStudents(
+            @RequestBody List<CreateStudentRequestDTO> createStudentRequests
+    ) {
+        ImportResponseDTO importResponse = importService.importStudents(createStudentRequests.iterator());
+        return ResponseEntity.status(HttpStatus.OK).body(importResponse);
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportResponseDTO> createStudentsFromStream(InputStream createStudentRequests) throws IOException {
+        try (MappingIterator<CreateStudentRequestDTO> rows = objectMapper
+                .readerFor(CreateStudentRequestDTO.class)
+                .readValues(createStudentRequests)) {
+            ImportResponseDTO importResponse = importService.importStudents(rows);
+            return ResponseEntity.status(HttpStatus.OK).body(importResponse);
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<StudentResponseDTO> updateStudent(
             @PathVariable("id") String id,
@@ -44,10 +82,27 @@ public class StudentResource {
     public ResponseEntity<StudentResponseDTO> enrollStudentToCourse(
             @RequestBody EnrollStudentRequestDTO enrollStudentRequest
     ) {
-        StudentResponseDTO enrolledStudent = studentService.enrollToCourse(enrollStudentRequest);
+        StudentResponseDTO enrolledStudent = enrollmentPipeline
+                .map(pipeline -> pipeline.enroll(enrollStudentRequest))
+                .orElseGet(() -> studentService.enrollToCourse(enrollStudentRequest));
         return ResponseEntity.status(HttpStatus.OK).body(enrolledStudent);
     }
 
+    @GetMapping("/enroll/pipeline/statistics")
+    public ResponseEntity<EnrollmentPipelineStatisticsResponseDTO> getEnrollmentPipelineStatistics() {
+        return enrollmentPipeline
+                .map(pipeline -> ResponseEntity.ok(pipeline.getStatistics()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/enroll/bulk")
+    public ResponseEntity<BulkEnrollStudentsResponseDTO> enrollStudentsToCourse(
+            @RequestBody BulkEnrollStudentsRequestDTO bulkEnrollRequest
+    ) {
+        BulkEnrollStudentsResponseDTO enrollResponse = enrollmentService.enrollStudentsToCourse(bulkEnrollRequest);
+        return ResponseEntity.status(HttpStatus.OK).body(enrollResponse);
+    }
+
     @PostMapping("/leave")
     public ResponseEntity<StudentResponseDTO> leaveStudentFromCourse(
             @RequestBody LeaveStudentCourseRequestDTO leaveStudentCourseRequest
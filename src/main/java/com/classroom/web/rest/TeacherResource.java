@@ -1,12 +1,17 @@
 package com.classroom.web.rest;
 
+import com.classroom.dto.bulk.ImportResponseDTO;
 import com.classroom.dto.teacher.CreateTeacherRequestDTO;
 import com.classroom.dto.teacher.EnrollTeacherRequestDTO;
 import com.classroom.dto.teacher.LeaveTeacherCourseRequestDTO;
 import com.classroom.dto.teacher.TeacherResponseDTO;
+import com.classroom.service.ImportService;
 import com.classroom.service.TeacherService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,12 +21,18 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/teachers")
 @RequiredArgsConstructor
 public class TeacherResource {
 
     private final TeacherService teacherService;
+    private final ImportService importService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<TeacherResponseDTO> createTeacher(
@@ -31,6 +42,24 @@ public class TeacherResource {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTeacher);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportResponseDTO> createTeachers(
+            @RequestBody List<CreateTeacherRequestDTO> createTeacherRequests
+    ) {
+        ImportResponseDTO importResponse = importService.importTeachers(createTeacherRequests.iterator());
+        return ResponseEntity.status(HttpStatus.OK).body(importResponse);
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportResponseDTO> createTeachersFromStream(InputStream createTeacherRequests) throws IOException {
+        try (MappingIterator<CreateTeacherRequestDTO> rows = objectMapper
+                .readerFor(CreateTeacherRequestDTO.class)
+                .readValues(createTeacherRequests)) {
+            ImportResponseDTO importResponse = importService.importTeachers(rows);
+            return ResponseEntity.status(HttpStatus.OK).body(importResponse);
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<TeacherResponseDTO> updateTeacher(
             @PathVariable("id") String id,
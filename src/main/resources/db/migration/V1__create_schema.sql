@@ -0,0 +1,50 @@
+CREATE TABLE course (
+    course_id UUID NOT NULL,
+    name      VARCHAR(255),
+    type      VARCHAR(255),
+    CONSTRAINT pk_course PRIMARY KEY (course_id)
+);
+
+CREATE UNIQUE INDEX ux_course_name ON course (name);
+
+CREATE TABLE student (
+    student_id    UUID         NOT NULL,
+    name          VARCHAR(255) NOT NULL,
+    age           INTEGER      NOT NULL,
+    student_group VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_student PRIMARY KEY (student_id)
+);
+
+CREATE INDEX ix_student_group ON student (student_group);
+CREATE INDEX ix_student_name_group_age ON student (name, student_group, age);
+
+CREATE TABLE teacher (
+    teacher_id    UUID         NOT NULL,
+    name          VARCHAR(255) NOT NULL,
+    age           INTEGER      NOT NULL,
+    teacher_group VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_teacher PRIMARY KEY (teacher_id)
+);
+
+CREATE INDEX ix_teacher_group ON teacher (teacher_group);
+CREATE INDEX ix_teacher_name_group_age ON teacher (name, teacher_group, age);
+
+CREATE TABLE student_course (
+    student_id UUID NOT NULL,
+    course_id  UUID NOT NULL,
+    CONSTRAINT pk_student_course PRIMARY KEY (student_id, course_id),
+    CONSTRAINT fk_student_course_student FOREIGN KEY (student_id) REFERENCES student (student_id),
+    CONSTRAINT fk_student_course_course FOREIGN KEY (course_id) REFERENCES course (course_id)
+);
+
+CREATE INDEX ix_student_course_course_student ON student_course (course_id, student_id);
+
+CREATE TABLE teacher_course (
+    teacher_id UUID NOT NULL,
+    course_id  UUID NOT NULL,
+    CONSTRAINT pk_teacher_course PRIMARY KEY (teacher_id, course_id),
+    CONSTRAINT fk_teacher_course_teacher FOREIGN KEY (teacher_id) REFERENCES teacher (teacher_id),
+    CONSTRAINT fk_teacher_course_course FOREIGN KEY (course_id) REFERENCES course (course_id)
+);
+
+CREATE INDEX ix_teacher_course_course_teacher ON teacher_course (course_id, teacher_id);
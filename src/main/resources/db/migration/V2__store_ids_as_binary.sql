@@ -0,0 +1,17 @@
+ALTER TABLE student_course DROP CONSTRAINT fk_student_course_student;
+ALTER TABLE student_course DROP CONSTRAINT fk_student_course_course;
+ALTER TABLE teacher_course DROP CONSTRAINT fk_teacher_course_teacher;
+ALTER TABLE teacher_course DROP CONSTRAINT fk_teacher_course_course;
+
+ALTER TABLE course ALTER COLUMN course_id SET DATA TYPE BINARY(16);
+ALTER TABLE student ALTER COLUMN student_id SET DATA TYPE BINARY(16);
+ALTER TABLE teacher ALTER COLUMN teacher_id SET DATA TYPE BINARY(16);
+ALTER TABLE student_course ALTER COLUMN student_id SET DATA TYPE BINARY(16);
+ALTER TABLE student_course ALTER COLUMN course_id SET DATA TYPE BINARY(16);
+ALTER TABLE teacher_course ALTER COLUMN teacher_id SET DATA TYPE BINARY(16);
+ALTER TABLE teacher_course ALTER COLUMN course_id SET DATA TYPE BINARY(16);
+
+ALTER TABLE student_course ADD CONSTRAINT fk_student_course_student FOREIGN KEY (student_id) REFERENCES student (student_id);
+ALTER TABLE student_course ADD CONSTRAINT fk_student_course_course FOREIGN KEY (course_id) REFERENCES course (course_id);
+ALTER TABLE teacher_course ADD CONSTRAINT fk_teacher_course_teacher FOREIGN KEY (teacher_id) REFERENCES teacher (teacher_id);
+ALTER TABLE teacher_course ADD CONSTRAINT fk_teacher_course_course FOREIGN KEY (course_id) REFERENCES course (course_id);
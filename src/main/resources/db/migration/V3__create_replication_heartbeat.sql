@@ -0,0 +1,7 @@
+CREATE TABLE replication_heartbeat (
+    id      INTEGER      NOT NULL,
+    beat_at TIMESTAMP(3) NOT NULL,
+    CONSTRAINT pk_replication_heartbeat PRIMARY KEY (id)
+);
+
+INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, CURRENT_TIMESTAMP(3));
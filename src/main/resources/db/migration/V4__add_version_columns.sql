@@ -0,0 +1,3 @@
+ALTER TABLE course ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE student ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE teacher ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,2 @@
+-- NULL means the course has no seat limit
+ALTER TABLE course ADD COLUMN capacity INTEGER;
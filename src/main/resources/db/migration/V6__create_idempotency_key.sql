@@ -0,0 +1,12 @@
+-- Responses of requests sent with an Idempotency-Key, kept only when persistence is enabled
+CREATE TABLE idempotency_key (
+    request_key  VARCHAR(512) NOT NULL,
+    fingerprint  VARCHAR(64)  NOT NULL,
+    status       INTEGER      NOT NULL,
+    content_type VARCHAR(255),
+    body         BLOB,
+    created_at   TIMESTAMP(3) NOT NULL,
+    CONSTRAINT pk_idempotency_key PRIMARY KEY (request_key)
+);
+
+CREATE INDEX ix_idempotency_key_created_at ON idempotency_key (created_at);
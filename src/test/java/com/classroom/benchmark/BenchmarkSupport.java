@@ -0,0 +1,38 @@
+package com.classroom.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * Small timing helper shared by the benchmarks: runs warm-up iterations, then reports the
+ * average wall time and the bytes allocated by the calling thread per iteration.
+ */
+final class BenchmarkSupport {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private BenchmarkSupport() {
+    }
+
+    static Result measure(String label, int warmups, int iterations, Supplier<?> action) {
+        for (int i = 0; i < warmups; i++) {
+            action.get();
+        }
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            action.get();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        Result result = new Result(label, elapsedNanos / 1_000_000.0 / iterations, allocated / 1024.0 / 1024.0 / iterations);
+        System.out.printf("%-40s %10.2f ms/op %10.2f MB/op%n", result.label(), result.millisPerOp(), result.megabytesPerOp());
+        return result;
+    }
+
+    record Result(String label, double millisPerOp, double megabytesPerOp) {
+    }
+}
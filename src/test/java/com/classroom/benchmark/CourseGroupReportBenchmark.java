@@ -0,0 +1,115 @@
+package com.classroom.benchmark;
+
+import com.classroom.dto.student.BulkEnrollStudentsRequestDTO;
+import com.classroom.dto.student.CreateStudentRequestDTO;
+import com.classroom.dto.teacher.CreateTeacherRequestDTO;
+import com.classroom.entity.Course;
+import com.classroom.enumartion.CourseType;
+import com.classroom.repository.CourseRepository;
+import com.classroom.repository.EnrollmentIndexRepository;
+import com.classroom.repository.StudentRepository;
+import com.classroom.repository.TeacherRepository;
+import com.classroom.service.CounterService;
+import com.classroom.service.EnrollmentService;
+import com.classroom.service.ImportService;
+import com.classroom.service.ReportFanOut;
+import com.classroom.service.ReportService;
+import com.classroom.service.index.EnrollmentIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the course-and-group report with its student and teacher halves loaded one after the other and
+ * at the same time through {@link ReportFanOut}. The in-process database makes every query pure CPU work, so
+ * {@code -Dbenchmark.round-trip-ms} adds a {@link RoundTripDelay} per statement to model a database across the
+ * network.
+ * Run with {@code gradle benchmark -Dbenchmark.students=20000 -Dbenchmark.teachers=20000 -Dbenchmark.round-trip-ms=20}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "logging.level.org.hibernate.SQL=WARN")
+@Import(RoundTripDelay.class)
+public class CourseGroupReportBenchmark {
+
+    private static final int STUDENTS = Integer.getInteger("benchmark.students", 20_000);
+    private static final int TEACHERS = Integer.getInteger("benchmark.teachers", 20_000);
+    private static final String COURSE_NAME = "Bench Fan-Out Mathematics";
+    private static final long ROUND_TRIP_MILLIS = Long.getLong("benchmark.round-trip-ms", 0);
+    private static final String GROUP_NAME = "FAN";
+
+    @Autowired
+    private ReportService reportService;
+    @Autowired
+    private ImportService importService;
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private EnrollmentIndex enrollmentIndex;
+    @Autowired
+    private EnrollmentIndexRepository enrollmentIndexRepository;
+    @Autowired
+    private CounterService counterService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void compareSequentialAndParallelReport() {
+        seed();
+        ReportService sequentialReportService = new ReportService(courseRepository, studentRepository, teacherRepository,
+                counterService, enrollmentIndex, enrollmentIndexRepository,
+                new ReportFanOut(transactionManager, 0, 0, Duration.ofSeconds(30)));
+        String size = ", students=" + STUDENTS + ", teachers=" + TEACHERS
+                + ", round trip=" + ROUND_TRIP_MILLIS + " ms";
+
+        RoundTripDelay.enable(ROUND_TRIP_MILLIS);
+        try {
+            BenchmarkSupport.measure("sequential report" + size, 3, 10,
+                    () -> sequentialReportService.getStudentsAndTeachersByCourseAndGroup(COURSE_NAME, GROUP_NAME));
+            BenchmarkSupport.measure("parallel report" + size, 3, 10,
+                    () -> reportService.getStudentsAndTeachersByCourseAndGroup(COURSE_NAME, GROUP_NAME));
+        } finally {
+            RoundTripDelay.disable();
+        }
+    }
+
+    /**
+     * Puts every student and teacher into the same group and enrolls all of them into the course.
+     */
+    private void seed() {
+        importService.importStudents(IntStream.range(0, STUDENTS)
+                .mapToObj(i -> new CreateStudentRequestDTO("Student " + i, 18 + i % 10, GROUP_NAME))
+                .iterator());
+        importService.importTeachers(IntStream.range(0, TEACHERS)
+                .mapToObj(i -> new CreateTeacherRequestDTO("Teacher " + i, 30 + i % 20, GROUP_NAME))
+                .iterator());
+        Course course = courseRepository.save(new Course(COURSE_NAME, CourseType.MAIN));
+        enrollmentService.enrollStudentsToCourse(BulkEnrollStudentsRequestDTO.builder()
+                .courseName(COURSE_NAME)
+                .groupName(GROUP_NAME)
+                .build());
+        List<UUID> teacherIds = jdbcTemplate.queryForList(
+                "SELECT teacher_id FROM teacher WHERE teacher_group = ?", UUID.class, GROUP_NAME);
+        jdbcTemplate.batchUpdate("INSERT INTO teacher_course (teacher_id, course_id) VALUES (?, ?)", teacherIds, 1000,
+                (statement, teacherId) -> {
+                    statement.setObject(1, teacherId);
+                    statement.setObject(2, course.getId());
+                });
+    }
+}
@@ -0,0 +1,129 @@
+package com.classroom.benchmark;
+
+import com.classroom.dto.student.BulkEnrollStudentsRequestDTO;
+import com.classroom.dto.student.CreateStudentRequestDTO;
+import com.classroom.entity.Course;
+import com.classroom.enumartion.CourseType;
+import com.classroom.repository.CourseRepository;
+import com.classroom.repository.EnrollmentIndexRepository;
+import com.classroom.repository.StudentRepository;
+import com.classroom.repository.TeacherRepository;
+import com.classroom.service.CounterService;
+import com.classroom.service.EnrollmentService;
+import com.classroom.service.ImportService;
+import com.classroom.service.ReportFanOut;
+import com.classroom.service.ReportService;
+import com.classroom.service.index.EnrollmentIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.util.stream.IntStream;
+
+/**
+ * Compares the JPQL-backed reports with the ones answered from the bitmap {@link EnrollmentIndex}: membership
+ * counts, and the full course, group, course-and-group and age range reports.
+ * Run with {@code gradle benchmark -Dbenchmark.students=100000 -Dbenchmark.groups=50}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "classroom.index.enrollment.enabled=true",
+        "classroom.index.enrollment.max-memory=512MB",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+public class EnrollmentIndexBenchmark {
+
+    private static final int STUDENTS = Integer.getInteger("benchmark.students", 100_000);
+    private static final int GROUPS = Integer.getInteger("benchmark.groups", 50);
+    private static final String COURSE_NAME = "Bench Index Mathematics";
+    private static final String GROUP_NAME = "IDX-0";
+
+    @Autowired
+    private ReportService reportService;
+    @Autowired
+    private EnrollmentIndex enrollmentIndex;
+    @Autowired
+    private ImportService importService;
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private EnrollmentIndexRepository enrollmentIndexRepository;
+    @Autowired
+    private CounterService counterService;
+    @Autowired
+    private ReportFanOut reportFanOut;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void compareSqlAndBitmapReports() {
+        Course course = seed();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        ReportService sqlReportService = new ReportService(courseRepository, studentRepository, teacherRepository,
+                counterService, new EnrollmentIndex(enrollmentIndexRepository, false, DataSize.ofBytes(0)),
+                enrollmentIndexRepository, reportFanOut);
+        String size = ", students=" + STUDENTS;
+
+        long start = System.nanoTime();
+        enrollmentIndex.rebuild();
+        System.out.printf("index rebuild: %d ms, about %d KB%n",
+                (System.nanoTime() - start) / 1_000_000, enrollmentIndex.estimatedBytes().orElse(0) / 1024);
+
+        BenchmarkSupport.measure("sql count in course" + size, 3, 20,
+                () -> readOnly.execute(status -> studentRepository.countEnrollmentsByCourseId(course.getId())));
+        BenchmarkSupport.measure("bitmap count in course" + size, 3, 20,
+                () -> enrollmentIndex.countStudentsInCourse(course.getId()));
+        BenchmarkSupport.measure("sql count in group" + size, 3, 20,
+                () -> readOnly.execute(status -> studentRepository.countByStudentGroup(GROUP_NAME)));
+        BenchmarkSupport.measure("bitmap count in group" + size, 3, 20,
+                () -> enrollmentIndex.countStudentsInGroup(GROUP_NAME));
+
+        BenchmarkSupport.measure("sql course report" + size, 2, 5,
+                () -> readOnly.execute(status -> sqlReportService.getStudentsByCourse(COURSE_NAME)));
+        BenchmarkSupport.measure("bitmap course report" + size, 2, 5,
+                () -> reportService.getStudentsByCourse(COURSE_NAME));
+        BenchmarkSupport.measure("sql group report" + size, 2, 5,
+                () -> readOnly.execute(status -> sqlReportService.getStudentsByGroup(GROUP_NAME)));
+        BenchmarkSupport.measure("bitmap group report" + size, 2, 5,
+                () -> reportService.getStudentsByGroup(GROUP_NAME));
+        BenchmarkSupport.measure("sql course+group report" + size, 3, 20,
+                () -> readOnly.execute(status -> sqlReportService.getStudentsAndTeachersByCourseAndGroup(COURSE_NAME, GROUP_NAME)));
+        BenchmarkSupport.measure("bitmap course+group report" + size, 3, 20,
+                () -> reportService.getStudentsAndTeachersByCourseAndGroup(COURSE_NAME, GROUP_NAME));
+        BenchmarkSupport.measure("bitmap age range lookup" + size, 3, 20,
+                () -> enrollmentIndex.findStudentsInCourseByAge(course.getId(), 20, 20));
+        BenchmarkSupport.measure("sql age range report" + size, 2, 5,
+                () -> readOnly.execute(status -> sqlReportService.getStudentsByAgeRangeAndCourse(20, 20, COURSE_NAME, null)));
+        BenchmarkSupport.measure("bitmap age range report" + size, 2, 5,
+                () -> reportService.getStudentsByAgeRangeAndCourse(20, 20, COURSE_NAME, null));
+    }
+
+    /**
+     * Spreads the students over the groups and enrolls every other group into the course.
+     */
+    private Course seed() {
+        importService.importStudents(IntStream.range(0, STUDENTS)
+                .mapToObj(i -> new CreateStudentRequestDTO("Student " + i, 18 + i % 10, "IDX-" + i % GROUPS))
+                .iterator());
+        Course course = courseRepository.save(new Course(COURSE_NAME, CourseType.MAIN));
+        for (int group = 0; group < GROUPS; group += 2) {
+            enrollmentService.enrollStudentsToCourse(BulkEnrollStudentsRequestDTO.builder()
+                    .courseName(COURSE_NAME)
+                    .groupName("IDX-" + group)
+                    .build());
+        }
+        return course;
+    }
+}
@@ -0,0 +1,7 @@
+package com.classroom.benchmark;
+
+/**
+ * {@link RequestLoadBenchmark} with Tomcat's bounded pool of platform request threads.
+ */
+public class PlatformThreadLoadBenchmark extends RequestLoadBenchmark {
+}
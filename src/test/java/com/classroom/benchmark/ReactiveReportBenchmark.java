@@ -0,0 +1,150 @@
+package com.classroom.benchmark;
+
+import com.classroom.dto.student.BulkEnrollStudentsRequestDTO;
+import com.classroom.dto.student.CreateStudentRequestDTO;
+import com.classroom.entity.Course;
+import com.classroom.enumartion.CourseType;
+import com.classroom.repository.CourseRepository;
+import com.classroom.service.EnrollmentService;
+import com.classroom.service.ImportService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Downloads the same group roster as one JSON document from the blocking report endpoint, which builds the whole set
+ * first, as NDJSON streamed from the same endpoint through a JPA cursor, and as NDJSON from the reactive endpoint,
+ * with several clients at the same time. Reports the throughput, the time to the first byte and the time to the last
+ * byte of each.
+ * Run with {@code gradle benchmark --tests '*ReactiveReportBenchmark' -Dbenchmark.students=50000 -Dbenchmark.clients=8}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.org.hibernate.SQL=WARN",
+        "classroom.cache.report.enabled=false"
+})
+public class ReactiveReportBenchmark {
+
+    private static final int STUDENTS = Integer.getInteger("benchmark.students", 50_000);
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 8);
+    private static final int DOWNLOADS_PER_CLIENT = Integer.getInteger("benchmark.downloads-per-client", 5);
+    private static final String COURSE_NAME = "Bench Reactive Mathematics";
+    private static final String GROUP_NAME = "REACTIVE";
+    private static final String JSON = "application/json";
+    private static final String NDJSON = "application/x-ndjson";
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ImportService importService;
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    public void compareBlockingAndReactiveRoster() throws Exception {
+        seed();
+        URI blocking = URI.create("http://localhost:" + port + "/api/v1/reports/students/group/" + GROUP_NAME);
+        URI reactive = URI.create("http://localhost:" + port + "/api/v1/reactive/reports/students/group/" + GROUP_NAME);
+        String size = ", students=" + STUDENTS + ", clients=" + CLIENTS;
+
+        download("warm-up blocking" + size, blocking, JSON, 1);
+        download("warm-up streamed" + size, blocking, NDJSON, 1);
+        download("warm-up reactive" + size, reactive, NDJSON, 1);
+        download("blocking roster" + size, blocking, JSON, DOWNLOADS_PER_CLIENT);
+        download("streamed roster" + size, blocking, NDJSON, DOWNLOADS_PER_CLIENT);
+        download("reactive roster" + size, reactive, NDJSON, DOWNLOADS_PER_CLIENT);
+    }
+
+    private void download(String label, URI uri, String accept, int downloadsPerClient) throws Exception {
+        long[] firstByte = new long[CLIENTS * downloadsPerClient];
+        long[] lastByte = new long[CLIENTS * downloadsPerClient];
+        long bytes = 0;
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long start = System.nanoTime();
+        try {
+            List<Future<Long>> running = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                int client = c;
+                running.add(clients.submit(() -> {
+                    long read = 0;
+                    for (int d = 0; d < downloadsPerClient; d++) {
+                        int slot = client * downloadsPerClient + d;
+                        long sent = System.nanoTime();
+                        HttpResponse<InputStream> response = this.client.send(HttpRequest.newBuilder(uri).header("Accept", accept).GET().build(),
+                                HttpResponse.BodyHandlers.ofInputStream());
+                        try (InputStream body = response.body()) {
+                            byte[] buffer = new byte[8192];
+                            int n = body.read(buffer);
+                            firstByte[slot] = System.nanoTime() - sent;
+                            while (n >= 0) {
+                                read += n;
+                                n = body.read(buffer);
+                            }
+                        }
+                        lastByte[slot] = System.nanoTime() - sent;
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("Unexpected status " + response.statusCode());
+                        }
+                    }
+                    return read;
+                }));
+            }
+            for (Future<Long> result : running) {
+                bytes += result.get();
+            }
+        } finally {
+            clients.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.printf("%-55s %7.2f req/s first byte p50 %8.1f ms last byte p50 %8.1f ms p99 %8.1f ms %8.1f MB%n",
+                label, firstByte.length / seconds, median(firstByte), median(lastByte), percentile(lastByte, 0.99),
+                bytes / 1024.0 / 1024.0 / firstByte.length);
+    }
+
+    private static double median(long[] nanos) {
+        return percentile(nanos, 0.50);
+    }
+
+    private static double percentile(long[] nanos, double fraction) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    /**
+     * Puts every student into the same group and enrolls all of them into one course, so each has a course to
+     * list.
+     */
+    private void seed() {
+        importService.importStudents(IntStream.range(0, STUDENTS)
+                .mapToObj(i -> new CreateStudentRequestDTO("Student " + i, 18 + i % 10, GROUP_NAME))
+                .iterator());
+        courseRepository.save(new Course(COURSE_NAME, CourseType.MAIN));
+        enrollmentService.enrollStudentsToCourse(BulkEnrollStudentsRequestDTO.builder()
+                .courseName(COURSE_NAME)
+                .groupName(GROUP_NAME)
+                .build());
+    }
+}
@@ -0,0 +1,101 @@
+package com.classroom.benchmark;
+
+import com.classroom.dto.student.CreateStudentRequestDTO;
+import com.classroom.entity.Course;
+import com.classroom.enumartion.CourseType;
+import com.classroom.repository.CourseRepository;
+import com.classroom.service.ImportService;
+import com.classroom.service.ReportListService;
+import com.classroom.service.ReportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.stream.IntStream;
+
+/**
+ * Compares building and serializing the group report as a set of students, each holding a set of courses, with the
+ * ordered list report that the database sorts. Each report is built and serialized separately, so the time spent
+ * hashing DTOs into sets shows up under build and the JSON writing under serialize.
+ * Run with {@code gradle benchmark --tests '*ReportMappingBenchmark' -Dbenchmark.sizes=10000,100000}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "classroom.cache.report.enabled=false"
+})
+public class ReportMappingBenchmark {
+
+    private static final int[] SIZES = Arrays.stream(System.getProperty("benchmark.sizes", "10000,100000").split(","))
+            .mapToInt(Integer::parseInt)
+            .toArray();
+    private static final int COURSES = Integer.getInteger("benchmark.courses", 3);
+    private static final int WARMUP = Integer.getInteger("benchmark.warmup", 3);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 5);
+    private static final String COURSE_PREFIX = "Bench Mapping Course ";
+    private static final String ENROLL_GROUP = "INSERT INTO student_course (student_id, course_id) " +
+            "SELECT student.student_id, course.course_id FROM student CROSS JOIN course " +
+            "WHERE student.student_group = ? AND course.name LIKE ?";
+
+    @Autowired
+    private ImportService importService;
+    @Autowired
+    private ReportService reportService;
+    @Autowired
+    private ReportListService reportListService;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void compareSetAndListReports() throws Exception {
+        for (int i = 0; i < COURSES; i++) {
+            courseRepository.save(new Course(COURSE_PREFIX + i, i % 2 == 0 ? CourseType.MAIN : CourseType.SECONDARY));
+        }
+        for (int size : SIZES) {
+            String groupName = "MAP-" + size;
+            seed(groupName, size);
+            String label = ", students=" + size + ", courses=" + COURSES;
+            measure("set report" + label, () -> reportService.getStudentsByGroup(groupName));
+            measure("ordered list report" + label, () -> reportListService.getStudentsByGroup(groupName));
+        }
+    }
+
+    private void measure(String label, Callable<Object> report) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            objectMapper.writeValueAsBytes(report.call());
+        }
+        long buildNanos = 0;
+        long serializeNanos = 0;
+        long bytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            Object body = report.call();
+            long built = System.nanoTime();
+            bytes = objectMapper.writeValueAsBytes(body).length;
+            buildNanos += built - start;
+            serializeNanos += System.nanoTime() - built;
+        }
+        System.out.printf("%-50s build %7.1f ms  serialize %7.1f ms  %8.1f MB%n", label,
+                buildNanos / 1e6 / ITERATIONS, serializeNanos / 1e6 / ITERATIONS, bytes / 1024.0 / 1024.0);
+    }
+
+    /**
+     * Imports the students of one group and enrolls every one of them into every benchmark course.
+     */
+    private void seed(String groupName, int size) {
+        importService.importStudents(IntStream.range(0, size)
+                .mapToObj(i -> new CreateStudentRequestDTO("Student " + i, 18 + i % 10, groupName))
+                .iterator());
+        jdbcTemplate.update(ENROLL_GROUP, groupName, COURSE_PREFIX + "%");
+    }
+}
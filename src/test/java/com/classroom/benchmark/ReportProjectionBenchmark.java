@@ -0,0 +1,91 @@
+package com.classroom.benchmark;
+
+import com.classroom.dto.course.CourseResponseDTO;
+import com.classroom.dto.student.BulkEnrollStudentsRequestDTO;
+import com.classroom.dto.student.CreateStudentRequestDTO;
+import com.classroom.dto.student.StudentResponseDTO;
+import com.classroom.entity.Course;
+import com.classroom.enumartion.CourseType;
+import com.classroom.repository.CourseRepository;
+import com.classroom.repository.StudentRepository;
+import com.classroom.service.EnrollmentService;
+import com.classroom.service.ImportService;
+import com.classroom.service.ReportService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the group report built from managed entities (the previous implementation) with the
+ * projection-based {@link ReportService#getStudentsByGroup(String)}.
+ * Run with {@code gradle benchmark -Dbenchmark.students=20000}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "logging.level.org.hibernate.SQL=WARN")
+public class ReportProjectionBenchmark {
+
+    private static final int STUDENTS = Integer.getInteger("benchmark.students", 20_000);
+    private static final String GROUP_NAME = "BENCH";
+
+    @Autowired
+    private ReportService reportService;
+    @Autowired
+    private ImportService importService;
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void compareEntityAndProjectionReports() {
+        seed();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        BenchmarkSupport.measure("entities, students=" + STUDENTS, 2, 5,
+                () -> readOnly.execute(status -> mapEntities()));
+        BenchmarkSupport.measure("projection, students=" + STUDENTS, 2, 5,
+                () -> reportService.getStudentsByGroup(GROUP_NAME));
+    }
+
+    private Set<StudentResponseDTO> mapEntities() {
+        return studentRepository.findAllById(studentRepository.findStudentIdsByGroup(GROUP_NAME)).stream()
+                .map(student -> StudentResponseDTO.builder()
+                        .studentId(student.getId().toString())
+                        .studentName(student.getName())
+                        .studentAge(student.getAge())
+                        .studentGroupName(student.getStudentGroup())
+                        .studentCourses(student.getCourses().stream()
+                                .map(course -> CourseResponseDTO.builder()
+                                        .courseName(course.getName())
+                                        .courseTypeName(course.getType().name())
+                                        .build())
+                                .collect(Collectors.toSet()))
+                        .build())
+                .collect(Collectors.toSet());
+    }
+
+    private void seed() {
+        importService.importStudents(IntStream.range(0, STUDENTS)
+                .mapToObj(i -> new CreateStudentRequestDTO("Student " + i, 18 + i % 10, GROUP_NAME))
+                .iterator());
+        for (String courseName : new String[]{"Bench Mathematics", "Bench History"}) {
+            courseRepository.save(new Course(courseName, CourseType.MAIN));
+            enrollmentService.enrollStudentsToCourse(BulkEnrollStudentsRequestDTO.builder()
+                    .courseName(courseName)
+                    .groupName(GROUP_NAME)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.classroom.benchmark;
+
+import com.classroom.dto.student.BulkEnrollStudentsRequestDTO;
+import com.classroom.dto.student.CreateStudentRequestDTO;
+import com.classroom.entity.Course;
+import com.classroom.enumartion.CourseType;
+import com.classroom.repository.CourseRepository;
+import com.classroom.service.EnrollmentService;
+import com.classroom.service.ImportService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Drives the course-and-group report and the single enrollment endpoint with many concurrent HTTP clients and
+ * reports throughput and latency percentiles. Subclasses start the application with platform or virtual request
+ * threads; the request thread limit is deliberately lower than the number of clients so that platform threads run
+ * out while every request waits on the database. {@code -Dbenchmark.round-trip-ms} adds a {@link RoundTripDelay}
+ * per statement to model a database across the network.
+ * Run with {@code gradle benchmark --tests '*ThreadLoadBenchmark' -Dbenchmark.clients=200 -Dbenchmark.round-trip-ms=5}
+ * and add {@code -PjavaVersion=21} to include the virtual thread run.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.org.hibernate.SQL=WARN",
+        "server.tomcat.threads.max=${benchmark.tomcat-threads:32}",
+        "spring.datasource.hikari.maximum-pool-size=20",
+        "classroom.datasource.replica.hikari.maximum-pool-size=20",
+        "classroom.cache.report.enabled=false"
+})
+@Import(RoundTripDelay.class)
+abstract class RequestLoadBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 200);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("benchmark.requests-per-client", 10);
+    private static final int REPORT_STUDENTS = Integer.getInteger("benchmark.students", 500);
+    private static final long ROUND_TRIP_MILLIS = Long.getLong("benchmark.round-trip-ms", 5);
+    private static final String ENROLL_BODY = "{\"studentId\":\"%s\",\"courseName\":\"%s\",\"courseType\":\"MAIN\"}";
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ImportService importService;
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    public void reportAndEnrollUnderLoad() throws Exception {
+        String name = getClass().getSimpleName();
+        String courseName = "Bench Load " + name;
+        seed(courseName, name);
+        List<UUID> newcomers = seedNewcomers(name + "-NEW");
+        String label = name + ", clients=" + CLIENTS + ", round trip=" + ROUND_TRIP_MILLIS + " ms";
+
+        RoundTripDelay.enable(ROUND_TRIP_MILLIS);
+        try {
+            run("warm-up " + label, 1, courseName, name, newcomers.subList(0, CLIENTS));
+            run("report+enroll " + label, REQUESTS_PER_CLIENT, courseName, name,
+                    newcomers.subList(CLIENTS, newcomers.size()));
+        } finally {
+            RoundTripDelay.disable();
+        }
+    }
+
+    /**
+     * Lets every client alternate between the report and enrolling a student nobody else enrolls, so that no
+     * request fails on a duplicate enrollment.
+     */
+    private void run(String label, int requestsPerClient, String courseName, String groupName, List<UUID> newcomers)
+            throws Exception {
+        URI report = URI.create("http://localhost:" + port + "/api/v1/reports/course/"
+                + courseName.replace(" ", "%20") + "/group/" + groupName);
+        URI enroll = URI.create("http://localhost:" + port + "/api/v1/students/enroll");
+        long[] latencies = new long[CLIENTS * requestsPerClient];
+        AtomicInteger errors = new AtomicInteger();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> running = IntStream.range(0, CLIENTS)
+                    .<Future<?>>mapToObj(c -> clients.submit(() -> {
+                        for (int r = 0; r < requestsPerClient; r++) {
+                            int slot = c * requestsPerClient + r;
+                            HttpRequest request = r % 2 == 0
+                                    ? HttpRequest.newBuilder(report).GET().build()
+                                    : HttpRequest.newBuilder(enroll)
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString(
+                                            String.format(ENROLL_BODY, newcomers.get(slot), courseName)))
+                                    .build();
+                            long sent = System.nanoTime();
+                            try {
+                                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                                if (response.statusCode() != 200) {
+                                    errors.incrementAndGet();
+                                }
+                            } catch (Exception e) {
+                                errors.incrementAndGet();
+                            }
+                            latencies[slot] = System.nanoTime() - sent;
+                        }
+                    }))
+                    .toList();
+            for (Future<?> future : running) {
+                future.get();
+            }
+        } finally {
+            clients.shutdown();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        System.out.printf("%-70s %8.1f req/s p50 %7.1f ms p99 %7.1f ms errors %d%n", label,
+                latencies.length / (elapsedNanos / 1_000_000_000.0),
+                percentile(latencies, 0.50), percentile(latencies, 0.99), errors.get());
+    }
+
+    private static double percentile(long[] sortedNanos, double fraction) {
+        int index = Math.min(sortedNanos.length - 1, (int) Math.ceil(fraction * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private void seed(String courseName, String groupName) {
+        importService.importStudents(IntStream.range(0, REPORT_STUDENTS)
+                .mapToObj(i -> new CreateStudentRequestDTO("Student " + i, 18 + i % 10, groupName))
+                .iterator());
+        courseRepository.save(new Course(courseName, CourseType.MAIN));
+        enrollmentService.enrollStudentsToCourse(BulkEnrollStudentsRequestDTO.builder()
+                .courseName(courseName)
+                .groupName(groupName)
+                .build());
+    }
+
+    /**
+     * Creates one not yet enrolled student per enroll request of the warm-up and the measured run.
+     */
+    private List<UUID> seedNewcomers(String groupName) {
+        importService.importStudents(IntStream.range(0, CLIENTS * (1 + REQUESTS_PER_CLIENT))
+                .mapToObj(i -> new CreateStudentRequestDTO("Newcomer " + i, 20, groupName))
+                .iterator());
+        return jdbcTemplate.queryForList(
+                "SELECT student_id FROM student WHERE student_group = ?", UUID.class, groupName);
+    }
+}
@@ -0,0 +1,113 @@
+package com.classroom.benchmark;
+
+import com.classroom.dto.export.ExportResponseDTO;
+import com.classroom.dto.student.CreateStudentRequestDTO;
+import com.classroom.entity.Course;
+import com.classroom.enumartion.CourseType;
+import com.classroom.repository.CourseRepository;
+import com.classroom.repository.RosterExportRepository;
+import com.classroom.service.ImportService;
+import com.classroom.service.ReportStreamingService;
+import com.classroom.service.export.RosterExportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the columnar roster export at a million enrollments, with and without compression, against pulling the
+ * same enrollments through one streamed course report per course, which repeats every student in each of its courses.
+ * Run with {@code gradle benchmark -Dbenchmark.students=100000 -Dbenchmark.courses=10}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+public class RosterExportBenchmark {
+
+    private static final int STUDENTS = Integer.getInteger("benchmark.students", 100_000);
+    private static final int COURSES = Integer.getInteger("benchmark.courses", 10);
+    private static final int GROUPS = Integer.getInteger("benchmark.groups", 50);
+    private static final String COURSE_PREFIX = "Bench Export Course ";
+    private static final String ENROLL_ALL = "INSERT INTO student_course (student_id, course_id) " +
+            "SELECT student.student_id, course.course_id FROM student CROSS JOIN course WHERE course.name LIKE ?";
+
+    @TempDir
+    private Path directory;
+
+    @Autowired
+    private ImportService importService;
+    @Autowired
+    private ReportStreamingService reportStreamingService;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private RosterExportRepository rosterExportRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void compareExportWithReportCalls() throws Exception {
+        List<String> courseNames = seed();
+        String size = ", enrollments=" + (long) STUDENTS * COURSES;
+
+        RosterExportService plain = new RosterExportService(rosterExportRepository, transactionManager,
+                directory.resolve("plain"), false, 1);
+        RosterExportService compressed = new RosterExportService(rosterExportRepository, transactionManager,
+                directory.resolve("compressed"), true, 1);
+        plain.export();
+        compressed.export();
+        report("columnar export" + size, plain.export());
+        report("columnar export, gzip" + size, compressed.export());
+
+        long start = System.nanoTime();
+        long[] bytes = new long[1];
+        for (String courseName : courseNames) {
+            reportStreamingService.streamStudentsByCourse(courseName).writeTo(student -> {
+                try {
+                    bytes[0] += objectMapper.writeValueAsBytes(student).length + 1;
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+        System.out.printf("%-55s %8d ms %10.1f MB%n", "NDJSON course reports" + size,
+                (System.nanoTime() - start) / 1_000_000, bytes[0] / 1024.0 / 1024.0);
+    }
+
+    private static void report(String label, ExportResponseDTO export) {
+        System.out.printf("%-55s %8d ms %10.1f MB%n", label, export.getDurationMillis(),
+                export.getSizeBytes() / 1024.0 / 1024.0);
+    }
+
+    /**
+     * Imports the students and enrolls every one of them into every course in a single statement.
+     */
+    private List<String> seed() {
+        importService.importStudents(IntStream.range(0, STUDENTS)
+                .mapToObj(i -> new CreateStudentRequestDTO("Student " + i, 18 + i % 10, "EXP-" + i % GROUPS))
+                .iterator());
+        List<String> courseNames = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            Course course = courseRepository.save(new Course(COURSE_PREFIX + i, i % 2 == 0 ? CourseType.MAIN : CourseType.SECONDARY));
+            courseNames.add(course.getName());
+        }
+        jdbcTemplate.update(ENROLL_ALL, COURSE_PREFIX + "%");
+        return courseNames;
+    }
+}
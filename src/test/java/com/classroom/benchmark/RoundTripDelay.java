@@ -0,0 +1,55 @@
+package com.classroom.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Makes every statement prepared on the application data source wait for a simulated network round trip,
+ * which the in-process H2 used by the benchmarks does not have. Off until {@link #enable(long)} is called,
+ * so seeding runs at full speed.
+ */
+class RoundTripDelay implements BeanPostProcessor {
+
+    private static volatile long roundTripMillis;
+
+    static void enable(long millis) {
+        roundTripMillis = millis;
+    }
+
+    static void disable() {
+        roundTripMillis = 0;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return delayed(super.getConnection());
+            }
+        };
+    }
+
+    private static Connection delayed(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("prepare") && roundTripMillis > 0) {
+                        Thread.sleep(roundTripMillis);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
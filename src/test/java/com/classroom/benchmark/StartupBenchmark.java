@@ -0,0 +1,132 @@
+package com.classroom.benchmark;
+
+import com.classroom.ClassroomApplication;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Measures time-to-first-request of a freshly started JVM: in-memory mode with an empty database,
+ * and the persistent {@code file} profile reopening a store that already holds the students.
+ * Run with {@code gradle benchmark -Dbenchmark.students=1000000 -Dbenchmark.startups=3}.
+ */
+@Tag("benchmark")
+public class StartupBenchmark {
+
+    private static final int STUDENTS = Integer.getInteger("benchmark.students", 1_000_000);
+    private static final int STARTUPS = Integer.getInteger("benchmark.startups", 3);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(5);
+    private static final String FIRST_REQUEST = "/api/v1/reports/students/count";
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    @Test
+    public void measureTimeToFirstRequest() throws Exception {
+        Path directory = Files.createTempDirectory("startup_benchmark");
+        try {
+            seed(directory);
+            run("mem, empty", directory, List.of());
+            run("file, " + STUDENTS + " students", directory, List.of(
+                    "--spring.profiles.active=file",
+                    "--classroom.data-dir=" + directory.toAbsolutePath()
+            ));
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    private void seed(Path directory) throws Exception {
+        String url = "jdbc:h2:file:" + directory.resolve("classroom").toAbsolutePath();
+        Flyway.configure().dataSource(url, "sa", "password").load().migrate();
+        long start = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "password");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO student (student_id, name, age, student_group) "
+                             + "SELECT CAST(RANDOM_UUID() AS BINARY(16)), CONCAT('Student ', X), 18 + MOD(X, 10), CONCAT('G', MOD(X, 100)) "
+                             + "FROM SYSTEM_RANGE(1, ?)")) {
+            insert.setInt(1, STUDENTS);
+            insert.executeUpdate();
+        }
+        System.out.printf("seeded %d students in %dms%n", STUDENTS, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void run(String label, Path directory, List<String> arguments) throws Exception {
+        long total = 0;
+        for (int i = 0; i < STARTUPS; i++) {
+            long millis = timeToFirstRequest(directory, arguments);
+            System.out.printf("%-32s startup %d: %dms%n", label, i + 1, millis);
+            total += millis;
+        }
+        System.out.printf("%-32s average time-to-first-request %dms%n", label, total / STARTUPS);
+    }
+
+    private long timeToFirstRequest(Path directory, List<String> arguments) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                ClassroomApplication.class.getName(),
+                "--server.port=" + port,
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+        ));
+        command.addAll(arguments);
+        File log = directory.resolve("startup.log").toFile();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + FIRST_REQUEST)).build();
+            while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited, see " + log + ":\n" + Files.readString(log.toPath()));
+                }
+                try {
+                    HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                    if (response.statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Application did not answer within " + STARTUP_TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.classroom.benchmark;
+
+import com.classroom.entity.id.UuidV7Generator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Compares random (v4) and time-ordered (v7) BINARY(16) primary keys: insert throughput and the
+ * on-disk space used by a table with a primary key and a join-table-like secondary index.
+ * Run with {@code gradle benchmark -Dbenchmark.rows=1000000}.
+ */
+@Tag("benchmark")
+public class UuidKeyBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int BATCH_SIZE = 1_000;
+
+    @Test
+    public void compareRandomAndTimeOrderedKeys() throws Exception {
+        run("v4 random", UUID::randomUUID);
+        run("v7 time-ordered", UuidV7Generator::generate);
+    }
+
+    private void run(String label, Supplier<UUID> ids) throws Exception {
+        Path directory = Files.createTempDirectory("uuid_benchmark");
+        String url = "jdbc:h2:file:" + directory.resolve("benchmark").toAbsolutePath();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE person (person_id BINARY(16) PRIMARY KEY, course_id BINARY(16) NOT NULL)");
+                statement.execute("CREATE INDEX ix_person_course ON person (course_id, person_id)");
+            }
+            connection.setAutoCommit(false);
+            UUID courseId = ids.get();
+            long start = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO person VALUES (?, ?)")) {
+                for (int i = 1; i <= ROWS; i++) {
+                    insert.setBytes(1, toBytes(ids.get()));
+                    insert.setBytes(2, toBytes(courseId));
+                    insert.addBatch();
+                    if (i % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            long bytes;
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT DISK_SPACE_USED('PERSON')")) {
+                resultSet.next();
+                bytes = resultSet.getLong(1);
+            }
+            System.out.printf("%-16s rows=%d time=%dms throughput=%.0f rows/s space=%.1fMB%n",
+                    label, ROWS, elapsedMillis, ROWS * 1000.0 / Math.max(elapsedMillis, 1), bytes / 1024.0 / 1024.0);
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,14 @@
+package com.classroom.benchmark;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * {@link RequestLoadBenchmark} with the {@code virtual} profile: a virtual thread per request and connection
+ * permits in front of both pools. Needs a Java 21 build, {@code -PjavaVersion=21}.
+ */
+@ActiveProfiles("virtual")
+@EnabledForJreRange(min = JRE.JAVA_21)
+public class VirtualThreadLoadBenchmark extends RequestLoadBenchmark {
+}
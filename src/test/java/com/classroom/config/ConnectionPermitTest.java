@@ -0,0 +1,50 @@
+package com.classroom.config;
+
+import com.classroom.config.pool.ConnectionPermitDataSource;
+import com.classroom.service.ReportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Starts the application with the virtual thread profile and checks that both pools sit behind connection permits
+ * that are all returned once a request is done.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ActiveProfiles("virtual")
+public class ConnectionPermitTest {
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+    @Autowired
+    private ReportService reportService;
+
+    @Test
+    void poolsArePermitGuarded() {
+        // arrange
+        ConnectionPermitDataSource primary = assertInstanceOf(ConnectionPermitDataSource.class, primaryDataSource);
+        ConnectionPermitDataSource replica = assertInstanceOf(ConnectionPermitDataSource.class, replicaDataSource);
+
+        // act
+        reportService.getStudentsByGroup("A1");
+        reportService.countStudentsByGroup("A1");
+
+        // assert
+        assertEquals(20, primary.availablePermits());
+        assertEquals(20, replica.availablePermits());
+    }
+}
@@ -0,0 +1,182 @@
+package com.classroom.config;
+
+import com.classroom.config.idempotency.IdempotencyFilter;
+import com.classroom.config.idempotency.IdempotencyStore;
+import com.classroom.config.idempotency.IdempotentResponse;
+import com.classroom.dto.student.CreateStudentRequestDTO;
+import com.classroom.dto.student.EnrollStudentRequestDTO;
+import com.classroom.entity.Course;
+import com.classroom.entity.Student;
+import com.classroom.enumartion.CourseType;
+import com.classroom.repository.CourseRepository;
+import com.classroom.repository.IdempotencyKeyRepository;
+import com.classroom.repository.StudentRepository;
+import com.classroom.service.StudentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "classroom.idempotency.persistent=true")
+@AutoConfigureMockMvc
+@Transactional
+public class IdempotencyTest {
+
+    private static final String GROUP_NAME = "I1";
+    private static final String COURSE_NAME_MATHEMATICS = "Mathematics";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    @SpyBean
+    private StudentService studentService;
+
+    @Test
+    void repeatedCreateReplaysFirstResponse() throws Exception {
+        // arrange
+        String key = UUID.randomUUID().toString();
+        String body = objectMapper.writeValueAsString(CreateStudentRequestDTO.builder()
+                .studentName("Mariya")
+                .studentAge(20)
+                .studentGroupName(GROUP_NAME)
+                .build());
+
+        // act
+        MvcResult first = mockMvc.perform(post("/api/v1/students")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                        .content(body)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andReturn();
+        MvcResult retry = mockMvc.perform(post("/api/v1/students")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                        .content(body)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andReturn();
+
+        // assert
+        assertEquals(first.getResponse().getContentAsString(), retry.getResponse().getContentAsString());
+        assertNull(first.getResponse().getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(1, studentRepository.countByStudentGroup(GROUP_NAME));
+        verify(studentService, times(1)).createStudent(any(CreateStudentRequestDTO.class));
+    }
+
+    @Test
+    void repeatedEnrollDoesNotReportAlreadyEnrolled() throws Exception {
+        // arrange
+        Student student = studentRepository.save(new Student("Ivan", 22, GROUP_NAME));
+        courseRepository.save(new Course(COURSE_NAME_MATHEMATICS, CourseType.MAIN));
+        String key = UUID.randomUUID().toString();
+        String body = objectMapper.writeValueAsString(EnrollStudentRequestDTO.builder()
+                .studentId(student.getId().toString())
+                .courseName(COURSE_NAME_MATHEMATICS)
+                .courseType(CourseType.MAIN.name())
+                .build());
+
+        // act
+        for (int attempt = 0; attempt < 3; attempt++) {
+            mockMvc.perform(post("/api/v1/students/enroll")
+                            .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                            .content(body)
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+        }
+
+        // assert
+        verify(studentService, times(1)).enrollToCourse(any(EnrollStudentRequestDTO.class));
+    }
+
+    @Test
+    void reusedKeyWithDifferentBodyIsRejected() throws Exception {
+        // arrange
+        String key = UUID.randomUUID().toString();
+        CreateStudentRequestDTO.CreateStudentRequestDTOBuilder request = CreateStudentRequestDTO.builder()
+                .studentAge(20)
+                .studentGroupName(GROUP_NAME);
+        mockMvc.perform(post("/api/v1/students")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                        .content(objectMapper.writeValueAsString(request.studentName("Georgi").build()))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+
+        // act
+        mockMvc.perform(post("/api/v1/students")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                        .content(objectMapper.writeValueAsString(request.studentName("Petar").build()))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnprocessableEntity());
+
+        // assert
+        assertEquals(1, studentRepository.countByStudentGroup(GROUP_NAME));
+    }
+
+    @Test
+    void persistedResponseOutlivesMemory() {
+        // arrange
+        String requestKey = "POST /api/v1/students " + UUID.randomUUID();
+        IdempotentResponse response = new IdempotentResponse("fingerprint", 201, MediaType.APPLICATION_JSON_VALUE, new byte[]{'{', '}'});
+        new IdempotencyStore(idempotencyKeyRepository, true, Duration.ofHours(1), 10).complete(requestKey, response);
+        IdempotencyStore restarted = new IdempotencyStore(idempotencyKeyRepository, true, Duration.ofHours(1), 10);
+
+        // act
+        Optional<IdempotentResponse> replayed = restarted.begin(requestKey, "fingerprint");
+
+        // assert
+        assertTrue(replayed.isPresent());
+        assertEquals(201, replayed.get().status());
+        assertArrayEquals(response.body(), replayed.get().body());
+    }
+
+    @Test
+    void expiredPersistedResponseIsReplaced() {
+        // arrange
+        String requestKey = "POST /api/v1/students " + UUID.randomUUID();
+        IdempotentResponse expired = new IdempotentResponse("old", 422, MediaType.APPLICATION_JSON_VALUE, new byte[]{'{', '}'});
+        IdempotentResponse response = new IdempotentResponse("new", 201, MediaType.APPLICATION_JSON_VALUE, new byte[]{'{', '}'});
+        idempotencyKeyRepository.insert(requestKey, expired, Instant.now().minus(Duration.ofHours(2)), Instant.EPOCH);
+
+        // act
+        new IdempotencyStore(idempotencyKeyRepository, true, Duration.ofHours(1), 10).complete(requestKey, response);
+
+        // assert
+        Optional<IdempotentResponse> replayed = new IdempotencyStore(idempotencyKeyRepository, true, Duration.ofHours(1), 10)
+                .begin(requestKey, "new");
+        assertTrue(replayed.isPresent());
+        assertEquals("new", replayed.get().fingerprint());
+        assertEquals(201, replayed.get().status());
+    }
+}
@@ -0,0 +1,149 @@
+package com.classroom.config;
+
+import com.classroom.config.routing.ReadYourWritesFilter;
+import com.classroom.config.routing.ReplicaLagMonitor;
+import com.classroom.dto.student.CreateStudentRequestDTO;
+import com.classroom.dto.student.StudentResponseDTO;
+import com.classroom.entity.Student;
+import com.classroom.repository.StudentRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against a second, independent H2 database acting as the replica. Nothing replicates into it, so a
+ * report served from it sees none of the rows written to the primary.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {
+        "classroom.datasource.replica.url=jdbc:h2:mem:replica-test",
+        "classroom.datasource.replica.lag-check-interval=PT1H",
+        "classroom.cache.report.enabled=false"
+})
+@AutoConfigureMockMvc
+public class ReplicaRoutingTest {
+
+    private static final String GROUP_NAME = "R1";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate replicaJdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Flyway.configure().dataSource(replicaDataSource).load().migrate();
+        replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        studentRepository.save(new Student("Mariya", 20, GROUP_NAME));
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentRepository.deleteAll();
+    }
+
+    @Test
+    void readOnlyReportIsServedByReplica() throws Exception {
+        // arrange
+        replicateHeartbeat(Instant.now());
+
+        // act
+        Set<StudentResponseDTO> students = getStudentsByGroup(get("/api/v1/reports/students/group/{groupName}", GROUP_NAME));
+
+        // assert
+        assertTrue(replicaLagMonitor.isReplicaUsable());
+        assertTrue(students.isEmpty());
+    }
+
+    @Test
+    void lateReplicaFallsBackToPrimary() throws Exception {
+        // arrange
+        replicateHeartbeat(Instant.now().minus(Duration.ofMinutes(1)));
+
+        // act
+        Set<StudentResponseDTO> students = getStudentsByGroup(get("/api/v1/reports/students/group/{groupName}", GROUP_NAME));
+
+        // assert
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertEquals(1, students.size());
+    }
+
+    @Test
+    void clientReadsItsOwnWritesFromPrimary() throws Exception {
+        // arrange
+        replicateHeartbeat(Instant.now());
+        CreateStudentRequestDTO createStudentRequest = CreateStudentRequestDTO.builder()
+                .studentName("Ivan")
+                .studentAge(22)
+                .studentGroupName(GROUP_NAME)
+                .build();
+
+        // act
+        MvcResult writeResult = mockMvc.perform(
+                        post("/api/v1/students")
+                                .content(objectMapper.writeValueAsString(createStudentRequest))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Cookie lastWrite = writeResult.getResponse().getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE);
+        Set<StudentResponseDTO> students = getStudentsByGroup(
+                get("/api/v1/reports/students/group/{groupName}", GROUP_NAME).cookie(lastWrite));
+
+        // assert
+        assertNotNull(lastWrite);
+        assertEquals(2, students.size());
+    }
+
+    private void replicateHeartbeat(Instant beatAt) {
+        replicaJdbcTemplate.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", Timestamp.from(beatAt));
+        replicaLagMonitor.check();
+    }
+
+    private Set<StudentResponseDTO> getStudentsByGroup(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<Set<StudentResponseDTO>>() {
+                });
+    }
+}
@@ -0,0 +1,55 @@
+package com.classroom.config.idempotency;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CachedBodyRequestTest {
+
+    private static final String BODY = "{\"name\":\"Mariya\"}";
+
+    @Test
+    public void testReadListenerReadsTheBufferedBodyRightAway() throws IOException {
+        // arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        ServletInputStream input = new CachedBodyRequest(request).getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+
+        // act
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                events.add("data");
+                byte[] buffer = new byte[4];
+                while (input.isReady() && !input.isFinished()) {
+                    read.write(buffer, 0, input.read(buffer));
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("done");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                events.add("error");
+            }
+        });
+
+        // assert
+        assertEquals(List.of("data", "done"), events);
+        assertEquals(BODY, read.toString(StandardCharsets.UTF_8));
+    }
+}
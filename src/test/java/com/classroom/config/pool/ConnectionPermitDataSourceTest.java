@@ -0,0 +1,77 @@
+package com.classroom.config.pool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ConnectionPermitDataSourceTest {
+
+    private static final String POOL_NAME = "primary";
+
+    @Mock
+    private DataSource pool;
+
+    @Test
+    public void testCallerBeyondPoolSizeTimesOut() throws SQLException {
+        // arrange
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, POOL_NAME, 2, Duration.ofMillis(50));
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        // act
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        first.close();
+        Connection third = dataSource.getConnection();
+
+        // assert
+        assertEquals(0, dataSource.availablePermits());
+        verify(pool, times(3)).getConnection();
+        third.close();
+        assertEquals(1, dataSource.availablePermits());
+    }
+
+    @Test
+    public void testClosingTwiceReturnsOnePermit() throws SQLException {
+        // arrange
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, POOL_NAME, 2, Duration.ofMillis(50));
+        dataSource.getConnection();
+        Connection connection = dataSource.getConnection();
+
+        // act
+        connection.close();
+        connection.close();
+
+        // assert
+        assertEquals(1, dataSource.availablePermits());
+    }
+
+    @Test
+    public void testFailedConnectionReturnsPermit() throws SQLException {
+        // arrange
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool is down"));
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, POOL_NAME, 1, Duration.ofMillis(50));
+
+        // act
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        // assert
+        assertEquals(1, dataSource.availablePermits());
+    }
+}
@@ -0,0 +1,45 @@
+package com.classroom.entity.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UuidV7GeneratorTest {
+
+    @Test
+    public void whenGenerateThenVersionAndVariantAreSet() {
+        UUID id = UuidV7Generator.generate();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+    }
+
+    @Test
+    public void whenGenerateThenTimestampIsCurrentTime() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.generate();
+        long after = System.currentTimeMillis();
+
+        long timestamp = id.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= after + 1);
+    }
+
+    @Test
+    public void whenGenerateManyThenIdsAreStrictlyIncreasing() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(UuidV7Generator.generate());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(Long.compareUnsigned(
+                    ids.get(i - 1).getMostSignificantBits(),
+                    ids.get(i).getMostSignificantBits()) < 0);
+        }
+    }
+}
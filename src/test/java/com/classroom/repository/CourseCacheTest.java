@@ -0,0 +1,92 @@
+package com.classroom.repository;
+
+import com.classroom.entity.Course;
+import com.classroom.entity.Student;
+import com.classroom.enumartion.CourseType;
+import com.classroom.service.CacheStatisticsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+public class CourseCacheTest {
+
+    private static final String COURSE_NAME_MATHEMATICS = "Mathematics";
+    private static final String COURSE_NAME_HISTORY = "History";
+
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        courseRepository.save(new Course(COURSE_NAME_MATHEMATICS, CourseType.MAIN));
+        courseRepository.save(new Course(COURSE_NAME_HISTORY, CourseType.SECONDARY));
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    public void whenFindByNameRepeatedlyThenHitDatabaseOncePerName() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(courseRepository.findByName(COURSE_NAME_MATHEMATICS).isPresent());
+            assertTrue(courseRepository.findByName(COURSE_NAME_HISTORY).isPresent());
+        }
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(4, statistics.getNaturalIdCacheHitCount());
+        assertEquals(2, statistics.getNaturalIdCacheMissCount());
+        assertEquals(4, cacheStatisticsService.getCourseCacheStatistics().getNaturalIdHitCount());
+    }
+
+    @Test
+    public void whenEnrollmentChangesThenCourseStaysCached() {
+        Course course = courseRepository.findByName(COURSE_NAME_MATHEMATICS).get();
+        Student student = studentRepository.save(new Student("Mariya", 20, "A1"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            studentRepository.insertEnrollment(student.getId(), course.getId());
+            studentRepository.deleteEnrollment(student.getId(), course.getId());
+        });
+        statistics.clear();
+        Optional<Course> cachedCourse = courseRepository.findByName(COURSE_NAME_MATHEMATICS);
+
+        assertTrue(cachedCourse.isPresent());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void whenFindByNameWithUnknownNameThenReturnEmpty() {
+        assertTrue(courseRepository.findByName("Geography").isEmpty());
+    }
+}
@@ -1,5 +1,6 @@
 package com.classroom.repository;
 
+import com.classroom.config.CacheConfiguration;
 import com.classroom.entity.Course;
 import com.classroom.enumartion.CourseType;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.Optional;
@@ -17,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
+@Import(CacheConfiguration.class)
 public class CourseRepositoryTest {
 
     private static final String COURSE_NAME_MATHEMATICS = "Mathematics";
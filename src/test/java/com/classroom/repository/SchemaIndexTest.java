@@ -0,0 +1,73 @@
+package com.classroom.repository;
+
+import com.classroom.config.CacheConfiguration;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(SpringExtension.class)
+@DataJpaTest
+@Import(CacheConfiguration.class)
+public class SchemaIndexTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void whenFindCourseByNameThenUseUniqueNameIndex() {
+        assertPlanUsesIndex("SELECT * FROM course WHERE name = 'Mathematics'", "UX_COURSE_NAME");
+    }
+
+    @Test
+    public void whenFindPeopleByGroupThenUseGroupIndex() {
+        assertPlanUsesIndex("SELECT * FROM student WHERE student_group = 'A1'", "IX_STUDENT_GROUP");
+        assertPlanUsesIndex("SELECT * FROM teacher WHERE teacher_group = 'A1'", "IX_TEACHER_GROUP");
+    }
+
+    @Test
+    public void whenFindPeopleByNameGroupAndAgeThenUseCompositeIndex() {
+        assertPlanUsesIndex(
+                "SELECT * FROM student WHERE name = 'Mariya' AND student_group = 'A1' AND age = 20",
+                "IX_STUDENT_NAME_GROUP_AGE"
+        );
+        assertPlanUsesIndex(
+                "SELECT * FROM teacher WHERE name = 'Kiril' AND teacher_group = 'A1' AND age = 38",
+                "IX_TEACHER_NAME_GROUP_AGE"
+        );
+    }
+
+    @Test
+    public void whenLookUpEnrollmentsByCourseThenUseReverseJoinIndex() {
+        assertPlanUsesIndex(
+                "SELECT student_id FROM student_course WHERE course_id = RANDOM_UUID()",
+                "IX_STUDENT_COURSE_COURSE_STUDENT"
+        );
+        assertPlanUsesIndex(
+                "SELECT teacher_id FROM teacher_course WHERE course_id = RANDOM_UUID()",
+                "IX_TEACHER_COURSE_COURSE_TEACHER"
+        );
+    }
+
+    @Test
+    public void whenLookUpEnrollmentsByPersonThenUsePrimaryKey() {
+        assertPlanUsesIndex(
+                "SELECT course_id FROM student_course WHERE student_id = RANDOM_UUID()",
+                "PRIMARY_KEY"
+        );
+        assertPlanUsesIndex(
+                "SELECT course_id FROM teacher_course WHERE teacher_id = RANDOM_UUID()",
+                "PRIMARY_KEY"
+        );
+    }
+
+    private void assertPlanUsesIndex(String query, String indexName) {
+        String plan = (String) entityManager.createNativeQuery("EXPLAIN " + query).getSingleResult();
+        assertTrue(plan.toUpperCase().contains(indexName), () -> "Expected " + indexName + " in plan: " + plan);
+    }
+}
@@ -1,23 +1,31 @@
 package com.classroom.repository;
 
+import com.classroom.config.CacheConfiguration;
 import com.classroom.entity.Course;
 import com.classroom.entity.Student;
 import com.classroom.enumartion.CourseType;
+import com.classroom.repository.projection.CourseEnrollmentRow;
+import com.classroom.repository.projection.StudentReportRow;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
+@Import(CacheConfiguration.class)
 public class StudentRepositoryTest {
 
     private static final String COURSE_NAME_MATHEMATICS = "Mathematics";
@@ -63,38 +71,38 @@ public class StudentRepositoryTest {
     }
 
     @Test
-    public void whenFindStudentsByCourseThenReturnCorrectStudents() {
-        Set<Student> mainCourseStudents = studentRepository.findStudentsByCourse(COURSE_NAME_MATHEMATICS);
-        Set<Student> secondaryCourseStudents = studentRepository.findStudentsByCourse(COURSE_NAME_HISTORY);
+    public void whenFindStudentReportRowsByCourseThenReturnCorrectStudents() {
+        List<StudentReportRow> mainCourseStudents = studentRepository.findStudentReportRowsByCourse(COURSE_NAME_MATHEMATICS);
+        List<StudentReportRow> secondaryCourseStudents = studentRepository.findStudentReportRowsByCourse(COURSE_NAME_HISTORY);
 
         assertEquals(2, mainCourseStudents.size());
         assertEquals(1, secondaryCourseStudents.size());
 
-        assertTrue(mainCourseStudents.stream().anyMatch(student -> student.getName().equals(STUDENT_NAME_1)));
-        assertTrue(mainCourseStudents.stream().anyMatch(student -> student.getName().equals(STUDENT_NAME_3)));
-        assertTrue(secondaryCourseStudents.stream().anyMatch(student -> student.getName().equals(STUDENT_NAME_2)));
+        assertTrue(mainCourseStudents.stream().anyMatch(row -> row.studentName().equals(STUDENT_NAME_1)));
+        assertTrue(mainCourseStudents.stream().anyMatch(row -> row.studentName().equals(STUDENT_NAME_3)));
+        assertTrue(secondaryCourseStudents.stream().anyMatch(row -> row.studentName().equals(STUDENT_NAME_2)));
     }
 
     @Test
-    public void whenFindStudentsByGroupThenReturnCorrectStudents() {
-        Set<Student> groupA1Students = studentRepository.findStudentsByGroup(GROUP_NAME_1);
-        Set<Student> groupA2Students = studentRepository.findStudentsByGroup(GROUP_NAME_2);
+    public void whenFindStudentIdsByGroupThenReturnCorrectStudents() {
+        Set<UUID> groupA1Students = studentRepository.findStudentIdsByGroup(GROUP_NAME_1);
+        Set<UUID> groupA2Students = studentRepository.findStudentIdsByGroup(GROUP_NAME_2);
 
         assertEquals(1, groupA1Students.size());
         assertEquals(2, groupA2Students.size());
 
-        assertTrue(groupA2Students.stream().anyMatch(student -> student.getName().equals(STUDENT_NAME_1)));
-        assertTrue(groupA1Students.stream().anyMatch(student -> student.getName().equals(STUDENT_NAME_2)));
-        assertTrue(groupA2Students.stream().anyMatch(student -> student.getName().equals(STUDENT_NAME_3)));
+        assertTrue(groupA2Students.contains(studentRepository.findByNameAndStudentGroupAndAge(STUDENT_NAME_1, GROUP_NAME_2, 20).get().getId()));
+        assertTrue(groupA1Students.contains(studentRepository.findByNameAndStudentGroupAndAge(STUDENT_NAME_2, GROUP_NAME_1, 22).get().getId()));
+        assertTrue(groupA2Students.contains(studentRepository.findByNameAndStudentGroupAndAge(STUDENT_NAME_3, GROUP_NAME_2, 24).get().getId()));
     }
 
     @Test
-    public void whenFindStudentsOlderThanAgeInCourseThenReturnCorrectStudents() {
-        Set<Student> olderStudentsInMainCourse = studentRepository.findStudentsOlderThanAgeInCourse(21, COURSE_NAME_MATHEMATICS);
+    public void whenFindStudentReportRowsOlderThanAgeInCourseThenReturnCorrectStudents() {
+        List<StudentReportRow> olderStudentsInMainCourse = studentRepository.findStudentReportRowsOlderThanAgeInCourse(21, COURSE_NAME_MATHEMATICS);
 
         assertEquals(1, olderStudentsInMainCourse.size());
 
-        assertTrue(olderStudentsInMainCourse.stream().anyMatch(student -> student.getName().equals(STUDENT_NAME_3)));
+        assertTrue(olderStudentsInMainCourse.stream().anyMatch(row -> row.studentName().equals(STUDENT_NAME_3)));
     }
 
     @Test
@@ -113,12 +121,58 @@ public class StudentRepositoryTest {
     }
 
     @Test
-    public void whenFindStudentsByCourseAndGroupReturnCorrectResults() {
-        Set<Student> result = studentRepository.findStudentsByCourseAndGroup(COURSE_NAME_MATHEMATICS, GROUP_NAME_2);
+    public void whenFindStudentReportRowsByCourseAndGroupReturnCorrectResults() {
+        List<StudentReportRow> result = studentRepository.findStudentReportRowsByCourseAndGroup(COURSE_NAME_MATHEMATICS, GROUP_NAME_2);
+        List<CourseEnrollmentRow> courses = studentRepository.findCourseRowsOfStudentsInCourseAndGroup(COURSE_NAME_MATHEMATICS, GROUP_NAME_2);
 
         assertEquals(2, result.size());
-        assertTrue(result.stream().map(Student::getStudentGroup).allMatch(GROUP_NAME_2::equals));
-        assertTrue(result.stream().map(Student::getCourses).anyMatch(courses -> courses.stream().anyMatch(course -> course.getName().equals(COURSE_NAME_SCIENCE))));
+        assertTrue(result.stream().map(StudentReportRow::studentGroup).allMatch(GROUP_NAME_2::equals));
+        assertTrue(courses.stream().anyMatch(course -> course.courseName().equals(COURSE_NAME_SCIENCE)));
 
     }
+
+    @Test
+    public void whenInsertAndDeleteEnrollmentThenIsEnrolledInCourseFollows() {
+        Student student = studentRepository.findByNameAndStudentGroupAndAge(STUDENT_NAME_2, GROUP_NAME_1, 22).get();
+        Course course = courseRepository.findByName(COURSE_NAME_MATHEMATICS).get();
+
+        assertTrue(studentRepository.isEnrolledInCourse(student.getId(), COURSE_NAME_HISTORY));
+        assertFalse(studentRepository.isEnrolledInCourse(student.getId(), COURSE_NAME_MATHEMATICS));
+
+        assertEquals(1, studentRepository.insertEnrollment(student.getId(), course.getId()));
+        assertTrue(studentRepository.isEnrolledInCourse(student.getId(), COURSE_NAME_MATHEMATICS));
+
+        assertEquals(1, studentRepository.deleteEnrollment(student.getId(), course.getId()));
+        assertFalse(studentRepository.isEnrolledInCourse(student.getId(), COURSE_NAME_MATHEMATICS));
+    }
+
+    @Test
+    public void whenFindStudentIdsEnrolledInCourseThenReturnOnlyEnrolledIds() {
+        Course course = courseRepository.findByName(COURSE_NAME_MATHEMATICS).get();
+        Student enrolled = studentRepository.findByNameAndStudentGroupAndAge(STUDENT_NAME_1, GROUP_NAME_2, 20).get();
+        Student notEnrolled = studentRepository.findByNameAndStudentGroupAndAge(STUDENT_NAME_2, GROUP_NAME_1, 22).get();
+
+        Set<UUID> result = studentRepository.findStudentIdsEnrolledInCourse(course.getId(), Set.of(enrolled.getId(), notEnrolled.getId()));
+
+        assertEquals(Set.of(enrolled.getId()), result);
+        assertEquals(2, studentRepository.findStudentIdsEnrolledInCourseByGroup(course.getId(), GROUP_NAME_2).size());
+    }
+
+    @Test
+    public void whenFindStudentReportRowsByGroupThenReturnOneRowPerCourse() {
+        List<StudentReportRow> rows = studentRepository.findStudentReportRowsByGroup(GROUP_NAME_2);
+
+        assertEquals(3, rows.size());
+        assertTrue(rows.stream().allMatch(row -> row.studentGroup().equals(GROUP_NAME_2)));
+        assertEquals(2, rows.stream().filter(row -> row.studentName().equals(STUDENT_NAME_3)).count());
+    }
+
+    @Test
+    public void whenFindCourseRowsOfStudentsInCourseThenReturnEveryCourseOfMatchingStudents() {
+        List<CourseEnrollmentRow> rows = studentRepository.findCourseRowsOfStudentsInCourse(COURSE_NAME_SCIENCE);
+
+        assertEquals(2, rows.size());
+        assertTrue(rows.stream().anyMatch(row -> row.courseName().equals(COURSE_NAME_MATHEMATICS)));
+        assertTrue(rows.stream().anyMatch(row -> row.courseName().equals(COURSE_NAME_SCIENCE)));
+    }
 }
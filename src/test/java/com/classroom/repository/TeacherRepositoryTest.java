@@ -1,23 +1,30 @@
 package com.classroom.repository;
 
+import com.classroom.config.CacheConfiguration;
 import com.classroom.entity.Course;
 import com.classroom.entity.Student;
 import com.classroom.entity.Teacher;
 import com.classroom.enumartion.CourseType;
+import com.classroom.repository.projection.CourseEnrollmentRow;
+import com.classroom.repository.projection.TeacherReportRow;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
+@Import(CacheConfiguration.class)
 public class TeacherRepositoryTest {
 
     private static final String COURSE_NAME_MATHEMATICS = "Mathematics";
@@ -89,12 +96,28 @@ public class TeacherRepositoryTest {
     }
 
     @Test
-    public void whenFindStudentsByCourseAndGroupReturnCorrectResults() {
-        Set<Teacher> result = teacherRepository.findTeachersByCourseAndGroup(COURSE_NAME_MATHEMATICS, GROUP_NAME_2);
+    public void whenFindTeacherReportRowsByCourseAndGroupReturnCorrectResults() {
+        List<TeacherReportRow> result = teacherRepository.findTeacherReportRowsByCourseAndGroup(COURSE_NAME_MATHEMATICS, GROUP_NAME_2);
+        List<CourseEnrollmentRow> courses = teacherRepository.findCourseRowsOfTeachersInCourseAndGroup(COURSE_NAME_MATHEMATICS, GROUP_NAME_2);
 
         assertEquals(2, result.size());
-        assertTrue(result.stream().map(Teacher::getTeacherGroup).allMatch(GROUP_NAME_2::equals));
-        assertTrue(result.stream().map(Teacher::getCourses).anyMatch(courses -> courses.stream().anyMatch(course -> course.getName().equals(COURSE_NAME_MATHEMATICS))));
+        assertTrue(result.stream().map(TeacherReportRow::teacherGroup).allMatch(GROUP_NAME_2::equals));
+        assertTrue(courses.stream().anyMatch(course -> course.courseName().equals(COURSE_NAME_MATHEMATICS)));
 
     }
+
+    @Test
+    public void whenInsertAndDeleteEnrollmentThenIsEnrolledInCourseFollows() {
+        Teacher teacher = teacherRepository.findByNameAndTeacherGroupAndAge(TEACHER_NAME_2, GROUP_NAME_1, 46).get();
+        Course course = courseRepository.findByName(COURSE_NAME_MATHEMATICS).get();
+
+        assertTrue(teacherRepository.isEnrolledInCourse(teacher.getId(), COURSE_NAME_HISTORY));
+        assertFalse(teacherRepository.isEnrolledInCourse(teacher.getId(), COURSE_NAME_MATHEMATICS));
+
+        assertEquals(1, teacherRepository.insertEnrollment(teacher.getId(), course.getId()));
+        assertTrue(teacherRepository.isEnrolledInCourse(teacher.getId(), COURSE_NAME_MATHEMATICS));
+
+        assertEquals(1, teacherRepository.deleteEnrollment(teacher.getId(), course.getId()));
+        assertFalse(teacherRepository.isEnrolledInCourse(teacher.getId(), COURSE_NAME_MATHEMATICS));
+    }
 }
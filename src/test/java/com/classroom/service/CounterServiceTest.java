@@ -0,0 +1,112 @@
+package com.classroom.service;
+
+import com.classroom.enumartion.CourseType;
+import com.classroom.repository.CourseRepository;
+import com.classroom.repository.StudentRepository;
+import com.classroom.repository.TeacherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class CounterServiceTest {
+
+    private CounterService counterService;
+
+    @Mock
+    private StudentRepository studentRepository;
+    @Mock
+    private TeacherRepository teacherRepository;
+    @Mock
+    private CourseRepository courseRepository;
+
+    @BeforeEach
+    public void setUp() {
+        when(studentRepository.countStudents()).thenReturn(3L);
+        when(teacherRepository.countTeachers()).thenReturn(2L);
+        when(courseRepository.countCoursesByType(CourseType.MAIN)).thenReturn(1L);
+        when(courseRepository.countCoursesByType(CourseType.SECONDARY)).thenReturn(1L);
+
+        counterService = new CounterService(studentRepository, teacherRepository, courseRepository);
+        counterService.initialize();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testCountsAreLoadedAtStartup() {
+        // arrange
+
+        // act
+        long students = counterService.countStudents();
+        long teachers = counterService.countTeachers();
+        long mainCourses = counterService.countCourses(CourseType.MAIN);
+
+        // assert
+        assertEquals(3L, students);
+        assertEquals(2L, teachers);
+        assertEquals(1L, mainCourses);
+    }
+
+    @Test
+    public void testCountersChangeOnlyAfterCommit() {
+        // arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // act
+        counterService.studentsCreated(5);
+        counterService.teacherDeleted();
+        counterService.courseCreated(CourseType.SECONDARY);
+        long studentsBeforeCommit = counterService.countStudents();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // assert
+        assertEquals(3L, studentsBeforeCommit);
+        assertEquals(8L, counterService.countStudents());
+        assertEquals(1L, counterService.countTeachers());
+        assertEquals(2L, counterService.countCourses(CourseType.SECONDARY));
+    }
+
+    @Test
+    public void testCountersDoNotChangeOnRollback() {
+        // arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // act
+        counterService.studentsCreated(5);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // assert
+        assertEquals(3L, counterService.countStudents());
+    }
+
+    @Test
+    public void testReconcileCorrectsDrift() {
+        // arrange
+        when(studentRepository.countStudents()).thenReturn(7L);
+
+        // act
+        boolean drifted = counterService.reconcile();
+
+        // assert
+        assertTrue(drifted);
+        assertEquals(7L, counterService.countStudents());
+        assertFalse(counterService.reconcile());
+    }
+}
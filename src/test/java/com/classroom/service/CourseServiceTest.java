@@ -34,10 +34,14 @@ public class CourseServiceTest {
 
     @Mock
     private CourseRepository courseRepository;
+    @Mock
+    private CounterService counterService;
+    @Mock
+    private RosterVersionService rosterVersionService;
 
     @BeforeEach
     public void setUp() {
-        courseService = new CourseService(courseRepository);
+        courseService = new CourseService(courseRepository, counterService, rosterVersionService);
     }
 
     @Test
@@ -70,6 +74,7 @@ public class CourseServiceTest {
         assertEquals(request.getCourseTypeName(), response.getCourseTypeName());
         verify(courseRepository, times(1)).existsByName(request.getCourseName());
         verify(courseRepository, times(1)).save(any(Course.class));
+        verify(counterService, times(1)).courseCreated(CourseType.MAIN);
     }
 
     @Test
@@ -0,0 +1,229 @@
+package com.classroom.service;
+
+import com.classroom.dto.student.BulkEnrollStudentsRequestDTO;
+import com.classroom.dto.student.BulkEnrollStudentsResponseDTO;
+import com.classroom.dto.student.EnrollStudentRequestDTO;
+import com.classroom.entity.Course;
+import com.classroom.entity.Student;
+import com.classroom.enumartion.CourseType;
+import com.classroom.exception.UnprocessableEntityException;
+import com.classroom.repository.CourseRepository;
+import com.classroom.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fires every student-course enrollment of a small roster at once from a thread pool, so many requests
+ * for the same student race each other, and checks that every enrollment survives. Requests for the same student
+ * and course must enroll exactly once, whether they come one by one or in bulk.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {
+        "classroom.retry.max-attempts=100",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@Import(EnrollmentConcurrencyTest.ConflictCounter.class)
+public class EnrollmentConcurrencyTest {
+
+    private static final int STUDENTS = 40;
+    private static final int COURSES = 50;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ConflictCounter conflictCounter;
+
+    private final List<Student> students = new ArrayList<>();
+    private final List<Course> courses = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < COURSES; i++) {
+            courses.add(courseRepository.save(new Course("Concurrency course " + i, CourseType.MAIN)));
+        }
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(studentRepository.save(new Student("Concurrency student " + i, 20, "C1")));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentRepository.deleteAllById(students.stream().map(Student::getId).toList());
+        courseRepository.deleteAllById(courses.stream().map(Course::getId).toList());
+    }
+
+    @Test
+    void parallelEnrollmentsDoNotLoseRows() throws Exception {
+        // arrange
+        List<EnrollStudentRequestDTO> requests = new ArrayList<>();
+        for (Student student : students) {
+            for (Course course : courses) {
+                requests.add(EnrollStudentRequestDTO.builder()
+                        .studentId(student.getId().toString())
+                        .courseName(course.getName())
+                        .courseType(CourseType.MAIN.name())
+                        .build());
+            }
+        }
+        Collections.shuffle(requests);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        conflictCounter.conflicts.reset();
+
+        // act
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        for (EnrollStudentRequestDTO request : requests) {
+            executor.execute(() -> {
+                try {
+                    studentService.enrollToCourse(request);
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        System.out.printf("%d enrollments on %d threads: %dms, %.0f enrollments/s, %d optimistic-lock conflicts retried%n",
+                requests.size(), THREADS, elapsedMillis, requests.size() * 1000.0 / elapsedMillis,
+                conflictCounter.conflicts.sum());
+
+        // assert
+        assertTrue(failures.isEmpty(), () -> "Failed enrollments: " + failures);
+        Long enrollments = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM student_course sc JOIN student s ON s.student_id = sc.student_id WHERE s.student_group = 'C1'",
+                Long.class);
+        assertEquals(STUDENTS * COURSES, enrollments);
+        for (Student student : studentRepository.findAllById(students.stream().map(Student::getId).toList())) {
+            assertEquals(COURSES, student.getVersion());
+        }
+    }
+
+    @Test
+    void parallelEnrollmentsOfTheSamePairEnrollOnce() throws Exception {
+        // arrange
+        Student student = students.get(0);
+        Course course = courses.get(0);
+        EnrollStudentRequestDTO request = EnrollStudentRequestDTO.builder()
+                .studentId(student.getId().toString())
+                .courseName(course.getName())
+                .courseType(CourseType.MAIN.name())
+                .build();
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        LongAdder enrolled = new LongAdder();
+        LongAdder alreadyEnrolled = new LongAdder();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        // act
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            executor.execute(() -> {
+                ready.countDown();
+                try {
+                    ready.await();
+                    studentService.enrollToCourse(request);
+                    enrolled.increment();
+                } catch (UnprocessableEntityException e) {
+                    alreadyEnrolled.increment();
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        // assert
+        assertTrue(failures.isEmpty(), () -> "Failed enrollments: " + failures);
+        assertEquals(1, enrolled.sum());
+        assertEquals(THREADS - 1, alreadyEnrolled.sum());
+        Long enrollments = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM student_course WHERE student_id = ?", Long.class, student.getId());
+        assertEquals(1, enrollments);
+    }
+
+    @Test
+    void parallelBulkEnrollmentsOfTheSameGroupEnrollEachStudentOnce() throws Exception {
+        // arrange
+        Course course = courses.get(0);
+        BulkEnrollStudentsRequestDTO request = BulkEnrollStudentsRequestDTO.builder()
+                .courseName(course.getName())
+                .groupName("C1")
+                .build();
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        Queue<BulkEnrollStudentsResponseDTO> responses = new ConcurrentLinkedQueue<>();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        // act
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            executor.execute(() -> {
+                ready.countDown();
+                try {
+                    ready.await();
+                    responses.add(enrollmentService.enrollStudentsToCourse(request));
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        // assert
+        assertTrue(failures.isEmpty(), () -> "Failed enrollments: " + failures);
+        assertEquals(STUDENTS, responses.stream().mapToInt(BulkEnrollStudentsResponseDTO::getInserted).sum());
+        for (BulkEnrollStudentsResponseDTO response : responses) {
+            assertEquals(STUDENTS, response.getInserted() + response.getSkipped());
+        }
+        Long enrollments = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM student_course WHERE course_id = ?", Long.class, course.getId());
+        assertEquals(STUDENTS, enrollments);
+    }
+
+    @TestConfiguration
+    static class ConflictCounter implements RetryListener {
+
+        private final LongAdder conflicts = new LongAdder();
+
+        @Override
+        public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+            conflicts.increment();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.classroom.service;
+
+import com.classroom.dto.student.EnrollStudentRequestDTO;
+import com.classroom.dto.student.EnrollmentPipelineStatisticsResponseDTO;
+import com.classroom.dto.student.StudentResponseDTO;
+import com.classroom.entity.Course;
+import com.classroom.entity.Student;
+import com.classroom.enumartion.CourseType;
+import com.classroom.exception.EnrollmentUnavailableException;
+import com.classroom.exception.UnprocessableEntityException;
+import com.classroom.repository.CourseRepository;
+import com.classroom.repository.EnrollmentBatchRepository;
+import com.classroom.repository.StudentRepository;
+import com.classroom.service.index.EnrollmentIndex;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {
+        "classroom.enrollment.coalescing.enabled=true",
+        "classroom.enrollment.coalescing.max-batch-size=50",
+        "classroom.enrollment.coalescing.max-delay=50ms",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+public class EnrollmentPipelineTest {
+
+    private static final int STUDENTS = 120;
+    private static final String COURSE_NAME_RUSH = "Registration rush";
+    private static final String COURSE_NAME_SMALL = "Small seminar";
+
+    @Autowired
+    private EnrollmentPipeline enrollmentPipeline;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private EnrollmentBatchRepository enrollmentBatchRepository;
+    @Autowired
+    private SeatReservationService seatReservationService;
+    @Autowired
+    private EnrollmentIndex enrollmentIndex;
+    @Autowired
+    private RosterVersionService rosterVersionService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Student> students = new ArrayList<>();
+    private final List<Course> courses = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        courses.add(courseRepository.save(new Course(COURSE_NAME_RUSH, CourseType.MAIN)));
+        Course small = new Course(COURSE_NAME_SMALL, CourseType.SECONDARY);
+        small.setCapacity(2);
+        courses.add(courseRepository.save(small));
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(studentRepository.save(new Student("Pipeline student " + i, 19, "P1")));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentRepository.deleteAllById(students.stream().map(Student::getId).toList());
+        courseRepository.deleteAllById(courses.stream().map(Course::getId).toList());
+    }
+
+    @Test
+    void concurrentEnrollmentsAreWrittenInBatches() throws Exception {
+        // arrange
+        EnrollmentPipelineStatisticsResponseDTO before = enrollmentPipeline.getStatistics();
+        List<CompletableFuture<StudentResponseDTO>> responses = new ArrayList<>();
+
+        // act
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (Student student : students) {
+            responses.add(CompletableFuture.supplyAsync(
+                    () -> enrollmentPipeline.enroll(request(student.getId(), COURSE_NAME_RUSH)), executor));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).get(1, TimeUnit.MINUTES);
+        executor.shutdown();
+
+        // assert
+        for (CompletableFuture<StudentResponseDTO> response : responses) {
+            assertEquals(COURSE_NAME_RUSH, response.get().getStudentCourses().iterator().next().getCourseName());
+        }
+        EnrollmentPipelineStatisticsResponseDTO after = enrollmentPipeline.getStatistics();
+        long batches = after.getBatchCount() - before.getBatchCount();
+        assertEquals(STUDENTS, after.getEnrollmentCount() - before.getEnrollmentCount());
+        assertTrue(batches < STUDENTS, () -> "Expected coalescing but got " + batches + " batches");
+        assertTrue(after.getMaxBatchSize() <= 50);
+        assertEquals(STUDENTS, courseRepository.findByName(COURSE_NAME_RUSH)
+                .map(course -> studentRepository.countEnrollmentsByCourseId(course.getId()))
+                .orElseThrow());
+    }
+
+    @Test
+    void eachCallerGetsItsOwnOutcome() {
+        // arrange
+        UUID first = students.get(0).getId();
+        UUID second = students.get(1).getId();
+        UUID third = students.get(2).getId();
+
+        // act
+        CompletableFuture<StudentResponseDTO> enrolled = enrollmentPipeline.submit(request(first, COURSE_NAME_SMALL));
+        CompletableFuture<StudentResponseDTO> duplicate = enrollmentPipeline.submit(request(first, COURSE_NAME_SMALL));
+        CompletableFuture<StudentResponseDTO> unknown = enrollmentPipeline.submit(request(UUID.randomUUID(), COURSE_NAME_SMALL));
+        CompletableFuture<StudentResponseDTO> lastSeat = enrollmentPipeline.submit(request(second, COURSE_NAME_SMALL));
+        CompletableFuture<StudentResponseDTO> full = enrollmentPipeline.submit(request(third, COURSE_NAME_SMALL));
+        CompletableFuture<StudentResponseDTO> noCourse = enrollmentPipeline.submit(request(third, "Missing course"));
+
+        // assert
+        assertEquals(first.toString(), enrolled.join().getStudentId());
+        assertEquals(second.toString(), lastSeat.join().getStudentId());
+        assertFailedWith(UnprocessableEntityException.class, duplicate);
+        assertFailedWith(EntityNotFoundException.class, unknown);
+        assertFailedWith(UnprocessableEntityException.class, full);
+        assertFailedWith(EntityNotFoundException.class, noCourse);
+    }
+
+    @Test
+    void callersOfAStoppedPipelineFailInsteadOfWaiting() throws Exception {
+        // arrange
+        EnrollmentPipeline stopped = newPipeline(Duration.ofMillis(50), Duration.ofMinutes(1));
+        stopped.shutdown();
+
+        // act & assert
+        assertThrows(EnrollmentUnavailableException.class,
+                () -> stopped.enroll(request(students.get(0).getId(), COURSE_NAME_RUSH)));
+        assertFailedWith(EnrollmentUnavailableException.class,
+                stopped.submit(request(students.get(1).getId(), COURSE_NAME_RUSH)));
+    }
+
+    @Test
+    void callerStopsWaitingAfterTheTimeout() throws Exception {
+        // arrange
+        EnrollmentPipeline slow = newPipeline(Duration.ofSeconds(2), Duration.ofMillis(100));
+
+        // act & assert
+        try {
+            assertThrows(EnrollmentUnavailableException.class,
+                    () -> slow.enroll(request(students.get(0).getId(), COURSE_NAME_RUSH)));
+        } finally {
+            slow.shutdown();
+        }
+    }
+
+    @Test
+    void drainedQueuesAreDropped() throws Exception {
+        // arrange
+        EnrollmentPipeline pipeline = newPipeline(Duration.ofMillis(10), Duration.ofMinutes(1));
+
+        try {
+            // act
+            StudentResponseDTO enrolled = pipeline.enroll(request(students.get(0).getId(), COURSE_NAME_RUSH));
+            for (int i = 0; i < 20; i++) {
+                UUID studentId = students.get(i).getId();
+                assertThrows(EntityNotFoundException.class, () -> pipeline.enroll(request(studentId, UUID.randomUUID().toString())));
+            }
+
+            // assert
+            assertEquals(students.get(0).getId().toString(), enrolled.getStudentId());
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (pipeline.queueCount() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, pipeline.queueCount());
+        } finally {
+            pipeline.shutdown();
+        }
+    }
+
+    private EnrollmentPipeline newPipeline(Duration maxDelay, Duration timeout) {
+        return new EnrollmentPipeline(studentService, studentRepository, courseRepository, enrollmentBatchRepository,
+                seatReservationService, enrollmentIndex, rosterVersionService, transactionManager, 50, maxDelay, 1, timeout);
+    }
+
+    private static void assertFailedWith(Class<? extends Exception> type, CompletableFuture<StudentResponseDTO> response) {
+        CompletionException exception = assertThrows(CompletionException.class, response::join);
+        assertInstanceOf(type, exception.getCause());
+    }
+
+    private static EnrollStudentRequestDTO request(UUID studentId, String courseName) {
+        return EnrollStudentRequestDTO.builder()
+                .studentId(studentId.toString())
+                .courseName(courseName)
+                .courseType(CourseType.MAIN.name())
+                .build();
+    }
+}
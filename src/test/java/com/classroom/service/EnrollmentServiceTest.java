@@ -0,0 +1,198 @@
+package com.classroom.service;
+
+import com.classroom.dto.student.BulkEnrollStudentsRequestDTO;
+import com.classroom.dto.student.BulkEnrollStudentsResponseDTO;
+import com.classroom.entity.Course;
+import com.classroom.enumartion.CourseType;
+import com.classroom.exception.UnprocessableEntityException;
+import com.classroom.repository.CourseRepository;
+import com.classroom.repository.EnrollmentBatchRepository;
+import com.classroom.repository.StudentRepository;
+import com.classroom.service.index.EnrollmentIndex;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EnrollmentServiceTest {
+
+    private static final UUID COURSE_ID = UUID.randomUUID();
+    private static final UUID STUDENT_ID_1 = UUID.randomUUID();
+    private static final UUID STUDENT_ID_2 = UUID.randomUUID();
+    private static final UUID STUDENT_ID_3 = UUID.randomUUID();
+    private static final String COURSE_NAME_MATHEMATICS = "Mathematics";
+    private static final String GROUP_NAME_1 = "A1";
+
+    private EnrollmentService enrollmentService;
+
+    @Mock
+    private CourseRepository courseRepository;
+    @Mock
+    private StudentRepository studentRepository;
+    @Mock
+    private EnrollmentBatchRepository enrollmentBatchRepository;
+    @Mock
+    private EnrollmentIndex enrollmentIndex;
+    @Mock
+    private RosterVersionService rosterVersionService;
+
+    @BeforeEach
+    public void setUp() {
+        enrollmentService = new EnrollmentService(courseRepository, studentRepository, enrollmentBatchRepository, new SeatReservationService(studentRepository), enrollmentIndex, rosterVersionService);
+    }
+
+    @Test
+    public void testEnrollStudentsByIdsSkipsEnrolledAndUnknownStudents() {
+        // arrange
+        BulkEnrollStudentsRequestDTO request = BulkEnrollStudentsRequestDTO.builder()
+                .courseName(COURSE_NAME_MATHEMATICS)
+                .studentIds(List.of(STUDENT_ID_1.toString(), STUDENT_ID_2.toString(), STUDENT_ID_3.toString()))
+                .build();
+        Course course = new Course(COURSE_ID, COURSE_NAME_MATHEMATICS, CourseType.MAIN);
+
+        when(courseRepository.findByName(COURSE_NAME_MATHEMATICS)).thenReturn(Optional.of(course));
+        when(studentRepository.findExistingStudentIds(Set.of(STUDENT_ID_1, STUDENT_ID_2, STUDENT_ID_3)))
+                .thenReturn(Set.of(STUDENT_ID_1, STUDENT_ID_2));
+        when(studentRepository.findStudentIdsEnrolledInCourse(COURSE_ID, Set.of(STUDENT_ID_1, STUDENT_ID_2)))
+                .thenReturn(Set.of(STUDENT_ID_2));
+        when(enrollmentBatchRepository.insertMissingStudentEnrollments(COURSE_ID, Set.of(STUDENT_ID_1))).thenReturn(Set.of(STUDENT_ID_1));
+
+        // act
+        BulkEnrollStudentsResponseDTO response = enrollmentService.enrollStudentsToCourse(request);
+
+        // assert
+        assertEquals(COURSE_NAME_MATHEMATICS, response.getCourseName());
+        assertEquals(1, response.getInserted());
+        assertEquals(1, response.getSkipped());
+        assertEquals(1, response.getNotFound());
+        verify(courseRepository, times(1)).findByName(COURSE_NAME_MATHEMATICS);
+        verify(enrollmentBatchRepository, times(1)).insertMissingStudentEnrollments(COURSE_ID, Set.of(STUDENT_ID_1));
+    }
+
+    @Test
+    public void testEnrollStudentsByGroup() {
+        // arrange
+        BulkEnrollStudentsRequestDTO request = BulkEnrollStudentsRequestDTO.builder()
+                .courseName(COURSE_NAME_MATHEMATICS)
+                .groupName(GROUP_NAME_1)
+                .build();
+        Course course = new Course(COURSE_ID, COURSE_NAME_MATHEMATICS, CourseType.MAIN);
+
+        when(courseRepository.findByName(COURSE_NAME_MATHEMATICS)).thenReturn(Optional.of(course));
+        when(studentRepository.findStudentIdsByGroup(GROUP_NAME_1)).thenReturn(Set.of(STUDENT_ID_1, STUDENT_ID_2));
+        when(studentRepository.findStudentIdsEnrolledInCourseByGroup(COURSE_ID, GROUP_NAME_1)).thenReturn(Set.of());
+        when(enrollmentBatchRepository.insertMissingStudentEnrollments(COURSE_ID, Set.of(STUDENT_ID_1, STUDENT_ID_2)))
+                .thenReturn(Set.of(STUDENT_ID_1, STUDENT_ID_2));
+
+        // act
+        BulkEnrollStudentsResponseDTO response = enrollmentService.enrollStudentsToCourse(request);
+
+        // assert
+        assertEquals(2, response.getInserted());
+        assertEquals(0, response.getSkipped());
+        assertEquals(0, response.getNotFound());
+    }
+
+    @Test
+    public void testEnrollStudentsCountsConcurrentlyEnrolledStudentsAsSkipped() {
+        // arrange
+        BulkEnrollStudentsRequestDTO request = BulkEnrollStudentsRequestDTO.builder()
+                .courseName(COURSE_NAME_MATHEMATICS)
+                .groupName(GROUP_NAME_1)
+                .build();
+        Course course = new Course(COURSE_ID, COURSE_NAME_MATHEMATICS, CourseType.MAIN);
+
+        when(courseRepository.findByName(COURSE_NAME_MATHEMATICS)).thenReturn(Optional.of(course));
+        when(studentRepository.findStudentIdsByGroup(GROUP_NAME_1)).thenReturn(Set.of(STUDENT_ID_1, STUDENT_ID_2));
+        when(studentRepository.findStudentIdsEnrolledInCourseByGroup(COURSE_ID, GROUP_NAME_1)).thenReturn(Set.of());
+        when(enrollmentBatchRepository.insertMissingStudentEnrollments(COURSE_ID, Set.of(STUDENT_ID_1, STUDENT_ID_2)))
+                .thenReturn(Set.of(STUDENT_ID_2));
+
+        // act
+        BulkEnrollStudentsResponseDTO response = enrollmentService.enrollStudentsToCourse(request);
+
+        // assert
+        assertEquals(1, response.getInserted());
+        assertEquals(1, response.getSkipped());
+        verify(enrollmentIndex, times(1)).studentsEnrolled(Set.of(STUDENT_ID_2), COURSE_ID);
+    }
+
+    @Test
+    public void testEnrollStudentsCourseDoesNotExist() {
+        // arrange
+        BulkEnrollStudentsRequestDTO request = BulkEnrollStudentsRequestDTO.builder()
+                .courseName(COURSE_NAME_MATHEMATICS)
+                .groupName(GROUP_NAME_1)
+                .build();
+
+        when(courseRepository.findByName(COURSE_NAME_MATHEMATICS)).thenReturn(Optional.empty());
+
+        // act
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
+            enrollmentService.enrollStudentsToCourse(request);
+        });
+
+        // assert
+        assertEquals(String.format("Course with name %s does not exists", COURSE_NAME_MATHEMATICS), exception.getMessage());
+        verify(enrollmentBatchRepository, never()).insertMissingStudentEnrollments(any(UUID.class), anyCollection());
+    }
+
+    @Test
+    public void testEnrollStudentsNotEnoughSeats() {
+        // arrange
+        BulkEnrollStudentsRequestDTO request = BulkEnrollStudentsRequestDTO.builder()
+                .courseName(COURSE_NAME_MATHEMATICS)
+                .groupName(GROUP_NAME_1)
+                .build();
+        Course course = new Course(COURSE_ID, COURSE_NAME_MATHEMATICS, CourseType.MAIN);
+        course.setCapacity(2);
+
+        when(courseRepository.findByName(COURSE_NAME_MATHEMATICS)).thenReturn(Optional.of(course));
+        when(studentRepository.findStudentIdsByGroup(GROUP_NAME_1)).thenReturn(Set.of(STUDENT_ID_1, STUDENT_ID_2));
+        when(studentRepository.findStudentIdsEnrolledInCourseByGroup(COURSE_ID, GROUP_NAME_1)).thenReturn(Set.of());
+        when(studentRepository.countEnrollmentsByCourseId(COURSE_ID)).thenReturn(1L);
+
+        // act
+        UnprocessableEntityException exception = assertThrows(UnprocessableEntityException.class, () -> {
+            enrollmentService.enrollStudentsToCourse(request);
+        });
+
+        // assert
+        assertEquals(String.format("Course with name %s has fewer than %d free seats", COURSE_NAME_MATHEMATICS, 2),
+                exception.getMessage());
+        verify(enrollmentBatchRepository, never()).insertMissingStudentEnrollments(any(UUID.class), anyCollection());
+    }
+
+    @Test
+    public void testEnrollStudentsWithoutStudents() {
+        // arrange
+        BulkEnrollStudentsRequestDTO request = BulkEnrollStudentsRequestDTO.builder()
+                .courseName(COURSE_NAME_MATHEMATICS)
+                .build();
+
+        // act
+        assertThrows(UnprocessableEntityException.class, () -> {
+            enrollmentService.enrollStudentsToCourse(request);
+        });
+
+        // assert
+        verify(courseRepository, never()).findByName(COURSE_NAME_MATHEMATICS);
+    }
+}
@@ -0,0 +1,153 @@
+package com.classroom.service;
+
+import com.classroom.dto.bulk.ImportResponseDTO;
+import com.classroom.dto.student.CreateStudentRequestDTO;
+import com.classroom.dto.teacher.CreateTeacherRequestDTO;
+import com.classroom.entity.Student;
+import com.classroom.entity.Teacher;
+import com.classroom.enumartion.ImportRowStatus;
+import com.classroom.repository.StudentRepository;
+import com.classroom.repository.TeacherRepository;
+import com.classroom.repository.projection.PersonKeyRow;
+import com.classroom.service.index.EnrollmentIndex;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ImportServiceTest {
+
+    private static final String STUDENT_NAME_1 = "Mariya";
+    private static final String STUDENT_NAME_2 = "Ivan";
+    private static final String STUDENT_NAME_3 = "Georgi";
+    private static final String TEACHER_NAME_1 = "Kiril";
+    private static final String TEACHER_NAME_2 = "Petko";
+    private static final String GROUP_NAME_1 = "A1";
+    private static final String GROUP_NAME_2 = "A2";
+
+    private ImportService importService;
+
+    @Mock
+    private StudentRepository studentRepository;
+    @Mock
+    private TeacherRepository teacherRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private CounterService counterService;
+    @Mock
+    private EnrollmentIndex enrollmentIndex;
+    @Mock
+    private RosterVersionService rosterVersionService;
+
+    @BeforeEach
+    public void setUp() {
+        importService = new ImportService(studentRepository, teacherRepository, counterService, enrollmentIndex, rosterVersionService,
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionManager, 2);
+    }
+
+    @Test
+    public void testImportStudentsDeduplicatesAndWritesInChunks() {
+        // arrange
+        List<CreateStudentRequestDTO> rows = List.of(
+                new CreateStudentRequestDTO(STUDENT_NAME_1, 20, GROUP_NAME_1),
+                new CreateStudentRequestDTO(STUDENT_NAME_2, 22, GROUP_NAME_1),
+                new CreateStudentRequestDTO(STUDENT_NAME_1, 20, GROUP_NAME_1),
+                new CreateStudentRequestDTO(STUDENT_NAME_3, 24, GROUP_NAME_2),
+                new CreateStudentRequestDTO("", 24, GROUP_NAME_2)
+        );
+        PersonKeyRow existingStudent = new PersonKeyRow(STUDENT_NAME_3, GROUP_NAME_2, 24);
+
+        when(studentRepository.findKeysByNameIn(anySet()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(existingStudent));
+        when(studentRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Student> students = invocation.getArgument(0);
+            students.forEach(student -> student.setId(UUID.randomUUID()));
+            return students;
+        });
+
+        // act
+        ImportResponseDTO response = importService.importStudents(rows.iterator());
+
+        // assert
+        assertEquals(2, response.getCreated());
+        assertEquals(2, response.getDuplicates());
+        assertEquals(1, response.getInvalid());
+        assertEquals(5, response.getRows().size());
+        assertEquals(ImportRowStatus.CREATED.name(), response.getRows().get(0).getStatus());
+        assertNotNull(response.getRows().get(0).getId());
+        assertEquals(ImportRowStatus.DUPLICATE.name(), response.getRows().get(2).getStatus());
+        assertEquals("Duplicate of row 0", response.getRows().get(2).getMessage());
+        assertEquals(ImportRowStatus.DUPLICATE.name(), response.getRows().get(3).getStatus());
+        assertNull(response.getRows().get(3).getId());
+        assertEquals(ImportRowStatus.INVALID.name(), response.getRows().get(4).getStatus());
+        verify(studentRepository, times(2)).findKeysByNameIn(anySet());
+        verify(studentRepository, times(2)).saveAll(any());
+    }
+
+    @Test
+    public void testImportStudentsRejectsRowsThatFailValidation() {
+        // arrange
+        List<CreateStudentRequestDTO> rows = List.of(
+                new CreateStudentRequestDTO(STUDENT_NAME_1, -1, GROUP_NAME_1),
+                new CreateStudentRequestDTO(STUDENT_NAME_2, 1000, GROUP_NAME_1),
+                new CreateStudentRequestDTO(" ", 20, null)
+        );
+
+        // act
+        ImportResponseDTO response = importService.importStudents(rows.iterator());
+
+        // assert
+        assertEquals(0, response.getCreated());
+        assertEquals(3, response.getInvalid());
+        assertEquals("Age cannot be negative", response.getRows().get(0).getMessage());
+        assertEquals("Age cannot be greater than 150", response.getRows().get(1).getMessage());
+        assertEquals("Group cannot be empty; Name cannot be empty", response.getRows().get(2).getMessage());
+        verify(studentRepository, never()).findKeysByNameIn(anySet());
+        verify(studentRepository, never()).saveAll(any());
+    }
+
+    @Test
+    public void testImportTeachersCreatesAllRows() {
+        // arrange
+        List<CreateTeacherRequestDTO> rows = List.of(
+                new CreateTeacherRequestDTO(TEACHER_NAME_1, 38, GROUP_NAME_1),
+                new CreateTeacherRequestDTO(TEACHER_NAME_2, 46, GROUP_NAME_2)
+        );
+
+        when(teacherRepository.findKeysByNameIn(anySet())).thenReturn(List.of());
+        when(teacherRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Teacher> teachers = invocation.getArgument(0);
+            teachers.forEach(teacher -> teacher.setId(UUID.randomUUID()));
+            return teachers;
+        });
+
+        // act
+        ImportResponseDTO response = importService.importTeachers(rows.iterator());
+
+        // assert
+        assertEquals(2, response.getCreated());
+        assertEquals(0, response.getDuplicates());
+        assertEquals(0, response.getInvalid());
+        verify(teacherRepository, times(1)).findKeysByNameIn(anySet());
+        verify(teacherRepository, times(1)).saveAll(any());
+    }
+}
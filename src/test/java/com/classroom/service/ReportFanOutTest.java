@@ -0,0 +1,131 @@
+package com.classroom.service;
+
+import com.classroom.config.routing.PrimaryReadContext;
+import com.classroom.exception.ReportTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+public class ReportFanOutTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void tearDown() {
+        PrimaryReadContext.exit();
+    }
+
+    @Test
+    public void testHalvesRunAtTheSameTime() {
+        // arrange
+        ReportFanOut reportFanOut = new ReportFanOut(transactionManager, 2, 4, Duration.ofSeconds(5));
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        // act
+        List<String> threads = reportFanOut.join(
+                () -> awaitOther(bothStarted),
+                () -> awaitOther(bothStarted),
+                List::of);
+
+        // assert
+        assertNotEquals(threads.get(0), threads.get(1));
+    }
+
+    @Test
+    public void testWithoutThreadsHalvesRunOnCaller() {
+        // arrange
+        ReportFanOut reportFanOut = new ReportFanOut(transactionManager, 0, 0, Duration.ofSeconds(5));
+
+        // act
+        List<String> threads = reportFanOut.join(
+                () -> Thread.currentThread().getName(),
+                () -> Thread.currentThread().getName(),
+                List::of);
+
+        // assert
+        assertEquals(List.of(Thread.currentThread().getName(), Thread.currentThread().getName()), threads);
+    }
+
+    @Test
+    public void testSlowHalfFailsReportAtDeadline() {
+        // arrange
+        ReportFanOut reportFanOut = new ReportFanOut(transactionManager, 2, 4, Duration.ofMillis(100));
+        CountDownLatch released = new CountDownLatch(1);
+
+        // act
+        try {
+            assertThrows(ReportTimeoutException.class, () -> reportFanOut.join(
+                    () -> "students",
+                    () -> awaitRelease(released),
+                    (students, teachers) -> students + teachers));
+        } finally {
+            released.countDown();
+        }
+
+        // assert
+    }
+
+    @Test
+    public void testFailureOfHalfIsRethrown() {
+        // arrange
+        ReportFanOut reportFanOut = new ReportFanOut(transactionManager, 2, 4, Duration.ofSeconds(5));
+        IllegalStateException failure = new IllegalStateException("teacher query failed");
+
+        // act
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> reportFanOut.join(
+                () -> "students",
+                () -> {
+                    throw failure;
+                },
+                (students, teachers) -> students + teachers));
+
+        // assert
+        assertEquals(failure, thrown);
+    }
+
+    @Test
+    public void testPrimaryReadIsHandedToPoolThread() {
+        // arrange
+        ReportFanOut reportFanOut = new ReportFanOut(transactionManager, 2, 4, Duration.ofSeconds(5));
+        PrimaryReadContext.enter();
+
+        // act
+        boolean primaryInPool = reportFanOut.join(
+                () -> null,
+                PrimaryReadContext::isActive,
+                (students, teachers) -> teachers);
+
+        // assert
+        assertTrue(primaryInPool);
+        assertTrue(PrimaryReadContext.isActive());
+    }
+
+    private static String awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        return awaitRelease(latch);
+    }
+
+    private static String awaitRelease(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Thread.currentThread().getName();
+    }
+}
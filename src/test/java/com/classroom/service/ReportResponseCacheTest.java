@@ -0,0 +1,117 @@
+package com.classroom.service;
+
+import com.classroom.config.routing.PrimaryReadContext;
+import com.classroom.dto.report.ReportCacheStatisticsResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReportResponseCacheTest {
+
+    private ReportResponseCache reportResponseCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void setUp() {
+        reportResponseCache = new ReportResponseCache(new ObjectMapper(), true, DataSize.ofKilobytes(1), Duration.ofMinutes(10));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    public void testRepeatedReportIsServedWithoutLoading() {
+        // arrange
+        reportResponseCache.get("students-by-group", "\"a.0.0\"", report(List.of("Mariya")), "A1");
+
+        // act
+        byte[] body = reportResponseCache.get("students-by-group", "\"a.0.0\"", report(List.of("Ivan")), "A1");
+
+        // assert
+        assertEquals("[\"Mariya\"]", new String(body, StandardCharsets.UTF_8));
+        assertEquals(1, loads.get());
+        ReportCacheStatisticsResponseDTO statistics = reportResponseCache.getStatistics();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(0.5, statistics.getHitRate());
+        assertEquals(body.length, statistics.getSizeBytes());
+    }
+
+    @Test
+    public void testMovedTagLoadsTheReportAgain() {
+        // arrange
+        reportResponseCache.get("students-by-group", "\"a.0.0\"", report(List.of("Mariya")), "A1");
+
+        // act
+        byte[] body = reportResponseCache.get("students-by-group", "\"a.0.1\"", report(List.of("Ivan")), "A1");
+
+        // assert
+        assertEquals("[\"Ivan\"]", new String(body, StandardCharsets.UTF_8));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testParametersAndReportsAreKeptApart() {
+        // arrange
+        String tag = "\"a.0.0\"";
+
+        // act
+        reportResponseCache.get("students-by-age-range", tag, report(List.of()), "Mathematics", null, 25, null);
+        reportResponseCache.get("students-by-age-range", tag, report(List.of()), "Mathematics", 18, 25, null);
+        reportResponseCache.get("students-by-age", tag, report(List.of()), "Mathematics", 25);
+        reportResponseCache.get("students-by-age-range", tag, report(List.of()), "Mathematics", null, 25, null);
+
+        // assert
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testCacheIsBoundedBySize() {
+        // arrange
+        List<String> students = List.of("x".repeat(200));
+
+        // act
+        for (int i = 0; i < 20; i++) {
+            reportResponseCache.get("students-by-group", "\"a.0.0\"", report(students), "A" + i);
+        }
+
+        // assert
+        ReportCacheStatisticsResponseDTO statistics = reportResponseCache.getStatistics();
+        assertTrue(statistics.getSizeBytes() <= 1024);
+        assertTrue(statistics.getEvictionCount() > 0);
+    }
+
+    @Test
+    public void testClientsReadingFromThePrimaryBypassTheCache() {
+        // arrange
+        reportResponseCache.get("students-by-group", "\"a.0.0\"", report(List.of("Mariya")), "A1");
+
+        // act
+        byte[] body;
+        PrimaryReadContext.enter();
+        try {
+            body = reportResponseCache.get("students-by-group", "\"a.0.0\"", report(List.of("Ivan")), "A1");
+        } finally {
+            PrimaryReadContext.exit();
+        }
+
+        // assert
+        assertEquals("[\"Ivan\"]", new String(body, StandardCharsets.UTF_8));
+        assertEquals(2, loads.get());
+    }
+
+    private Supplier<List<String>> report(List<String> students) {
+        return () -> {
+            loads.incrementAndGet();
+            return students;
+        };
+    }
+}
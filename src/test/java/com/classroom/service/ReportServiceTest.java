@@ -3,18 +3,24 @@ package com.classroom.service;
 import com.classroom.dto.report.StudentAndTeacherReportResponseDTO;
 import com.classroom.dto.student.StudentResponseDTO;
 import com.classroom.entity.Course;
-import com.classroom.entity.Student;
-import com.classroom.entity.Teacher;
 import com.classroom.enumartion.CourseType;
 import com.classroom.repository.CourseRepository;
+import com.classroom.repository.EnrollmentIndexRepository;
 import com.classroom.repository.StudentRepository;
 import com.classroom.repository.TeacherRepository;
+import com.classroom.repository.projection.CourseEnrollmentRow;
+import com.classroom.repository.projection.StudentReportRow;
+import com.classroom.repository.projection.TeacherReportRow;
+import com.classroom.service.index.EnrollmentIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -51,10 +57,19 @@ public class ReportServiceTest {
     private StudentRepository studentRepository;
     @Mock
     private TeacherRepository teacherRepository;
+    @Mock
+    private CounterService counterService;
+    @Mock
+    private EnrollmentIndex enrollmentIndex;
+    @Mock
+    private EnrollmentIndexRepository enrollmentIndexRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @BeforeEach
     public void setUp() {
-        reportService = new ReportService(courseRepository,studentRepository, teacherRepository);
+        reportService = new ReportService(courseRepository,studentRepository, teacherRepository, counterService, enrollmentIndex,
+                enrollmentIndexRepository, new ReportFanOut(transactionManager, 2, 4, Duration.ofSeconds(5)));
     }
 
 
@@ -62,7 +77,7 @@ public class ReportServiceTest {
     public void testCountCoursesByTypeReturnsValue() {
         // arrange
 
-        when(courseRepository.countCoursesByType(CourseType.MAIN)).thenReturn(2L);
+        when(counterService.countCourses(CourseType.MAIN)).thenReturn(2L);
 
         // act
         long result = reportService.countCoursesByType("main");
@@ -74,7 +89,7 @@ public class ReportServiceTest {
     @Test
     public void testStudentCountReturnsValue() {
         // arrange
-        when(studentRepository.countStudents()).thenReturn(2L);
+        when(counterService.countStudents()).thenReturn(2L);
 
         // act
         long result = reportService.countStudents();
@@ -86,7 +101,7 @@ public class ReportServiceTest {
     @Test
     public void testTeacherCountReturnsValue() {
         // arrange
-        when(teacherRepository.countTeachers()).thenReturn(2L);
+        when(counterService.countTeachers()).thenReturn(2L);
 
         // act
         long result = reportService.countTeachers();
@@ -103,16 +118,19 @@ public class ReportServiceTest {
                 COURSE_NAME_MATHEMATICS,
                 CourseType.MAIN
         );
-        Student student = new Student(
+        StudentReportRow student = new StudentReportRow(
                 STUDENT_ID,
                 STUDENT_NAME_1,
                 22,
-                GROUP_NAME_1,
-                Set.of(course)
+                GROUP_NAME_1
         );
 
         when(courseRepository.findByName(COURSE_NAME_MATHEMATICS)).thenReturn(Optional.of(course));
-        when(studentRepository.findStudentsByCourse(COURSE_NAME_MATHEMATICS)).thenReturn(Set.of(student));
+        when(studentRepository.findStudentReportRowsByCourse(COURSE_NAME_MATHEMATICS)).thenReturn(List.of(student));
+        when(studentRepository.findCourseRowsOfStudentsInCourse(COURSE_NAME_MATHEMATICS)).thenReturn(List.of(
+                new CourseEnrollmentRow(STUDENT_ID, COURSE_NAME_MATHEMATICS, CourseType.MAIN),
+                new CourseEnrollmentRow(STUDENT_ID, COURSE_NAME_HISTORY, CourseType.SECONDARY)
+        ));
 
         // act
         Set<StudentResponseDTO> response = reportService.getStudentsByCourse(COURSE_NAME_MATHEMATICS);
@@ -120,8 +138,9 @@ public class ReportServiceTest {
         // assert
         assertNotNull(response);
         assertEquals(1, response.size());
-        assertEquals(COURSE_NAME_MATHEMATICS, response.iterator().next().getStudentCourses().iterator().next().getCourseName());
-        verify(studentRepository, times(1)).findStudentsByCourse(COURSE_NAME_MATHEMATICS);
+        assertEquals(2, response.iterator().next().getStudentCourses().size());
+        verify(studentRepository, times(1)).findStudentReportRowsByCourse(COURSE_NAME_MATHEMATICS);
+        verify(studentRepository, times(1)).findCourseRowsOfStudentsInCourse(COURSE_NAME_MATHEMATICS);
     }
 
     @Test
@@ -132,15 +151,16 @@ public class ReportServiceTest {
                 COURSE_NAME_MATHEMATICS,
                 CourseType.MAIN
         );
-        Student student = new Student(
+        StudentReportRow student = new StudentReportRow(
                 STUDENT_ID,
                 STUDENT_NAME_1,
                 22,
                 GROUP_NAME_1,
-                Set.of(course)
+                course.getName(),
+                course.getType()
         );
 
-        when(studentRepository.findStudentsByGroup(GROUP_NAME_1)).thenReturn(Set.of(student));
+        when(studentRepository.findStudentReportRowsByGroup(GROUP_NAME_1)).thenReturn(List.of(student));
 
         // act
         Set<StudentResponseDTO> response = reportService.getStudentsByGroup(GROUP_NAME_1);
@@ -149,7 +169,7 @@ public class ReportServiceTest {
         assertNotNull(response);
         assertEquals(1, response.size());
         assertEquals(GROUP_NAME_1, response.iterator().next().getStudentGroupName());
-        verify(studentRepository, times(1)).findStudentsByGroup(GROUP_NAME_1);
+        verify(studentRepository, times(1)).findStudentReportRowsByGroup(GROUP_NAME_1);
     }
 
     @Test
@@ -160,16 +180,18 @@ public class ReportServiceTest {
                 COURSE_NAME_MATHEMATICS,
                 CourseType.MAIN
         );
-        Student student1 = new Student(
+        StudentReportRow student1 = new StudentReportRow(
                 STUDENT_ID,
                 STUDENT_NAME_1,
                 22,
-                GROUP_NAME_1,
-                Set.of(course)
+                GROUP_NAME_1
         );
 
         when(courseRepository.findByName(COURSE_NAME_MATHEMATICS)).thenReturn(Optional.of(course));
-        when(studentRepository.findStudentsOlderThanAgeInCourse(21, COURSE_NAME_MATHEMATICS)).thenReturn(Set.of(student1));
+        when(studentRepository.findStudentReportRowsOlderThanAgeInCourse(21, COURSE_NAME_MATHEMATICS)).thenReturn(List.of(student1));
+        when(studentRepository.findCourseRowsOfStudentsOlderThanAgeInCourse(21, COURSE_NAME_MATHEMATICS)).thenReturn(List.of(
+                new CourseEnrollmentRow(STUDENT_ID, COURSE_NAME_MATHEMATICS, CourseType.MAIN)
+        ));
 
         // act
         Set<StudentResponseDTO> response = reportService.getStudentsByAgeAndCourse(21, COURSE_NAME_MATHEMATICS);
@@ -179,7 +201,7 @@ public class ReportServiceTest {
         assertEquals(1, response.size());
         assertEquals(22, response.iterator().next().getStudentAge());
         assertEquals(COURSE_NAME_MATHEMATICS, response.iterator().next().getStudentCourses().iterator().next().getCourseName());
-        verify(studentRepository, times(1)).findStudentsOlderThanAgeInCourse(21, COURSE_NAME_MATHEMATICS);
+        verify(studentRepository, times(1)).findStudentReportRowsOlderThanAgeInCourse(21, COURSE_NAME_MATHEMATICS);
     }
 
     @Test
@@ -190,24 +212,28 @@ public class ReportServiceTest {
                 COURSE_NAME_MATHEMATICS,
                 CourseType.MAIN
         );
-        Student student = new Student(
+        StudentReportRow student = new StudentReportRow(
                 STUDENT_ID,
                 STUDENT_NAME_1,
                 22,
-                GROUP_NAME_1,
-                Set.of(course)
+                GROUP_NAME_1
         );
-        Teacher teacher = new Teacher(
+        TeacherReportRow teacher = new TeacherReportRow(
                 TEACHER_ID,
                 TEACHER_NAME_1,
                 43,
-                GROUP_NAME_1,
-                Set.of(course)
+                GROUP_NAME_1
         );
 
         when(courseRepository.findByName(COURSE_NAME_MATHEMATICS)).thenReturn(Optional.of(course));
-        when(studentRepository.findStudentsByCourseAndGroup(COURSE_NAME_MATHEMATICS, GROUP_NAME_1)).thenReturn(Set.of(student));
-        when(teacherRepository.findTeachersByCourseAndGroup(COURSE_NAME_MATHEMATICS, GROUP_NAME_1)).thenReturn(Set.of(teacher));
+        when(studentRepository.findStudentReportRowsByCourseAndGroup(COURSE_NAME_MATHEMATICS, GROUP_NAME_1)).thenReturn(List.of(student));
+        when(studentRepository.findCourseRowsOfStudentsInCourseAndGroup(COURSE_NAME_MATHEMATICS, GROUP_NAME_1)).thenReturn(List.of(
+                new CourseEnrollmentRow(STUDENT_ID, COURSE_NAME_MATHEMATICS, CourseType.MAIN)
+        ));
+        when(teacherRepository.findTeacherReportRowsByCourseAndGroup(COURSE_NAME_MATHEMATICS, GROUP_NAME_1)).thenReturn(List.of(teacher));
+        when(teacherRepository.findCourseRowsOfTeachersInCourseAndGroup(COURSE_NAME_MATHEMATICS, GROUP_NAME_1)).thenReturn(List.of(
+                new CourseEnrollmentRow(TEACHER_ID, COURSE_NAME_MATHEMATICS, CourseType.MAIN)
+        ));
 
         // act
         StudentAndTeacherReportResponseDTO response = reportService.getStudentsAndTeachersByCourseAndGroup(COURSE_NAME_MATHEMATICS, GROUP_NAME_1);
@@ -221,9 +247,37 @@ public class ReportServiceTest {
         assertEquals(COURSE_NAME_MATHEMATICS, response.getTeachers().iterator().next().getTeacherCourses().iterator().next().getCourseName());
         assertEquals(GROUP_NAME_1, response.getTeachers().iterator().next().getTeacherGroupName());
         verify(courseRepository, times(1)).findByName(COURSE_NAME_MATHEMATICS);
-        verify(studentRepository, times(1)).findStudentsByCourseAndGroup(COURSE_NAME_MATHEMATICS, GROUP_NAME_1);
-        verify(teacherRepository, times(1)).findTeachersByCourseAndGroup(COURSE_NAME_MATHEMATICS, GROUP_NAME_1);
+        verify(studentRepository, times(1)).findStudentReportRowsByCourseAndGroup(COURSE_NAME_MATHEMATICS, GROUP_NAME_1);
+        verify(teacherRepository, times(1)).findTeacherReportRowsByCourseAndGroup(COURSE_NAME_MATHEMATICS, GROUP_NAME_1);
 
     }
 
+    @Test
+    void testGetStudentsByGroupMergesCourseRowsPerStudent() {
+        // arrange
+        UUID otherStudentId = UUID.randomUUID();
+        List<StudentReportRow> rows = List.of(
+                new StudentReportRow(STUDENT_ID, STUDENT_NAME_1, 22, GROUP_NAME_1, COURSE_NAME_MATHEMATICS, CourseType.MAIN),
+                new StudentReportRow(STUDENT_ID, STUDENT_NAME_1, 22, GROUP_NAME_1, COURSE_NAME_HISTORY, CourseType.SECONDARY),
+                new StudentReportRow(otherStudentId, STUDENT_NAME_2, 23, GROUP_NAME_1, null, null)
+        );
+
+        when(studentRepository.findStudentReportRowsByGroup(GROUP_NAME_1)).thenReturn(rows);
+
+        // act
+        Set<StudentResponseDTO> response = reportService.getStudentsByGroup(GROUP_NAME_1);
+
+        // assert
+        assertEquals(2, response.size());
+        StudentResponseDTO student = response.stream()
+                .filter(dto -> dto.getStudentId().equals(STUDENT_ID.toString()))
+                .findFirst()
+                .orElseThrow();
+        StudentResponseDTO otherStudent = response.stream()
+                .filter(dto -> dto.getStudentId().equals(otherStudentId.toString()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, student.getStudentCourses().size());
+        assertEquals(0, otherStudent.getStudentCourses().size());
+    }
 }
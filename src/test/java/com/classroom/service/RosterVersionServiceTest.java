@@ -0,0 +1,121 @@
+package com.classroom.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class RosterVersionServiceTest {
+
+    private RosterVersionService rosterVersionService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @BeforeEach
+    public void setUp() {
+        rosterVersionService = new RosterVersionService(taskScheduler, Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testTagsAreStrongAndStableWithoutChanges() {
+        // arrange
+
+        // act
+        String first = rosterVersionService.courseTag("Mathematics");
+        String second = rosterVersionService.courseTag("Mathematics");
+
+        // assert
+        assertEquals(first, second);
+        assertTrue(first.startsWith("\"") && first.endsWith("\""));
+    }
+
+    @Test
+    public void testRosterChangeMovesOnlyTheTouchedCoursesAndGroups() {
+        // arrange
+        String mathematics = rosterVersionService.courseTag("Mathematics");
+        String history = rosterVersionService.courseTag("History");
+        String groupA1 = rosterVersionService.groupTag("A1");
+        String mathematicsA2 = rosterVersionService.courseAndGroupTag("Mathematics", "A2");
+        String catalog = rosterVersionService.catalogTag();
+
+        // act
+        rosterVersionService.rosterChanged(List.of("A1"), List.of("Mathematics"));
+
+        // assert
+        assertNotEquals(mathematics, rosterVersionService.courseTag("Mathematics"));
+        assertNotEquals(groupA1, rosterVersionService.groupTag("A1"));
+        assertNotEquals(mathematicsA2, rosterVersionService.courseAndGroupTag("Mathematics", "A2"));
+        assertEquals(history, rosterVersionService.courseTag("History"));
+        assertEquals(catalog, rosterVersionService.catalogTag());
+    }
+
+    @Test
+    public void testEverythingChangedMovesEveryTag() {
+        // arrange
+        String history = rosterVersionService.courseTag("History");
+        String people = rosterVersionService.peopleTag();
+
+        // act
+        rosterVersionService.everythingChanged();
+
+        // assert
+        assertNotEquals(history, rosterVersionService.courseTag("History"));
+        assertNotEquals(people, rosterVersionService.peopleTag());
+    }
+
+    @Test
+    public void testTagsMoveOnlyAfterCommit() {
+        // arrange
+        String catalog = rosterVersionService.catalogTag();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // act
+        rosterVersionService.catalogChanged();
+        String beforeCommit = rosterVersionService.catalogTag();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // assert
+        assertEquals(catalog, beforeCommit);
+        assertNotEquals(catalog, rosterVersionService.catalogTag());
+    }
+
+    @Test
+    public void testTagsMoveAgainOnceTheReplicaCaughtUp() {
+        // arrange
+        ArgumentCaptor<Runnable> replicated = ArgumentCaptor.forClass(Runnable.class);
+        rosterVersionService.peopleChanged();
+        verify(taskScheduler).schedule(replicated.capture(), any(Instant.class));
+        String afterCommit = rosterVersionService.peopleTag();
+
+        // act
+        replicated.getValue().run();
+
+        // assert
+        assertNotEquals(afterCommit, rosterVersionService.peopleTag());
+    }
+}
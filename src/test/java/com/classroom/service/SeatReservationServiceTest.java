@@ -0,0 +1,281 @@
+package com.classroom.service;
+
+import com.classroom.config.routing.PrimaryReadContext;
+import com.classroom.entity.Course;
+import com.classroom.enumartion.CourseType;
+import com.classroom.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SeatReservationServiceTest {
+
+    private static final UUID COURSE_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final String COURSE_NAME_MATHEMATICS = "Mathematics";
+
+    private SeatReservationService seatReservationService;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @BeforeEach
+    public void setUp() {
+        seatReservationService = new SeatReservationService(studentRepository);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testReserveWithoutCapacityNeverTouchesDatabase() {
+        // arrange
+        Course course = new Course(COURSE_ID, COURSE_NAME_MATHEMATICS, CourseType.MAIN);
+
+        // act
+        boolean reserved = seatReservationService.tryReserve(course, 1_000);
+
+        // assert
+        assertTrue(reserved);
+        verify(studentRepository, never()).countEnrollmentsByCourseId(any(UUID.class));
+    }
+
+    @Test
+    public void testReserveUntilCourseIsFull() {
+        // arrange
+        Course course = courseWithCapacity(3);
+        when(studentRepository.countEnrollmentsByCourseId(COURSE_ID)).thenReturn(1L);
+
+        // act
+        boolean first = seatReservationService.tryReserve(course);
+        boolean second = seatReservationService.tryReserve(course);
+        boolean third = seatReservationService.tryReserve(course);
+
+        // assert
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertEquals(0, seatReservationService.availableSeats(course));
+        verify(studentRepository, times(1)).countEnrollmentsByCourseId(COURSE_ID);
+    }
+
+    @Test
+    public void testBulkReserveIsAllOrNothing() {
+        // arrange
+        Course course = courseWithCapacity(5);
+        when(studentRepository.countEnrollmentsByCourseId(COURSE_ID)).thenReturn(2L);
+
+        // act
+        boolean tooMany = seatReservationService.tryReserve(course, 4);
+        boolean exact = seatReservationService.tryReserve(course, 3);
+
+        // assert
+        assertFalse(tooMany);
+        assertTrue(exact);
+        assertEquals(0, seatReservationService.availableSeats(course));
+    }
+
+    @Test
+    public void testReserveUpToGrantsRemainingSeats() {
+        // arrange
+        Course course = courseWithCapacity(5);
+        when(studentRepository.countEnrollmentsByCourseId(COURSE_ID)).thenReturn(2L);
+
+        // act
+        int granted = seatReservationService.reserveUpTo(course, 10);
+        int grantedWhenFull = seatReservationService.reserveUpTo(course, 1);
+
+        // assert
+        assertEquals(3, granted);
+        assertEquals(0, grantedWhenFull);
+    }
+
+    @Test
+    public void testRolledBackReservationGivesSeatBack() {
+        // arrange
+        Course course = courseWithCapacity(1);
+        when(studentRepository.countEnrollmentsByCourseId(COURSE_ID)).thenReturn(0L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // act
+        boolean reserved = seatReservationService.tryReserve(course);
+        int availableInsideTransaction = seatReservationService.availableSeats(course);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // assert
+        assertTrue(reserved);
+        assertEquals(0, availableInsideTransaction);
+        assertEquals(1, seatReservationService.availableSeats(course));
+    }
+
+    @Test
+    public void testReleaseFreesSeatOnlyAfterCommit() {
+        // arrange
+        Course course = courseWithCapacity(2);
+        when(studentRepository.countEnrollmentsByCourseId(COURSE_ID)).thenReturn(2L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // act
+        seatReservationService.release(course);
+        int availableInsideTransaction = seatReservationService.availableSeats(course);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // assert
+        assertEquals(0, availableInsideTransaction);
+        assertEquals(1, seatReservationService.availableSeats(course));
+    }
+
+    @Test
+    public void testUnneededSeatsOfAReservationAreFreedOnCommit() {
+        // arrange
+        Course course = courseWithCapacity(5);
+        when(studentRepository.countEnrollmentsByCourseId(COURSE_ID)).thenReturn(0L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // act
+        seatReservationService.tryReserve(course, 4);
+        seatReservationService.release(course, 3);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        // assert
+        assertEquals(4, seatReservationService.availableSeats(course));
+    }
+
+    @Test
+    public void testReconcileFreesLeakedSeats() {
+        // arrange
+        Course course = courseWithCapacity(2);
+        when(studentRepository.countEnrollmentsByCourseId(COURSE_ID)).thenReturn(2L, 1L);
+        seatReservationService.availableSeats(course);
+
+        // act
+        seatReservationService.reconcile();
+
+        // assert
+        assertEquals(1, seatReservationService.availableSeats(course));
+    }
+
+    @Test
+    public void testReconcileSkipsCourseWithSeatChangeInFlight() {
+        // arrange
+        Course course = courseWithCapacity(2);
+        when(studentRepository.countEnrollmentsByCourseId(COURSE_ID)).thenReturn(1L);
+        TransactionSynchronizationManager.initSynchronization();
+        seatReservationService.tryReserve(course);
+
+        // act
+        seatReservationService.reconcile();
+
+        // assert
+        assertEquals(0, seatReservationService.availableSeats(course));
+        verify(studentRepository, times(1)).countEnrollmentsByCourseId(COURSE_ID);
+    }
+
+    @Test
+    public void testReconcileKeepsCounterWhenSeatsChangeWhileCounting() {
+        // arrange
+        Course course = courseWithCapacity(2);
+        when(studentRepository.countEnrollmentsByCourseId(COURSE_ID))
+                .thenReturn(1L)
+                .thenAnswer(invocation -> {
+                    // A reservation and a release both commit while the recount runs; the count predates both
+                    seatReservationService.tryReserve(course);
+                    seatReservationService.release(course);
+                    return 0L;
+                });
+        seatReservationService.availableSeats(course);
+
+        // act
+        seatReservationService.reconcile();
+
+        // assert
+        assertEquals(1, seatReservationService.availableSeats(course));
+    }
+
+    @Test
+    public void testReconcileCountsOnThePrimary() {
+        // arrange
+        Course course = courseWithCapacity(2);
+        List<Boolean> countedOnPrimary = new ArrayList<>();
+        when(studentRepository.countEnrollmentsByCourseId(COURSE_ID)).thenAnswer(invocation -> {
+            countedOnPrimary.add(PrimaryReadContext.isActive());
+            return 1L;
+        });
+        seatReservationService.availableSeats(course);
+
+        // act
+        seatReservationService.reconcile();
+
+        // assert
+        assertEquals(List.of(true, true), countedOnPrimary);
+        assertFalse(PrimaryReadContext.isActive());
+    }
+
+    @Test
+    public void testConcurrentReservationsNeverOverbook() throws Exception {
+        // arrange
+        int capacity = 25;
+        int attempts = 500;
+        Course course = courseWithCapacity(capacity);
+        when(studentRepository.countEnrollmentsByCourseId(COURSE_ID)).thenReturn(0L);
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            tasks.add(() -> seatReservationService.tryReserve(course));
+        }
+
+        // act
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        int reserved = 0;
+        try {
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                if (result.get()) {
+                    reserved++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // assert
+        assertEquals(capacity, reserved);
+        assertEquals(0, seatReservationService.availableSeats(course));
+    }
+
+    private static Course courseWithCapacity(int capacity) {
+        Course course = new Course(COURSE_ID, COURSE_NAME_MATHEMATICS, CourseType.MAIN);
+        course.setCapacity(capacity);
+        return course;
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
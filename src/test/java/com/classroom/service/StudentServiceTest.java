@@ -10,6 +10,7 @@ import com.classroom.enumartion.CourseType;
 import com.classroom.exception.UnprocessableEntityException;
 import com.classroom.repository.CourseRepository;
 import com.classroom.repository.StudentRepository;
+import com.classroom.service.index.EnrollmentIndex;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -54,10 +55,16 @@ public class StudentServiceTest {
     private CourseRepository courseRepository;
     @Mock
     private StudentRepository studentRepository;
+    @Mock
+    private CounterService counterService;
+    @Mock
+    private EnrollmentIndex enrollmentIndex;
+    @Mock
+    private RosterVersionService rosterVersionService;
 
     @BeforeEach
     public void setUp() {
-        studentService = new StudentService(studentRepository, courseRepository);
+        studentService = new StudentService(studentRepository, courseRepository, counterService, new SeatReservationService(studentRepository), enrollmentIndex, rosterVersionService);
     }
 
     @Test
@@ -95,6 +102,7 @@ public class StudentServiceTest {
                 request.getStudentAge()
         );
         verify(studentRepository, times(1)).save(any(Student.class));
+        verify(counterService, times(1)).studentsCreated(1);
     }
 
     @Test
@@ -208,6 +216,7 @@ public class StudentServiceTest {
         // Assert
         verify(studentRepository, times(1)).findById(STUDENT_ID);
         verify(studentRepository, times(1)).delete(student);
+        verify(counterService, times(1)).studentDeleted();
     }
 
 
@@ -242,17 +251,11 @@ public class StudentServiceTest {
                 GROUP_NAME_1
         );
         Course course = new Course(COURSE_ID, COURSE_NAME_MATHEMATICS, CourseType.MAIN);
-        Student updatedStudent = new Student(
-                STUDENT_ID,
-                STUDENT_NAME_1,
-                22,
-                GROUP_NAME_1,
-                Set.of(course)
-        );
 
-        when(studentRepository.findById(STUDENT_ID)).thenReturn(Optional.of(savedStudent));
+        when(studentRepository.findByIdIncrementingVersion(STUDENT_ID)).thenReturn(Optional.of(savedStudent));
+        when(studentRepository.isEnrolledInCourse(STUDENT_ID, COURSE_NAME_MATHEMATICS)).thenReturn(false);
         when(courseRepository.findByName(COURSE_NAME_MATHEMATICS)).thenReturn(Optional.of(course));
-        when(studentRepository.save(any(Student.class))).thenReturn(updatedStudent);
+        when(courseRepository.findCoursesByStudentId(STUDENT_ID)).thenReturn(Set.of(course));
 
         // Act
         StudentResponseDTO response = studentService.enrollToCourse(request);
@@ -264,9 +267,10 @@ public class StudentServiceTest {
         assertEquals(GROUP_NAME_1, response.getStudentGroupName());
         assertEquals(COURSE_NAME_MATHEMATICS, response.getStudentCourses().iterator().next().getCourseName());
         assertEquals(CourseType.MAIN.name(), response.getStudentCourses().iterator().next().getCourseTypeName());
-        verify(studentRepository, times(1)).findById(STUDENT_ID);
+        verify(studentRepository, times(1)).findByIdIncrementingVersion(STUDENT_ID);
         verify(courseRepository, times(1)).findByName(COURSE_NAME_MATHEMATICS);
-        verify(studentRepository, times(1)).save(any(Student.class));
+        verify(studentRepository, times(1)).insertEnrollment(STUDENT_ID, COURSE_ID);
+        verify(studentRepository, never()).save(any(Student.class));
     }
 
     @Test
@@ -278,7 +282,7 @@ public class StudentServiceTest {
                 .courseType(CourseType.MAIN.name())
                 .build();
 
-        when(studentRepository.findById(STUDENT_ID)).thenReturn(Optional.empty());
+        when(studentRepository.findByIdIncrementingVersion(STUDENT_ID)).thenReturn(Optional.empty());
 
         // act
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
@@ -287,9 +291,41 @@ public class StudentServiceTest {
 
         // assert
         assertEquals(String.format("Student with ID %s does not exists", STUDENT_ID), exception.getMessage());
-        verify(studentRepository, times(1)).findById(STUDENT_ID);
+        verify(studentRepository, times(1)).findByIdIncrementingVersion(STUDENT_ID);
         verify(courseRepository, never()).findByName(COURSE_NAME_MATHEMATICS);
-        verify(studentRepository, never()).save(any(Student.class));
+        verify(studentRepository, never()).insertEnrollment(any(UUID.class), any(UUID.class));
+    }
+
+    @Test
+    public void testEnrollStudentCourseIsFull() {
+        // Arrange
+        EnrollStudentRequestDTO request = EnrollStudentRequestDTO.builder()
+                .studentId(STUDENT_ID.toString())
+                .courseName(COURSE_NAME_MATHEMATICS)
+                .courseType(CourseType.MAIN.name())
+                .build();
+        Student savedStudent = new Student(
+                STUDENT_ID,
+                STUDENT_NAME_1,
+                22,
+                GROUP_NAME_1
+        );
+        Course course = new Course(COURSE_ID, COURSE_NAME_MATHEMATICS, CourseType.MAIN);
+        course.setCapacity(30);
+
+        when(studentRepository.findByIdIncrementingVersion(STUDENT_ID)).thenReturn(Optional.of(savedStudent));
+        when(studentRepository.isEnrolledInCourse(STUDENT_ID, COURSE_NAME_MATHEMATICS)).thenReturn(false);
+        when(courseRepository.findByName(COURSE_NAME_MATHEMATICS)).thenReturn(Optional.of(course));
+        when(studentRepository.countEnrollmentsByCourseId(COURSE_ID)).thenReturn(30L);
+
+        // act
+        UnprocessableEntityException exception = assertThrows(UnprocessableEntityException.class, () -> {
+            studentService.enrollToCourse(request);
+        });
+
+        // assert
+        assertEquals(String.format("Course with name %s has no free seats", COURSE_NAME_MATHEMATICS), exception.getMessage());
+        verify(studentRepository, never()).insertEnrollment(any(UUID.class), any(UUID.class));
     }
 
     @Test
@@ -310,7 +346,8 @@ public class StudentServiceTest {
                 Set.of(course)
         );
 
-        when(studentRepository.findById(STUDENT_ID)).thenReturn(Optional.of(savedStudent));
+        when(studentRepository.findByIdIncrementingVersion(STUDENT_ID)).thenReturn(Optional.of(savedStudent));
+        when(studentRepository.isEnrolledInCourse(STUDENT_ID, COURSE_NAME_MATHEMATICS)).thenReturn(true);
 
         // act
         UnprocessableEntityException exception = assertThrows(UnprocessableEntityException.class, () -> {
@@ -319,9 +356,9 @@ public class StudentServiceTest {
 
         // assert
         assertEquals(String.format("Student with ID %s already enrolled for course with name: %s", STUDENT_ID, COURSE_NAME_MATHEMATICS), exception.getMessage());
-        verify(studentRepository, times(1)).findById(STUDENT_ID);
+        verify(studentRepository, times(1)).findByIdIncrementingVersion(STUDENT_ID);
         verify(courseRepository, never()).findByName(COURSE_NAME_MATHEMATICS);
-        verify(studentRepository, never()).save(any(Student.class));
+        verify(studentRepository, never()).insertEnrollment(any(UUID.class), any(UUID.class));
     }
 
     @Test
@@ -340,16 +377,11 @@ public class StudentServiceTest {
                 GROUP_NAME_1,
                 Set.of(course)
         );
-        Student updatedStudent = new Student(
-                STUDENT_ID,
-                STUDENT_NAME_1,
-                22,
-                GROUP_NAME_1
-        );
 
-        when(studentRepository.findById(STUDENT_ID)).thenReturn(Optional.of(savedStudent));
+        when(studentRepository.findByIdIncrementingVersion(STUDENT_ID)).thenReturn(Optional.of(savedStudent));
+        when(studentRepository.isEnrolledInCourse(STUDENT_ID, COURSE_NAME_MATHEMATICS)).thenReturn(true);
         when(courseRepository.findByName(COURSE_NAME_MATHEMATICS)).thenReturn(Optional.of(course));
-        when(studentRepository.save(any(Student.class))).thenReturn(updatedStudent);
+        when(courseRepository.findCoursesByStudentId(STUDENT_ID)).thenReturn(Set.of());
 
         // Act
         StudentResponseDTO response = studentService.removeStudentFromCourse(request);
@@ -360,9 +392,10 @@ public class StudentServiceTest {
         assertEquals(22, response.getStudentAge());
         assertEquals(GROUP_NAME_1, response.getStudentGroupName());
         assertTrue(response.getStudentCourses().isEmpty());
-        verify(studentRepository, times(1)).findById(STUDENT_ID);
+        verify(studentRepository, times(1)).findByIdIncrementingVersion(STUDENT_ID);
         verify(courseRepository, times(1)).findByName(COURSE_NAME_MATHEMATICS);
-        verify(studentRepository, times(1)).save(any(Student.class));
+        verify(studentRepository, times(1)).deleteEnrollment(STUDENT_ID, COURSE_ID);
+        verify(studentRepository, never()).save(any(Student.class));
     }
 
     @Test
@@ -373,7 +406,7 @@ public class StudentServiceTest {
                 .courseName(COURSE_NAME_MATHEMATICS)
                 .build();
 
-        when(studentRepository.findById(STUDENT_ID)).thenReturn(Optional.empty());
+        when(studentRepository.findByIdIncrementingVersion(STUDENT_ID)).thenReturn(Optional.empty());
 
         // act
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
@@ -382,9 +415,9 @@ public class StudentServiceTest {
 
         // assert
         assertEquals(String.format("Student with ID %s does not exists", STUDENT_ID), exception.getMessage());
-        verify(studentRepository, times(1)).findById(STUDENT_ID);
+        verify(studentRepository, times(1)).findByIdIncrementingVersion(STUDENT_ID);
         verify(courseRepository, never()).findByName(COURSE_NAME_MATHEMATICS);
-        verify(studentRepository, never()).save(any(Student.class));
+        verify(studentRepository, never()).deleteEnrollment(any(UUID.class), any(UUID.class));
     }
 
     @Test
@@ -402,7 +435,8 @@ public class StudentServiceTest {
                 GROUP_NAME_1
         );
 
-        when(studentRepository.findById(STUDENT_ID)).thenReturn(Optional.of(savedStudent));
+        when(studentRepository.findByIdIncrementingVersion(STUDENT_ID)).thenReturn(Optional.of(savedStudent));
+        when(studentRepository.isEnrolledInCourse(STUDENT_ID, COURSE_NAME_MATHEMATICS)).thenReturn(false);
 
         // Act
         UnprocessableEntityException exception = assertThrows(UnprocessableEntityException.class, () -> {
@@ -411,8 +445,8 @@ public class StudentServiceTest {
 
         // assert
         assertEquals(String.format("Student with ID %s is not enrolled for course with name: %s", STUDENT_ID, request.getCourseName()), exception.getMessage());
-        verify(studentRepository, times(1)).findById(STUDENT_ID);
+        verify(studentRepository, times(1)).findByIdIncrementingVersion(STUDENT_ID);
         verify(courseRepository, never()).findByName(COURSE_NAME_MATHEMATICS);
-        verify(studentRepository, never()).save(any(Student.class));
+        verify(studentRepository, never()).deleteEnrollment(any(UUID.class), any(UUID.class));
     }
 }
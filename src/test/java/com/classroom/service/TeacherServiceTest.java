@@ -10,6 +10,7 @@ import com.classroom.enumartion.CourseType;
 import com.classroom.exception.UnprocessableEntityException;
 import com.classroom.repository.CourseRepository;
 import com.classroom.repository.TeacherRepository;
+import com.classroom.service.index.EnrollmentIndex;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -51,10 +52,16 @@ public class TeacherServiceTest {
     private CourseRepository courseRepository;
     @Mock
     private TeacherRepository teacherRepository;
+    @Mock
+    private CounterService counterService;
+    @Mock
+    private EnrollmentIndex enrollmentIndex;
+    @Mock
+    private RosterVersionService rosterVersionService;
 
     @BeforeEach
     public void setUp() {
-        teacherService = new TeacherService(teacherRepository, courseRepository);
+        teacherService = new TeacherService(teacherRepository, courseRepository, counterService, enrollmentIndex, rosterVersionService);
     }
 
     @Test
@@ -92,6 +99,7 @@ public class TeacherServiceTest {
                 request.getTeacherAge()
         );
         verify(teacherRepository, times(1)).save(any(Teacher.class));
+        verify(counterService, times(1)).teachersCreated(1);
     }
 
     @Test
@@ -204,6 +212,7 @@ public class TeacherServiceTest {
         // Assert
         verify(teacherRepository, times(1)).findById(TEACHER_ID);
         verify(teacherRepository, times(1)).delete(Teacher);
+        verify(counterService, times(1)).teacherDeleted();
     }
 
 
@@ -238,17 +247,11 @@ public class TeacherServiceTest {
                 GROUP_NAME_1
         );
         Course course = new Course(COURSE_ID, COURSE_NAME_MATHEMATICS, CourseType.MAIN);
-        Teacher updatedTeacher = new Teacher(
-                TEACHER_ID,
-                TEACHER_NAME_1,
-                44,
-                GROUP_NAME_1,
-                Set.of(course)
-        );
 
-        when(teacherRepository.findById(TEACHER_ID)).thenReturn(Optional.of(savedTeacher));
+        when(teacherRepository.findByIdIncrementingVersion(TEACHER_ID)).thenReturn(Optional.of(savedTeacher));
+        when(teacherRepository.isEnrolledInCourse(TEACHER_ID, COURSE_NAME_MATHEMATICS)).thenReturn(false);
         when(courseRepository.findByName(COURSE_NAME_MATHEMATICS)).thenReturn(Optional.of(course));
-        when(teacherRepository.save(any(Teacher.class))).thenReturn(updatedTeacher);
+        when(courseRepository.findCoursesByTeacherId(TEACHER_ID)).thenReturn(Set.of(course));
 
         // Act
         TeacherResponseDTO response = teacherService.enrollToCourse(request);
@@ -260,9 +263,10 @@ public class TeacherServiceTest {
         assertEquals(GROUP_NAME_1, response.getTeacherGroupName());
         assertEquals(COURSE_NAME_MATHEMATICS, response.getTeacherCourses().iterator().next().getCourseName());
         assertEquals(CourseType.MAIN.name(), response.getTeacherCourses().iterator().next().getCourseTypeName());
-        verify(teacherRepository, times(1)).findById(TEACHER_ID);
+        verify(teacherRepository, times(1)).findByIdIncrementingVersion(TEACHER_ID);
         verify(courseRepository, times(1)).findByName(COURSE_NAME_MATHEMATICS);
-        verify(teacherRepository, times(1)).save(any(Teacher.class));
+        verify(teacherRepository, times(1)).insertEnrollment(TEACHER_ID, COURSE_ID);
+        verify(teacherRepository, never()).save(any(Teacher.class));
     }
 
     @Test
@@ -274,7 +278,7 @@ public class TeacherServiceTest {
                 .courseType(CourseType.MAIN.name())
                 .build();
 
-        when(teacherRepository.findById(TEACHER_ID)).thenReturn(Optional.empty());
+        when(teacherRepository.findByIdIncrementingVersion(TEACHER_ID)).thenReturn(Optional.empty());
 
         // act
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
@@ -283,9 +287,9 @@ public class TeacherServiceTest {
 
         // assert
         assertEquals(String.format("Teacher with ID %s does not exists", TEACHER_ID), exception.getMessage());
-        verify(teacherRepository, times(1)).findById(TEACHER_ID);
+        verify(teacherRepository, times(1)).findByIdIncrementingVersion(TEACHER_ID);
         verify(courseRepository, never()).findByName(COURSE_NAME_MATHEMATICS);
-        verify(teacherRepository, never()).save(any(Teacher.class));
+        verify(teacherRepository, never()).insertEnrollment(any(UUID.class), any(UUID.class));
     }
 
     @Test
@@ -306,7 +310,8 @@ public class TeacherServiceTest {
                 Set.of(course)
         );
 
-        when(teacherRepository.findById(TEACHER_ID)).thenReturn(Optional.of(savedTeacher));
+        when(teacherRepository.findByIdIncrementingVersion(TEACHER_ID)).thenReturn(Optional.of(savedTeacher));
+        when(teacherRepository.isEnrolledInCourse(TEACHER_ID, COURSE_NAME_MATHEMATICS)).thenReturn(true);
 
         // act
         UnprocessableEntityException exception = assertThrows(UnprocessableEntityException.class, () -> {
@@ -315,9 +320,9 @@ public class TeacherServiceTest {
 
         // assert
         assertEquals(String.format("Teacher with ID %s already enrolled for course with name: %s", TEACHER_ID, COURSE_NAME_MATHEMATICS), exception.getMessage());
-        verify(teacherRepository, times(1)).findById(TEACHER_ID);
+        verify(teacherRepository, times(1)).findByIdIncrementingVersion(TEACHER_ID);
         verify(courseRepository, never()).findByName(COURSE_NAME_MATHEMATICS);
-        verify(teacherRepository, never()).save(any(Teacher.class));
+        verify(teacherRepository, never()).insertEnrollment(any(UUID.class), any(UUID.class));
     }
 
     @Test
@@ -336,16 +341,11 @@ public class TeacherServiceTest {
                 GROUP_NAME_1,
                 Set.of(course)
         );
-        Teacher updatedTeacher = new Teacher(
-                TEACHER_ID,
-                TEACHER_NAME_1,
-                44,
-                GROUP_NAME_1
-        );
 
-        when(teacherRepository.findById(TEACHER_ID)).thenReturn(Optional.of(savedTeacher));
+        when(teacherRepository.findByIdIncrementingVersion(TEACHER_ID)).thenReturn(Optional.of(savedTeacher));
+        when(teacherRepository.isEnrolledInCourse(TEACHER_ID, COURSE_NAME_MATHEMATICS)).thenReturn(true);
         when(courseRepository.findByName(COURSE_NAME_MATHEMATICS)).thenReturn(Optional.of(course));
-        when(teacherRepository.save(any(Teacher.class))).thenReturn(updatedTeacher);
+        when(courseRepository.findCoursesByTeacherId(TEACHER_ID)).thenReturn(Set.of());
 
         // Act
         TeacherResponseDTO response = teacherService.removeTeacherFromCourse(request);
@@ -356,9 +356,10 @@ public class TeacherServiceTest {
         assertEquals(44, response.getTeacherAge());
         assertEquals(GROUP_NAME_1, response.getTeacherGroupName());
         assertTrue(response.getTeacherCourses().isEmpty());
-        verify(teacherRepository, times(1)).findById(TEACHER_ID);
+        verify(teacherRepository, times(1)).findByIdIncrementingVersion(TEACHER_ID);
         verify(courseRepository, times(1)).findByName(COURSE_NAME_MATHEMATICS);
-        verify(teacherRepository, times(1)).save(any(Teacher.class));
+        verify(teacherRepository, times(1)).deleteEnrollment(TEACHER_ID, COURSE_ID);
+        verify(teacherRepository, never()).save(any(Teacher.class));
     }
 
     @Test
@@ -369,7 +370,7 @@ public class TeacherServiceTest {
                 .courseName(COURSE_NAME_MATHEMATICS)
                 .build();
 
-        when(teacherRepository.findById(TEACHER_ID)).thenReturn(Optional.empty());
+        when(teacherRepository.findByIdIncrementingVersion(TEACHER_ID)).thenReturn(Optional.empty());
 
         // act
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
@@ -378,9 +379,9 @@ public class TeacherServiceTest {
 
         // assert
         assertEquals(String.format("Teacher with ID %s does not exists", TEACHER_ID), exception.getMessage());
-        verify(teacherRepository, times(1)).findById(TEACHER_ID);
+        verify(teacherRepository, times(1)).findByIdIncrementingVersion(TEACHER_ID);
         verify(courseRepository, never()).findByName(COURSE_NAME_MATHEMATICS);
-        verify(teacherRepository, never()).save(any(Teacher.class));
+        verify(teacherRepository, never()).deleteEnrollment(any(UUID.class), any(UUID.class));
     }
 
     @Test
@@ -398,7 +399,8 @@ public class TeacherServiceTest {
                 GROUP_NAME_1
         );
 
-        when(teacherRepository.findById(TEACHER_ID)).thenReturn(Optional.of(savedTeacher));
+        when(teacherRepository.findByIdIncrementingVersion(TEACHER_ID)).thenReturn(Optional.of(savedTeacher));
+        when(teacherRepository.isEnrolledInCourse(TEACHER_ID, COURSE_NAME_MATHEMATICS)).thenReturn(false);
 
         // Act
         UnprocessableEntityException exception = assertThrows(UnprocessableEntityException.class, () -> {
@@ -407,8 +409,8 @@ public class TeacherServiceTest {
 
         // assert
         assertEquals(String.format("Teacher with ID %s is not enrolled for course with name: %s", TEACHER_ID, request.getCourseName()), exception.getMessage());
-        verify(teacherRepository, times(1)).findById(TEACHER_ID);
+        verify(teacherRepository, times(1)).findByIdIncrementingVersion(TEACHER_ID);
         verify(courseRepository, never()).findByName(COURSE_NAME_MATHEMATICS);
-        verify(teacherRepository, never()).save(any(Teacher.class));
+        verify(teacherRepository, never()).deleteEnrollment(any(UUID.class), any(UUID.class));
     }
 }
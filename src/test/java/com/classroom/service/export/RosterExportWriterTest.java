@@ -0,0 +1,117 @@
+package com.classroom.service.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RosterExportWriterTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testEveryEncodingSurvivesARoundTrip() throws IOException {
+        // arrange
+        Path file = directory.resolve("roster.clrx");
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        String longName = "x".repeat(100_000);
+
+        // act
+        try (RosterExportWriter writer = new RosterExportWriter(file, false, 2)) {
+            writer.beginTable("student", 2, 4);
+            writer.writeUuids("student_id", new long[]{first.getMostSignificantBits(), second.getMostSignificantBits()},
+                    new long[]{first.getLeastSignificantBits(), second.getLeastSignificantBits()});
+            writer.writeStrings("name", Arrays.asList("Mariya", longName));
+            writer.writeInts("age", new int[]{20, Integer.MIN_VALUE});
+            writer.writeDictionary("student_group", Arrays.asList("A1", null));
+            writer.beginTable("student_course", 3, 2);
+            writer.writeDeltas("student_row", new int[]{0, 1, 0});
+            writer.writeVarInts("course_row", new int[]{0, 300, 70_000});
+        }
+        Map<String, RosterExportReader.Table> tables = RosterExportReader.read(file);
+
+        // assert
+        assertEquals(List.of("student", "student_course"), List.copyOf(tables.keySet()));
+        RosterExportReader.Table students = tables.get("student");
+        assertEquals(2, students.rowCount());
+        assertArrayEquals(new UUID[]{first, second}, students.uuids("student_id"));
+        assertArrayEquals(new String[]{"Mariya", longName}, students.strings("name"));
+        assertArrayEquals(new int[]{20, Integer.MIN_VALUE}, students.ints("age"));
+        assertArrayEquals(new String[]{"A1", null}, students.strings("student_group"));
+        RosterExportReader.Table enrollments = tables.get("student_course");
+        assertArrayEquals(new int[]{0, 1, 0}, enrollments.ints("student_row"));
+        assertArrayEquals(new int[]{0, 300, 70_000}, enrollments.ints("course_row"));
+    }
+
+    @Test
+    void testCompressedExportIsSmallerAndReadsTheSame() throws IOException {
+        // arrange
+        Path plain = directory.resolve("plain.clrx");
+        Path compressed = directory.resolve("compressed.clrx");
+        List<String> names = Collections.nCopies(10_000, "Student");
+
+        // act
+        for (Path file : List.of(plain, compressed)) {
+            try (RosterExportWriter writer = new RosterExportWriter(file, file == compressed, 1)) {
+                writer.beginTable("student", names.size(), 1);
+                writer.writeStrings("name", names);
+            }
+        }
+
+        // assert
+        assertTrue(Files.size(compressed) < Files.size(plain) / 10);
+        assertArrayEquals(RosterExportReader.read(plain).get("student").strings("name"),
+                RosterExportReader.read(compressed).get("student").strings("name"));
+    }
+
+    @Test
+    void testMissingColumnsAreRejected() throws IOException {
+        // arrange
+        Path file = directory.resolve("roster.clrx");
+
+        // act & assert
+        assertThrows(IllegalStateException.class, () -> {
+            try (RosterExportWriter writer = new RosterExportWriter(file, false, 1)) {
+                writer.beginTable("student", 1, 2);
+                writer.writeInts("age", new int[]{20});
+            }
+        });
+    }
+
+    @Test
+    void testColumnsMustMatchTheRowCount() throws IOException {
+        // arrange
+        Path file = directory.resolve("roster.clrx");
+
+        // act & assert
+        try (RosterExportWriter writer = new RosterExportWriter(file, false, 1)) {
+            writer.beginTable("student", 2, 1);
+            assertThrows(IllegalArgumentException.class, () -> writer.writeInts("age", new int[]{20}));
+            writer.writeInts("age", new int[]{20, 21});
+        }
+    }
+
+    @Test
+    void testOtherFilesAreNotRead() throws IOException {
+        // arrange
+        Path file = directory.resolve("roster.csv");
+        Files.writeString(file, "student_id,name\n");
+
+        // act & assert
+        assertThrows(IOException.class, () -> RosterExportReader.read(file));
+    }
+}
@@ -0,0 +1,178 @@
+package com.classroom.service.index;
+
+import com.classroom.dto.report.StudentAndTeacherReportResponseDTO;
+import com.classroom.dto.student.BulkEnrollStudentsRequestDTO;
+import com.classroom.dto.student.CreateStudentRequestDTO;
+import com.classroom.dto.student.EnrollStudentRequestDTO;
+import com.classroom.dto.student.LeaveStudentCourseRequestDTO;
+import com.classroom.dto.student.StudentResponseDTO;
+import com.classroom.dto.teacher.CreateTeacherRequestDTO;
+import com.classroom.dto.teacher.EnrollTeacherRequestDTO;
+import com.classroom.dto.teacher.TeacherResponseDTO;
+import com.classroom.entity.Course;
+import com.classroom.enumartion.CourseType;
+import com.classroom.repository.CourseRepository;
+import com.classroom.service.EnrollmentService;
+import com.classroom.service.ReportService;
+import com.classroom.service.StudentService;
+import com.classroom.service.TeacherService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives enrollments through the services with the index enabled and checks the reports answered from it.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "classroom.index.enrollment.enabled=true")
+public class EnrollmentIndexReportTest {
+
+    private static final String COURSE_NAME_MATHEMATICS = "Indexed Mathematics";
+    private static final String GROUP_NAME_1 = "X1";
+    private static final String GROUP_NAME_2 = "X2";
+
+    @Autowired
+    private EnrollmentIndex enrollmentIndex;
+    @Autowired
+    private ReportService reportService;
+    @Autowired
+    private StudentService studentService;
+    @Autowired
+    private TeacherService teacherService;
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private final List<StudentResponseDTO> students = new ArrayList<>();
+    private TeacherResponseDTO teacher;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        course = courseRepository.save(new Course(COURSE_NAME_MATHEMATICS, CourseType.MAIN));
+        students.add(createStudent("Mariya", 20, GROUP_NAME_1));
+        students.add(createStudent("Ivan", 22, GROUP_NAME_1));
+        students.add(createStudent("Georgi", 24, GROUP_NAME_2));
+        teacher = teacherService.createTeacher(CreateTeacherRequestDTO.builder()
+                .teacherName("Rumyana")
+                .teacherAge(29)
+                .teacherGroupName(GROUP_NAME_1)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        students.forEach(student -> studentService.deleteStudent(student.getStudentId()));
+        teacherService.deleteTeacher(teacher.getTeacherId());
+        courseRepository.deleteById(course.getId());
+    }
+
+    @Test
+    void reportsFollowEnrollmentChanges() {
+        // arrange
+        studentService.enrollToCourse(EnrollStudentRequestDTO.builder()
+                .studentId(students.get(0).getStudentId())
+                .courseName(COURSE_NAME_MATHEMATICS)
+                .courseType(CourseType.MAIN.name())
+                .build());
+        enrollmentService.enrollStudentsToCourse(BulkEnrollStudentsRequestDTO.builder()
+                .courseName(COURSE_NAME_MATHEMATICS)
+                .groupName(GROUP_NAME_2)
+                .build());
+        teacherService.enrollToCourse(EnrollTeacherRequestDTO.builder()
+                .teacherId(teacher.getTeacherId())
+                .courseName(COURSE_NAME_MATHEMATICS)
+                .courseType(CourseType.MAIN.name())
+                .build());
+
+        // act
+        Set<String> inCourse = names(reportService.getStudentsByCourse(COURSE_NAME_MATHEMATICS));
+        StudentAndTeacherReportResponseDTO courseAndGroup =
+                reportService.getStudentsAndTeachersByCourseAndGroup(COURSE_NAME_MATHEMATICS, GROUP_NAME_1);
+        studentService.removeStudentFromCourse(LeaveStudentCourseRequestDTO.builder()
+                .studentId(students.get(0).getStudentId())
+                .courseName(COURSE_NAME_MATHEMATICS)
+                .build());
+
+        // assert
+        assertTrue(enrollmentIndex.isAvailable());
+        assertEquals(Set.of("Mariya", "Georgi"), inCourse);
+        assertEquals(Set.of("Mariya"), names(courseAndGroup.getStudents()));
+        assertEquals(1, courseAndGroup.getTeachers().size());
+        assertEquals(COURSE_NAME_MATHEMATICS,
+                courseAndGroup.getStudents().iterator().next().getStudentCourses().iterator().next().getCourseName());
+        assertEquals(1, reportService.countStudentsByCourse(COURSE_NAME_MATHEMATICS));
+        assertEquals(2, reportService.countStudentsByGroup(GROUP_NAME_1));
+        assertEquals(Set.of("Mariya", "Ivan"), names(reportService.getStudentsByGroup(GROUP_NAME_1)));
+    }
+
+    @Test
+    void rebuildMatchesIncrementalUpdates() {
+        // arrange
+        enrollmentService.enrollStudentsToCourse(BulkEnrollStudentsRequestDTO.builder()
+                .courseName(COURSE_NAME_MATHEMATICS)
+                .groupName(GROUP_NAME_1)
+                .build());
+        long incremental = reportService.countStudentsByCourse(COURSE_NAME_MATHEMATICS);
+
+        // act
+        enrollmentIndex.rebuild();
+
+        // assert
+        assertEquals(2, incremental);
+        assertEquals(incremental, reportService.countStudentsByCourse(COURSE_NAME_MATHEMATICS));
+    }
+
+    @Test
+    void ageRangeReportsFollowAgeChanges() {
+        // arrange
+        enrollmentService.enrollStudentsToCourse(BulkEnrollStudentsRequestDTO.builder()
+                .courseName(COURSE_NAME_MATHEMATICS)
+                .groupName(GROUP_NAME_1)
+                .build());
+        enrollmentService.enrollStudentsToCourse(BulkEnrollStudentsRequestDTO.builder()
+                .courseName(COURSE_NAME_MATHEMATICS)
+                .groupName(GROUP_NAME_2)
+                .build());
+
+        // act
+        Set<String> olderThan20 = names(reportService.getStudentsByAgeRangeAndCourse(21, null, COURSE_NAME_MATHEMATICS, null));
+        Set<String> olderThan20InGroup = names(reportService.getStudentsByAgeRangeAndCourse(21, 30, COURSE_NAME_MATHEMATICS, GROUP_NAME_1));
+        studentService.updateStudent(students.get(2).getStudentId(), CreateStudentRequestDTO.builder()
+                .studentName("Georgi")
+                .studentAge(19)
+                .studentGroupName(GROUP_NAME_2)
+                .build());
+        Set<String> olderThan20AfterUpdate = names(reportService.getStudentsByAgeRangeAndCourse(21, null, COURSE_NAME_MATHEMATICS, null));
+
+        // assert
+        assertEquals(Set.of("Ivan", "Georgi"), olderThan20);
+        assertEquals(Set.of("Ivan"), olderThan20InGroup);
+        assertEquals(Set.of("Ivan"), olderThan20AfterUpdate);
+    }
+
+    private StudentResponseDTO createStudent(String name, int age, String group) {
+        return studentService.createStudent(CreateStudentRequestDTO.builder()
+                .studentName(name)
+                .studentAge(age)
+                .studentGroupName(group)
+                .build());
+    }
+
+    private static Set<String> names(Set<StudentResponseDTO> students) {
+        return students.stream().map(StudentResponseDTO::getStudentName).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,224 @@
+package com.classroom.service.index;
+
+import com.classroom.entity.Student;
+import com.classroom.repository.EnrollmentIndexRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class EnrollmentIndexTest {
+
+    private static final UUID COURSE_MATHEMATICS = UUID.randomUUID();
+    private static final UUID COURSE_HISTORY = UUID.randomUUID();
+    private static final UUID STUDENT_1 = UUID.randomUUID();
+    private static final UUID STUDENT_2 = UUID.randomUUID();
+    private static final UUID STUDENT_3 = UUID.randomUUID();
+    private static final UUID TEACHER_1 = UUID.randomUUID();
+    private static final String GROUP_NAME_1 = "A1";
+    private static final String GROUP_NAME_2 = "A2";
+
+    @Mock
+    private EnrollmentIndexRepository enrollmentIndexRepository;
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testQueriesAreAnsweredFromLoadedRows() {
+        // arrange
+        EnrollmentIndex enrollmentIndex = loadedIndex(DataSize.ofMegabytes(1));
+
+        // act
+        List<UUID> inMathematics = enrollmentIndex.findStudentsInCourse(COURSE_MATHEMATICS).orElseThrow();
+        List<UUID> inGroup = enrollmentIndex.findStudentsInGroup(GROUP_NAME_1).orElseThrow();
+        List<UUID> inBoth = enrollmentIndex.findStudentsInCourseAndGroup(COURSE_MATHEMATICS, GROUP_NAME_1).orElseThrow();
+        List<UUID> teachers = enrollmentIndex.findTeachersInCourseAndGroup(COURSE_MATHEMATICS, GROUP_NAME_1).orElseThrow();
+
+        // assert
+        assertEquals(Set.of(STUDENT_1, STUDENT_3), Set.copyOf(inMathematics));
+        assertEquals(Set.of(STUDENT_1, STUDENT_2), Set.copyOf(inGroup));
+        assertEquals(List.of(STUDENT_1), inBoth);
+        assertEquals(List.of(TEACHER_1), teachers);
+        assertEquals(1, enrollmentIndex.countStudentsInCourseAndGroup(COURSE_MATHEMATICS, GROUP_NAME_1).getAsLong());
+        assertEquals(0, enrollmentIndex.countStudentsInCourse(UUID.randomUUID()).getAsLong());
+    }
+
+    @Test
+    public void testChangesApplyOnlyAfterCommit() {
+        // arrange
+        EnrollmentIndex enrollmentIndex = loadedIndex(DataSize.ofMegabytes(1));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // act
+        enrollmentIndex.studentEnrolled(STUDENT_2, COURSE_MATHEMATICS);
+        enrollmentIndex.studentLeft(STUDENT_1, COURSE_MATHEMATICS);
+        long beforeCommit = enrollmentIndex.countStudentsInCourse(COURSE_MATHEMATICS).getAsLong();
+        commit();
+
+        // assert
+        assertEquals(2, beforeCommit);
+        assertEquals(Set.of(STUDENT_2, STUDENT_3), Set.copyOf(enrollmentIndex.findStudentsInCourse(COURSE_MATHEMATICS).orElseThrow()));
+    }
+
+    @Test
+    public void testCreateMoveAndDeleteStudents() {
+        // arrange
+        EnrollmentIndex enrollmentIndex = loadedIndex(DataSize.ofMegabytes(1));
+        UUID newStudentId = UUID.randomUUID();
+
+        // act
+        enrollmentIndex.studentsCreated(List.of(new Student(newStudentId, "Petar", 21, GROUP_NAME_2)));
+        enrollmentIndex.studentUpdated(STUDENT_1, GROUP_NAME_2, 20);
+        enrollmentIndex.studentsEnrolled(List.of(newStudentId, STUDENT_2), COURSE_HISTORY);
+        enrollmentIndex.studentDeleted(STUDENT_3);
+
+        // assert
+        assertEquals(Set.of(STUDENT_1, newStudentId),
+                Set.copyOf(enrollmentIndex.findStudentsInGroup(GROUP_NAME_2).orElseThrow()));
+        assertEquals(List.of(STUDENT_2), enrollmentIndex.findStudentsInGroup(GROUP_NAME_1).orElseThrow());
+        assertEquals(List.of(STUDENT_1), enrollmentIndex.findStudentsInCourse(COURSE_MATHEMATICS).orElseThrow());
+        assertEquals(2, enrollmentIndex.countStudentsInCourse(COURSE_HISTORY).getAsLong());
+    }
+
+    @Test
+    public void testAgeRangeQueriesFollowAgeAndEnrollmentChanges() {
+        // arrange
+        EnrollmentIndex enrollmentIndex = loadedIndex(DataSize.ofMegabytes(1));
+
+        // act
+        List<UUID> youngBefore = enrollmentIndex.findStudentsInCourseByAge(COURSE_MATHEMATICS, 18, 25).orElseThrow();
+        List<UUID> allBefore = enrollmentIndex.findStudentsInCourseByAge(COURSE_MATHEMATICS, 20, 30).orElseThrow();
+        List<UUID> inGroup = enrollmentIndex.findStudentsInCourseAndGroupByAge(COURSE_MATHEMATICS, GROUP_NAME_2, 0, Integer.MAX_VALUE).orElseThrow();
+        enrollmentIndex.studentUpdated(STUDENT_3, GROUP_NAME_2, 22);
+        enrollmentIndex.studentEnrolled(STUDENT_2, COURSE_MATHEMATICS);
+        List<UUID> youngAfter = enrollmentIndex.findStudentsInCourseByAge(COURSE_MATHEMATICS, 18, 25).orElseThrow();
+        List<UUID> exactly25 = enrollmentIndex.findStudentsInCourseByAge(COURSE_MATHEMATICS, 25, 25).orElseThrow();
+
+        // assert
+        assertEquals(List.of(STUDENT_1), youngBefore);
+        assertEquals(Set.of(STUDENT_1, STUDENT_3), Set.copyOf(allBefore));
+        assertEquals(List.of(STUDENT_3), inGroup);
+        assertEquals(Set.of(STUDENT_1, STUDENT_2, STUDENT_3), Set.copyOf(youngAfter));
+        assertEquals(List.of(STUDENT_2), exactly25);
+    }
+
+    @Test
+    public void testIndexOverMemoryBudgetIsNotUsed() {
+        // arrange
+        EnrollmentIndex enrollmentIndex = loadedIndex(DataSize.ofBytes(64));
+
+        // act
+        boolean available = enrollmentIndex.isAvailable();
+
+        // assert
+        assertFalse(available);
+        assertTrue(enrollmentIndex.findStudentsInCourse(COURSE_MATHEMATICS).isEmpty());
+        assertTrue(enrollmentIndex.countStudentsInGroup(GROUP_NAME_1).isEmpty());
+    }
+
+    @Test
+    public void testIndexGrowingOverMemoryBudgetIsDropped() {
+        // arrange
+        long loadedBytes = loadedIndex(DataSize.ofMegabytes(1)).estimatedBytes().getAsLong();
+        EnrollmentIndex enrollmentIndex = loadedIndex(DataSize.ofBytes(loadedBytes + 50));
+        List<Student> newStudents = IntStream.range(0, 10)
+                .mapToObj(i -> new Student(UUID.randomUUID(), "Student " + i, 21, GROUP_NAME_2))
+                .toList();
+
+        // act
+        boolean availableBefore = enrollmentIndex.isAvailable();
+        enrollmentIndex.studentsCreated(newStudents);
+
+        // assert
+        assertTrue(availableBefore);
+        assertFalse(enrollmentIndex.isAvailable());
+        assertTrue(enrollmentIndex.findStudentsInGroup(GROUP_NAME_2).isEmpty());
+    }
+
+    @Test
+    public void testDisabledIndexNeverLoads() {
+        // arrange
+        EnrollmentIndex enrollmentIndex = new EnrollmentIndex(enrollmentIndexRepository, false, DataSize.ofMegabytes(1));
+
+        // act
+        enrollmentIndex.initialize();
+        enrollmentIndex.studentEnrolled(STUDENT_1, COURSE_MATHEMATICS);
+
+        // assert
+        assertFalse(enrollmentIndex.isAvailable());
+        verifyNoInteractions(enrollmentIndexRepository);
+    }
+
+    private EnrollmentIndex loadedIndex(DataSize maxMemory) {
+        doAnswer(rows(STUDENT_1, GROUP_NAME_1, STUDENT_2, GROUP_NAME_1, STUDENT_3, GROUP_NAME_2))
+                .when(enrollmentIndexRepository).forEachStudentGroup(any());
+        doAnswer(ages(STUDENT_1, 20, STUDENT_2, 25, STUDENT_3, 30)).when(enrollmentIndexRepository).forEachStudentAge(any());
+        doAnswer(rows(STUDENT_1, COURSE_MATHEMATICS, STUDENT_3, COURSE_MATHEMATICS, STUDENT_2, COURSE_HISTORY))
+                .when(enrollmentIndexRepository).forEachStudentCourse(any());
+        doAnswer(rows(TEACHER_1, GROUP_NAME_1)).when(enrollmentIndexRepository).forEachTeacherGroup(any());
+        doAnswer(rows(TEACHER_1, COURSE_MATHEMATICS)).when(enrollmentIndexRepository).forEachTeacherCourse(any());
+
+        EnrollmentIndex enrollmentIndex = new EnrollmentIndex(enrollmentIndexRepository, true, maxMemory);
+        enrollmentIndex.initialize();
+        return enrollmentIndex;
+    }
+
+    /**
+     * Feeds the given (person, value) pairs to the row callback passed to the repository.
+     */
+    @SuppressWarnings("unchecked")
+    private static Answer<Void> rows(Object... pairs) {
+        return invocation -> {
+            BiConsumer<Object, Object> callback = invocation.getArgument(0);
+            for (int i = 0; i < pairs.length; i += 2) {
+                callback.accept(pairs[i], pairs[i + 1]);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Feeds the given (person, age) pairs to the age callback passed to the repository.
+     */
+    @SuppressWarnings("unchecked")
+    private static Answer<Void> ages(Object... pairs) {
+        return invocation -> {
+            ObjIntConsumer<Object> callback = invocation.getArgument(0);
+            for (int i = 0; i < pairs.length; i += 2) {
+                callback.accept(pairs[i], (Integer) pairs[i + 1]);
+            }
+            return null;
+        };
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+}
@@ -0,0 +1,44 @@
+package com.classroom.service.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PersonIndexTest {
+
+    private static final UUID COURSE_MATHEMATICS = UUID.randomUUID();
+    private static final UUID COURSE_HISTORY = UUID.randomUUID();
+    private static final String GROUP_NAME_1 = "A1";
+    private static final String GROUP_NAME_2 = "A2";
+
+    @Test
+    public void testRunningByteTotalMatchesRecount() {
+        // arrange
+        PersonIndex index = new PersonIndex();
+        List<UUID> people = IntStream.range(0, 500).mapToObj(i -> UUID.randomUUID()).toList();
+
+        // act
+        for (int i = 0; i < people.size(); i++) {
+            index.addToGroup(people.get(i), i % 2 == 0 ? GROUP_NAME_1 : GROUP_NAME_2);
+            index.setAge(people.get(i), 18 + i % 10);
+        }
+        index.enrollAll(people, COURSE_MATHEMATICS);
+        index.enroll(people.get(0), COURSE_HISTORY);
+        index.courseInAgeRange(COURSE_MATHEMATICS, 20, 25);
+        index.courseInAgeRange(COURSE_HISTORY, 0, Integer.MAX_VALUE);
+        people.subList(0, 200).forEach(person -> index.leave(person, COURSE_MATHEMATICS));
+        index.addToGroup(people.get(1), GROUP_NAME_1);
+        index.remove(people.get(0));
+        index.courseInAgeRange(COURSE_MATHEMATICS, 0, 30);
+        long running = index.estimatedBytes();
+
+        // assert
+        assertTrue(running > 0);
+        assertEquals(index.recountBytes(), running);
+    }
+}
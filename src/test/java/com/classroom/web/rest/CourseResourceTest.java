@@ -1,5 +1,6 @@
 package com.classroom.web.rest;
 
+import com.classroom.dto.course.CourseCacheStatisticsResponseDTO;
 import com.classroom.dto.course.CourseResponseDTO;
 import com.classroom.dto.course.CreateCourseRequestDTO;
 import com.classroom.entity.Course;
@@ -13,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
@@ -23,7 +25,9 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -91,6 +95,25 @@ public class CourseResourceTest {
         assertEquals(COURSE_NAME_HISTORY, course.getCourseName());
     }
 
+    @Test
+    void testGetCourseCacheStatistics() throws Exception {
+        // arrange
+
+        // act
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.get("/api/v1/courses/cache/statistics"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // assert
+        CourseCacheStatisticsResponseDTO statistics = objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<CourseCacheStatisticsResponseDTO>() {
+                });
+
+        assertNotNull(statistics);
+    }
+
     @Test
     void testGetCourseByNameReturnsNotFound() throws Exception {
         // arrange
@@ -102,6 +125,24 @@ public class CourseResourceTest {
         // assert
     }
 
+    @Test
+    void testConditionalGetOfUnknownCourseIsNotFoundWithoutTag() throws Exception {
+        // arrange
+        String catalog = mockMvc.perform(get("/api/v1/courses"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(catalog);
+
+        // act & assert
+        mockMvc.perform(get("/api/v1/courses/course/{courseName}", "Physics")
+                        .header(HttpHeaders.IF_NONE_MATCH, catalog))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mockMvc.perform(get("/api/v1/courses/course/{courseName}", COURSE_NAME_MATHEMATICS)
+                        .header(HttpHeaders.IF_NONE_MATCH, catalog))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     void createCourseSuccess() throws Exception {
         // arrange
@@ -127,6 +168,48 @@ public class CourseResourceTest {
         assertEquals(createCourseRequest.getCourseTypeName(), course.getCourseTypeName());
     }
 
+    @Test
+    void createCourseWithCapacity() throws Exception {
+        // arrange
+        CreateCourseRequestDTO createCourseRequest = CreateCourseRequestDTO.builder()
+                .courseName("Physics")
+                .courseTypeName("MAIN")
+                .capacity(30)
+                .build();
+        // act
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.post("/api/v1/courses")
+                                .content(objectMapper.writeValueAsString(createCourseRequest))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        // assert
+        CourseResponseDTO course = objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<CourseResponseDTO>() {
+                });
+
+        assertEquals(30, course.getCapacity());
+    }
+
+    @Test
+    void createCourseWithNonPositiveCapacity() throws Exception {
+        // arrange
+        CreateCourseRequestDTO createCourseRequest = CreateCourseRequestDTO.builder()
+                .courseName("Physics")
+                .courseTypeName("MAIN")
+                .capacity(0)
+                .build();
+        // act
+        mockMvc.perform(
+                        MockMvcRequestBuilders.post("/api/v1/courses")
+                                .content(objectMapper.writeValueAsString(createCourseRequest))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnprocessableEntity());
+        // assert
+    }
+
     @Test
     void createCourseAlreadyExists() throws Exception {
         // arrange
@@ -0,0 +1,190 @@
+package com.classroom.web.rest;
+
+import com.classroom.dto.export.ExportResponseDTO;
+import com.classroom.entity.Course;
+import com.classroom.entity.Student;
+import com.classroom.entity.Teacher;
+import com.classroom.enumartion.CourseType;
+import com.classroom.repository.CourseRepository;
+import com.classroom.repository.StudentRepository;
+import com.classroom.repository.TeacherRepository;
+import com.classroom.service.export.RosterExportReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The export reads in a transaction of its own, so the test data is committed rather than rolled back and removed
+ * after each test.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+public class ExportResourceTest {
+
+    private static final String STUDENT_NAME_1 = "Mariya";
+    private static final String STUDENT_NAME_2 = "Ivan";
+    private static final String TEACHER_NAME = "Petrov";
+    private static final String COURSE_NAME_MATHEMATICS = "Mathematics";
+    private static final String COURSE_NAME_HISTORY = "History";
+    private static final String GROUP_NAME_1 = "A1";
+    private static final String GROUP_NAME_2 = "A2";
+
+    @TempDir
+    private static Path exportDirectory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void exportProperties(DynamicPropertyRegistry registry) {
+        registry.add("classroom.export.dir", exportDirectory::toString);
+        registry.add("classroom.export.retain", () -> 2);
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        deleteTestData();
+        transactionTemplate.executeWithoutResult(status -> setUpTestData());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        deleteTestData();
+    }
+
+    @Test
+    void testLatestExportIsNotFoundBeforeTheFirstExport() throws Exception {
+        // arrange
+
+        // act & assert
+        mockMvc.perform(get("/api/v1/exports/latest"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testExportHoldsAllTablesWithEnrollmentsByRowPosition() throws Exception {
+        // arrange
+        MvcResult created = mockMvc.perform(post("/api/v1/exports"))
+                .andExpect(status().isOk())
+                .andReturn();
+        ExportResponseDTO export = objectMapper.readValue(created.getResponse().getContentAsString(), ExportResponseDTO.class);
+
+        // act
+        MvcResult downloaded = mockMvc.perform(get("/api/v1/exports/latest"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // assert
+        assertEquals(2, export.getStudents());
+        assertEquals(1, export.getTeachers());
+        assertEquals(2, export.getCourses());
+        assertEquals(3, export.getStudentEnrollments());
+        assertEquals(2, export.getTeacherEnrollments());
+        assertTrue(export.isCompressed());
+        assertTrue(downloaded.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION).contains(export.getFileName()));
+        byte[] body = downloaded.getResponse().getContentAsByteArray();
+        assertEquals(export.getSizeBytes(), body.length);
+
+        Path file = Files.write(exportDirectory.resolve("downloaded.bin"), body);
+        Map<String, RosterExportReader.Table> tables = RosterExportReader.read(file);
+        Files.delete(file);
+        assertEquals(Set.of("course", "student", "teacher", "student_course", "teacher_course"), tables.keySet());
+        RosterExportReader.Table courses = tables.get("course");
+        RosterExportReader.Table students = tables.get("student");
+        RosterExportReader.Table studentCourses = tables.get("student_course");
+        Map<String, Set<String>> coursesByStudent = new HashMap<>();
+        for (int row = 0; row < studentCourses.rowCount(); row++) {
+            String student = students.strings("name")[studentCourses.ints("student_row")[row]];
+            String course = courses.strings("name")[studentCourses.ints("course_row")[row]];
+            coursesByStudent.computeIfAbsent(student, name -> new HashSet<>()).add(course);
+        }
+        assertEquals(Map.of(STUDENT_NAME_1, Set.of(COURSE_NAME_MATHEMATICS, COURSE_NAME_HISTORY),
+                STUDENT_NAME_2, Set.of(COURSE_NAME_HISTORY)), coursesByStudent);
+        assertEquals(Set.of(GROUP_NAME_1, GROUP_NAME_2), Set.of(students.strings("student_group")));
+        assertEquals(Set.of(20, 22), Set.of(students.ints("age")[0], students.ints("age")[1]));
+        assertEquals(Set.of(CourseType.MAIN.name(), CourseType.SECONDARY.name()), Set.of(courses.strings("type")));
+        assertEquals(Integer.MIN_VALUE, courses.ints("capacity")[0]);
+    }
+
+    @Test
+    void testOnlyTheNewestExportsAreKept() throws Exception {
+        // arrange
+
+        // act
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/v1/exports"))
+                    .andExpect(status().isOk());
+            Thread.sleep(2);
+        }
+
+        // assert
+        try (Stream<Path> files = Files.list(exportDirectory)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    private void deleteTestData() throws IOException {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+        courseRepository.deleteAll();
+        try (Stream<Path> files = Files.list(exportDirectory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private void setUpTestData() {
+        // Create Courses
+        Course mainCourse = courseRepository.save(new Course(COURSE_NAME_MATHEMATICS, CourseType.MAIN));
+        Course secondaryCourse = courseRepository.save(new Course(COURSE_NAME_HISTORY, CourseType.SECONDARY));
+
+        // Create Students
+        studentRepository.save(new Student(STUDENT_NAME_1, 20, GROUP_NAME_1, Set.of(mainCourse, secondaryCourse)));
+        studentRepository.save(new Student(STUDENT_NAME_2, 22, GROUP_NAME_2, Set.of(secondaryCourse)));
+
+        // Create Teachers
+        teacherRepository.save(new Teacher(TEACHER_NAME, 40, GROUP_NAME_1, Set.of(mainCourse, secondaryCourse)));
+    }
+}
@@ -0,0 +1,216 @@
+package com.classroom.web.rest;
+
+import com.classroom.dto.course.CourseResponseDTO;
+import com.classroom.dto.report.CourseAndGroupReportResponseDTO;
+import com.classroom.dto.report.StudentReportResponseDTO;
+import com.classroom.dto.report.TeacherReportResponseDTO;
+import com.classroom.entity.Course;
+import com.classroom.entity.Student;
+import com.classroom.entity.Teacher;
+import com.classroom.enumartion.CourseType;
+import com.classroom.repository.CourseRepository;
+import com.classroom.repository.StudentRepository;
+import com.classroom.repository.TeacherRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The test data is written through repositories, which the report version counters do not see, so the response
+ * cache is off and every report runs its queries.
+ */
+@SpringBootTest(properties = "classroom.cache.report.enabled=false")
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+@Transactional
+public class OrderedReportResourceTest {
+
+    private static final String STUDENT_NAME_1 = "Mariya";
+    private static final String STUDENT_NAME_2 = "Ivan";
+    private static final String STUDENT_NAME_3 = "Georgi";
+    private static final String TEACHER_NAME_1 = "Petko";
+    private static final String TEACHER_NAME_2 = "Kiril";
+    private static final String TEACHER_NAME_3 = "Rumyana";
+    private static final String COURSE_NAME_MATHEMATICS = "Mathematics";
+    private static final String COURSE_NAME_HISTORY = "History";
+    private static final String COURSE_NAME_SCIENCE = "Science";
+    private static final String GROUP_NAME_1 = "A1";
+    private static final String GROUP_NAME_2 = "A2";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        courseRepository.deleteAll();
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+        setUpTestData();
+    }
+
+    @Test
+    void testStudentsByGroupAreOrderedByNameThenId() throws Exception {
+        // arrange
+
+        // act
+        List<StudentReportResponseDTO> students = readStudents("/api/v2/reports/students/group/{groupName}", GROUP_NAME_1);
+
+        // assert
+        assertEquals(List.of(STUDENT_NAME_2, STUDENT_NAME_2, STUDENT_NAME_1), studentNames(students));
+        assertTrue(students.get(0).getStudentId().compareTo(students.get(1).getStudentId()) < 0);
+        assertEquals(List.of(COURSE_NAME_HISTORY, COURSE_NAME_MATHEMATICS, COURSE_NAME_SCIENCE),
+                courseNames(students.get(2).getStudentCourses()));
+    }
+
+    @Test
+    void testStudentsByCourseKeepAllTheirCoursesInOrder() throws Exception {
+        // arrange
+
+        // act
+        List<StudentReportResponseDTO> students = readStudents("/api/v2/reports/students/course/{courseName}",
+                COURSE_NAME_MATHEMATICS);
+
+        // assert
+        assertEquals(List.of(STUDENT_NAME_3, STUDENT_NAME_2, STUDENT_NAME_1), studentNames(students));
+        assertEquals(List.of(COURSE_NAME_MATHEMATICS), courseNames(students.get(0).getStudentCourses()));
+        assertEquals(List.of(COURSE_NAME_HISTORY, COURSE_NAME_MATHEMATICS, COURSE_NAME_SCIENCE),
+                courseNames(students.get(2).getStudentCourses()));
+        assertEquals(CourseType.MAIN.name(), students.get(0).getStudentCourses().get(0).getCourseTypeName());
+    }
+
+    @Test
+    void testStudentsOlderThanAgeInCourse() throws Exception {
+        // arrange
+
+        // act
+        List<StudentReportResponseDTO> students = readStudents(
+                "/api/v2/reports/students/course/{courseName}/age/{age}", COURSE_NAME_MATHEMATICS, 21);
+
+        // assert
+        assertEquals(List.of(STUDENT_NAME_3, STUDENT_NAME_2), studentNames(students));
+    }
+
+    @Test
+    void testStudentsByAgeRangeAndGroup() throws Exception {
+        // arrange
+
+        // act
+        List<StudentReportResponseDTO> students = readStudents(
+                "/api/v2/reports/students/course/{courseName}/age-range?maxAge=23&groupName=A1", COURSE_NAME_MATHEMATICS);
+
+        // assert
+        assertEquals(List.of(STUDENT_NAME_2, STUDENT_NAME_1), studentNames(students));
+    }
+
+    @Test
+    void testCourseAndGroupReportIsOrdered() throws Exception {
+        // arrange
+
+        // act
+        MvcResult mvcResult = mockMvc.perform(get("/api/v2/reports/course/{courseName}/group/{groupName}",
+                        COURSE_NAME_MATHEMATICS, GROUP_NAME_1))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // assert
+        CourseAndGroupReportResponseDTO report = objectMapper.readValue(mvcResult.getResponse().getContentAsString(),
+                CourseAndGroupReportResponseDTO.class);
+        assertEquals(List.of(STUDENT_NAME_2, STUDENT_NAME_1), studentNames(report.getStudents()));
+        assertEquals(List.of(TEACHER_NAME_2, TEACHER_NAME_1), report.getTeachers().stream()
+                .map(TeacherReportResponseDTO::getTeacherName)
+                .toList());
+        assertEquals(List.of(COURSE_NAME_HISTORY, COURSE_NAME_MATHEMATICS),
+                courseNames(report.getTeachers().get(1).getTeacherCourses()));
+    }
+
+    @Test
+    void testUnknownCourseIsRejected() throws Exception {
+        // arrange
+
+        // act & assert
+        mockMvc.perform(get("/api/v2/reports/students/course/{courseName}", "Astronomy"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mockMvc.perform(get("/api/v2/reports/students/course/{courseName}/age/{age}", "Astronomy", 20)
+                        .header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v2/reports/course/{courseName}/group/{groupName}", "Astronomy", GROUP_NAME_1)
+                        .header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testInvalidAgeRangeIsRejected() throws Exception {
+        // arrange
+
+        // act & assert
+        mockMvc.perform(get("/api/v2/reports/students/course/{courseName}/age-range?minAge=30&maxAge=20",
+                        COURSE_NAME_MATHEMATICS))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    private List<StudentReportResponseDTO> readStudents(String url, Object... uriVariables) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get(url, uriVariables))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(mvcResult.getResponse().getContentAsString(),
+                new TypeReference<List<StudentReportResponseDTO>>() {
+                });
+    }
+
+    private static List<String> studentNames(List<StudentReportResponseDTO> students) {
+        return students.stream().map(StudentReportResponseDTO::getStudentName).toList();
+    }
+
+    private static List<String> courseNames(List<CourseResponseDTO> courses) {
+        return courses.stream().map(CourseResponseDTO::getCourseName).toList();
+    }
+
+    private void setUpTestData() {
+        // Create Courses
+        Course mainCourse = courseRepository.save(new Course(COURSE_NAME_MATHEMATICS, CourseType.MAIN));
+        Course secondaryCourse = courseRepository.save(new Course(COURSE_NAME_HISTORY, CourseType.SECONDARY));
+        Course scienceCourse = courseRepository.save(new Course(COURSE_NAME_SCIENCE, CourseType.SECONDARY));
+
+        // Create Students
+        studentRepository.save(new Student(STUDENT_NAME_1, 20, GROUP_NAME_1, Set.of(scienceCourse, mainCourse, secondaryCourse)));
+        studentRepository.save(new Student(STUDENT_NAME_2, 22, GROUP_NAME_1, Set.of(secondaryCourse)));
+        studentRepository.save(new Student(STUDENT_NAME_2, 23, GROUP_NAME_1, Set.of(mainCourse)));
+        studentRepository.save(new Student(STUDENT_NAME_3, 24, GROUP_NAME_2, Set.of(mainCourse)));
+
+        // Create Teachers
+        teacherRepository.save(new Teacher(TEACHER_NAME_1, 46, GROUP_NAME_1, Set.of(mainCourse, secondaryCourse)));
+        teacherRepository.save(new Teacher(TEACHER_NAME_2, 38, GROUP_NAME_1, Set.of(mainCourse)));
+        teacherRepository.save(new Teacher(TEACHER_NAME_3, 29, GROUP_NAME_2, Set.of(mainCourse)));
+    }
+}
@@ -0,0 +1,234 @@
+package com.classroom.web.rest;
+
+import com.classroom.dto.course.CourseResponseDTO;
+import com.classroom.dto.report.StudentAndTeacherReportResponseDTO;
+import com.classroom.dto.student.StudentResponseDTO;
+import com.classroom.entity.Course;
+import com.classroom.entity.Student;
+import com.classroom.entity.Teacher;
+import com.classroom.enumartion.CourseType;
+import com.classroom.repository.CourseRepository;
+import com.classroom.repository.StudentRepository;
+import com.classroom.repository.TeacherRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The reactive endpoints read over their own R2DBC connections, so the test data is committed rather than rolled
+ * back and removed after each test.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+public class ReactiveReportResourceTest {
+
+    private static final String STUDENT_NAME_1 = "Mariya";
+    private static final String STUDENT_NAME_2 = "Ivan";
+    private static final String STUDENT_NAME_3 = "Georgi";
+    private static final String TEACHER_NAME_1 = "Kiril";
+    private static final String TEACHER_NAME_3 = "Rumyana";
+    private static final String COURSE_NAME_MATHEMATICS = "Mathematics";
+    private static final String COURSE_NAME_HISTORY = "History";
+    private static final String COURSE_NAME_SCIENCE = "Science";
+    private static final String GROUP_NAME_1 = "A1";
+    private static final String GROUP_NAME_2 = "A2";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        deleteTestData();
+        transactionTemplate.executeWithoutResult(status -> setUpTestData());
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteTestData();
+    }
+
+    @Test
+    void testStudentsByGroupAreStreamedWithTheirCourses() throws Exception {
+        // arrange
+
+        // act
+        List<StudentResponseDTO> students = readStudents("/api/v1/reactive/reports/students/group/{groupName}", GROUP_NAME_1);
+
+        // assert
+        assertEquals(2, students.size());
+        StudentResponseDTO mariya = students.stream()
+                .filter(student -> student.getStudentName().equals(STUDENT_NAME_1))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(20, mariya.getStudentAge());
+        assertEquals(GROUP_NAME_1, mariya.getStudentGroupName());
+        assertEquals(Set.of(COURSE_NAME_MATHEMATICS, COURSE_NAME_HISTORY), courseNames(mariya));
+    }
+
+    @Test
+    void testStudentsByCourseKeepAllTheirCourses() throws Exception {
+        // arrange
+
+        // act
+        List<StudentResponseDTO> students = readStudents("/api/v1/reactive/reports/students/course/{courseName}",
+                COURSE_NAME_MATHEMATICS);
+
+        // assert
+        assertEquals(Set.of(STUDENT_NAME_1, STUDENT_NAME_3), studentNames(students));
+        assertEquals(3, students.stream().mapToInt(student -> student.getStudentCourses().size()).sum());
+    }
+
+    @Test
+    void testStudentsByAgeRangeAndGroup() throws Exception {
+        // arrange
+
+        // act
+        List<StudentResponseDTO> students = readStudents(
+                "/api/v1/reactive/reports/students/course/{courseName}/age-range?minAge=21&groupName=A2", COURSE_NAME_MATHEMATICS);
+
+        // assert
+        assertEquals(Set.of(STUDENT_NAME_3), studentNames(students));
+    }
+
+    @Test
+    void testStudentsOlderThanAgeInCourse() throws Exception {
+        // arrange
+
+        // act
+        List<StudentResponseDTO> students = readStudents(
+                "/api/v1/reactive/reports/students/course/{courseName}/age/{age}", COURSE_NAME_HISTORY, 21);
+
+        // assert
+        assertEquals(Set.of(STUDENT_NAME_2), studentNames(students));
+    }
+
+    @Test
+    void testCourseAndGroupReport() throws Exception {
+        // arrange
+        MvcResult started = mockMvc.perform(get("/api/v1/reactive/reports/course/{courseName}/group/{groupName}",
+                        COURSE_NAME_MATHEMATICS, GROUP_NAME_1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // act
+        MvcResult mvcResult = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // assert
+        StudentAndTeacherReportResponseDTO report = objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(), StudentAndTeacherReportResponseDTO.class);
+        assertEquals(Set.of(STUDENT_NAME_1), studentNames(report.getStudents()));
+        assertEquals(1, report.getTeachers().size());
+        assertEquals(TEACHER_NAME_1, report.getTeachers().iterator().next().getTeacherName());
+    }
+
+    @Test
+    void testUnknownCourseIsRejected() throws Exception {
+        // arrange
+        MvcResult started = mockMvc.perform(get("/api/v1/reactive/reports/students/course/{courseName}", COURSE_NAME_SCIENCE)
+                        .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // act & assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testInvalidAgeRangeIsRejected() throws Exception {
+        // arrange
+
+        // act & assert
+        mockMvc.perform(get("/api/v1/reactive/reports/students/course/{courseName}/age-range?minAge=30&maxAge=20",
+                        COURSE_NAME_MATHEMATICS))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    private List<StudentResponseDTO> readStudents(String url, Object... uriVariables) throws Exception {
+        MvcResult started = mockMvc.perform(get(url, uriVariables).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult mvcResult = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+        return mvcResult.getResponse().getContentAsString().lines()
+                .filter(line -> !line.isBlank())
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, StudentResponseDTO.class);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+
+    private static Set<String> studentNames(Iterable<StudentResponseDTO> students) {
+        Set<String> names = new HashSet<>();
+        students.forEach(student -> names.add(student.getStudentName()));
+        return names;
+    }
+
+    private static Set<String> courseNames(StudentResponseDTO student) {
+        return student.getStudentCourses().stream()
+                .map(CourseResponseDTO::getCourseName)
+                .collect(Collectors.toSet());
+    }
+
+    private void deleteTestData() {
+        studentRepository.deleteAll();
+        teacherRepository.deleteAll();
+        courseRepository.deleteAll();
+    }
+
+    private void setUpTestData() {
+        // Create Courses
+        Course mainCourse = courseRepository.save(new Course(COURSE_NAME_MATHEMATICS, CourseType.MAIN));
+        Course secondaryCourse = courseRepository.save(new Course(COURSE_NAME_HISTORY, CourseType.SECONDARY));
+
+        // Create Students
+        studentRepository.save(new Student(STUDENT_NAME_1, 20, GROUP_NAME_1, Set.of(mainCourse, secondaryCourse)));
+        studentRepository.save(new Student(STUDENT_NAME_2, 22, GROUP_NAME_1, Set.of(secondaryCourse)));
+        studentRepository.save(new Student(STUDENT_NAME_3, 24, GROUP_NAME_2, Set.of(mainCourse)));
+
+        // Create Teachers
+        teacherRepository.save(new Teacher(TEACHER_NAME_1, 38, GROUP_NAME_1, Set.of(mainCourse, secondaryCourse)));
+        teacherRepository.save(new Teacher(TEACHER_NAME_3, 29, GROUP_NAME_2, Set.of(mainCourse)));
+    }
+}
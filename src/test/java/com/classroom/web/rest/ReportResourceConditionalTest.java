@@ -0,0 +1,211 @@
+package com.classroom.web.rest;
+
+import com.classroom.dto.course.CreateCourseRequestDTO;
+import com.classroom.dto.student.EnrollStudentRequestDTO;
+import com.classroom.entity.Course;
+import com.classroom.entity.Student;
+import com.classroom.enumartion.CourseType;
+import com.classroom.repository.CourseRepository;
+import com.classroom.repository.StudentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Version counters only move once a write commits, so the test data is committed rather than rolled back. The
+ * courses and groups are not used by other tests, whose delayed replica bumps could otherwise move these tags and
+ * whose reports could otherwise be served from the response cache.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith(SpringExtension.class)
+public class ReportResourceConditionalTest {
+
+    private static final String STUDENT_NAME_1 = "Mariya";
+    private static final String STUDENT_NAME_2 = "Ivan";
+    private static final String COURSE_NAME_ALGEBRA = "Algebra";
+    private static final String COURSE_NAME_GEOGRAPHY = "Geography";
+    private static final String COURSE_NAME_CHEMISTRY = "Chemistry";
+    private static final String GROUP_NAME_1 = "E1";
+    private static final String GROUP_NAME_2 = "E2";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseRepository courseRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        deleteTestData();
+        transactionTemplate.executeWithoutResult(status -> setUpTestData());
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteTestData();
+    }
+
+    @Test
+    void testUnchangedReportIsNotModifiedWithoutQueries() throws Exception {
+        // arrange
+        String etag = etag("/api/v1/reports/students/group/{groupName}", GROUP_NAME_2);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statements = statistics.getPrepareStatementCount();
+
+        // act & assert
+        mockMvc.perform(get("/api/v1/reports/students/group/{groupName}", GROUP_NAME_2)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testRepeatedReportIsWrittenFromTheResponseCache() throws Exception {
+        // arrange
+        String body = mockMvc.perform(get("/api/v1/reports/course/{courseName}/group/{groupName}",
+                        COURSE_NAME_ALGEBRA, GROUP_NAME_1))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statements = statistics.getPrepareStatementCount();
+
+        // act & assert
+        mockMvc.perform(get("/api/v1/reports/course/{courseName}/group/{groupName}", COURSE_NAME_ALGEBRA, GROUP_NAME_1))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(body));
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testEnrollmentChangesOnlyTheAffectedReports() throws Exception {
+        // arrange
+        String algebra = etag("/api/v1/reports/students/course/{courseName}", COURSE_NAME_ALGEBRA);
+        String geography = etag("/api/v1/reports/students/course/{courseName}", COURSE_NAME_GEOGRAPHY);
+        Student mariya = studentRepository.findByNameAndStudentGroupAndAge(STUDENT_NAME_1, GROUP_NAME_1, 20).get();
+        EnrollStudentRequestDTO enrollStudentRequest = EnrollStudentRequestDTO.builder()
+                .studentId(mariya.getId().toString())
+                .courseName(COURSE_NAME_CHEMISTRY)
+                .courseType(CourseType.SECONDARY.name())
+                .build();
+
+        // act
+        mockMvc.perform(post("/api/v1/students/enroll")
+                        .content(objectMapper.writeValueAsString(enrollStudentRequest))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        // assert
+        String changed = mockMvc.perform(get("/api/v1/reports/students/course/{courseName}", COURSE_NAME_ALGEBRA)
+                        .header(HttpHeaders.IF_NONE_MATCH, algebra))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(algebra, changed);
+        mockMvc.perform(get("/api/v1/reports/students/course/{courseName}", COURSE_NAME_GEOGRAPHY)
+                        .header(HttpHeaders.IF_NONE_MATCH, geography))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testNewCourseChangesTheCatalog() throws Exception {
+        // arrange
+        String catalog = etag("/api/v1/courses");
+        CreateCourseRequestDTO createCourseRequest = CreateCourseRequestDTO.builder()
+                .courseName("Astronomy")
+                .courseTypeName(CourseType.SECONDARY.name())
+                .build();
+
+        // act
+        mockMvc.perform(post("/api/v1/courses")
+                        .content(objectMapper.writeValueAsString(createCourseRequest))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+
+        // assert
+        mockMvc.perform(get("/api/v1/courses").header(HttpHeaders.IF_NONE_MATCH, catalog))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testUnknownCourseIsRejectedWithoutTag() throws Exception {
+        // arrange
+        String[] urls = {
+                "/api/v1/reports/students/course/{courseName}",
+                "/api/v1/reports/students/course/{courseName}/count",
+                "/api/v1/reports/students/course/{courseName}/age/20",
+                "/api/v1/reports/students/course/{courseName}/age-range"
+        };
+
+        // act & assert
+        for (String url : urls) {
+            mockMvc.perform(get(url, "Astronomy"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+            mockMvc.perform(get(url, "Astronomy").header(HttpHeaders.IF_NONE_MATCH, "*"))
+                    .andExpect(status().isBadRequest());
+        }
+        mockMvc.perform(get("/api/v1/reports/course/{courseName}/group/{groupName}", "Astronomy", GROUP_NAME_1)
+                        .header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    private String etag(String url, Object... uriVariables) throws Exception {
+        String etag = mockMvc.perform(get(url, uriVariables))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private void deleteTestData() {
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+    }
+
+    private void setUpTestData() {
+        // Create Courses
+        Course algebra = courseRepository.save(new Course(COURSE_NAME_ALGEBRA, CourseType.MAIN));
+        Course geography = courseRepository.save(new Course(COURSE_NAME_GEOGRAPHY, CourseType.SECONDARY));
+        courseRepository.save(new Course(COURSE_NAME_CHEMISTRY, CourseType.SECONDARY));
+
+        // Create Students
+        studentRepository.save(new Student(STUDENT_NAME_1, 20, GROUP_NAME_1, Set.of(algebra)));
+        studentRepository.save(new Student(STUDENT_NAME_2, 22, GROUP_NAME_2, Set.of(geography)));
+    }
+}
@@ -9,8 +9,12 @@ import com.classroom.enumartion.CourseType;
 import com.classroom.repository.CourseRepository;
 import com.classroom.repository.StudentRepository;
 import com.classroom.repository.TeacherRepository;
+import com.classroom.service.CounterService;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -31,7 +35,11 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+/**
+ * The test data is written through repositories, which the report version counters do not see, so the response
+ * cache is off and every report runs its queries.
+ */
+@SpringBootTest(properties = "classroom.cache.report.enabled=false")
 @AutoConfigureMockMvc
 @ExtendWith(SpringExtension.class)
 @Transactional
@@ -62,6 +70,12 @@ public class ReportResourceTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CounterService counterService;
+
     @BeforeEach
     void setUp() {
         courseRepository.deleteAll();
@@ -74,6 +88,7 @@ public class ReportResourceTest {
     void testCourseByTypeCountSuccess() throws Exception {
         // arrange
         String courseTypeRequest = CourseType.MAIN.toString();
+        counterService.reconcile();
 
         // act
         MvcResult mvcResult = mockMvc.perform(
@@ -94,6 +109,8 @@ public class ReportResourceTest {
     void testStudentCountSuccess() throws Exception {
         // arrange
 
+        counterService.reconcile();
+
         // act
         MvcResult mvcResult = mockMvc.perform(
                         get("/api/v1/reports/students/count"))
@@ -113,6 +130,8 @@ public class ReportResourceTest {
     void testTeacherCountSuccess() throws Exception {
         // arrange
 
+        counterService.reconcile();
+
         // act
         MvcResult mvcResult = mockMvc.perform(
                         get("/api/v1/reports/teachers/count"))
@@ -194,6 +213,55 @@ public class ReportResourceTest {
         assertTrue(response.get(0).getStudentAge() > 21);
     }
 
+    @Test
+    void testFindAllStudentsInAgeRangeAndCourseSuccess() throws Exception {
+        // arrange
+
+        // act
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.get("/api/v1/reports/students/course/{courseName}/age-range", COURSE_NAME_MATHEMATICS)
+                                .param("minAge", "20")
+                                .param("maxAge", "22"))
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult groupResult = mockMvc.perform(
+                        MockMvcRequestBuilders.get("/api/v1/reports/students/course/{courseName}/age-range", COURSE_NAME_MATHEMATICS)
+                                .param("minAge", "20")
+                                .param("groupName", GROUP_NAME_2))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // assert
+        List<StudentResponseDTO> response = objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<List<StudentResponseDTO>>() {
+                });
+        List<StudentResponseDTO> groupResponse = objectMapper.readValue(
+                groupResult.getResponse().getContentAsString(),
+                new TypeReference<List<StudentResponseDTO>>() {
+                });
+
+        assertEquals(1, response.size());
+        assertEquals(STUDENT_NAME_1, response.get(0).getStudentName());
+        assertEquals(2, response.get(0).getStudentCourses().size());
+        assertEquals(1, groupResponse.size());
+        assertEquals(STUDENT_NAME_3, groupResponse.get(0).getStudentName());
+    }
+
+    @Test
+    void testFindAllStudentsInAgeRangeRejectsInvertedRange() throws Exception {
+        // arrange
+
+        // act
+        mockMvc.perform(
+                        MockMvcRequestBuilders.get("/api/v1/reports/students/course/{courseName}/age-range", COURSE_NAME_MATHEMATICS)
+                                .param("minAge", "30")
+                                .param("maxAge", "20"))
+                .andExpect(status().isUnprocessableEntity());
+
+        // assert
+    }
+
     @Test
     void testFindAllStudentsAndTeachersByCourseAndGroup() throws Exception {
         // arrange
@@ -220,6 +288,59 @@ public class ReportResourceTest {
         assertTrue(response.getTeachers().iterator().next().getTeacherCourses().stream().anyMatch(course -> course.getCourseName().equals(COURSE_NAME_MATHEMATICS)));
     }
 
+    @Test
+    void testFindAllStudentsByCourseReturnsEveryCourseOfTheStudent() throws Exception {
+        // arrange
+
+        // act
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.get("/api/v1/reports/students/course/{courseName}", COURSE_NAME_MATHEMATICS))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // assert
+        List<StudentResponseDTO> response = objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<List<StudentResponseDTO>>() {
+                });
+
+        StudentResponseDTO mariya = response.stream()
+                .filter(student -> student.getStudentName().equals(STUDENT_NAME_1))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, mariya.getStudentCourses().size());
+    }
+
+    @Test
+    void testFindAllStudentsByCourseStatementCountDoesNotDependOnResultSize() throws Exception {
+        // arrange
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        long smallReportStatements = countReportStatements(statistics);
+
+        Course mainCourse = courseRepository.findByName(COURSE_NAME_MATHEMATICS).get();
+        Course secondaryCourse = courseRepository.findByName(COURSE_NAME_HISTORY).get();
+        for (int i = 0; i < 200; i++) {
+            studentRepository.save(new Student("Student " + i, 20, GROUP_NAME_2, Set.of(mainCourse, secondaryCourse)));
+        }
+
+        // act
+        long largeReportStatements = countReportStatements(statistics);
+
+        // assert
+        assertEquals(smallReportStatements, largeReportStatements);
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    private long countReportStatements(Statistics statistics) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        mockMvc.perform(
+                        MockMvcRequestBuilders.get("/api/v1/reports/students/course/{courseName}", COURSE_NAME_MATHEMATICS))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
     private void setUpTestData() {
         // Create Courses
         Course mainCourse = new Course(COURSE_NAME_MATHEMATICS, CourseType.MAIN);
@@ -1,6 +1,9 @@
 package com.classroom.web.rest;
 
+import com.classroom.dto.bulk.ImportResponseDTO;
 import com.classroom.dto.course.CourseResponseDTO;
+import com.classroom.dto.student.BulkEnrollStudentsRequestDTO;
+import com.classroom.dto.student.BulkEnrollStudentsResponseDTO;
 import com.classroom.dto.student.CreateStudentRequestDTO;
 import com.classroom.dto.student.EnrollStudentRequestDTO;
 import com.classroom.dto.student.LeaveStudentCourseRequestDTO;
@@ -12,6 +15,9 @@ import com.classroom.repository.CourseRepository;
 import com.classroom.repository.StudentRepository;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,6 +31,8 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -60,6 +68,9 @@ public class StudentResourceTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @BeforeEach
     void setUp() {
         courseRepository.deleteAll();
@@ -112,6 +123,56 @@ public class StudentResourceTest {
         // assert
     }
 
+    @Test
+    void createStudentsInBulkSuccess() throws Exception {
+        // arrange
+        List<CreateStudentRequestDTO> createStudentRequests = List.of(
+                new CreateStudentRequestDTO("Kremena", 25, "B1"),
+                new CreateStudentRequestDTO(STUDENT_NAME_2, 22, GROUP_NAME_1),
+                new CreateStudentRequestDTO("Kremena", 25, "B1")
+        );
+        // act
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.post("/api/v1/students/bulk")
+                                .content(objectMapper.writeValueAsString(createStudentRequests))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // assert
+        ImportResponseDTO importResponse = objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<ImportResponseDTO>() {
+                });
+
+        assertEquals(1, importResponse.getCreated());
+        assertEquals(2, importResponse.getDuplicates());
+        assertTrue(studentRepository.findByNameAndStudentGroupAndAge("Kremena", "B1", 25).isPresent());
+    }
+
+    @Test
+    void createStudentsFromNdjsonStreamSuccess() throws Exception {
+        // arrange
+        String createStudentRequests = objectMapper.writeValueAsString(new CreateStudentRequestDTO("Kremena", 25, "B1")) + "\n"
+                + objectMapper.writeValueAsString(new CreateStudentRequestDTO("Kremena", 26, "B1")) + "\n";
+        // act
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.post("/api/v1/students/bulk")
+                                .content(createStudentRequests)
+                                .contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // assert
+        ImportResponseDTO importResponse = objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<ImportResponseDTO>() {
+                });
+
+        assertEquals(2, importResponse.getCreated());
+        assertEquals(2, importResponse.getRows().size());
+    }
+
     @Test
     void updateStudentSuccess() throws Exception {
         // arrange
@@ -215,6 +276,36 @@ public class StudentResourceTest {
                 .toList().contains(enrollStudentRequest.getCourseType()));
     }
 
+    @Test
+    void enrollStudentsToCourseInBulkSuccess() throws Exception {
+        // arrange
+        Student student = studentRepository.findByNameAndStudentGroupAndAge(STUDENT_NAME_1, GROUP_NAME_1, 20).get();
+        studentRepository.insertEnrollment(student.getId(), courseRepository.findByName(COURSE_NAME_MATHEMATICS).get().getId());
+        BulkEnrollStudentsRequestDTO bulkEnrollRequest = BulkEnrollStudentsRequestDTO.builder()
+                .courseName(COURSE_NAME_MATHEMATICS)
+                .groupName(GROUP_NAME_1)
+                .build();
+        // act
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.post("/api/v1/students/enroll/bulk")
+                                .content(objectMapper.writeValueAsString(bulkEnrollRequest))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // assert
+        BulkEnrollStudentsResponseDTO enrollResponse = objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<BulkEnrollStudentsResponseDTO>() {
+                });
+
+        assertEquals(1, enrollResponse.getInserted());
+        assertEquals(1, enrollResponse.getSkipped());
+        assertEquals(0, enrollResponse.getNotFound());
+        Student otherStudent = studentRepository.findByNameAndStudentGroupAndAge(STUDENT_NAME_2, GROUP_NAME_1, 22).get();
+        assertTrue(studentRepository.isEnrolledInCourse(otherStudent.getId(), COURSE_NAME_MATHEMATICS));
+    }
+
     @Test
     void leaveStudentFromCourseTestSuccess() throws Exception {
         // arrange
@@ -246,6 +337,54 @@ public class StudentResourceTest {
         assertTrue(studentResponse.getStudentCourses().isEmpty());
     }
 
+    @Test
+    void getEnrollmentPipelineStatisticsWhenCoalescingDisabled() throws Exception {
+        // arrange
+
+        // act
+        mockMvc.perform(
+                        MockMvcRequestBuilders.get("/api/v1/students/enroll/pipeline/statistics"))
+                .andExpect(status().isNotFound());
+        // assert
+    }
+
+    @Test
+    void enrollStudentForCourseCostDoesNotDependOnRosterSize() throws Exception {
+        // arrange
+        Course largeCourse = courseRepository.findByName(COURSE_NAME_MATHEMATICS).get();
+        for (int i = 0; i < 500; i++) {
+            studentRepository.save(new Student("Student " + i, 20, GROUP_NAME_2, Set.of(largeCourse)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Student student = studentRepository.findByNameAndStudentGroupAndAge(STUDENT_NAME_1, GROUP_NAME_1, 20).get();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        // act
+        long emptyCourseStatements = countEnrollStatements(student, COURSE_NAME_HISTORY, statistics);
+        long largeCourseStatements = countEnrollStatements(student, COURSE_NAME_MATHEMATICS, statistics);
+
+        // assert
+        assertEquals(emptyCourseStatements, largeCourseStatements);
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    private long countEnrollStatements(Student student, String courseName, Statistics statistics) throws Exception {
+        EnrollStudentRequestDTO enrollStudentRequest = EnrollStudentRequestDTO.builder()
+                .studentId(student.getId().toString())
+                .courseName(courseName)
+                .courseType(CourseType.MAIN.name())
+                .build();
+        entityManager.clear();
+        statistics.clear();
+        mockMvc.perform(
+                        MockMvcRequestBuilders.post("/api/v1/students/enroll")
+                                .content(objectMapper.writeValueAsString(enrollStudentRequest))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
     private void setUpTestData() {
         // Create Courses
         Course mainCourse = new Course(COURSE_NAME_MATHEMATICS, CourseType.MAIN);
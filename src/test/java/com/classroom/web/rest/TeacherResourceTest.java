@@ -1,5 +1,6 @@
 package com.classroom.web.rest;
 
+import com.classroom.dto.bulk.ImportResponseDTO;
 import com.classroom.dto.course.CourseResponseDTO;
 import com.classroom.dto.teacher.CreateTeacherRequestDTO;
 import com.classroom.dto.teacher.EnrollTeacherRequestDTO;
@@ -25,6 +26,7 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -112,6 +114,56 @@ public class TeacherResourceTest {
         // assert
     }
 
+    @Test
+    void createTeachersInBulkSuccess() throws Exception {
+        // arrange
+        List<CreateTeacherRequestDTO> createTeacherRequests = List.of(
+                new CreateTeacherRequestDTO("Dimitar", 45, "B1"),
+                new CreateTeacherRequestDTO(TEACHER_NAME_1, 38, GROUP_NAME_1),
+                new CreateTeacherRequestDTO("Dimitar", 45, "B1")
+        );
+        // act
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.post("/api/v1/teachers/bulk")
+                                .content(objectMapper.writeValueAsString(createTeacherRequests))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // assert
+        ImportResponseDTO importResponse = objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<ImportResponseDTO>() {
+                });
+
+        assertEquals(1, importResponse.getCreated());
+        assertEquals(2, importResponse.getDuplicates());
+        assertTrue(teacherRepository.findByNameAndTeacherGroupAndAge("Dimitar", "B1", 45).isPresent());
+    }
+
+    @Test
+    void createTeachersFromNdjsonStreamSuccess() throws Exception {
+        // arrange
+        String createTeacherRequests = objectMapper.writeValueAsString(new CreateTeacherRequestDTO("Dimitar", 45, "B1")) + "\n"
+                + objectMapper.writeValueAsString(new CreateTeacherRequestDTO("Dimitar", 46, "B1")) + "\n";
+        // act
+        MvcResult mvcResult = mockMvc.perform(
+                        MockMvcRequestBuilders.post("/api/v1/teachers/bulk")
+                                .content(createTeacherRequests)
+                                .contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // assert
+        ImportResponseDTO importResponse = objectMapper.readValue(
+                mvcResult.getResponse().getContentAsString(),
+                new TypeReference<ImportResponseDTO>() {
+                });
+
+        assertEquals(2, importResponse.getCreated());
+        assertEquals(2, importResponse.getRows().size());
+    }
+
     @Test
     void updateTeacherSuccess() throws Exception {
         // arrange